@@ -54,6 +54,26 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.ofMultiThreaded();
   }
 
+  /**
+   * Creates a work-stealing calculation runner that schedules calculations based on their estimated cost.
+   * <p>
+   * This factory creates a work-stealing pool basing the parallelism on the number of available processors.
+   * The time taken by each calculation is recorded, and used to order the calculations of later runs
+   * largest first, with cheap calculations packed together into batches.
+   * As such, the same runner should be used for repeated calculations over similar sets of targets.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationRunner runner = CalculationRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofWorkStealing() {
+    return DefaultCalculationRunner.ofWorkStealing();
+  }
+
   /**
    * Creates a calculation runner capable of performing calculations, specifying the executor.
    * <p>
@@ -66,6 +86,41 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation runner capable of performing calculations, specifying the executor
+   * and the maximum number of calculations that can execute at the same time.
+   * <p>
+   * See {@link CalculationTaskRunner#of(ExecutorService, int)}.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param maxConcurrentTasks  the maximum number of calculations that can execute at the same time
+   * @return the calculation runner
+   */
+  public static CalculationRunner of(ExecutorService executor, int maxConcurrentTasks) {
+    return DefaultCalculationRunner.of(executor, maxConcurrentTasks);
+  }
+
+  /**
+   * Creates a calculation runner that delegates to the specified task runner.
+   * <p>
+   * This allows a task runner with additional configuration to be used, for example:
+   * <pre>
+   *  try (CalculationRunner runner = CalculationRunner.of(
+   *      CalculationTaskRunner.ofMultiThreaded().withScenarioSplitting(1000))) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * Closing the calculation runner closes the task runner.
+   * 
+   * @param taskRunner  the task runner to use
+   * @return the calculation runner
+   */
+  public static CalculationRunner of(CalculationTaskRunner taskRunner) {
+    return new DefaultCalculationRunner(taskRunner);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
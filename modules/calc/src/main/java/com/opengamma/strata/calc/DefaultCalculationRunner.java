@@ -47,6 +47,17 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.ofMultiThreaded());
   }
 
+  /**
+   * Creates a work-stealing calculation runner that schedules calculations based on their estimated cost.
+   * <p>
+   * See {@link CalculationTaskRunner#ofWorkStealing()}.
+   * 
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofWorkStealing() {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofWorkStealing());
+  }
+
   /**
    * Creates a calculation runner capable of performing calculations, specifying the executor.
    * <p>
@@ -59,6 +70,20 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.of(executor));
   }
 
+  /**
+   * Creates a calculation runner capable of performing calculations, specifying the executor
+   * and the maximum number of calculations that can execute at the same time.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param maxConcurrentTasks  the maximum number of calculations that can execute at the same time
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner of(ExecutorService executor, int maxConcurrentTasks) {
+    return new DefaultCalculationRunner(CalculationTaskRunner.of(executor, maxConcurrentTasks));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the underlying task runner to use.
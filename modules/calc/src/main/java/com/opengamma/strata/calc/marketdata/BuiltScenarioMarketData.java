@@ -120,9 +120,18 @@ public final class BuiltScenarioMarketData
     return underlying.containsValue(id);
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public <T> MarketDataBox<T> getValue(MarketDataId<T> id) {
+    return getValue(id, underlying, valueFailures);
+  }
+
+  // finds the value, throwing an exception containing the failure if it could not be built
+  @SuppressWarnings("unchecked")
+  static <T> MarketDataBox<T> getValue(
+      MarketDataId<T> id,
+      ScenarioMarketData marketData,
+      Map<MarketDataId<?>, Failure> valueFailures) {
+
     // this code exists to ensure that the error messages from market data building
     // are exposed to users when the failures are not checked
 
@@ -134,7 +143,7 @@ public final class BuiltScenarioMarketData
     }
 
     // find the data and check it against the failures
-    Optional<MarketDataBox<T>> opt = underlying.findValue(id);
+    Optional<MarketDataBox<T>> opt = marketData.findValue(id);
     if (!opt.isPresent()) {
       Failure failure = valueFailures.get(id);
       if (failure != null) {
@@ -5,20 +5,28 @@
  */
 package com.opengamma.strata.calc.marketdata;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Failure;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.NamedMarketDataId;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
 import com.opengamma.strata.data.scenario.ImmutableScenarioMarketDataBuilder;
 import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
  * A mutable builder for building up {@link BuiltScenarioMarketData} instances.
@@ -209,6 +217,19 @@ final class BuiltScenarioMarketDataBuilder {
     return new BuiltScenarioMarketData(builder.build(), valueFailures, timeSeriesFailures);
   }
 
+  /**
+   * Returns a read-only view of the data in this builder.
+   * <p>
+   * Unlike {@link #build()}, the data is not copied, and data added to this builder later is visible in the view.
+   * Each method of the view holds the lock of this builder while reading the data.
+   * As such, the view is thread-safe provided that data is only added to this builder while holding its lock.
+   *
+   * @return a view of the data in this builder
+   */
+  ScenarioMarketData view() {
+    return new View();
+  }
+
   //-------------------------------------------------------------------------
   private static void checkBoxType(MarketDataId<?> id, MarketDataBox<?> box) {
     if (!id.getMarketDataType().isAssignableFrom(box.getMarketDataType())) {
@@ -243,4 +264,75 @@ final class BuiltScenarioMarketDataBuilder {
           scenarioCount));
     }
   }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A read-only view of the data in the builder, reading the data while holding the lock of the builder.
+   */
+  private final class View implements ScenarioMarketData {
+
+    @Override
+    public MarketDataBox<LocalDate> getValuationDate() {
+      synchronized (BuiltScenarioMarketDataBuilder.this) {
+        return valuationDate;
+      }
+    }
+
+    @Override
+    public int getScenarioCount() {
+      synchronized (BuiltScenarioMarketDataBuilder.this) {
+        return scenarioCount;
+      }
+    }
+
+    @Override
+    public <T> MarketDataBox<T> getValue(MarketDataId<T> id) {
+      synchronized (BuiltScenarioMarketDataBuilder.this) {
+        return BuiltScenarioMarketData.getValue(id, this, valueFailures);
+      }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+      synchronized (BuiltScenarioMarketDataBuilder.this) {
+        return Optional.ofNullable((MarketDataBox<T>) values.get(id));
+      }
+    }
+
+    @Override
+    public Set<MarketDataId<?>> getIds() {
+      synchronized (BuiltScenarioMarketDataBuilder.this) {
+        return ImmutableSet.copyOf(values.keySet());
+      }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+      synchronized (BuiltScenarioMarketDataBuilder.this) {
+        return values.keySet().stream()
+            .filter(id -> id instanceof NamedMarketDataId)
+            .filter(id -> ((NamedMarketDataId<?>) id).getMarketDataName().equals(name))
+            .map(id -> (MarketDataId<T>) id)
+            .collect(toImmutableSet());
+      }
+    }
+
+    @Override
+    public Set<ObservableId> getTimeSeriesIds() {
+      synchronized (BuiltScenarioMarketDataBuilder.this) {
+        return ImmutableSet.copyOf(timeSeries.keySet());
+      }
+    }
+
+    @Override
+    public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+      synchronized (BuiltScenarioMarketDataBuilder.this) {
+        LocalDateDoubleTimeSeries found = timeSeries.get(id);
+        return found == null ? LocalDateDoubleTimeSeries.empty() : found;
+      }
+    }
+  }
+
 }
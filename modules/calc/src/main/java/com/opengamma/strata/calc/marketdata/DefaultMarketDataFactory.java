@@ -6,17 +6,29 @@
 package com.opengamma.strata.calc.marketdata;
 
 import static com.opengamma.strata.collect.Guavate.not;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.runner.ConcurrencyLimit;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -30,6 +42,11 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * By default, the market data is built in levels, with each level containing the market data whose
+ * dependencies were built by earlier levels. If an executor is specified, see {@link #withParallelBuild},
+ * each item of non-observable market data is instead built concurrently as soon as its dependencies are built.
+ * The number of items built at the same time can also be limited, see {@link ConcurrencyLimit}.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
@@ -42,6 +59,12 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** Builds independent items of non-observable market data concurrently, null to build serially. */
+  private final Executor executor;
+
+  /** Limits the number of items of non-observable market data built concurrently, null if not limited. */
+  private final ConcurrencyLimit concurrencyLimit;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -67,6 +90,35 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
 
     functions.stream().forEach(builder -> builderMap.put(builder.getMarketDataIdType(), builder));
     this.functions = ImmutableMap.copyOf(builderMap);
+    this.executor = null;
+    this.concurrencyLimit = null;
+  }
+
+  // creates a copy of the factory using the executor and limit
+  private DefaultMarketDataFactory(
+      DefaultMarketDataFactory base,
+      Executor executor,
+      ConcurrencyLimit concurrencyLimit) {
+
+    this.observableDataProvider = base.observableDataProvider;
+    this.timeSeriesProvider = base.timeSeriesProvider;
+    this.functions = base.functions;
+    this.executor = executor;
+    this.concurrencyLimit = concurrencyLimit;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DefaultMarketDataFactory withParallelBuild(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new DefaultMarketDataFactory(this, executor, null);
+  }
+
+  @Override
+  public DefaultMarketDataFactory withParallelBuild(Executor executor, ConcurrencyLimit concurrencyLimit) {
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNull(concurrencyLimit, "concurrencyLimit");
+    return new DefaultMarketDataFactory(this, executor, concurrencyLimit);
   }
 
   //-------------------------------------------------------------------------
@@ -94,6 +146,16 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     return createMultiScenario(requirements, marketDataConfig, md, refData, scenarioDefinition);
   }
 
+  @Override
+  public MarketDataDependencies dependencies(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData) {
+
+    MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    return MarketDataDependencies.of(root);
+  }
+
   @Override
   public BuiltScenarioMarketData createMultiScenario(
       MarketDataRequirements requirements,
@@ -109,6 +171,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     // The children of the root represent the market data directly used in the calculations. The children
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    if (executor != null) {
+      return buildParallel(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+    }
 
     // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
     // This includes:
@@ -138,38 +203,8 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       // The requirements contained in the leaf nodes
       MarketDataRequirements leafRequirements = pair.getSecond();
 
-      // Time series of observable data ------------------------------------------------------------
-
-      // Build any time series that are required but not available
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> marketData.getTimeSeries(id).isEmpty())
-          .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
-
-      // Copy supplied time series to the scenario data
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
-
-      // Single values of observable data -----------------------------------------------------------
-
-      // Filter out IDs for the data that is already available
-      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
-
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
-      }
-
-      // Copy observable data from the supplied data to the builder, applying any matching perturbations
-      leafRequirements.getObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+      // Build the observable data and time-series, or copy them from the supplied data
+      addObservableData(leafRequirements, marketData, suppliedData, refData, scenarioDefinition, dataBuilder);
 
       // Non-observable data -----------------------------------------------------------------------
 
@@ -201,6 +236,73 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     return builtData;
   }
 
+  // builds the market data, building each item of non-observable data as soon as its dependencies are built
+  private BuiltScenarioMarketData buildParallel(
+      MarketDataNode root,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    // Observable data and time-series have no dependencies, thus they are all built first in bulk.
+    // The non-observable data forms a directed acyclic graph which is then built concurrently.
+    Map<MarketDataId<?>, Set<MarketDataId<?>>> graph = new LinkedHashMap<>();
+    MarketDataRequirementsBuilder observableRequirements = MarketDataRequirements.builder();
+    root.addGraph(graph, observableRequirements);
+    BuiltScenarioMarketData emptyData = dataBuilder.build();
+    addObservableData(
+        observableRequirements.build(), emptyData, suppliedData, refData, scenarioDefinition, dataBuilder);
+
+    ParallelBuild build =
+        new ParallelBuild(graph, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+    build.run();
+    return dataBuilder.build();
+  }
+
+  // builds the observable data and time-series that are not available, and copies the supplied data
+  private void addObservableData(
+      MarketDataRequirements leafRequirements,
+      BuiltScenarioMarketData marketData,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    // Time series of observable data ------------------------------------------------------------
+
+    // Build any time series that are required but not available
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> marketData.getTimeSeries(id).isEmpty())
+        .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
+
+    // Copy supplied time series to the scenario data
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
+
+    // Single values of observable data -----------------------------------------------------------
+
+    // Filter out IDs for the data that is already available
+    Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+        .filter(not(marketData::containsValue))
+        .filter(not(suppliedData::containsValue))
+        .collect(toImmutableSet());
+
+    // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
+    if (!observableIds.isEmpty()) {
+      Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
+      MapStream.of(observableResults)
+          .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
+    }
+
+    // Copy observable data from the supplied data to the builder, applying any matching perturbations
+    leafRequirements.getObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds items of non-observable market data using a market data function.
@@ -215,7 +317,7 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   private Result<MarketDataBox<?>> buildNonObservableData(
       MarketDataId id,
       MarketDataConfig marketDataConfig,
-      BuiltScenarioMarketData suppliedData,
+      ScenarioMarketData suppliedData,
       ReferenceData refData) {
 
     // The raw types in this method are an unfortunate necessity. The type parameters on MarketDataBuilder
@@ -335,4 +437,135 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the non-observable market data concurrently.
+   * <p>
+   * Each item of market data is built as soon as all the market data it depends on has been built,
+   * thus the time taken is bounded by the longest chain of dependencies rather than the number of levels.
+   * The items are added to the builder under a lock, and each function receives a read-only view
+   * of the builder, which contains all its dependencies. The view reads the builder under the same lock,
+   * thus the data built so far is not copied for each item.
+   * <p>
+   * Once an unexpected exception occurs, the build fails, and the items that have not started are not built.
+   */
+  private final class ParallelBuild {
+
+    /** The IDs of the market data each item depends on. */
+    private final Map<MarketDataId<?>, Set<MarketDataId<?>>> graph;
+    /** The IDs of the market data that depend on each item. */
+    private final ListMultimap<MarketDataId<?>, MarketDataId<?>> dependents = ArrayListMultimap.create();
+    /** The number of dependencies of each item that have not been built. */
+    private final Map<MarketDataId<?>, AtomicInteger> pending = new HashMap<>();
+    /** The configuration used to build the market data. */
+    private final MarketDataConfig marketDataConfig;
+    /** The supplied market data. */
+    private final ScenarioMarketData suppliedData;
+    /** The reference data. */
+    private final ReferenceData refData;
+    /** The scenario definition, applied to each item as it is built. */
+    private final ScenarioDefinition scenarioDefinition;
+    /** The builder, guarded by itself. */
+    private final BuiltScenarioMarketDataBuilder dataBuilder;
+    /** The read-only view of the builder, passed to the market data functions. */
+    private final ScenarioMarketData dataView;
+    /** Counts down as each item is built. */
+    private final CountDownLatch remaining;
+    /** The first unexpected exception. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private ParallelBuild(
+        Map<MarketDataId<?>, Set<MarketDataId<?>>> graph,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData suppliedData,
+        ReferenceData refData,
+        ScenarioDefinition scenarioDefinition,
+        BuiltScenarioMarketDataBuilder dataBuilder) {
+
+      this.graph = graph;
+      this.marketDataConfig = marketDataConfig;
+      this.suppliedData = suppliedData;
+      this.refData = refData;
+      this.scenarioDefinition = scenarioDefinition;
+      this.dataBuilder = dataBuilder;
+      this.dataView = dataBuilder.view();
+      this.remaining = new CountDownLatch(graph.size());
+      for (Map.Entry<MarketDataId<?>, Set<MarketDataId<?>>> entry : graph.entrySet()) {
+        pending.put(entry.getKey(), new AtomicInteger(entry.getValue().size()));
+        for (MarketDataId<?> dependency : entry.getValue()) {
+          dependents.put(dependency, entry.getKey());
+        }
+      }
+    }
+
+    // builds all the items, blocking until complete
+    private void run() {
+      graph.entrySet().stream()
+          .filter(entry -> entry.getValue().isEmpty())
+          .map(entry -> entry.getKey())
+          .collect(toImmutableList())
+          .forEach(this::submit);
+      Uninterruptibles.awaitUninterruptibly(remaining);
+      Throwable ex = failure.get();
+      if (ex != null) {
+        Throwables.throwIfUnchecked(ex);
+        throw new IllegalStateException(ex);
+      }
+    }
+
+    // submits an item to be built, submitting its dependents when complete
+    private void submit(MarketDataId<?> id) {
+      try {
+        executor.execute(() -> build(id));
+      } catch (RuntimeException ex) {
+        // the executor rejected the item, so the build fails
+        // the item is marked as complete, its dependents are then submitted but skip building as the build has failed
+        failure.compareAndSet(null, ex);
+        complete(id);
+      }
+    }
+
+    // builds an item, unless it is available or the build has failed
+    private void build(MarketDataId<?> id) {
+      try {
+        if (failure.get() != null) {
+          return;
+        }
+        if (suppliedData.containsValue(id)) {
+          // copy supplied data to the scenario data after applying perturbations
+          synchronized (dataBuilder) {
+            addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder);
+          }
+        } else {
+          Result<MarketDataBox<?>> result = buildNonObservable(id);
+          synchronized (dataBuilder) {
+            addResult(id, result, refData, scenarioDefinition, dataBuilder);
+          }
+        }
+      } catch (RuntimeException | Error ex) {
+        failure.compareAndSet(null, ex);
+      } finally {
+        complete(id);
+      }
+    }
+
+    // builds an item of non-observable data, holding a permit if the number of items built concurrently is limited
+    private Result<MarketDataBox<?>> buildNonObservable(MarketDataId<?> id) {
+      if (concurrencyLimit == null) {
+        return buildNonObservableData(id, marketDataConfig, dataView, refData);
+      }
+      return concurrencyLimit.call(() -> buildNonObservableData(id, marketDataConfig, dataView, refData));
+    }
+
+    // marks an item as complete, submitting the dependents whose dependencies are now all complete
+    private void complete(MarketDataId<?> id) {
+      for (MarketDataId<?> dependent : dependents.get(id)) {
+        if (pending.get(dependent).decrementAndGet() == 0) {
+          submit(dependent);
+        }
+      }
+      remaining.countDown();
+    }
+  }
+
 }
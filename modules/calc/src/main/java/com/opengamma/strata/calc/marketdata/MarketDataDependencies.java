@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.data.MarketDataId;
+
+/**
+ * The dependencies between items of market data built for a set of calculations.
+ * <p>
+ * When market data is built by a {@link MarketDataFactory}, values such as curves are built from
+ * other values such as quotes. This captures those dependencies, allowing the values that must be
+ * rebuilt, and the calculations that must be rerun, to be determined when some of the inputs change.
+ * <p>
+ * Market data that was supplied, rather than built, has no dependencies.
+ * For example, if a curve group is supplied, a change to one of its quotes does not affect the curve group.
+ * <p>
+ * Instances are obtained from {@link MarketDataFactory#dependencies}.
+ * This class is immutable and thread-safe.
+ */
+public final class MarketDataDependencies {
+
+  /**
+   * An instance with no dependencies.
+   */
+  private static final MarketDataDependencies EMPTY = new MarketDataDependencies(ImmutableSetMultimap.of(), false);
+  /**
+   * An instance where any change requires all the market data to be rebuilt.
+   */
+  private static final MarketDataDependencies FULL_REBUILD =
+      new MarketDataDependencies(ImmutableSetMultimap.of(), true);
+
+  /**
+   * The IDs of the market data built directly from each item of market data.
+   */
+  private final ImmutableSetMultimap<MarketDataId<?>, MarketDataId<?>> dependents;
+  /**
+   * Whether the dependencies are unknown, thus any change requires all the market data to be rebuilt.
+   */
+  private final boolean fullRebuild;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with no dependencies.
+   * <p>
+   * This is suitable when all the market data is supplied, rather than built.
+   *
+   * @return the empty instance
+   */
+  public static MarketDataDependencies empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Obtains an instance where any change requires all the market data to be rebuilt.
+   * <p>
+   * This is suitable when the dependencies are not known, for example when the market data
+   * is built by a factory that cannot determine them. A change to any market data is treated
+   * as affecting all the market data, see {@link #isFullRebuild()}.
+   *
+   * @return the full rebuild instance
+   */
+  public static MarketDataDependencies fullRebuild() {
+    return FULL_REBUILD;
+  }
+
+  /**
+   * Obtains an instance from the root of the market data dependency tree.
+   *
+   * @param root  the root node
+   * @return the dependencies
+   */
+  static MarketDataDependencies of(MarketDataNode root) {
+    ImmutableSetMultimap.Builder<MarketDataId<?>, MarketDataId<?>> builder = ImmutableSetMultimap.builder();
+    root.addDependents(builder);
+    return new MarketDataDependencies(builder.build(), false);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param dependents  the IDs of the market data built directly from each item of market data
+   * @param fullRebuild  whether any change requires all the market data to be rebuilt
+   */
+  private MarketDataDependencies(
+      ImmutableSetMultimap<MarketDataId<?>, MarketDataId<?>> dependents,
+      boolean fullRebuild) {
+
+    this.dependents = dependents;
+    this.fullRebuild = fullRebuild;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks whether any change requires all the market data to be rebuilt.
+   * <p>
+   * If true, the dependencies are not known. A change to any market data must be treated as
+   * affecting all the market data, and thus all the calculations, rather than only the
+   * IDs returned by {@link #affectedIds(Set)}.
+   *
+   * @return true if any change requires all the market data to be rebuilt
+   */
+  public boolean isFullRebuild() {
+    return fullRebuild;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the IDs of the market data built directly from the specified market data.
+   *
+   * @param id  the market data ID
+   * @return the IDs of the market data built directly from the market data, empty if none
+   */
+  public Set<MarketDataId<?>> directDependents(MarketDataId<?> id) {
+    ArgChecker.notNull(id, "id");
+    return dependents.get(id);
+  }
+
+  /**
+   * Gets the IDs of the market data affected by a change to the specified market data.
+   * <p>
+   * The result contains the changed IDs, together with the IDs of all market data built from them,
+   * directly or indirectly. For example, if the changed IDs include a quote, the result includes
+   * the curve group calibrated using the quote, and the curves in the group.
+   * If {@link #isFullRebuild()} is true, the result only contains the changed IDs.
+   *
+   * @param changedIds  the IDs of the market data that has changed
+   * @return the IDs of the market data affected by the change, including the changed IDs
+   */
+  public Set<MarketDataId<?>> affectedIds(Set<? extends MarketDataId<?>> changedIds) {
+    ArgChecker.notNull(changedIds, "changedIds");
+    Set<MarketDataId<?>> affected = new LinkedHashSet<>(changedIds);
+    Deque<MarketDataId<?>> pending = new ArrayDeque<>(changedIds);
+    while (!pending.isEmpty()) {
+      for (MarketDataId<?> dependent : dependents.get(pending.remove())) {
+        if (affected.add(dependent)) {
+          pending.add(dependent);
+        }
+      }
+    }
+    return ImmutableSet.copyOf(affected);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    if (fullRebuild) {
+      return "MarketDataDependencies[fullRebuild]";
+    }
+    return "MarketDataDependencies[size=" + dependents.size() + "]";
+  }
+
+}
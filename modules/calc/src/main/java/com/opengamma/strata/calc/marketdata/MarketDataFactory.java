@@ -6,10 +6,12 @@
 package com.opengamma.strata.calc.marketdata;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.calc.runner.ConcurrencyLimit;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -154,4 +156,82 @@ public interface MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Determines the dependencies between the items of market data that would be built.
+   * <p>
+   * This determines which market data would be built from which other market data
+   * for the specified requirements, configuration and supplied data, without building it.
+   * The result can be used to find the market data affected by a change to some of the inputs,
+   * such as a change to the quotes used to calibrate a curve.
+   * <p>
+   * The result must describe the complete set of dependencies.
+   * An implementation that cannot determine them must return {@link MarketDataDependencies#fullRebuild()},
+   * thus any change to the inputs is treated as requiring all the market data to be rebuilt.
+   * It must not return an empty or partial result, as that would cause affected market data to be reused.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param suppliedData  the market data supplied by the user
+   * @return the dependencies between the items of market data
+   */
+  public abstract MarketDataDependencies dependencies(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData);
+
+  /**
+   * Determines the dependencies between the items of market data that would be built.
+   * <p>
+   * See {@link #dependencies(MarketDataRequirements, MarketDataConfig, ScenarioMarketData)}.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param suppliedData  the market data supplied by the user
+   * @return the dependencies between the items of market data
+   */
+  public default MarketDataDependencies dependencies(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      MarketData suppliedData) {
+
+    return dependencies(requirements, marketDataConfig, ScenarioMarketData.of(1, suppliedData));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a factory that builds independent items of market data concurrently using the executor.
+   * <p>
+   * By default, market data is built in levels, where every item in a level must be built before
+   * any item in the next level is started. The returned factory instead builds each item of
+   * non-observable market data, such as a curve group, as soon as the market data it depends on
+   * has been built, running independent items concurrently on the executor.
+   * The market data that is built is the same as that built by this factory.
+   * <p>
+   * The market data functions must be safe to invoke concurrently.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to build the market data
+   * @return a factory that builds market data concurrently
+   */
+  public abstract MarketDataFactory withParallelBuild(Executor executor);
+
+  /**
+   * Returns a factory that builds independent items of market data concurrently using the executor,
+   * limiting the number of items being built at the same time.
+   * <p>
+   * This is the same as {@link #withParallelBuild(Executor)}, but each item of non-observable market data
+   * is built while holding a permit of the limit. This allows an executor with many cheap threads to be used,
+   * such as one creating a thread per task, while keeping the CPU-bound work, such as calibration, bounded.
+   * The limit may be shared with a calculation task runner.
+   * <p>
+   * The permit is held for the whole invocation of the market data function.
+   * Functions that block should do so using {@link ConcurrencyLimit#blocking(java.util.function.Supplier)}.
+   *
+   * @param executor  the executor used to build the market data
+   * @param concurrencyLimit  the limit on the number of items built at the same time
+   * @return a factory that builds market data concurrently
+   */
+  public abstract MarketDataFactory withParallelBuild(Executor executor, ConcurrencyLimit concurrencyLimit);
+
 }
@@ -6,11 +6,14 @@
 package com.opengamma.strata.calc.marketdata;
 
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketDataId;
@@ -162,6 +165,54 @@ final class MarketDataNode {
     return Pair.of(node, requirements);
   }
 
+  /**
+   * Adds the dependencies in the tree below this node to the builder.
+   * <p>
+   * The builder maps the ID of each item of market data to the IDs of the market data built directly from it.
+   * The root node has no ID, thus the children of the root node have no dependents in the builder.
+   *
+   * @param builder  the builder, keyed by the ID of the market data depended on
+   */
+  void addDependents(ImmutableSetMultimap.Builder<MarketDataId<?>, MarketDataId<?>> builder) {
+    for (MarketDataNode child : dependencies) {
+      if (id != null) {
+        builder.put(child.id, id);
+      }
+      child.addDependents(builder);
+    }
+  }
+
+  /**
+   * Adds the market data in the tree below this node to the graph and requirements.
+   * <p>
+   * The observable values and time-series are added to the requirements builder.
+   * Each non-observable value is added to the graph, mapped to the IDs of the non-observable values
+   * it is built from. The graph is acyclic, thus values can be built as soon as their dependencies are built.
+   *
+   * @param graph  the graph, mapping the ID of each non-observable value to the IDs of its dependencies
+   * @param requirementsBuilder  the builder for the requirements for observable values and time-series
+   */
+  void addGraph(
+      Map<MarketDataId<?>, Set<MarketDataId<?>>> graph,
+      MarketDataRequirementsBuilder requirementsBuilder) {
+
+    for (MarketDataNode child : dependencies) {
+      if (child.dataType == DataType.TIME_SERIES) {
+        requirementsBuilder.addTimeSeries((ObservableId) child.id);
+      } else if (child.id instanceof ObservableId) {
+        requirementsBuilder.addValues(child.id);
+      } else {
+        Set<MarketDataId<?>> childDependencies = graph.computeIfAbsent(child.id, depId -> new LinkedHashSet<>());
+        for (MarketDataNode grandchild : child.dependencies) {
+          if (grandchild.dataType == DataType.SINGLE_VALUE && !(grandchild.id instanceof ObservableId)) {
+            childDependencies.add(grandchild.id);
+          }
+        }
+        child.addGraph(graph, requirementsBuilder);
+      }
+    }
+  }
+
   /**
    * Returns true if this node has no children.
    *
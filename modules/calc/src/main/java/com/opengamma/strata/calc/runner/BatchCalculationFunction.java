@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation function that can calculate measures for many targets in a single invocation.
+ * <p>
+ * Calculating each target separately means that any setup is repeated for every target, such as
+ * creating the rates provider for each scenario. A function implementing this interface can share
+ * that setup across a batch of targets. This is most effective when a portfolio contains many
+ * similar targets, such as a large book of interest rate swaps.
+ * <p>
+ * The batch method is only used by a runner that has batching enabled, see
+ * {@link CalculationTaskRunner#withBatching(int)}. The runner groups the tasks that have
+ * the same function, parameters and measures, and invokes the batch method once for each group.
+ * The results must be identical to those of invoking
+ * {@link #calculate(CalculationTarget, Set, CalculationParameters, ScenarioMarketData, ReferenceData)}
+ * for each target.
+ *
+ * @param <T>  the type of target handled by this function
+ */
+public interface BatchCalculationFunction<T extends CalculationTarget>
+    extends CalculationFunction<T> {
+
+  /**
+   * Calculates values of multiple measures for a batch of targets using multiple sets of market data.
+   * <p>
+   * The set of measures must only contain measures that the function supports.
+   * The market data must provide the data requested by
+   * {@link #requirements(CalculationTarget, Set, CalculationParameters, ReferenceData)} for every target.
+   * <p>
+   * The result is a list containing one map for each target, in the same order as the targets.
+   * Each map has the same form as the result of the single target {@code calculate} method.
+   * The calculation of each target should capture failures in the {@link Result} of each measure.
+   * If an exception is thrown, the runner logs it and calculates each target of the batch separately,
+   * allowing the failure to be attributed to the target that caused it.
+   * If the list does not contain one map for each target, the calculation of every target fails.
+   *
+   * @param targets  the targets of the calculation
+   * @param measures  the set of measures to calculate
+   * @param parameters  the parameters that affect how the calculation is performed
+   * @param marketData  the multi-scenario market data
+   * @param refData  the reference data
+   * @return the read-only map of calculated values for each target, in the same order as the targets
+   * @throws RuntimeException if unable to perform the calculation
+   */
+  public abstract List<Map<Measure, Result<?>>> calculateBatch(
+      List<? extends T> targets,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData marketData,
+      ReferenceData refData);
+
+}
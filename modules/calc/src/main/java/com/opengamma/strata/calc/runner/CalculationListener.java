@@ -61,4 +61,21 @@ public interface CalculationListener {
    */
   public abstract void calculationsComplete();
 
+  /**
+   * Gets the maximum number of calculation results that can be waiting to be passed to this listener.
+   * <p>
+   * The listener is only invoked by a single thread at a time. Results calculated by other threads
+   * while the listener is being invoked are queued, and passed to the listener in turn.
+   * When the queue is full, the threads performing the calculations wait for space in the queue.
+   * A listener that is slow to process results, such as one writing them to disk, can use this
+   * to apply backpressure to the calculations, bounding the memory used by the queued results.
+   * <p>
+   * The default implementation returns {@link Integer#MAX_VALUE}, thus the queue is effectively unbounded.
+   *
+   * @return the maximum number of results that can be queued, one or more
+   */
+  public default int maxQueuedResults() {
+    return Integer.MAX_VALUE;
+  }
+
 }
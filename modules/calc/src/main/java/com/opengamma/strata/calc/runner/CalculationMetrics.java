@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.calc.Measure;
+
+/**
+ * Aggregates the timing and allocation measurements of the calculation runner.
+ * <p>
+ * The time taken by each invocation of a calculation function is recorded in latency histograms
+ * keyed by the type of function, the type of target and the measure. Since a function calculates
+ * all the measures of a task in one invocation, the time of the invocation is recorded against each measure.
+ * The time taken to convert results to the reporting currency and the time spent waiting to
+ * deliver results to the listener are also recorded.
+ * <p>
+ * A single instance can be used for many calculation runs, accumulating the measurements.
+ * This class is mutable and thread-safe.
+ */
+public final class CalculationMetrics implements CalculationMetricsListener {
+
+  /** The latency of functions, keyed by the type of function. */
+  private final ConcurrentHashMap<Class<?>, LatencyHistogram> functionLatencies = new ConcurrentHashMap<>();
+  /** The latency of functions, keyed by the type of target. */
+  private final ConcurrentHashMap<Class<?>, LatencyHistogram> targetTypeLatencies = new ConcurrentHashMap<>();
+  /** The latency of functions, keyed by measure. */
+  private final ConcurrentHashMap<Measure, LatencyHistogram> measureLatencies = new ConcurrentHashMap<>();
+  /** The bytes allocated by functions, keyed by the type of function. */
+  private final ConcurrentHashMap<Class<?>, LongAdder> functionAllocations = new ConcurrentHashMap<>();
+  /** The latency of currency conversion. */
+  private final LatencyHistogram currencyConversionLatency = new LatencyHistogram();
+  /** The time spent waiting for the listener lock. */
+  private final LatencyHistogram listenerLockWait = new LatencyHistogram();
+
+  /**
+   * Creates an instance with no measurements.
+   */
+  public CalculationMetrics() {
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void functionInvoked(CalculationTask task, Set<Measure> measures, long durationNanos, long allocatedBytes) {
+    functionLatencies.computeIfAbsent(task.getFunction().getClass(), k -> new LatencyHistogram()).record(durationNanos);
+    targetTypeLatencies.computeIfAbsent(task.getTarget().getClass(), k -> new LatencyHistogram()).record(durationNanos);
+    for (Measure measure : measures) {
+      measureLatencies.computeIfAbsent(measure, k -> new LatencyHistogram()).record(durationNanos);
+    }
+    if (allocatedBytes >= 0) {
+      functionAllocations.computeIfAbsent(task.getFunction().getClass(), k -> new LongAdder()).add(allocatedBytes);
+    }
+  }
+
+  @Override
+  public void currencyConversionCompleted(CalculationTask task, long durationNanos) {
+    currencyConversionLatency.record(durationNanos);
+  }
+
+  @Override
+  public void listenerLockWaited(long durationNanos) {
+    listenerLockWait.record(durationNanos);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the latency of calculation functions, keyed by the type of function.
+   * <p>
+   * The count of each histogram is the number of invocations of the function.
+   *
+   * @return the latency histograms, which continue to be updated
+   */
+  public Map<Class<?>, LatencyHistogram> getFunctionLatencies() {
+    return ImmutableMap.copyOf(functionLatencies);
+  }
+
+  /**
+   * Gets the latency of calculation functions, keyed by the type of target.
+   *
+   * @return the latency histograms, which continue to be updated
+   */
+  public Map<Class<?>, LatencyHistogram> getTargetTypeLatencies() {
+    return ImmutableMap.copyOf(targetTypeLatencies);
+  }
+
+  /**
+   * Gets the latency of calculation functions, keyed by the measure calculated.
+   *
+   * @return the latency histograms, which continue to be updated
+   */
+  public Map<Measure, LatencyHistogram> getMeasureLatencies() {
+    return ImmutableMap.copyOf(measureLatencies);
+  }
+
+  /**
+   * Gets the total number of bytes allocated by calculation functions, keyed by the type of function.
+   * <p>
+   * This is empty if the JVM does not support measuring the allocation of a thread.
+   *
+   * @return the number of bytes allocated
+   */
+  public Map<Class<?>, Long> getFunctionAllocatedBytes() {
+    ImmutableMap.Builder<Class<?>, Long> builder = ImmutableMap.builder();
+    functionAllocations.forEach((type, bytes) -> builder.put(type, bytes.sum()));
+    return builder.build();
+  }
+
+  /**
+   * Gets the latency of converting calculated values to the reporting currency, one per task.
+   *
+   * @return the latency histogram, which continues to be updated
+   */
+  public LatencyHistogram getCurrencyConversionLatency() {
+    return currencyConversionLatency;
+  }
+
+  /**
+   * Gets the time spent waiting to deliver results to the calculation listener.
+   *
+   * @return the latency histogram, which continues to be updated
+   */
+  public LatencyHistogram getListenerLockWait() {
+    return listenerLockWait;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CalculationMetrics[functions=" + functionLatencies +
+        ", currencyConversion=" + currencyConversionLatency +
+        ", listenerLockWait=" + listenerLockWait + "]";
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Set;
+
+import com.opengamma.strata.calc.Measure;
+
+/**
+ * Listener that receives timing and allocation measurements from the calculation runner.
+ * <p>
+ * Instrumentation is opt-in, see {@link CalculationTaskRunner#withMetrics(CalculationMetricsListener)}.
+ * When enabled, the runner measures each invocation of a {@link CalculationFunction},
+ * the conversion of the calculated values to the reporting currency, and the time spent
+ * waiting to deliver results to the {@link CalculationListener}.
+ * <p>
+ * The methods are invoked by the threads performing the calculations, potentially concurrently.
+ * Implementations must be thread-safe and should return quickly.
+ * <p>
+ * {@link CalculationMetrics} aggregates the measurements into latency histograms.
+ */
+public interface CalculationMetricsListener {
+
+  /**
+   * Called when a calculation function has been invoked.
+   * <p>
+   * The time is that taken by {@link CalculationFunction#calculate}, which calculates all the measures
+   * of the task in one invocation. The allocated bytes are measured on the calling thread,
+   * and are negative if the JVM does not support measuring thread allocation.
+   * <p>
+   * If the scenarios are split into ranges, this is called once for each range.
+   *
+   * @param task  the task that invoked the function
+   * @param measures  the measures calculated by the function
+   * @param durationNanos  the time taken by the function, in nanoseconds
+   * @param allocatedBytes  the number of bytes allocated by the function, negative if not available
+   */
+  public abstract void functionInvoked(
+      CalculationTask task,
+      Set<Measure> measures,
+      long durationNanos,
+      long allocatedBytes);
+
+  /**
+   * Called when the calculated values of a task have been converted to the reporting currency.
+   * <p>
+   * The time includes creating the results of every cell of the task,
+   * and is recorded even if no conversion was necessary.
+   *
+   * @param task  the task whose values were converted
+   * @param durationNanos  the time taken to convert the values, in nanoseconds
+   */
+  public abstract void currencyConversionCompleted(CalculationTask task, long durationNanos);
+
+  /**
+   * Called when a thread has waited to deliver results to the calculation listener.
+   * <p>
+   * The listener is invoked by a single thread at a time, thus results are queued when
+   * another thread is invoking the listener. This is the time spent waiting for the lock
+   * protecting the queue, including any time waiting for space in the queue.
+   *
+   * @param durationNanos  the time spent waiting, in nanoseconds
+   */
+  public abstract void listenerLockWaited(long durationNanos);
+
+}
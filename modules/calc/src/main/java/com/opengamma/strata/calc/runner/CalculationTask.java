@@ -23,6 +23,8 @@ import org.joda.beans.TypedMetaBean;
 import org.joda.beans.gen.BeanDefinition;
 import org.joda.beans.gen.PropertyDefinition;
 import org.joda.beans.impl.light.LightMetaBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -36,6 +38,7 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FxRateId;
@@ -57,6 +60,11 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
 @BeanDefinition(style = "light")
 public final class CalculationTask implements ImmutableBean {
 
+  /**
+   * The logger.
+   */
+  private static final Logger log = LoggerFactory.getLogger(CalculationTask.class);
+
   /**
    * The target for which the value will be calculated.
    * This is typically a trade.
@@ -203,47 +211,220 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return results of the calculation, one for every scenario in the market data
    */
-  @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
+    return execute(marketData, refData, null);
+  }
+
+  /**
+   * Executes the task, recording measurements in the specified listener.
+   *
+   * @param marketData  the market data used in the calculation
+   * @param refData  the reference data
+   * @param metrics  the listener that receives the measurements, null if not measured
+   * @return results of the calculation, one for every scenario in the market data
+   */
+  CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData, CalculationMetricsListener metrics) {
     // calculate the results
-    Map<Measure, Result<?>> results = calculate(marketData, refData);
+    Map<Measure, Result<?>> results = calculate(marketData, refData, metrics);
+    return createResults(results, marketData, refData, metrics);
+  }
 
-    // get a suitable FX provider
-    ScenarioFxRateProvider fxProvider = parameters.findParameter(FxRateLookup.class)
-        .map(lookup -> LookupScenarioFxRateProvider.of(marketData, lookup))
-        .orElse(ScenarioFxRateProvider.of(marketData));
+  /**
+   * Executes a batch of tasks using a single invocation of a {@link BatchCalculationFunction}.
+   * <p>
+   * The tasks must have the same function, parameters and measures, and the function must
+   * implement {@code BatchCalculationFunction}. The FX provider used to convert the results
+   * is shared by the tasks. If the function throws an exception, it is logged and each task
+   * is executed separately. If the function does not return one map of values for each task,
+   * the result of every measure of every task is a failure.
+   * <p>
+   * When measured, a successful batch is recorded as a single invocation of the function against the first task.
+   * A failed batch is not recorded, as each task is then executed, and recorded, separately.
+   *
+   * @param tasks  the tasks to execute, not empty
+   * @param marketData  the market data used in the calculation
+   * @param refData  the reference data
+   * @param metrics  the listener that receives the measurements, null if not measured
+   * @return results of the calculation for each task, in the same order as the tasks
+   */
+  static List<CalculationResults> executeBatch(
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationMetricsListener metrics) {
+
+    CalculationTask first = tasks.get(0);
+    List<Map<Measure, Result<?>>> calculated = first.calculateBatch(tasks, marketData, refData, metrics);
+    if (calculated == null) {
+      return tasks.stream()
+          .map(task -> task.execute(marketData, refData, metrics))
+          .collect(toImmutableList());
+    }
+    ScenarioFxRateProvider fxProvider = first.fxProvider(marketData);
+    ImmutableList.Builder<CalculationResults> builder = ImmutableList.builder();
+    for (int i = 0; i < tasks.size(); i++) {
+      builder.add(tasks.get(i).createResults(calculated.get(i), fxProvider, refData, metrics));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates the results of the task from the calculated values of each measure.
+   * <p>
+   * This converts the calculated values to the reporting currency of each cell.
+   * It is used when the values have been calculated separately from {@link #execute}, for example
+   * when the scenarios have been split into ranges and the calculated values merged.
+   *
+   * @param results  the calculated values, keyed by measure
+   * @param marketData  the market data used in the calculation
+   * @param refData  the reference data
+   * @param metrics  the listener that receives the time taken by conversion, null if not measured
+   * @return results of the calculation, one for every scenario in the market data
+   */
+  CalculationResults createResults(
+      Map<Measure, Result<?>> results,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationMetricsListener metrics) {
+
+    return createResults(results, fxProvider(marketData), refData, metrics);
+  }
 
+  // converts the calculated values using the specified FX provider
+  private CalculationResults createResults(
+      Map<Measure, Result<?>> results,
+      ScenarioFxRateProvider fxProvider,
+      ReferenceData refData,
+      CalculationMetricsListener metrics) {
+
+    long start = metrics != null ? System.nanoTime() : 0;
     // convert the results, using a normal loop for better stack traces
     ImmutableList.Builder<CalculationResult> resultBuilder = ImmutableList.builder();
     for (CalculationTaskCell cell : cells) {
       resultBuilder.add(cell.createResult(this, target, results, fxProvider, refData));
     }
+    if (metrics != null) {
+      metrics.currencyConversionCompleted(this, System.nanoTime() - start);
+    }
 
     // return the result
     return CalculationResults.of(target, resultBuilder.build());
   }
 
-  // calculates the result
-  private Map<Measure, Result<?>> calculate(ScenarioMarketData marketData, ReferenceData refData) {
+  // gets a suitable FX provider
+  private ScenarioFxRateProvider fxProvider(ScenarioMarketData marketData) {
+    return parameters.findParameter(FxRateLookup.class)
+        .map(lookup -> LookupScenarioFxRateProvider.of(marketData, lookup))
+        .orElse(ScenarioFxRateProvider.of(marketData));
+  }
+
+  /**
+   * Calculates the values of each measure, without currency conversion.
+   * <p>
+   * Any failure is captured in the returned map.
+   *
+   * @param marketData  the market data used in the calculation
+   * @param refData  the reference data
+   * @param metrics  the listener that receives the time taken by the function, null if not measured
+   * @return the calculated values, keyed by measure
+   */
+  Map<Measure, Result<?>> calculate(
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationMetricsListener metrics) {
+
     try {
       Set<Measure> requestedMeasures = getMeasures();
       Set<Measure> supportedMeasures = function.supportedMeasures();
       Set<Measure> measures = Sets.intersection(requestedMeasures, supportedMeasures);
       Map<Measure, Result<?>> map = ImmutableMap.of();
       if (!measures.isEmpty()) {
-        map = function.calculate(target, measures, parameters, marketData, refData);
-      }
-      // check if result does not contain all requested measures
-      if (!map.keySet().containsAll(requestedMeasures)) {
-        return handleMissing(requestedMeasures, supportedMeasures, map);
+        map = metrics != null ?
+            calculateMeasured(measures, marketData, refData, metrics) :
+            function.calculate(target, measures, parameters, marketData, refData);
       }
-      return map;
+      return checkMeasures(requestedMeasures, supportedMeasures, map);
 
     } catch (RuntimeException ex) {
       return handleFailure(ex);
     }
   }
 
+  // invokes the batch function for the tasks, returning null if the function throws an exception
+  @SuppressWarnings("unchecked")
+  private List<Map<Measure, Result<?>>> calculateBatch(
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationMetricsListener metrics) {
+
+    Set<Measure> requestedMeasures = getMeasures();
+    Set<Measure> supportedMeasures = function.supportedMeasures();
+    Set<Measure> measures = Sets.intersection(requestedMeasures, supportedMeasures);
+    if (measures.isEmpty()) {
+      return null;
+    }
+    BatchCalculationFunction<CalculationTarget> batchFunction = (BatchCalculationFunction<CalculationTarget>) function;
+    List<CalculationTarget> targets = tasks.stream().map(CalculationTask::getTarget).collect(toImmutableList());
+    long startBytes = metrics != null ? ThreadAllocation.allocatedBytes() : 0;
+    long start = metrics != null ? System.nanoTime() : 0;
+    List<Map<Measure, Result<?>>> calculated;
+    try {
+      calculated = batchFunction.calculateBatch(targets, measures, parameters, marketData, refData);
+    } catch (RuntimeException ex) {
+      log.warn(Messages.format(
+          "Batch function '{}' failed for {} targets, calculating each target separately",
+          function.getClass().getSimpleName(),
+          tasks.size()), ex);
+      return null;
+    }
+    if (metrics != null) {
+      long duration = System.nanoTime() - start;
+      metrics.functionInvoked(this, measures, duration, ThreadAllocation.allocatedBytesSince(startBytes));
+    }
+    if (calculated.size() != tasks.size()) {
+      IllegalStateException ex = new IllegalStateException(Messages.format(
+          "Batch function returned {} results for {} targets", calculated.size(), tasks.size()));
+      return tasks.stream()
+          .map(task -> task.handleFailure(ex))
+          .collect(toImmutableList());
+    }
+    ImmutableList.Builder<Map<Measure, Result<?>>> builder = ImmutableList.builder();
+    for (int i = 0; i < tasks.size(); i++) {
+      builder.add(tasks.get(i).checkMeasures(requestedMeasures, supportedMeasures, calculated.get(i)));
+    }
+    return builder.build();
+  }
+
+  // check if result does not contain all requested measures
+  private Map<Measure, Result<?>> checkMeasures(
+      Set<Measure> requestedMeasures,
+      Set<Measure> supportedMeasures,
+      Map<Measure, Result<?>> map) {
+
+    if (!map.keySet().containsAll(requestedMeasures)) {
+      return handleMissing(requestedMeasures, supportedMeasures, map);
+    }
+    return map;
+  }
+
+  // invokes the function, recording the time taken and bytes allocated, even if the function fails
+  private Map<Measure, Result<?>> calculateMeasured(
+      Set<Measure> measures,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationMetricsListener metrics) {
+
+    long startBytes = ThreadAllocation.allocatedBytes();
+    long start = System.nanoTime();
+    try {
+      return function.calculate(target, measures, parameters, marketData, refData);
+    } finally {
+      long duration = System.nanoTime() - start;
+      metrics.functionInvoked(this, measures, duration, ThreadAllocation.allocatedBytesSince(startBytes));
+    }
+  }
+
   // populate the result with failures
   private Map<Measure, Result<?>> handleMissing(
       Set<Measure> requestedMeasures,
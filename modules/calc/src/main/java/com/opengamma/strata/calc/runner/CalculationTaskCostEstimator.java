@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Estimates the cost of calculation tasks based on the time taken by earlier runs.
+ * <p>
+ * The cost of a task is estimated per {@link CalculationFunction} type, parameters and measures,
+ * as an exponentially weighted moving average of the observed execution time in nanoseconds.
+ * This matches the way tasks are grouped for batching, except that instances of the same type
+ * of function share an estimate. Tasks with the same key but different targets, such as swaps
+ * of different lengths, share an estimate, thus the estimate is the average cost of those targets.
+ * The estimates are used to order tasks largest first, and to pack cheap tasks into batches
+ * so that each batch is submitted and delivered to the listener as a single unit.
+ * <p>
+ * Tasks whose key has never been observed are assumed to be expensive.
+ * This means the first run is scheduled in list order, one task per batch.
+ * <p>
+ * This class is thread-safe.
+ */
+final class CalculationTaskCostEstimator {
+
+  /**
+   * The weight of a new observation in the moving average.
+   */
+  private static final double OBSERVATION_WEIGHT = 0.2;
+  /**
+   * The estimated cost below which a task is considered cheap enough to be batched, 200 microseconds.
+   */
+  private static final double CHEAP_TASK_NANOS = 200_000;
+  /**
+   * The target total estimated cost of a batch of cheap tasks, 2 milliseconds.
+   */
+  private static final double BATCH_NANOS = 2_000_000;
+  /**
+   * The maximum number of tasks in a batch.
+   */
+  private static final int MAX_BATCH_SIZE = 256;
+
+  /**
+   * The estimated cost of a task in nanoseconds, keyed by function type, parameters and measures.
+   */
+  private final ConcurrentHashMap<List<Object>, Double> estimates = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records the observed cost of executing a task.
+   *
+   * @param task  the task that was executed
+   * @param nanos  the time taken to execute the task, in nanoseconds
+   */
+  void record(CalculationTask task, long nanos) {
+    estimates.merge(
+        key(task),
+        (double) nanos,
+        (previous, observed) -> previous + OBSERVATION_WEIGHT * (observed - previous));
+  }
+
+  /**
+   * Returns the estimated cost of executing a task.
+   * <p>
+   * If no task with the same function type, parameters and measures has been observed,
+   * {@link Double#POSITIVE_INFINITY} is returned.
+   *
+   * @param task  the task
+   * @return the estimated cost in nanoseconds
+   */
+  double estimate(CalculationTask task) {
+    Double estimate = estimates.get(key(task));
+    return estimate != null ? estimate : Double.POSITIVE_INFINITY;
+  }
+
+  // the key of the estimate of the task
+  private static List<Object> key(CalculationTask task) {
+    return ImmutableList.of(task.getFunction().getClass(), task.getParameters(), task.getMeasures());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Orders the tasks largest first and packs cheap tasks into batches.
+   * <p>
+   * Expensive tasks are returned as batches of size one, followed by batches of cheap tasks,
+   * each of which has an estimated total cost of roughly {@code BATCH_NANOS}.
+   * The sort is stable, thus tasks with equal estimates retain their relative order.
+   *
+   * @param tasks  the tasks to schedule
+   * @return the batches of tasks, most expensive first
+   */
+  List<List<CalculationTask>> schedule(List<CalculationTask> tasks) {
+    List<TaskEstimate> sorted = new ArrayList<>(tasks.size());
+    for (CalculationTask task : tasks) {
+      sorted.add(new TaskEstimate(task, estimate(task)));
+    }
+    sorted.sort(Comparator.comparingDouble((TaskEstimate te) -> te.estimate).reversed());
+
+    List<List<CalculationTask>> batches = new ArrayList<>();
+    List<CalculationTask> batch = new ArrayList<>();
+    double batchCost = 0;
+    for (TaskEstimate te : sorted) {
+      if (te.estimate >= CHEAP_TASK_NANOS) {
+        batches.add(ImmutableList.of(te.task));
+        continue;
+      }
+      batch.add(te.task);
+      batchCost += te.estimate;
+      if (batchCost >= BATCH_NANOS || batch.size() == MAX_BATCH_SIZE) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+        batchCost = 0;
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  //-------------------------------------------------------------------------
+  // a task and its estimated cost, captured once so the sort is consistent
+  private static final class TaskEstimate {
+    private final CalculationTask task;
+    private final double estimate;
+
+    private TaskEstimate(CalculationTask task, double estimate) {
+      this.task = task;
+      this.estimate = estimate;
+    }
+  }
+
+}
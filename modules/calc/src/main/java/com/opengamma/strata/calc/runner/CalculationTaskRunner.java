@@ -67,6 +67,27 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.ofMultiThreaded();
   }
 
+  /**
+   * Creates a work-stealing calculation task runner that schedules tasks based on their estimated cost.
+   * <p>
+   * This factory creates a work-stealing pool basing the parallelism on the number of available processors.
+   * The time taken by each task is recorded, and used to order the tasks of later runs largest first,
+   * which avoids a long tail of expensive tasks running on a few threads while the others are idle.
+   * Cheap tasks are packed into batches to reduce the overhead of scheduling and listener notification.
+   * As such, the same runner should be used for repeated calculations over similar sets of targets.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing() {
+    return DefaultCalculationTaskRunner.ofWorkStealing();
+  }
+
   /**
    * Creates a calculation task runner capable of performing calculations, specifying the executor.
    * <p>
@@ -79,6 +100,100 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation task runner capable of performing calculations, specifying the executor
+   * and the maximum number of tasks that can execute at the same time.
+   * <p>
+   * This is intended for use with an executor that has more threads than processors,
+   * for example when functions block while loading data. The executor may have a thread per task,
+   * such as a virtual thread executor on a platform that supports them, while the number
+   * of tasks actually executing, and thus the CPU-bound work, is bounded by the limit.
+   * <p>
+   * A task holds its permit for the whole invocation of the function, including any time spent blocked.
+   * Functions that block should do so using {@link ConcurrencyLimit#blocking(java.util.function.Supplier)},
+   * which allows another task to execute until the blocking operation completes.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param maxConcurrentTasks  the maximum number of tasks that can execute at the same time
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner of(ExecutorService executor, int maxConcurrentTasks) {
+    return DefaultCalculationTaskRunner.of(executor, ConcurrencyLimit.of(maxConcurrentTasks));
+  }
+
+  /**
+   * Creates a calculation task runner capable of performing calculations, specifying the executor
+   * and the limit on the number of tasks that can execute at the same time.
+   * <p>
+   * This is equivalent to {@link #of(ExecutorService, int)}, but allows the limit to be shared,
+   * for example with a market data factory that builds market data in parallel.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param concurrencyLimit  the limit on the number of tasks that can execute at the same time
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner of(ExecutorService executor, ConcurrencyLimit concurrencyLimit) {
+    return DefaultCalculationTaskRunner.of(executor, concurrencyLimit);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a runner that splits calculations over many scenarios into ranges calculated in parallel.
+   * <p>
+   * By default, each calculation task invokes its function once with all the scenarios.
+   * When there are few targets and many scenarios, this leaves most of the threads idle.
+   * The returned runner splits each task with more than the specified number of scenarios
+   * into ranges of scenarios, invokes the function for each range in parallel and merges the results.
+   * <p>
+   * The returned runner shares the resources of this runner, such as the executor.
+   * Closing either runner closes the shared resources.
+   * 
+   * @param scenariosPerSplit  the maximum number of scenarios calculated by a single invocation of a function
+   * @return a runner that splits calculations over many scenarios
+   */
+  public abstract CalculationTaskRunner withScenarioSplitting(int scenariosPerSplit);
+
+  /**
+   * Returns a runner that records the time taken by the calculations in the specified listener.
+   * <p>
+   * By default, nothing is measured. The returned runner measures the time taken and bytes allocated
+   * by each invocation of a calculation function, the time taken to convert the calculated values
+   * to the reporting currency, and the time spent waiting to deliver results to the calculation listener.
+   * Use {@link CalculationMetrics} to aggregate the measurements into latency histograms.
+   * <p>
+   * The returned runner shares the resources of this runner, such as the executor.
+   * Closing either runner closes the shared resources.
+   * 
+   * @param metrics  the listener that receives the measurements
+   * @return a runner that records measurements
+   */
+  public abstract CalculationTaskRunner withMetrics(CalculationMetricsListener metrics);
+
+  /**
+   * Returns a runner that calculates similar targets together using a {@link BatchCalculationFunction}.
+   * <p>
+   * By default, each calculation task invokes its function for a single target.
+   * The returned runner groups the tasks whose function implements {@code BatchCalculationFunction}
+   * by function, parameters and measures, and invokes the function once for each group of up to
+   * the specified number of targets. This allows setup, such as the creation of a rates provider
+   * for each scenario, to be shared across the group. Tasks whose function does not support
+   * batching are run as normal.
+   * <p>
+   * A batch is not split into ranges of scenarios, see {@link #withScenarioSplitting(int)},
+   * and counts as a single task when the number of concurrent tasks is limited.
+   * <p>
+   * The returned runner shares the resources of this runner, such as the executor.
+   * Closing either runner closes the shared resources.
+   *
+   * @param maxBatchSize  the maximum number of targets calculated by a single invocation of a function
+   * @return a runner that calculates similar targets together
+   */
+  public abstract CalculationTaskRunner withBatching(int maxBatchSize);
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A limit on the number of calculations executing at the same time.
+ * <p>
+ * This allows an executor with many cheap threads, such as one creating a thread per task,
+ * to be used when calculations block, while keeping the CPU-bound work bounded.
+ * A thread holds a permit while it runs work using {@link #run(Runnable)} or {@link #call(Supplier)}.
+ * <p>
+ * The permit is held for the whole of the work, including any time spent blocked.
+ * Code that blocks, for example while loading data from a store, should do so using
+ * {@link #blocking(Supplier)}, which releases the permit held by the current thread
+ * while the blocking operation runs, and waits for a permit again before returning.
+ * <p>
+ * The same limit can be shared, for example between a calculation runner and a market data factory,
+ * so that the combined CPU-bound work of both is bounded.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ConcurrencyLimit {
+
+  /**
+   * The limit whose permit is held by the current thread, null if none.
+   */
+  private static final ThreadLocal<ConcurrencyLimit> HELD = new ThreadLocal<>();
+
+  /**
+   * The permits, one for each calculation that can execute at the same time.
+   */
+  private final Semaphore permits;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance allowing the specified number of calculations to execute at the same time.
+   *
+   * @param maxConcurrentTasks  the maximum number of calculations that can execute at the same time
+   * @return the limit
+   */
+  public static ConcurrencyLimit of(int maxConcurrentTasks) {
+    ArgChecker.notNegativeOrZero(maxConcurrentTasks, "maxConcurrentTasks");
+    return new ConcurrencyLimit(maxConcurrentTasks);
+  }
+
+  // restricted constructor
+  private ConcurrencyLimit(int maxConcurrentTasks) {
+    this.permits = new Semaphore(maxConcurrentTasks);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs the work, waiting for a permit if necessary.
+   * <p>
+   * If the current thread already holds a permit of this limit, the work is run directly.
+   *
+   * @param work  the work to run
+   */
+  public void run(Runnable work) {
+    call(() -> {
+      work.run();
+      return null;
+    });
+  }
+
+  /**
+   * Calls the work, waiting for a permit if necessary.
+   * <p>
+   * If the current thread already holds a permit of this limit, the work is called directly.
+   *
+   * @param <T>  the type of the result
+   * @param work  the work to call
+   * @return the result of the work
+   */
+  public <T> T call(Supplier<T> work) {
+    ConcurrencyLimit previous = HELD.get();
+    if (previous == this) {
+      return work.get();
+    }
+    permits.acquireUninterruptibly();
+    HELD.set(this);
+    try {
+      return work.get();
+    } finally {
+      restore(previous);
+      permits.release();
+    }
+  }
+
+  /**
+   * Returns the number of permits currently available.
+   * <p>
+   * This is the number of further calculations that can start without waiting.
+   *
+   * @return the number of available permits
+   */
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs blocking work, releasing any permit held by the current thread while it runs.
+   * <p>
+   * If the current thread holds a permit, it is released before the work is run,
+   * allowing another calculation to execute, and acquired again before returning.
+   * If the current thread does not hold a permit, the work is run directly.
+   *
+   * @param work  the blocking work to run
+   */
+  public static void blocking(Runnable work) {
+    blocking(() -> {
+      work.run();
+      return null;
+    });
+  }
+
+  /**
+   * Calls blocking work, releasing any permit held by the current thread while it runs.
+   * <p>
+   * If the current thread holds a permit, it is released before the work is called,
+   * allowing another calculation to execute, and acquired again before returning.
+   * If the current thread does not hold a permit, the work is called directly.
+   *
+   * @param <T>  the type of the result
+   * @param work  the blocking work to call
+   * @return the result of the work
+   */
+  public static <T> T blocking(Supplier<T> work) {
+    ConcurrencyLimit held = HELD.get();
+    if (held == null) {
+      return work.get();
+    }
+    HELD.remove();
+    held.permits.release();
+    try {
+      return work.get();
+    } finally {
+      held.permits.acquireUninterruptibly();
+      HELD.set(held);
+    }
+  }
+
+  // restores the limit held by the current thread
+  private static void restore(ConcurrencyLimit previous) {
+    if (previous == null) {
+      HELD.remove();
+    } else {
+      HELD.set(previous);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ConcurrencyLimit[availablePermits=" + permits.availablePermits() + "]";
+  }
+
+}
@@ -7,14 +7,23 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.Column;
@@ -30,6 +39,21 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * By default, each task is submitted to the executor separately, in list order.
+ * If the runner is created with a cost estimator, the tasks are instead ordered largest first,
+ * based on the time taken by earlier runs, with cheap tasks packed together into batches.
+ * <p>
+ * The number of tasks executing at the same time can be limited independently of the executor,
+ * see {@link ConcurrencyLimit}. This allows an executor with many cheap threads to be used,
+ * such as one creating a thread per task, when the tasks block, while keeping the CPU-bound work bounded.
+ * <p>
+ * A task calculating many scenarios can be split into ranges of scenarios that are calculated in parallel,
+ * see {@link #withScenarioSplitting(int)}.
+ * <p>
+ * The time taken by each function, and other measurements, can be recorded, see {@link #withMetrics}.
+ * <p>
+ * Similar targets can be calculated together by functions that support batching, see {@link #withBatching(int)}.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
@@ -38,6 +62,26 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * Estimates the cost of each task, used to order and batch the tasks, null if not used.
+   */
+  private final CalculationTaskCostEstimator costEstimator;
+  /**
+   * Limits the number of tasks executing at the same time, null if not limited.
+   */
+  private final ConcurrencyLimit concurrencyLimit;
+  /**
+   * The maximum number of scenarios calculated by a single invocation of a function, zero if not split.
+   */
+  private final int scenariosPerSplit;
+  /**
+   * The listener that receives timing and allocation measurements, null if not measured.
+   */
+  private final CalculationMetricsListener metrics;
+  /**
+   * The maximum number of targets calculated by a single invocation of a batch function, zero if not batched.
+   */
+  private final int maxBatchSize;
 
   //-------------------------------------------------------------------------
   /**
@@ -54,7 +98,34 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(
+        createExecutor(Runtime.getRuntime().availableProcessors()), null, null, 0, null, 0);
+  }
+
+  /**
+   * Creates a work-stealing calculation task runner that schedules tasks based on their estimated cost.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the parallelism on the number of available processors.
+   * The time taken by each task is recorded, and used to order the tasks of later runs largest first.
+   * Cheap tasks are packed into batches, with each batch delivered to the listener in one step.
+   * As such, the same runner instance should be used for repeated runs over similar portfolios.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (DefaultCalculationTaskRunner runner = DefaultCalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   *
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing() {
+    return new DefaultCalculationTaskRunner(
+        createForkJoinPool(Runtime.getRuntime().availableProcessors()),
+        new CalculationTaskCostEstimator(),
+        null,
+        0,
+        null,
+        0);
   }
 
   /**
@@ -66,7 +137,25 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, null, null, 0, null, 0);
+  }
+
+  /**
+   * Creates a calculation task runner capable of performing calculations, specifying the executor
+   * and the limit on the number of tasks that can execute at the same time.
+   * <p>
+   * A task holds a permit of the limit for the whole invocation of its function,
+   * unless the function performs blocking work using {@link ConcurrencyLimit#blocking(Supplier)}.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor to use
+   * @param concurrencyLimit  the limit on the number of tasks that can execute at the same time
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner of(ExecutorService executor, ConcurrencyLimit concurrencyLimit) {
+    ArgChecker.notNull(concurrencyLimit, "concurrencyLimit");
+    return new DefaultCalculationTaskRunner(executor, null, concurrencyLimit, 0, null, 0);
   }
 
   // create an executor with daemon threads
@@ -82,14 +171,64 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a work-stealing pool with daemon threads
+  private static ExecutorService createForkJoinPool(int parallelism) {
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    };
+    return new ForkJoinPool(parallelism, threadFactory, null, false);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
    *
    * @param executor  the executor that is used to perform the calculations
+   * @param costEstimator  the estimator used to order and batch the tasks, null to submit tasks in list order
+   * @param concurrencyLimit  the limit on the number of tasks executing at the same time, null if not limited
+   * @param scenariosPerSplit  the maximum number of scenarios calculated by one invocation of a function, zero if not split
+   * @param metrics  the listener that receives measurements, null if not measured
+   * @param maxBatchSize  the maximum number of targets calculated by one invocation of a function, zero if not batched
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(
+      ExecutorService executor,
+      CalculationTaskCostEstimator costEstimator,
+      ConcurrencyLimit concurrencyLimit,
+      int scenariosPerSplit,
+      CalculationMetricsListener metrics,
+      int maxBatchSize) {
+
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.costEstimator = costEstimator;
+    this.concurrencyLimit = concurrencyLimit;
+    this.scenariosPerSplit = scenariosPerSplit;
+    this.metrics = metrics;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DefaultCalculationTaskRunner withScenarioSplitting(int scenariosPerSplit) {
+    ArgChecker.notNegativeOrZero(scenariosPerSplit, "scenariosPerSplit");
+    return new DefaultCalculationTaskRunner(
+        executor, costEstimator, concurrencyLimit, scenariosPerSplit, metrics, maxBatchSize);
+  }
+
+  @Override
+  public DefaultCalculationTaskRunner withMetrics(CalculationMetricsListener metrics) {
+    ArgChecker.notNull(metrics, "metrics");
+    return new DefaultCalculationTaskRunner(
+        executor, costEstimator, concurrencyLimit, scenariosPerSplit, metrics, maxBatchSize);
+  }
+
+  @Override
+  public DefaultCalculationTaskRunner withBatching(int maxBatchSize) {
+    ArgChecker.notNegativeOrZero(maxBatchSize, "maxBatchSize");
+    return new DefaultCalculationTaskRunner(
+        executor, costEstimator, concurrencyLimit, scenariosPerSplit, metrics, maxBatchSize);
   }
 
   //-------------------------------------------------------------------------
@@ -177,11 +316,59 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // the listener is invoked via this wrapper
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
-    Consumer<CalculationResults> consumer =
-        new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+    ListenerWrapper consumer =
+        new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns(), metrics);
+
+    if (maxBatchSize > 0) {
+      // run each group of tasks using a batch function, leaving the remaining tasks to be run separately
+      List<CalculationTask> remaining = new ArrayList<>();
+      groupByFunction(taskList, remaining).forEach(group -> runFunctionBatch(group, marketData, refData, consumer));
+      taskList = remaining;
+    }
+    if (costEstimator == null) {
+      // run each task using the executor
+      taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    } else {
+      // run each batch of tasks using the executor, largest first
+      costEstimator.schedule(taskList).forEach(batch -> runBatch(batch, marketData, refData, consumer));
+    }
+  }
 
-    // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+  // groups the tasks that can be calculated by a single invocation of a batch function
+  // tasks that cannot be grouped with any other are added to the remaining tasks
+  private List<List<CalculationTask>> groupByFunction(List<CalculationTask> tasks, List<CalculationTask> remaining) {
+    Map<List<Object>, List<CalculationTask>> groups = new LinkedHashMap<>();
+    for (CalculationTask task : tasks) {
+      if (task.getFunction() instanceof BatchCalculationFunction) {
+        List<Object> key = ImmutableList.of(task.getFunction(), task.getParameters(), task.getMeasures());
+        groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+      } else {
+        remaining.add(task);
+      }
+    }
+    List<List<CalculationTask>> batches = new ArrayList<>();
+    for (List<CalculationTask> group : groups.values()) {
+      if (group.size() == 1) {
+        remaining.addAll(group);
+      } else {
+        batches.addAll(Lists.partition(group, maxBatchSize));
+      }
+    }
+    return batches;
+  }
+
+  // submits a group of tasks to the executor to be calculated by a single invocation of a batch function
+  private void runFunctionBatch(
+      List<CalculationTask> group,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ListenerWrapper consumer) {
+
+    executor.execute(() -> {
+      Supplier<List<CalculationResults>> batchExecutor =
+          () -> CalculationTask.executeBatch(group, marketData, refData, metrics);
+      consumer.acceptAll(concurrencyLimit == null ? batchExecutor.get() : concurrencyLimit.call(batchExecutor));
+    });
   }
 
   // submits a task to the executor to be run
@@ -193,18 +380,55 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
+    Supplier<CalculationResults> taskExecutor = () -> executeTask(task, marketData, refData);
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
+  // submits a batch of tasks to the executor to be run, recording the time taken by each task
+  private void runBatch(
+      List<CalculationTask> batch,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ListenerWrapper consumer) {
+
+    // the results of the whole batch are passed to the consumer in one step
+    executor.execute(() -> {
+      List<CalculationResults> results = new ArrayList<>(batch.size());
+      for (CalculationTask task : batch) {
+        long start = System.nanoTime();
+        results.add(executeTask(task, marketData, refData));
+        costEstimator.record(task, System.nanoTime() - start);
+      }
+      consumer.acceptAll(results);
+    });
+  }
+
+  // executes a task, waiting for a permit if the number of concurrent tasks is limited
+  private CalculationResults executeTask(CalculationTask task, ScenarioMarketData marketData, ReferenceData refData) {
+    if (concurrencyLimit == null) {
+      return executeTaskSplit(task, marketData, refData);
+    }
+    return concurrencyLimit.call(() -> executeTaskSplit(task, marketData, refData));
+  }
+
+  // executes a task, splitting the scenarios into ranges if necessary
+  private CalculationResults executeTaskSplit(CalculationTask task, ScenarioMarketData marketData, ReferenceData refData) {
+    if (scenariosPerSplit == 0) {
+      return task.execute(marketData, refData, metrics);
+    }
+    // the helpers that calculate ranges of scenarios are also subject to the concurrency limit
+    Executor splitExecutor = concurrencyLimit == null ?
+        executor :
+        runnable -> executor.execute(() -> concurrencyLimit.run(runnable));
+    return ScenarioSplitter.execute(task, marketData, refData, scenariosPerSplit, splitExecutor, metrics);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public void close() {
     executor.shutdown();
   }
 
-  //-------------------------------------------------------------------------
-
   //-------------------------------------------------------------------------
   /**
    * Listener that decorates another listener and unwraps {@link ScenarioArray} instances
@@ -236,6 +460,11 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     public void calculationsComplete() {
       delegate.calculationsComplete();
     }
+
+    @Override
+    public int maxQueuedResults() {
+      return delegate.maxQueuedResults();
+    }
   }
 
 }
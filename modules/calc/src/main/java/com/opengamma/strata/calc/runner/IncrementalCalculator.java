@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataDependencies;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Performs a set of calculations repeatedly, only recalculating the results affected by changes to market data.
+ * <p>
+ * Intraday, only a few market data values typically change between runs. Rather than run every task,
+ * this retains the results of the previous run and recalculates only the rows whose market data is affected.
+ * <p>
+ * The market data required by each task is obtained from {@link CalculationTask#requirements(ReferenceData)}.
+ * The market data affected by a change is determined using {@link MarketDataDependencies}, obtained from
+ * {@link MarketDataFactory#dependencies}, which captures the values that are built from other values.
+ * For example, if a quote changes, the curve group calibrated using the quote is affected,
+ * and thus so is every task requiring a curve in the group.
+ * <p>
+ * A full calculation is performed by {@code calculate}, and a partial one by {@code recalculate}.
+ * The market data passed to {@code recalculate} must contain the current value of all the market data,
+ * including the rebuilt values affected by the change, such as the recalibrated curves.
+ * If the rows of a task are recalculated, all the tasks of that row are recalculated.
+ * <p>
+ * This class is mutable, retaining the results of the last run.
+ * The methods are synchronized, thus only one calculation is performed at a time.
+ */
+public final class IncrementalCalculator {
+
+  /** The runner used to perform the calculations. */
+  private final CalculationTaskRunner runner;
+  /** The tasks that perform the calculations. */
+  private final CalculationTasks tasks;
+  /** The reference data. */
+  private final ReferenceData refData;
+  /** The dependencies between the items of market data. */
+  private final MarketDataDependencies dependencies;
+  /** The rows whose tasks require each item of market data. */
+  private final ImmutableListMultimap<MarketDataId<?>, Integer> rowsById;
+  /** The tasks of each row. */
+  private final ImmutableListMultimap<Integer, CalculationTask> tasksByRow;
+
+  /** The results of the last run, null if no calculations have been performed. */
+  private Results results;
+  /** Whether the last run used multiple scenarios. */
+  private boolean multiScenario;
+  /** The number of scenarios in the last run. */
+  private int scenarioCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The dependencies are typically obtained from the factory used to build the market data, using
+   * the requirements of the tasks, see {@link CalculationTasks#requirements(ReferenceData)}.
+   * If all the market data is supplied rather than built, use {@link MarketDataDependencies#empty()}.
+   *
+   * @param runner  the runner used to perform the calculations
+   * @param tasks  the tasks that perform the calculations
+   * @param dependencies  the dependencies between the items of market data
+   * @param refData  the reference data
+   * @return the calculator
+   */
+  public static IncrementalCalculator of(
+      CalculationTaskRunner runner,
+      CalculationTasks tasks,
+      MarketDataDependencies dependencies,
+      ReferenceData refData) {
+
+    return new IncrementalCalculator(runner, tasks, dependencies, refData);
+  }
+
+  // creates an instance, indexing the tasks by the market data they require
+  private IncrementalCalculator(
+      CalculationTaskRunner runner,
+      CalculationTasks tasks,
+      MarketDataDependencies dependencies,
+      ReferenceData refData) {
+
+    this.runner = ArgChecker.notNull(runner, "runner");
+    this.tasks = ArgChecker.notNull(tasks, "tasks");
+    this.dependencies = ArgChecker.notNull(dependencies, "dependencies");
+    this.refData = ArgChecker.notNull(refData, "refData");
+
+    ImmutableListMultimap.Builder<MarketDataId<?>, Integer> rowsBuilder = ImmutableListMultimap.builder();
+    ImmutableListMultimap.Builder<Integer, CalculationTask> tasksBuilder = ImmutableListMultimap.builder();
+    for (CalculationTask task : tasks.getTasks()) {
+      int row = task.getRowIndex();
+      MarketDataRequirements requirements = task.requirements(refData);
+      requirements.getObservables().forEach(id -> rowsBuilder.put(id, row));
+      requirements.getNonObservables().forEach(id -> rowsBuilder.put(id, row));
+      requirements.getTimeSeries().forEach(id -> rowsBuilder.put(id, row));
+      tasksBuilder.put(row, task);
+    }
+    this.rowsById = rowsBuilder.build();
+    this.tasksByRow = tasksBuilder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the rows whose results are affected by a change to the specified market data.
+   * <p>
+   * If the dependencies require a {@linkplain MarketDataDependencies#isFullRebuild() full rebuild},
+   * every row is affected by any change.
+   *
+   * @param changedIds  the IDs of the market data that has changed
+   * @return the indices of the affected rows, in ascending order
+   */
+  public SortedSet<Integer> affectedRows(Set<? extends MarketDataId<?>> changedIds) {
+    if (dependencies.isFullRebuild() && !changedIds.isEmpty()) {
+      return ImmutableSortedSet.copyOf(tasksByRow.keySet());
+    }
+    SortedSet<Integer> rows = new TreeSet<>();
+    for (MarketDataId<?> id : dependencies.affectedIds(changedIds)) {
+      rows.addAll(rowsById.get(id));
+    }
+    return ImmutableSortedSet.copyOf(rows);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs all the calculations for a single set of market data.
+   * <p>
+   * The results are retained for use by later calls to {@link #recalculate(MarketData, Set)}.
+   *
+   * @param marketData  the market data to be used in the calculations
+   * @return the grid of calculation results
+   */
+  public synchronized Results calculate(MarketData marketData) {
+    return store(runner.calculate(tasks, marketData, refData), false, 1);
+  }
+
+  /**
+   * Recalculates the results affected by a change to market data, for a single set of market data.
+   * <p>
+   * The results of the rows whose tasks require market data affected by the change are recalculated.
+   * The results of the other rows are those of the last run.
+   * If the last run was not for a single set of market data, all the calculations are performed.
+   *
+   * @param marketData  the market data to be used in the calculations, including the changes
+   * @param changedIds  the IDs of the market data that has changed since the last run
+   * @return the grid of calculation results
+   */
+  public synchronized Results recalculate(MarketData marketData, Set<? extends MarketDataId<?>> changedIds) {
+    if (results == null || multiScenario) {
+      return calculate(marketData);
+    }
+    SortedSet<Integer> rows = affectedRows(changedIds);
+    if (rows.isEmpty()) {
+      return results;
+    }
+    Results calculated = runner.calculate(subset(rows), marketData, refData);
+    return store(merge(rows, calculated), false, 1);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs all the calculations for multiple scenarios.
+   * <p>
+   * The results are retained for use by later calls to {@link #recalculateMultiScenario(ScenarioMarketData, Set)}.
+   *
+   * @param marketData  the market data to be used in the calculations
+   * @return the grid of calculation results
+   */
+  public synchronized Results calculateMultiScenario(ScenarioMarketData marketData) {
+    Results calculated = runner.calculateMultiScenario(tasks, marketData, refData);
+    return store(calculated, true, marketData.getScenarioCount());
+  }
+
+  /**
+   * Recalculates the results affected by a change to market data, for multiple scenarios.
+   * <p>
+   * The results of the rows whose tasks require market data affected by the change are recalculated.
+   * The results of the other rows are those of the last run.
+   * If the last run was not for the same number of scenarios, all the calculations are performed.
+   *
+   * @param marketData  the market data to be used in the calculations, including the changes
+   * @param changedIds  the IDs of the market data that has changed since the last run
+   * @return the grid of calculation results
+   */
+  public synchronized Results recalculateMultiScenario(
+      ScenarioMarketData marketData,
+      Set<? extends MarketDataId<?>> changedIds) {
+
+    if (results == null || !multiScenario || scenarioCount != marketData.getScenarioCount()) {
+      return calculateMultiScenario(marketData);
+    }
+    SortedSet<Integer> rows = affectedRows(changedIds);
+    if (rows.isEmpty()) {
+      return results;
+    }
+    Results calculated = runner.calculateMultiScenario(subset(rows), marketData, refData);
+    return store(merge(rows, calculated), true, scenarioCount);
+  }
+
+  //-------------------------------------------------------------------------
+  // creates the tasks for the affected rows, renumbered from zero in ascending order
+  private CalculationTasks subset(SortedSet<Integer> rows) {
+    List<CalculationTask> subsetTasks = new ArrayList<>();
+    int subsetRow = 0;
+    for (int row : rows) {
+      for (CalculationTask task : tasksByRow.get(row)) {
+        int newRow = subsetRow;
+        List<CalculationTaskCell> cells = task.getCells().stream()
+            .map(cell -> CalculationTaskCell.of(
+                newRow, cell.getColumnIndex(), cell.getMeasure(), cell.getReportingCurrency()))
+            .collect(toImmutableList());
+        subsetTasks.add(CalculationTask.of(task.getTarget(), task.getFunction(), task.getParameters(), cells));
+      }
+      subsetRow++;
+    }
+    return CalculationTasks.of(subsetTasks, tasks.getColumns());
+  }
+
+  // merges the results of the recalculated rows into the results of the last run
+  // the rows of the recalculated results are the affected rows in ascending order
+  private Results merge(SortedSet<Integer> rows, Results calculated) {
+    int columnCount = results.getColumnCount();
+    List<Result<?>> cells = new ArrayList<>(results.getCells());
+    int subsetRow = 0;
+    for (int row : rows) {
+      for (int column = 0; column < columnCount; column++) {
+        cells.set(row * columnCount + column, calculated.get(subsetRow, column));
+      }
+      subsetRow++;
+    }
+    return Results.of(results.getColumns(), cells);
+  }
+
+  // stores the results of the run
+  private Results store(Results calculated, boolean multiScenario, int scenarioCount) {
+    this.results = calculated;
+    this.multiScenario = multiScenario;
+    this.scenarioCount = scenarioCount;
+    return calculated;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "IncrementalCalculator[tasks=" + tasks + "]";
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A histogram of latencies, measured in nanoseconds.
+ * <p>
+ * The latencies are counted in buckets whose bounds are powers of two, thus percentiles
+ * are accurate to within a factor of two. The count, total and maximum are exact.
+ * <p>
+ * This class is mutable and thread-safe, allowing latencies to be recorded concurrently.
+ */
+public final class LatencyHistogram {
+
+  /** The number of buckets, bucket zero holds zero latencies and bucket i holds latencies less than 2^i. */
+  private static final int BUCKETS = Long.SIZE;
+
+  /** The number of latencies recorded. */
+  private final LongAdder count = new LongAdder();
+  /** The total of the latencies recorded. */
+  private final LongAdder total = new LongAdder();
+  /** The maximum latency recorded. */
+  private final AtomicLong max = new AtomicLong();
+  /** The number of latencies recorded in each bucket. */
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  /**
+   * Creates an empty histogram.
+   */
+  public LatencyHistogram() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records a latency.
+   * <p>
+   * Negative latencies, which can occur if the clock is adjusted, are recorded as zero.
+   *
+   * @param nanos  the latency, in nanoseconds
+   */
+  public void record(long nanos) {
+    long latency = Math.max(nanos, 0);
+    count.increment();
+    total.add(latency);
+    max.accumulateAndGet(latency, Math::max);
+    buckets.incrementAndGet(bucket(latency));
+  }
+
+  // the bucket for the latency, the number of bits needed to represent the latency
+  private static int bucket(long latency) {
+    return Math.min(BUCKETS - Long.numberOfLeadingZeros(latency), BUCKETS - 1);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of latencies recorded.
+   *
+   * @return the count
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Gets the total of the latencies recorded, in nanoseconds.
+   *
+   * @return the total
+   */
+  public long getTotalNanos() {
+    return total.sum();
+  }
+
+  /**
+   * Gets the maximum latency recorded, in nanoseconds.
+   *
+   * @return the maximum, zero if nothing has been recorded
+   */
+  public long getMaxNanos() {
+    return max.get();
+  }
+
+  /**
+   * Gets the mean latency, in nanoseconds.
+   *
+   * @return the mean, zero if nothing has been recorded
+   */
+  public double getMeanNanos() {
+    long n = getCount();
+    return n == 0 ? 0d : (double) getTotalNanos() / n;
+  }
+
+  /**
+   * Gets an estimate of a percentile of the latencies, in nanoseconds.
+   * <p>
+   * This returns the upper bound of the bucket containing the percentile, limited by the maximum,
+   * thus the true percentile is no more than the estimate, and at least half of it.
+   *
+   * @param fraction  the percentile, as a fraction from zero to one, such as 0.99 for the 99th percentile
+   * @return the estimate of the percentile, zero if nothing has been recorded
+   */
+  public long getPercentileNanos(double fraction) {
+    ArgChecker.inRangeInclusive(fraction, 0d, 1d, "fraction");
+    long[] counts = new long[BUCKETS];
+    long n = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      n += counts[i];
+    }
+    if (n == 0) {
+      return 0;
+    }
+    long rank = Math.max((long) Math.ceil(fraction * n), 1);
+    long cumulative = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      cumulative += counts[i];
+      if (cumulative >= rank) {
+        long upper = i == 0 ? 0 : (i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+        return Math.min(upper, getMaxNanos());
+      }
+    }
+    return getMaxNanos();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "LatencyHistogram[count=" + getCount() +
+        ", meanNanos=" + (long) getMeanNanos() +
+        ", p99Nanos=" + getPercentileNanos(0.99) +
+        ", maxNanos=" + getMaxNanos() + "]";
+  }
+
+}
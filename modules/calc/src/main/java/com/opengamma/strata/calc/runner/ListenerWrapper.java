@@ -8,6 +8,7 @@ package com.opengamma.strata.calc.runner;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -15,6 +16,7 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.collect.ArgChecker;
@@ -29,6 +31,9 @@ import com.opengamma.strata.collect.ArgChecker;
  * Calculations may be performed in bulk for a given target.
  * The logic in this class unwraps the {@link CalculationResults}, calling the
  * listener with each individual {@link CalculationResult}.
+ * <p>
+ * The number of results waiting to be delivered is bounded by {@link CalculationListener#maxQueuedResults()}.
+ * When the queue is full, the calling thread waits until the delivering thread has taken a result from the queue.
  */
 final class ListenerWrapper implements Consumer<CalculationResults> {
 
@@ -43,19 +48,28 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
   /** Protects the queue and the executing flag. */
   private final Lock lock = new ReentrantLock();
 
+  /** Signalled when space is available in the queue, or when no thread is invoking the listener. */
+  private final Condition notFull = lock.newCondition();
+
+  /** The maximum number of results in the queue. */
+  private final int maxQueued;
+
   /** This lock is never contended; it is used to guarantee the listener state is visible to all threads. */
   private final Lock listenerLock = new ReentrantLock();
 
   /** The total number of tasks to be executed. */
   private final int tasksExpected;
 
+  /** The listener that receives the time spent waiting for the lock, null if not measured. */
+  private final CalculationMetricsListener metrics;
+
   // Mutable state -----------------------------------------------------
 
   /**
    * Flags whether a call to the underlying listener is executing.
-   * If this flag is set when {@link #accept} is called, the result is added to
-   * the queue and the calling thread returns. The executing thread will ensure
-   * all queued results are delivered.
+   * If this flag is set when {@link #accept} is called, the calling thread waits until
+   * the queue has space for the result, then adds it to the queue and returns.
+   * The executing thread will ensure all queued results are delivered.
    */
   private boolean executing;
 
@@ -70,8 +84,29 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
    * @param columns  the columns for which values are being calculated
    */
   ListenerWrapper(CalculationListener listener, int tasksExpected, List<CalculationTarget> targets, List<Column> columns) {
+    this(listener, tasksExpected, targets, columns, null);
+  }
+
+  /**
+   * Creates an instance wrapping the specified listener, measuring the time spent waiting for the lock.
+   *
+   * @param listener  the underlying listener wrapped by this object
+   * @param tasksExpected  the number of tasks to be executed
+   * @param targets  the targets for which values are being calculated
+   * @param columns  the columns for which values are being calculated
+   * @param metrics  the listener that receives the time spent waiting for the lock, null if not measured
+   */
+  ListenerWrapper(
+      CalculationListener listener,
+      int tasksExpected,
+      List<CalculationTarget> targets,
+      List<Column> columns,
+      CalculationMetricsListener metrics) {
+
     this.listener = ArgChecker.notNull(listener, "listener");
+    this.metrics = metrics;
     this.tasksExpected = ArgChecker.notNegative(tasksExpected, "tasksExpected");
+    this.maxQueued = ArgChecker.notNegativeOrZero(listener.maxQueuedResults(), "maxQueuedResults");
 
     listenerLock.lock();
     try {
@@ -93,14 +128,34 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
    * Only one of them will invoke the listener directly to ensure that
    * it is not accessed concurrently by multiple threads.
    * <p>
-   * The other threads do not block while the listener is invoked. They
-   * add their results to a queue and return quickly. Their results are
-   * delivered by the thread invoking the listener.
+   * The other threads do not invoke the listener. They add their results to a queue
+   * and return, and their results are delivered by the thread invoking the listener.
+   * The queue is bounded by {@link CalculationListener#maxQueuedResults()}. If the queue is full,
+   * the other threads block, waiting on the queue lock, until the thread invoking the listener
+   * takes a result from the queue or finishes delivering results. This applies backpressure
+   * to the calculation threads when the listener is slower than the calculations.
    *
    * @param result the result of a calculation
    */
   @Override
   public void accept(CalculationResults result) {
+    acceptAll(ImmutableList.of(result));
+  }
+
+  /**
+   * Accepts a batch of calculation results and delivers them to the listener.
+   * <p>
+   * This has the same semantics as calling {@link #accept(CalculationResults)} for each result,
+   * but the lock protecting the queue is only acquired once for the whole batch.
+   * Each element of the batch counts as one task towards the expected number of tasks.
+   * <p>
+   * The calling thread waits until the queue has space for the whole batch.
+   * A batch larger than the maximum size of the queue is added once the queue is empty,
+   * thus the queue may temporarily exceed its maximum size by less than the size of the batch.
+   *
+   * @param results  the results of the calculations, not empty
+   */
+  void acceptAll(List<CalculationResults> results) {
     CalculationResults nextResult;
 
     // Multiple calculation threads can try to acquire this lock at the same time.
@@ -110,19 +165,30 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
     // add an item to the queue and return.
     // The lock also ensures the state of the executing flag and the queue are visible
     // to any thread acquiring the lock.
+    long start = metrics != null ? System.nanoTime() : 0;
     lock.lock();
     try {
+      // If the queue does not have space for the batch, wait for the thread invoking the listener
+      // to take from the queue. A batch that is too large for the queue waits until the queue is empty.
+      while (executing && !queue.isEmpty() && queue.size() + results.size() > maxQueued) {
+        notFull.awaitUninterruptibly();
+      }
+      if (metrics != null) {
+        metrics.listenerLockWaited(System.nanoTime() - start);
+      }
       if (executing) {
-        // Another thread is already invoking the listener. Add the result to
+        // Another thread is already invoking the listener. Add the results to
         // the queue and return. The other thread will ensure the queued results
         // are delivered.
-        queue.add(result);
+        queue.addAll(results);
         return;
       } else {
         // There is no thread invoking the listener. Set the executing flag to
         // ensure no other thread passes this point and invoke the listener.
+        // Any other results in the batch are queued and delivered by the loop below.
         executing = true;
-        nextResult = result;
+        nextResult = results.get(0);
+        queue.addAll(results.subList(1, results.size()));
       }
     } finally {
       lock.unlock();
@@ -170,12 +236,15 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
           // There are no more results to deliver. Unset the executing flag and return.
           // This allows the next calling thread to deliver results.
           executing = false;
+          notFull.signalAll();
           return;
         } else {
           // There are results on the queue. This means another thread called accept(),
           // added a result to the queue and returned while this thread was invoking the listener.
           // This thread must deliver the results from the queue.
           nextResult = queue.remove();
+          // Waiting threads may need space for batches of different sizes, so all are woken
+          notFull.signalAll();
         }
       } finally {
         lock.unlock();
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import com.google.common.base.Throwables;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Executes a single calculation task in parallel over ranges of scenarios.
+ * <p>
+ * The scenarios of the market data are split into contiguous ranges, and the function of the task
+ * is invoked for each range using a view of the market data, see {@link ScenarioMarketData#scenarioRange}.
+ * The resulting scenario arrays are merged back together, in scenario order, before currency conversion.
+ * <p>
+ * The ranges are claimed in turn by the calling thread and by helpers submitted to the executor.
+ * The calling thread only waits for ranges that another thread has already started,
+ * thus the task cannot deadlock even if every thread of the executor is splitting a task.
+ * If the calculation of any range throws an exception, the first exception is rethrown
+ * by the calling thread once all ranges are complete.
+ */
+final class ScenarioSplitter {
+
+  /**
+   * Restricted constructor.
+   */
+  private ScenarioSplitter() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Executes the task, splitting the scenarios into ranges that are calculated in parallel.
+   * <p>
+   * If the market data contains no more scenarios than the split size, the task is executed directly.
+   *
+   * @param task  the task to execute
+   * @param marketData  the market data used in the calculation
+   * @param refData  the reference data
+   * @param scenariosPerSplit  the maximum number of scenarios calculated in a single invocation of the function
+   * @param executor  the executor used to calculate the ranges in parallel
+   * @param metrics  the listener that receives measurements, null if not measured
+   * @return results of the calculation, one for every scenario in the market data
+   * @throws RuntimeException if the calculation of a range throws an exception
+   */
+  static CalculationResults execute(
+      CalculationTask task,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      int scenariosPerSplit,
+      Executor executor,
+      CalculationMetricsListener metrics) {
+
+    int scenarioCount = marketData.getScenarioCount();
+    if (scenarioCount <= scenariosPerSplit) {
+      return task.execute(marketData, refData, metrics);
+    }
+    int splitCount = (scenarioCount + scenariosPerSplit - 1) / scenariosPerSplit;
+    List<Map<Measure, Result<?>>> splitResults = new ArrayList<>(splitCount);
+    for (int i = 0; i < splitCount; i++) {
+      splitResults.add(null);
+    }
+    AtomicInteger nextSplit = new AtomicInteger();
+    CountDownLatch completed = new CountDownLatch(splitCount);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Runnable worker = () -> {
+      int split;
+      while ((split = nextSplit.getAndIncrement()) < splitCount) {
+        int start = split * scenariosPerSplit;
+        int end = Math.min(start + scenariosPerSplit, scenarioCount);
+        try {
+          // each thread sets a different element, the latch ensures the results are visible when merged
+          splitResults.set(split, task.calculate(marketData.scenarioRange(start, end), refData, metrics));
+        } catch (RuntimeException | Error ex) {
+          failure.compareAndSet(null, ex);
+        } finally {
+          completed.countDown();
+        }
+      }
+    };
+    for (int i = 1; i < splitCount; i++) {
+      try {
+        executor.execute(worker);
+      } catch (RuntimeException ex) {
+        // the executor rejected the helper, the ranges are calculated by the other threads
+        break;
+      }
+    }
+    worker.run();
+    awaitUninterruptibly(completed);
+    Throwable ex = failure.get();
+    if (ex != null) {
+      Throwables.throwIfUnchecked(ex);
+      throw new IllegalStateException(ex);
+    }
+
+    return task.createResults(merge(splitResults), marketData, refData, metrics);
+  }
+
+  // waits for the latch, preserving the interrupted flag
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        latch.await();
+        break;
+      } catch (InterruptedException ex) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Merges the results calculated for each range of scenarios.
+   * <p>
+   * If the result for any range is a failure, the first failure is used.
+   * If the values are scenario arrays, they are concatenated in scenario order.
+   * Otherwise, the value does not depend on the scenario and must be the same for every range,
+   * in which case the first value is used, otherwise the result is a failure.
+   *
+   * @param splitResults  the results for each range, in scenario order
+   * @return the merged results
+   */
+  static Map<Measure, Result<?>> merge(List<Map<Measure, Result<?>>> splitResults) {
+    Map<Measure, Result<?>> merged = new HashMap<>();
+    for (Map.Entry<Measure, Result<?>> entry : splitResults.get(0).entrySet()) {
+      Measure measure = entry.getKey();
+      List<Object> values = new ArrayList<>(splitResults.size());
+      Result<?> failure = null;
+      for (Map<Measure, Result<?>> splitResult : splitResults) {
+        Result<?> result = splitResult.get(measure);
+        if (result == null || result.isFailure()) {
+          failure = result;
+          break;
+        }
+        values.add(result.getValue());
+      }
+      if (failure != null) {
+        merged.put(measure, failure);
+      } else if (values.stream().allMatch(ScenarioArray.class::isInstance)) {
+        merged.put(measure, Result.success(mergeArrays(values)));
+      } else if (values.stream().allMatch(values.get(0)::equals)) {
+        merged.put(measure, entry.getValue());
+      } else {
+        merged.put(measure, Result.failure(
+            FailureReason.CALCULATION_FAILED,
+            "Unable to merge the results for measure '{}' calculated for ranges of scenarios, " +
+                "the values are not scenario arrays and differ between ranges",
+            measure));
+      }
+    }
+    return merged;
+  }
+
+  // merges scenario arrays, retaining the type of array where possible
+  private static ScenarioArray<?> mergeArrays(List<Object> values) {
+    List<ScenarioArray<?>> arrays = new ArrayList<>(values.size());
+    boolean allCurrency = true;
+    boolean allMultiCurrency = true;
+    boolean allDouble = true;
+    Currency currency = null;
+    for (Object value : values) {
+      ScenarioArray<?> array = (ScenarioArray<?>) value;
+      arrays.add(array);
+      if (array instanceof CurrencyScenarioArray) {
+        Currency arrayCurrency = ((CurrencyScenarioArray) array).getCurrency();
+        allCurrency &= (currency == null || currency.equals(arrayCurrency));
+        currency = arrayCurrency;
+      } else {
+        allCurrency = false;
+      }
+      allMultiCurrency &= array instanceof MultiCurrencyScenarioArray;
+      allDouble &= array instanceof DoubleScenarioArray;
+    }
+    if (allCurrency) {
+      DoubleArray merged = DoubleArray.EMPTY;
+      for (ScenarioArray<?> array : arrays) {
+        merged = merged.concat(((CurrencyScenarioArray) array).getAmounts().getValues());
+      }
+      return CurrencyScenarioArray.of(currency, merged);
+    }
+    if (allDouble) {
+      DoubleArray merged = DoubleArray.EMPTY;
+      for (ScenarioArray<?> array : arrays) {
+        merged = merged.concat(((DoubleScenarioArray) array).getValues());
+      }
+      return DoubleScenarioArray.of(merged);
+    }
+    int totalCount = arrays.stream().mapToInt(ScenarioArray::getScenarioCount).sum();
+    IntFunction<Object> lookup = scenarioIndex -> {
+      int index = scenarioIndex;
+      for (ScenarioArray<?> array : arrays) {
+        if (index < array.getScenarioCount()) {
+          return array.get(index);
+        }
+        index -= array.getScenarioCount();
+      }
+      throw new IndexOutOfBoundsException("Invalid scenario index: " + scenarioIndex);
+    };
+    if (allMultiCurrency) {
+      return MultiCurrencyScenarioArray.of(totalCount, i -> (MultiCurrencyAmount) lookup.apply(i));
+    }
+    return ScenarioArray.of(totalCount, lookup);
+  }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * A grid of calculation results stored in a file.
+ * <p>
+ * This is created by {@link StreamingResultsListener} when the calculations are complete.
+ * The results are read from the file on demand, allowing a very large grid of results
+ * to be processed a block of rows at a time without holding every result in memory.
+ * <p>
+ * Instances must be closed to release the file. Closing does not delete the file.
+ * This class is thread-safe.
+ */
+public final class StoredResults implements AutoCloseable {
+
+  /** The file containing the results. */
+  private final Path file;
+  /** The column headers. */
+  private final ImmutableList<ColumnHeader> columns;
+  /** The number of rows. */
+  private final int rowCount;
+  /** The position of each result in the file, indexed by row and then column, -1 if not written. */
+  private final long[] positions;
+  /** The channel used to read the file, opened on first use. */
+  private FileChannel channel;
+
+  /**
+   * Creates an instance.
+   *
+   * @param file  the file containing the results
+   * @param columns  the column headers
+   * @param rowCount  the number of rows
+   * @param positions  the position of each result in the file, indexed by row and then column
+   */
+  StoredResults(Path file, List<ColumnHeader> columns, int rowCount, long[] positions) {
+    this.file = file;
+    this.columns = ImmutableList.copyOf(columns);
+    this.rowCount = rowCount;
+    this.positions = positions;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the file containing the results.
+   *
+   * @return the file
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Gets the column headers.
+   *
+   * @return the column headers
+   */
+  public List<ColumnHeader> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Gets the number of rows.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the number of columns.
+   *
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads a single calculation result.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the result
+   * @throws IllegalArgumentException if the indices are invalid
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  public Result<?> get(int rowIndex, int columnIndex) {
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    ArgChecker.inRange(columnIndex, 0, columns.size(), "columnIndex");
+    return read(rowIndex, columnIndex);
+  }
+
+  /**
+   * Reads the results for a range of rows.
+   * <p>
+   * The returned results have the same columns as this instance, with row zero being
+   * the row at the start index.
+   *
+   * @param startRow  the index of the first row, inclusive
+   * @param endRow  the index of the last row, exclusive
+   * @return the results for the range of rows
+   * @throws IllegalArgumentException if the range is invalid
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  public Results getResults(int startRow, int endRow) {
+    ArgChecker.inRangeInclusive(startRow, 0, rowCount, "startRow");
+    ArgChecker.inRangeInclusive(endRow, startRow, rowCount, "endRow");
+    List<Result<?>> cells = new ArrayList<>((endRow - startRow) * columns.size());
+    for (int rowIndex = startRow; rowIndex < endRow; rowIndex++) {
+      for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
+        cells.add(read(rowIndex, columnIndex));
+      }
+    }
+    return Results.of(columns, cells);
+  }
+
+  /**
+   * Reads all the results.
+   * <p>
+   * This holds every result in memory, and should only be used for small grids of results.
+   *
+   * @return the results
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  public Results toResults() {
+    return getResults(0, rowCount);
+  }
+
+  // reads a single result from the file
+  private Result<?> read(int rowIndex, int columnIndex) {
+    long position = positions[rowIndex * columns.size() + columnIndex];
+    if (position < 0) {
+      return Result.failure(
+          FailureReason.ERROR, "No result was stored for row {} column {}", rowIndex, columnIndex);
+    }
+    try {
+      FileChannel channel = channel();
+      ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+      readFully(channel, lengthBuffer, position);
+      ByteBuffer buffer = ByteBuffer.allocate(lengthBuffer.getInt(0));
+      readFully(channel, buffer, position + Integer.BYTES);
+      return JodaBeanSer.COMPACT.binReader().read(buffer.array(), CalculationResult.class).getResult();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // reads from the channel until the buffer is full, which is safe for use by multiple threads
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        throw new IOException("Unexpected end of results file");
+      }
+    }
+  }
+
+  // opens the channel on first use
+  private synchronized FileChannel channel() throws IOException {
+    if (channel == null) {
+      channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+    return channel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Closes the file.
+   */
+  @Override
+  public synchronized void close() {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+      channel = null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "StoredResults[file=" + file + ", rows=" + rowCount + ", columns=" + columns.size() + "]";
+  }
+
+}
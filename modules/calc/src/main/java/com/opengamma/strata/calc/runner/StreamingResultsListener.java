@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.joda.beans.ser.JodaBeanSer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Calculation listener that writes the results of individual calculations to a file as they are received.
+ * <p>
+ * {@link ResultsListener} holds every result in memory until the calculations are complete.
+ * For very large sets of calculations, this listener instead writes each result to a file
+ * as it arrives, in a compact binary form, with only the position of each result held in memory.
+ * The aggregate result is a {@link StoredResults}, which reads the results back on demand.
+ * <p>
+ * Writing to the file may be slower than performing the calculations.
+ * The number of results waiting to be written is bounded by the queue size, see {@link #maxQueuedResults()}.
+ * When the queue is full, the threads performing the calculations wait, applying backpressure to the runner.
+ * <p>
+ * If a result cannot be serialized, a failure is stored in its place.
+ * If the file cannot be written, no further results are written, and reading them returns a failure.
+ */
+public final class StreamingResultsListener extends AggregatingCalculationListener<StoredResults> {
+
+  /** The logger. */
+  private static final Logger log = LoggerFactory.getLogger(StreamingResultsListener.class);
+  /** The default maximum number of results waiting to be written. */
+  private static final int DEFAULT_QUEUE_SIZE = 1000;
+
+  /** The file that the results are written to. */
+  private final Path file;
+  /** The maximum number of results waiting to be written. */
+  private final int queueSize;
+
+  /** The stream writing the file, null until the calculations start. */
+  private DataOutputStream out;
+  /** The position of each result in the file, indexed by row and then column, -1 if not written. */
+  private long[] positions;
+  /** The number of bytes written to the file. */
+  private long written;
+  /** The columns that define what values are calculated. */
+  private List<ColumnHeader> columns;
+  /** The number of rows. */
+  private int rowCount;
+  /** Set if writing to the file has failed, when no further results are written. */
+  private boolean writeFailed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance that writes to the specified file, with the default queue size.
+   * <p>
+   * Any existing file is replaced.
+   *
+   * @param file  the file to write the results to
+   */
+  public StreamingResultsListener(Path file) {
+    this(file, DEFAULT_QUEUE_SIZE);
+  }
+
+  /**
+   * Creates an instance that writes to the specified file, specifying the queue size.
+   * <p>
+   * Any existing file is replaced.
+   *
+   * @param file  the file to write the results to
+   * @param queueSize  the maximum number of results waiting to be written
+   */
+  public StreamingResultsListener(Path file, int queueSize) {
+    this.file = ArgChecker.notNull(file, "file");
+    this.queueSize = ArgChecker.notNegativeOrZero(queueSize, "queueSize");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    this.columns = columns.stream().map(Column::toHeader).collect(toImmutableList());
+    this.rowCount = targets.size();
+    this.positions = new long[rowCount * columns.size()];
+    Arrays.fill(positions, -1);
+    try {
+      out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    if (writeFailed) {
+      return;
+    }
+    byte[] bytes = serialize(result);
+    try {
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    } catch (IOException ex) {
+      writeFailed = true;
+      throw new UncheckedIOException(ex);
+    }
+    positions[result.getRowIndex() * columns.size() + result.getColumnIndex()] = written;
+    written += Integer.BYTES + bytes.length;
+  }
+
+  // serializes the result, storing a failure if the result cannot be serialized
+  private static byte[] serialize(CalculationResult result) {
+    try {
+      return JodaBeanSer.COMPACT.binWriter().write(result);
+    } catch (RuntimeException ex) {
+      log.warn("Unable to serialize result", ex);
+      CalculationResult failure = result.withResult(
+          Result.failure(FailureReason.ERROR, ex, "Unable to store result: {}", ex.getMessage()));
+      return JodaBeanSer.COMPACT.binWriter().write(failure);
+    }
+  }
+
+  @Override
+  public int maxQueuedResults() {
+    return queueSize;
+  }
+
+  @Override
+  protected StoredResults createAggregateResult() {
+    try {
+      out.close();
+    } catch (IOException ex) {
+      log.warn("Exception closing results file", ex);
+    }
+    return new StoredResults(file, columns, rowCount, positions);
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the number of bytes allocated by the current thread.
+ * <p>
+ * This uses the HotSpot extension of the thread management bean, which is not available on all JVMs.
+ * The extension is accessed using a method handle to avoid a compile-time dependency on it.
+ */
+final class ThreadAllocation {
+
+  /** The name of the HotSpot extension of the thread management bean. */
+  private static final String HOTSPOT_BEAN_TYPE = "com.sun.management.ThreadMXBean";
+  /** The method handle that obtains the bytes allocated by a thread ID, null if not supported. */
+  private static final MethodHandle ALLOCATED_BYTES = allocatedBytesHandle();
+
+  /**
+   * Restricted constructor.
+   */
+  private ThreadAllocation() {
+  }
+
+  // obtains the method handle bound to the bean, if supported
+  private static MethodHandle allocatedBytesHandle() {
+    try {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      Class<?> hotspotType = Class.forName(HOTSPOT_BEAN_TYPE);
+      if (!hotspotType.isInstance(bean)) {
+        return null;
+      }
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      MethodType booleanType = MethodType.methodType(boolean.class);
+      boolean supported = (boolean) lookup.findVirtual(hotspotType, "isThreadAllocatedMemorySupported", booleanType)
+          .invoke(bean);
+      boolean enabled = (boolean) lookup.findVirtual(hotspotType, "isThreadAllocatedMemoryEnabled", booleanType)
+          .invoke(bean);
+      if (!supported || !enabled) {
+        return null;
+      }
+      return lookup.findVirtual(hotspotType, "getThreadAllocatedBytes", MethodType.methodType(long.class, long.class))
+          .bindTo(bean);
+    } catch (Throwable ex) {
+      return null;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total number of bytes allocated by the current thread.
+   * <p>
+   * The value is only meaningful when compared to an earlier value on the same thread.
+   *
+   * @return the number of bytes allocated, negative if not supported
+   */
+  static long allocatedBytes() {
+    if (ALLOCATED_BYTES == null) {
+      return -1;
+    }
+    try {
+      return (long) ALLOCATED_BYTES.invokeExact(Thread.currentThread().getId());
+    } catch (Throwable ex) {
+      return -1;
+    }
+  }
+
+  /**
+   * Gets the number of bytes allocated by the current thread since the start value.
+   *
+   * @param start  the value returned by {@link #allocatedBytes()} on the same thread
+   * @return the number of bytes allocated, negative if not supported
+   */
+  static long allocatedBytesSince(long start) {
+    if (start < 0) {
+      return -1;
+    }
+    long end = allocatedBytes();
+    return end < 0 ? -1 : end - start;
+  }
+
+}
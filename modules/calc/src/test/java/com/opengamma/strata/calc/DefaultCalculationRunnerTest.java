@@ -15,6 +15,7 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationTaskRunner;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -34,6 +35,26 @@ public class DefaultCalculationRunnerTest {
     }
   }
 
+  public void test_of_concurrencyLimit() {
+    try (CalculationRunner test = CalculationRunner.of(MoreExecutors.newDirectExecutorService(), 2)) {
+      assertThat(test.getTaskRunner()).isNotNull();
+    }
+  }
+
+  public void test_of_taskRunner() {
+    CalculationTaskRunner taskRunner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())
+        .withScenarioSplitting(100);
+    try (CalculationRunner test = CalculationRunner.of(taskRunner)) {
+      assertThat(test.getTaskRunner()).isSameAs(taskRunner);
+    }
+  }
+
+  public void test_ofWorkStealing() {
+    try (CalculationRunner test = CalculationRunner.ofWorkStealing()) {
+      assertThat(test.getTaskRunner()).isNotNull();
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void calculate() {
     ImmutableList<CalculationTarget> targets = ImmutableList.of(TARGET);
@@ -21,9 +21,11 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.collect.result.FailureException;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
  * Test {@link BuiltScenarioMarketData}.
@@ -67,6 +69,32 @@ public class BuiltScenarioMarketDataTest {
     assertThrows(() -> test.getValue(ID), MarketDataNotFoundException.class);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_builderView() {
+    BuiltScenarioMarketDataBuilder builder = BuiltScenarioMarketData.builder(MarketDataBox.ofSingleValue(VAL_DATE));
+    ScenarioMarketData test = builder.view();
+    assertEquals(test.getValuationDate(), MarketDataBox.ofSingleValue(VAL_DATE));
+    assertEquals(test.getScenarioCount(), 1);
+    assertEquals(test.getIds(), ImmutableSet.of());
+    assertThrows(() -> test.getValue(ID), MarketDataNotFoundException.class);
+
+    // data added to the builder later is visible in the view
+    TestObservableId id2 = TestObservableId.of("2");
+    LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.of(VAL_DATE, 1d);
+    builder.addValue(ID, 1d)
+        .addResult(id2, Result.failure(FailureReason.ERROR, "Something went wrong"))
+        .addTimeSeries(ID, timeSeries);
+    assertEquals(test.getIds(), ImmutableSet.of(ID));
+    assertEquals(test.findValue(ID), Optional.of(MarketDataBox.ofSingleValue(1d)));
+    assertEquals(test.getValue(ID), MarketDataBox.ofSingleValue(1d));
+    assertEquals(test.getValue(FxRateId.of(GBP, GBP)), MarketDataBox.ofSingleValue(FxRate.of(GBP, GBP, 1)));
+    assertThrows(() -> test.getValue(id2), FailureException.class, "Something went wrong");
+    assertEquals(test.getTimeSeriesIds(), ImmutableSet.of(ID));
+    assertEquals(test.getTimeSeries(ID), timeSeries);
+    assertEquals(test.getTimeSeries(id2), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.scenario(0).getValue(ID), 1d);
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverImmutableBean(BuiltScenarioMarketData.empty());
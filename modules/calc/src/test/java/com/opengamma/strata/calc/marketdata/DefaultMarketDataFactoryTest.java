@@ -7,20 +7,25 @@ package com.opengamma.strata.calc.marketdata;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.calc.runner.ConcurrencyLimit;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -355,6 +360,41 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(new TestIdC("2"))).isEqualTo(expectedC2);
   }
 
+  /**
+   * Tests the dependencies between the market data that would be built.
+   */
+  public void dependencies() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC());
+
+    MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+    MarketDataDependencies dependencies = factory.dependencies(requirements, MARKET_DATA_CONFIG, suppliedData);
+    assertThat(dependencies.directDependents(new TestIdA("1"))).containsOnly(new TestIdB("1"), new TestIdC("1"));
+    assertThat(dependencies.directDependents(new TestIdC("1"))).containsOnly(new TestIdB("1"));
+    assertThat(dependencies.directDependents(new TestIdB("1"))).isEmpty();
+    // C depends on the time series of A, which is conservatively treated as depending on A
+    assertThat(dependencies.affectedIds(ImmutableSet.of(new TestIdA("1"))))
+        .containsOnly(new TestIdA("1"), new TestIdB("1"), new TestIdC("1"));
+    assertThat(dependencies.affectedIds(ImmutableSet.of(new TestIdC("2"))))
+        .containsOnly(new TestIdB("2"), new TestIdC("2"));
+    assertThat(MarketDataDependencies.empty().affectedIds(ImmutableSet.of(new TestIdA("1"))))
+        .containsOnly(new TestIdA("1"));
+
+    // supplied data is not built, so has no dependencies
+    TestMarketDataB suppliedB = new TestMarketDataB(1, new TestMarketDataC(LocalDateDoubleTimeSeries.empty()));
+    MarketData suppliedData2 = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addValue(new TestIdB("1"), suppliedB)
+        .build();
+    MarketDataDependencies dependencies2 = factory.dependencies(requirements, MARKET_DATA_CONFIG, suppliedData2);
+    assertThat(dependencies2.affectedIds(ImmutableSet.of(new TestIdA("1")))).containsOnly(new TestIdA("1"));
+  }
+
   /**
    * Tests building multiple observable values for scenarios where the values aren't perturbed.
    */
@@ -655,6 +695,115 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketDataB2).isEqualTo(expectedB2);
   }
 
+  /**
+   * Tests building market data concurrently produces the same data as building it serially.
+   */
+  public void buildParallel() {
+    TestIdB idB1 = new TestIdB("1");
+    TestIdB idB2 = new TestIdB("2");
+    TestIdA idA1 = new TestIdA("1");
+    TestIdA idA2 = new TestIdA("2");
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(idB1, idB2)
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1);
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 10);
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8))
+        .addTimeSeries(idA1, timeSeries1)
+        .addValue(idA2, 2d)
+        .addValue(new TestIdC("2"), new TestMarketDataC(timeSeries2))
+        .build();
+
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC());
+
+    PerturbationMapping<TestMarketDataC> cMapping = PerturbationMapping.of(
+        new ExactIdFilter<>(new TestIdC("1")),
+        new TestCPerturbation(1.1, 1.2, 1.3));
+    ScenarioDefinition scenarioDefinition = ScenarioDefinition.ofMappings(cMapping);
+
+    BuiltScenarioMarketData expected =
+        factory.createMultiScenario(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, scenarioDefinition);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      MarketDataFactory test = factory.withParallelBuild(executor);
+      BuiltScenarioMarketData marketData =
+          test.createMultiScenario(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, scenarioDefinition);
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+      assertThat(marketData).isEqualTo(expected);
+      assertThat(marketData.getValue(idB1)).isEqualTo(MarketDataBox.ofScenarioValues(
+          new TestMarketDataB(1, new TestMarketDataC(timeSeries1.mapValues(v -> v * 1.1))),
+          new TestMarketDataB(1, new TestMarketDataC(timeSeries1.mapValues(v -> v * 1.2))),
+          new TestMarketDataB(1, new TestMarketDataC(timeSeries1.mapValues(v -> v * 1.3)))));
+      assertThat(marketData.getValue(idB2)).isEqualTo(
+          MarketDataBox.ofSingleValue(new TestMarketDataB(2, new TestMarketDataC(timeSeries2))));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Tests building market data concurrently with a limit produces the same data as building it serially.
+   */
+  public void buildParallel_concurrencyLimit() {
+    TestIdB idB1 = new TestIdB("1");
+    TestIdB idB2 = new TestIdB("2");
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(idB1, idB2)
+        .build();
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8))
+        .addTimeSeries(new TestIdA("1"), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1))
+        .addTimeSeries(new TestIdA("2"), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 10))
+        .build();
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC());
+
+    ScenarioDefinition scenarioDefinition = ScenarioDefinition.empty();
+    BuiltScenarioMarketData expected =
+        factory.createMultiScenario(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, scenarioDefinition);
+    ConcurrencyLimit limit = ConcurrencyLimit.of(1);
+    ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      MarketDataFactory test = factory.withParallelBuild(executor, limit);
+      BuiltScenarioMarketData marketData =
+          test.createMultiScenario(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, scenarioDefinition);
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData).isEqualTo(expected);
+      assertThat(limit.availablePermits()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThrowsIllegalArg(() -> factory.withParallelBuild(executor, null));
+  }
+
+  /**
+   * Tests an exception is thrown when building concurrently and there is no builder for an ID type.
+   */
+  public void buildParallel_noMarketDataBuilderAvailable() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        new TestMarketDataFunctionB())
+        .withParallelBuild(MoreExecutors.directExecutor());
+
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+    assertThrows(
+        () -> factory.createMultiScenario(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, ScenarioDefinition.empty()),
+        IllegalStateException.class,
+        "No market data function available for market data ID of type.*");
+  }
+
   /**
    * Tests that perturbations are applied to non-observable market data.
    */
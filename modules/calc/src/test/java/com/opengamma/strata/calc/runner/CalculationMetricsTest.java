@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.data.MarketData;
+
+/**
+ * Test {@link CalculationMetrics} and {@link LatencyHistogram}.
+ */
+@Test
+public class CalculationMetricsTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final TestTarget TARGET = new TestTarget();
+
+  //-------------------------------------------------------------------------
+  public void test_runner() {
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task1 = CalculationTask.of(TARGET, new TestFunction(), cell);
+    CalculationTask task2 = CalculationTask.of(TARGET, new TestFunction(), CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, NATURAL));
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task1, task2), ImmutableList.of(column));
+    CalculationMetrics metrics = new CalculationMetrics();
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())
+        .withMetrics(metrics);
+    Results results = test.calculate(tasks, MarketData.empty(date(2011, 3, 8)), REF_DATA);
+    assertThat(results.get(1, 0).getValue()).isEqualTo("bar");
+
+    assertThat(metrics.getFunctionLatencies()).containsOnlyKeys(TestFunction.class);
+    assertThat(metrics.getFunctionLatencies().get(TestFunction.class).getCount()).isEqualTo(2);
+    assertThat(metrics.getTargetTypeLatencies()).containsOnlyKeys(TestTarget.class);
+    assertThat(metrics.getTargetTypeLatencies().get(TestTarget.class).getCount()).isEqualTo(2);
+    assertThat(metrics.getMeasureLatencies()).containsOnlyKeys(TestingMeasures.PRESENT_VALUE);
+    assertThat(metrics.getCurrencyConversionLatency().getCount()).isEqualTo(2);
+    assertThat(metrics.getListenerLockWait().getCount()).isEqualTo(2);
+    if (ThreadAllocation.allocatedBytes() >= 0) {
+      assertThat(metrics.getFunctionAllocatedBytes().get(TestFunction.class)).isGreaterThanOrEqualTo(0L);
+    }
+    assertThat(metrics.toString()).contains("TestFunction");
+  }
+
+  public void test_listener() {
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, new TestFunction(), cell);
+    CalculationMetrics test = new CalculationMetrics();
+    test.functionInvoked(task, ImmutableSet.of(TestingMeasures.PRESENT_VALUE, TestingMeasures.PAR_RATE), 100, -1);
+    test.functionInvoked(task, ImmutableSet.of(TestingMeasures.PRESENT_VALUE), 300, 64);
+    test.currencyConversionCompleted(task, 10);
+    test.listenerLockWaited(20);
+    assertThat(test.getFunctionLatencies().get(TestFunction.class).getTotalNanos()).isEqualTo(400);
+    assertThat(test.getMeasureLatencies().get(TestingMeasures.PRESENT_VALUE).getCount()).isEqualTo(2);
+    assertThat(test.getMeasureLatencies().get(TestingMeasures.PAR_RATE).getCount()).isEqualTo(1);
+    assertThat(test.getFunctionAllocatedBytes()).containsEntry(TestFunction.class, 64L);
+    assertThat(test.getCurrencyConversionLatency().getTotalNanos()).isEqualTo(10);
+    assertThat(test.getListenerLockWait().getTotalNanos()).isEqualTo(20);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_histogram() {
+    LatencyHistogram test = new LatencyHistogram();
+    assertThat(test.getCount()).isEqualTo(0);
+    assertThat(test.getMeanNanos()).isEqualTo(0d);
+    assertThat(test.getPercentileNanos(0.5)).isEqualTo(0);
+    for (int i = 1; i <= 100; i++) {
+      test.record(i * 1000);
+    }
+    test.record(-5);
+    assertThat(test.getCount()).isEqualTo(101);
+    assertThat(test.getTotalNanos()).isEqualTo(5050_000);
+    assertThat(test.getMaxNanos()).isEqualTo(100_000);
+    assertThat(test.getMeanNanos()).isEqualTo(5050_000d / 101);
+    assertThat(test.getPercentileNanos(0)).isEqualTo(0);
+    // the median is 50,000 which is in the bucket up to 65,535
+    assertThat(test.getPercentileNanos(0.5)).isEqualTo(65_535);
+    assertThat(test.getPercentileNanos(1)).isEqualTo(100_000);
+    assertThrowsIllegalArg(() -> test.getPercentileNanos(1.5));
+    assertThat(test.toString()).contains("count=101");
+  }
+
+  public void test_histogram_large() {
+    LatencyHistogram test = new LatencyHistogram();
+    test.record(Long.MAX_VALUE);
+    assertThat(test.getPercentileNanos(0.5)).isEqualTo(Long.MAX_VALUE);
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.calc.runner.DefaultCalculationTaskRunnerTest.HangingFunction;
+
+/**
+ * Test {@link CalculationTaskCostEstimator}.
+ */
+@Test
+public class CalculationTaskCostEstimatorTest {
+
+  private static final TestTarget TARGET = new TestTarget();
+
+  //-------------------------------------------------------------------------
+  public void test_estimate_unknown() {
+    CalculationTaskCostEstimator test = new CalculationTaskCostEstimator();
+    assertThat(test.estimate(task(0, new TestFunction()))).isEqualTo(Double.POSITIVE_INFINITY);
+  }
+
+  public void test_record() {
+    CalculationTaskCostEstimator test = new CalculationTaskCostEstimator();
+    CalculationTask task = task(0, new TestFunction());
+    test.record(task, 1000);
+    assertThat(test.estimate(task)).isEqualTo(1000d);
+    test.record(task, 2000);
+    assertThat(test.estimate(task)).isEqualTo(1200d);
+    // estimates are shared by all tasks using the same type of function, parameters and measures
+    assertThat(test.estimate(task(1, new TestFunction()))).isEqualTo(1200d);
+    CalculationTask taskWithParameters = CalculationTask.of(
+        TARGET,
+        new TestFunction(),
+        CalculationParameters.of(new TestParameter()),
+        ImmutableList.of(CalculationTaskCell.of(2, 0, TestingMeasures.PRESENT_VALUE, NATURAL)));
+    assertThat(test.estimate(taskWithParameters)).isEqualTo(Double.POSITIVE_INFINITY);
+    CalculationTask taskWithMeasure = CalculationTask.of(
+        TARGET, new TestFunction(), CalculationTaskCell.of(3, 0, TestingMeasures.PAR_RATE, NATURAL));
+    assertThat(test.estimate(taskWithMeasure)).isEqualTo(Double.POSITIVE_INFINITY);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_schedule_unknown() {
+    CalculationTaskCostEstimator test = new CalculationTaskCostEstimator();
+    List<CalculationTask> tasks = ImmutableList.of(task(0, new TestFunction()), task(1, new HangingFunction()));
+    List<List<CalculationTask>> batches = test.schedule(tasks);
+    assertThat(batches).containsExactly(ImmutableList.of(tasks.get(0)), ImmutableList.of(tasks.get(1)));
+  }
+
+  public void test_schedule_largestFirst() {
+    CalculationTaskCostEstimator test = new CalculationTaskCostEstimator();
+    CalculationTask cheap = task(0, new TestFunction());
+    CalculationTask expensive = task(1, new HangingFunction());
+    test.record(cheap, 300_000);
+    test.record(expensive, 5_000_000);
+    List<List<CalculationTask>> batches = test.schedule(ImmutableList.of(cheap, expensive));
+    assertThat(batches).containsExactly(ImmutableList.of(expensive), ImmutableList.of(cheap));
+  }
+
+  public void test_schedule_batchesCheapTasks() {
+    CalculationTaskCostEstimator test = new CalculationTaskCostEstimator();
+    List<CalculationTask> tasks = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      tasks.add(task(i, new TestFunction()));
+    }
+    CalculationTask expensive = task(25, new HangingFunction());
+    tasks.add(expensive);
+    test.record(tasks.get(0), 100_000);
+    test.record(expensive, 5_000_000);
+    List<List<CalculationTask>> batches = test.schedule(tasks);
+    // the expensive task first, then batches of cheap tasks with a total estimated cost of 2ms, in list order
+    assertThat(batches).hasSize(3);
+    assertThat(batches.get(0)).containsExactly(expensive);
+    assertThat(batches.get(1)).isEqualTo(tasks.subList(0, 20));
+    assertThat(batches.get(2)).isEqualTo(tasks.subList(20, 25));
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationTask task(int row, CalculationFunction<?> fn) {
+    CalculationTaskCell cell = CalculationTaskCell.of(row, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    return CalculationTask.of(TARGET, fn, cell);
+  }
+
+}
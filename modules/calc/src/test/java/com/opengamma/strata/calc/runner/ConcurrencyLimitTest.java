@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Test {@link ConcurrencyLimit}.
+ */
+@Test
+public class ConcurrencyLimitTest {
+
+  public void test_of() {
+    ConcurrencyLimit test = ConcurrencyLimit.of(2);
+    assertThat(test.availablePermits()).isEqualTo(2);
+    assertThat(test.toString()).isEqualTo("ConcurrencyLimit[availablePermits=2]");
+    assertThrowsIllegalArg(() -> ConcurrencyLimit.of(0));
+  }
+
+  public void test_call() {
+    ConcurrencyLimit test = ConcurrencyLimit.of(2);
+    assertThat(test.call(() -> test.availablePermits())).isEqualTo(1);
+    assertThat(test.availablePermits()).isEqualTo(2);
+  }
+
+  public void test_call_reentrant() {
+    ConcurrencyLimit test = ConcurrencyLimit.of(1);
+    // a nested call on the same thread uses the permit already held
+    assertThat(test.call(() -> test.call(() -> test.availablePermits()))).isEqualTo(0);
+    assertThat(test.availablePermits()).isEqualTo(1);
+  }
+
+  public void test_run_exception() {
+    ConcurrencyLimit test = ConcurrencyLimit.of(1);
+    assertThrowsIllegalArg(() -> test.run(() -> {
+      throw new IllegalArgumentException();
+    }));
+    assertThat(test.availablePermits()).isEqualTo(1);
+  }
+
+  public void test_blocking() {
+    ConcurrencyLimit test = ConcurrencyLimit.of(1);
+    test.run(() -> {
+      assertThat(test.availablePermits()).isEqualTo(0);
+      ConcurrencyLimit.blocking(() -> assertThat(test.availablePermits()).isEqualTo(1));
+      assertThat(test.availablePermits()).isEqualTo(0);
+    });
+    assertThat(test.availablePermits()).isEqualTo(1);
+  }
+
+  public void test_blocking_noPermit() {
+    ConcurrencyLimit test = ConcurrencyLimit.of(1);
+    assertThat(ConcurrencyLimit.blocking(() -> test.availablePermits())).isEqualTo(1);
+  }
+
+  /**
+   * Tests that a thread that is blocked does not prevent another from running.
+   */
+  public void test_blocking_concurrent() {
+    ConcurrencyLimit test = ConcurrencyLimit.of(1);
+    CountDownLatch bothBlocked = new CountDownLatch(2);
+    Runnable work = () -> test.run(() -> ConcurrencyLimit.blocking(() -> {
+      bothBlocked.countDown();
+      return Uninterruptibles.awaitUninterruptibly(bothBlocked, 10, TimeUnit.SECONDS);
+    }));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CompletableFuture<Void> first = CompletableFuture.runAsync(work, executor);
+      CompletableFuture<Void> second = CompletableFuture.runAsync(work, executor);
+      CompletableFuture.allOf(first, second).join();
+      assertThat(bothBlocked.getCount()).isEqualTo(0);
+      assertThat(test.availablePermits()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
@@ -8,12 +8,14 @@ package com.opengamma.strata.calc.runner;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
 import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -21,6 +23,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.testng.annotations.Test;
@@ -154,6 +157,255 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that the work-stealing runner produces the same results on repeated runs,
+   * when the cheap tasks are batched together.
+   */
+  public void workStealing() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 100; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing()) {
+      MarketData marketData = MarketData.empty(VAL_DATE);
+      for (int run = 0; run < 3; run++) {
+        Results results = test.calculate(tasks, marketData, REF_DATA);
+        assertThat(results.getRowCount()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+          assertThat(results.get(i, 0)).hasValue("foo");
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that the number of tasks executing at the same time is limited,
+   * even when the executor has a thread per task.
+   */
+  public void concurrencyLimit() {
+    ConcurrencyCheckFunction fn = new ConcurrencyCheckFunction();
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 20; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+
+    ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      CalculationTaskRunner test = CalculationTaskRunner.of(executor, 2);
+      Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+      for (int i = 0; i < 20; i++) {
+        assertThat(results.get(i, 0)).hasValue("foo");
+      }
+      assertThat(fn.maxConcurrent.get()).isBetween(1, 2);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.of(executor, 0));
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.of(executor, (ConcurrencyLimit) null));
+  }
+
+  /**
+   * Tests that tasks with a batch function are calculated together, with the remaining tasks run separately.
+   */
+  public void batching() {
+    BatchFunction fn = new BatchFunction(false, false);
+    ScenarioResultFunction otherFn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("bar"));
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 5; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    taskBuilder.add(CalculationTask.of(TARGET, otherFn, CalculationTaskCell.of(5, 0, TestingMeasures.PRESENT_VALUE, NATURAL)));
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService()).withBatching(2);
+    Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+    for (int i = 0; i < 5; i++) {
+      assertThat(results.get(i, 0)).hasValue("batch");
+    }
+    assertThat(results.get(5, 0)).hasValue("bar");
+    assertThat(fn.batchInvocations.get()).isEqualTo(3);
+    assertThat(fn.singleInvocations.get()).isEqualTo(0);
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService()).withBatching(0));
+  }
+
+  /**
+   * Tests that the tasks of a batch are calculated separately if the batch function fails.
+   */
+  public void batching_failure() {
+    BatchFunction fn = new BatchFunction(true, false);
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 3; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), 1).withBatching(10);
+    Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+    for (int i = 0; i < 3; i++) {
+      assertThat(results.get(i, 0)).hasValue("single");
+    }
+    assertThat(fn.batchInvocations.get()).isEqualTo(1);
+    assertThat(fn.singleInvocations.get()).isEqualTo(3);
+  }
+
+  /**
+   * Tests that the tasks of a batch fail if the batch function does not return a result for each target.
+   */
+  public void batching_wrongResultCount() {
+    BatchFunction fn = new BatchFunction(false, true);
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 3; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), 1).withBatching(10);
+    Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+    for (int i = 0; i < 3; i++) {
+      assertThat(results.get(i, 0)).isFailure(FailureReason.CALCULATION_FAILED);
+    }
+    assertThat(fn.batchInvocations.get()).isEqualTo(1);
+    assertThat(fn.singleInvocations.get()).isEqualTo(0);
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class ConcurrencyCheckFunction implements CalculationFunction<TestTarget> {
+
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return MEASURES;
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      int current = concurrent.incrementAndGet();
+      maxConcurrent.accumulateAndGet(current, Math::max);
+      try {
+        // simulate blocking on a data store
+        Thread.sleep(5);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      concurrent.decrementAndGet();
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(ScenarioArray.of("foo")));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class BatchFunction implements BatchCalculationFunction<TestTarget> {
+
+    private final boolean failBatch;
+    private final boolean omitResult;
+    private final AtomicInteger batchInvocations = new AtomicInteger();
+    private final AtomicInteger singleInvocations = new AtomicInteger();
+
+    private BatchFunction(boolean failBatch, boolean omitResult) {
+      this.failBatch = failBatch;
+      this.omitResult = omitResult;
+    }
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return MEASURES;
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      singleInvocations.incrementAndGet();
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(ScenarioArray.of("single")));
+    }
+
+    @Override
+    public List<Map<Measure, Result<?>>> calculateBatch(
+        List<? extends TestTarget> targets,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      batchInvocations.incrementAndGet();
+      if (failBatch) {
+        throw new IllegalStateException("Batch failed");
+      }
+      return targets.stream()
+          .skip(omitResult ? 1 : 0)
+          .map(target -> ImmutableMap.<Measure, Result<?>>of(
+              TestingMeasures.PRESENT_VALUE, Result.success(ScenarioArray.of("batch"))))
+          .collect(toImmutableList());
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.MarketDataDependencies;
+import com.opengamma.strata.calc.marketdata.TestId;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link IncrementalCalculator}.
+ */
+@Test
+public class IncrementalCalculatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final Measure PV = TestingMeasures.PRESENT_VALUE;
+  private static final Measure PAR_RATE = TestingMeasures.PAR_RATE;
+  private static final TestId ID_A = TestId.of("A");
+  private static final TestId ID_B = TestId.of("B");
+
+  //-------------------------------------------------------------------------
+  public void test_recalculate() {
+    AtomicInteger invocations = new AtomicInteger();
+    IncrementalCalculator test = calculator(invocations);
+
+    MarketData marketData1 = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(ID_A, "a1")
+        .addValue(ID_B, "b1")
+        .build();
+    Results results1 = test.calculate(marketData1);
+    assertThat(results1.get(0, 0)).hasValue("a1");
+    assertThat(results1.get(1, 0)).hasValue("b1");
+    assertThat(results1.get(2, 0)).hasValue("a1");
+    assertThat(results1.get(2, 1)).hasValue("a1");
+    assertThat(invocations.get()).isEqualTo(3);
+
+    // only the rows requiring A are recalculated
+    MarketData marketData2 = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(ID_A, "a2")
+        .addValue(ID_B, "b2")
+        .build();
+    assertThat(test.affectedRows(ImmutableSet.of(ID_A))).containsExactly(0, 2);
+    Results results2 = test.recalculate(marketData2, ImmutableSet.of(ID_A));
+    assertThat(results2.get(0, 0)).hasValue("a2");
+    assertThat(results2.get(1, 0)).hasValue("b1");
+    assertThat(results2.get(2, 0)).hasValue("a2");
+    assertThat(results2.get(2, 1)).hasValue("a2");
+    assertThat(invocations.get()).isEqualTo(5);
+
+    // nothing affected
+    Results results3 = test.recalculate(marketData2, ImmutableSet.of(TestId.of("C")));
+    assertThat(results3).isSameAs(results2);
+    assertThat(invocations.get()).isEqualTo(5);
+  }
+
+  public void test_recalculate_noPreviousRun() {
+    AtomicInteger invocations = new AtomicInteger();
+    IncrementalCalculator test = calculator(invocations);
+    MarketData marketData = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(ID_A, "a1")
+        .addValue(ID_B, "b1")
+        .build();
+    Results results = test.recalculate(marketData, ImmutableSet.of(ID_A));
+    assertThat(results.get(1, 0)).hasValue("b1");
+    assertThat(invocations.get()).isEqualTo(3);
+  }
+
+  public void test_recalculateMultiScenario() {
+    AtomicInteger invocations = new AtomicInteger();
+    IncrementalCalculator test = calculator(invocations);
+
+    ScenarioMarketData marketData1 = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(ID_A, MarketDataBox.ofScenarioValues("a1", "a1"))
+        .addBox(ID_B, MarketDataBox.ofScenarioValues("b1", "b1"))
+        .build();
+    test.calculateMultiScenario(marketData1);
+    assertThat(invocations.get()).isEqualTo(3);
+
+    ScenarioMarketData marketData2 = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(ID_A, MarketDataBox.ofScenarioValues("a1", "a1"))
+        .addBox(ID_B, MarketDataBox.ofScenarioValues("b2", "b3"))
+        .build();
+    Results results2 = test.recalculateMultiScenario(marketData2, ImmutableSet.of(ID_B));
+    assertThat(results2.get(0, 0)).hasValue(ScenarioArray.of("a1", "a1"));
+    assertThat(results2.get(1, 0)).hasValue(ScenarioArray.of("b2", "b3"));
+    assertThat(invocations.get()).isEqualTo(4);
+
+    // a different number of scenarios requires a full calculation
+    ScenarioMarketData marketData3 = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(ID_A, MarketDataBox.ofScenarioValues("a3"))
+        .addBox(ID_B, MarketDataBox.ofScenarioValues("b3"))
+        .build();
+    Results results3 = test.recalculateMultiScenario(marketData3, ImmutableSet.of(ID_B));
+    assertThat(results3.get(0, 0)).hasValue(ScenarioArray.of("a3"));
+    assertThat(invocations.get()).isEqualTo(7);
+  }
+
+  public void test_affectedRows_fullRebuild() {
+    IncrementalCalculator test = calculator(new AtomicInteger(), MarketDataDependencies.fullRebuild());
+    assertThat(test.affectedRows(ImmutableSet.of(TestId.of("C")))).containsExactly(0, 1, 2);
+    assertThat(test.affectedRows(ImmutableSet.of())).isEmpty();
+  }
+
+  //-------------------------------------------------------------------------
+  private static IncrementalCalculator calculator(AtomicInteger invocations) {
+    return calculator(invocations, MarketDataDependencies.empty());
+  }
+
+  // rows 0 and 2 depend on A, row 1 depends on B, row 2 has two tasks
+  private static IncrementalCalculator calculator(AtomicInteger invocations, MarketDataDependencies dependencies) {
+    IdTarget targetA = new IdTarget(ID_A);
+    IdTarget targetB = new IdTarget(ID_B);
+    IdFunction fn = new IdFunction(invocations);
+    CalculationTasks tasks = CalculationTasks.of(
+        ImmutableList.of(
+            CalculationTask.of(targetA, fn, CalculationTaskCell.of(0, 0, PV, NATURAL)),
+            CalculationTask.of(targetA, fn, CalculationTaskCell.of(0, 1, PAR_RATE, NATURAL)),
+            CalculationTask.of(targetB, fn, CalculationTaskCell.of(1, 0, PV, NATURAL)),
+            CalculationTask.of(targetB, fn, CalculationTaskCell.of(1, 1, PAR_RATE, NATURAL)),
+            CalculationTask.of(targetA, fn, CalculationTaskCell.of(2, 0, PV, NATURAL)),
+            CalculationTask.of(targetA, fn, CalculationTaskCell.of(2, 1, PAR_RATE, NATURAL))),
+        ImmutableList.of(Column.of(PV), Column.of(PAR_RATE)));
+    CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    return IncrementalCalculator.of(runner, tasks, dependencies, REF_DATA);
+  }
+
+  // target requiring a single item of market data
+  private static final class IdTarget implements CalculationTarget {
+    private final TestId id;
+
+    private IdTarget(TestId id) {
+      this.id = id;
+    }
+  }
+
+  // returns the value of the market data required by the target, counting calculations of the present value
+  private static final class IdFunction implements CalculationFunction<IdTarget> {
+    private final AtomicInteger invocations;
+
+    private IdFunction(AtomicInteger invocations) {
+      this.invocations = invocations;
+    }
+
+    @Override
+    public Class<IdTarget> targetType() {
+      return IdTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(PV, PAR_RATE);
+    }
+
+    @Override
+    public Currency naturalCurrency(IdTarget target, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        IdTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder().valueRequirements(target.id).build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        IdTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      if (measures.contains(PV)) {
+        invocations.incrementAndGet();
+      }
+      ScenarioArray<String> values =
+          ScenarioArray.of(marketData.getScenarioCount(), i -> marketData.scenario(i).getValue(target.id));
+      return measures.stream().collect(toImmutableMap(m -> m, m -> Result.success(values)));
+    }
+  }
+
+}
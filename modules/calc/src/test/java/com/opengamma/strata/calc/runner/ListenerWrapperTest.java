@@ -8,11 +8,14 @@ package com.opengamma.strata.calc.runner;
 import static java.util.stream.Collectors.joining;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
@@ -52,6 +55,60 @@ public class ListenerWrapperTest {
     }
   }
 
+  // Tests that batches of results are delivered, each element counting as one task.
+  public void concurrentExecutionBatched() throws InterruptedException {
+    int nThreads = Runtime.getRuntime().availableProcessors();
+    int batchesPerThread = 4;
+    int batchSize = 3;
+    ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    int expectedResultCount = nThreads * batchesPerThread * batchSize;
+    Listener listener = new Listener(errors, latch);
+    ListenerWrapper wrapper = new ListenerWrapper(listener, expectedResultCount, ImmutableList.of(), ImmutableList.of());
+    ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+    CalculationResult result = CalculationResult.of(0, 0, Result.failure(FailureReason.ERROR, "foo"));
+    CalculationTarget target = new CalculationTarget() {};
+    CalculationResults results = CalculationResults.of(target, ImmutableList.of(result));
+    List<CalculationResults> batch = Collections.nCopies(batchSize, results);
+    IntStream.range(0, nThreads * batchesPerThread).forEach(i -> executor.submit(() -> wrapper.acceptAll(batch)));
+
+    latch.await();
+    executor.shutdown();
+
+    if (!errors.isEmpty()) {
+      String allErrors = errors.stream().collect(joining("\n"));
+      fail(allErrors);
+    }
+  }
+
+  // Tests that batches larger than the bounded queue are delivered without deadlock.
+  public void concurrentExecutionBatchedBoundedQueue() throws InterruptedException {
+    int nThreads = Runtime.getRuntime().availableProcessors();
+    int batchesPerThread = 4;
+    int batchSize = 3;
+    ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    int expectedResultCount = nThreads * batchesPerThread * batchSize;
+    Listener listener = new Listener(errors, latch, 2);
+    ListenerWrapper wrapper = new ListenerWrapper(listener, expectedResultCount, ImmutableList.of(), ImmutableList.of());
+    ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+    CalculationResult result = CalculationResult.of(0, 0, Result.failure(FailureReason.ERROR, "foo"));
+    CalculationTarget target = new CalculationTarget() {};
+    CalculationResults results = CalculationResults.of(target, ImmutableList.of(result));
+    List<CalculationResults> batch = Collections.nCopies(batchSize, results);
+    IntStream.range(0, nThreads * batchesPerThread).forEach(i -> executor.submit(() -> wrapper.acceptAll(batch)));
+
+    if (!latch.await(30, TimeUnit.SECONDS)) {
+      fail("Results were not all delivered");
+    }
+    executor.shutdown();
+
+    if (!errors.isEmpty()) {
+      String allErrors = errors.stream().collect(joining("\n"));
+      fail(allErrors);
+    }
+  }
+
   public static final class Listener implements CalculationListener {
 
     /**
@@ -67,9 +124,22 @@ public class ListenerWrapperTest {
     /** The name of the thread currently invoking this listener. */
     private volatile String threadName;
 
+    /** The maximum number of results that can be queued. */
+    private final int maxQueued;
+
     public Listener(Queue<String> errors, CountDownLatch latch) {
+      this(errors, latch, Integer.MAX_VALUE);
+    }
+
+    public Listener(Queue<String> errors, CountDownLatch latch, int maxQueued) {
       this.errors = errors;
       this.latch = latch;
+      this.maxQueued = maxQueued;
+    }
+
+    @Override
+    public int maxQueuedResults() {
+      return maxQueued;
     }
 
     @Override
@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.TestId;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link ScenarioSplitter}.
+ */
+@Test
+public class ScenarioSplitterTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final TestTarget TARGET = new TestTarget();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final TestId ID = TestId.of("1");
+  private static final int SCENARIO_COUNT = 10;
+  private static final ScenarioMarketData MARKET_DATA = ImmutableScenarioMarketData.builder(VAL_DATE)
+      .addBox(ID, MarketDataBox.ofScenarioValue(ScenarioArray.of(SCENARIO_COUNT, i -> Integer.toString(i))))
+      .build();
+  private static final Measure PV = TestingMeasures.PRESENT_VALUE;
+
+  //-------------------------------------------------------------------------
+  public void test_execute() {
+    CalculationTask task = task(0);
+    CalculationResults expected = task.execute(MARKET_DATA, REF_DATA);
+    CalculationResults test = ScenarioSplitter.execute(
+        task, MARKET_DATA, REF_DATA, 3, MoreExecutors.directExecutor(), null);
+    assertThat(test).isEqualTo(expected);
+    assertThat(test.getCells().get(0).getResult())
+        .hasValue(CurrencyScenarioArray.of(USD, DoubleArray.of(SCENARIO_COUNT, i -> i)));
+  }
+
+  public void test_execute_noSplit() {
+    CalculationTask task = task(0);
+    CalculationResults test = ScenarioSplitter.execute(
+        task, MARKET_DATA, REF_DATA, SCENARIO_COUNT, MoreExecutors.directExecutor(), null);
+    assertThat(test).isEqualTo(task.execute(MARKET_DATA, REF_DATA));
+  }
+
+  @Test(timeOut = 60_000)
+  public void test_execute_exception() {
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, PV, NATURAL);
+    // the function fails for the range starting at scenario 3
+    CalculationTask task = CalculationTask.of(TARGET, new ScenarioValueFunction(3), cell);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertThrows(
+          () -> ScenarioSplitter.execute(task, MARKET_DATA, REF_DATA, 3, executor, null),
+          SplitError.class);
+      assertThrows(
+          () -> ScenarioSplitter.execute(task, MARKET_DATA, REF_DATA, 3, MoreExecutors.directExecutor(), null),
+          SplitError.class);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_execute_executorRejects() {
+    CalculationTask task = task(0);
+    ExecutorService executor = Executors.newFixedThreadPool(1);
+    executor.shutdown();
+    CalculationResults test = ScenarioSplitter.execute(task, MARKET_DATA, REF_DATA, 3, executor, null);
+    assertThat(test).isEqualTo(task.execute(MARKET_DATA, REF_DATA));
+  }
+
+  public void test_runner() {
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 3; i++) {
+      taskBuilder.add(task(i));
+    }
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(Column.of(PV)));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CalculationTaskRunner test = CalculationTaskRunner.of(executor).withScenarioSplitting(2);
+      Results results = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      for (int i = 0; i < 3; i++) {
+        assertThat(results.get(i, 0)).hasValue(CurrencyScenarioArray.of(USD, DoubleArray.of(SCENARIO_COUNT, j -> j)));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_merge() {
+    Measure measure2 = TestingMeasures.PRESENT_VALUE_MULTI_CCY;
+    Measure measure3 = TestingMeasures.PAR_RATE;
+    Measure measure4 = TestingMeasures.BUCKETED_PV01;
+    Measure measure5 = TestingMeasures.CASH_FLOWS;
+    Result<?> failure = Result.failure(FailureReason.CALCULATION_FAILED, "Fail");
+    Map<Measure, Result<?>> split1 = ImmutableMap.of(
+        PV, Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2))),
+        measure2, Result.success(MultiCurrencyScenarioArray.of(MultiCurrencyAmount.of(GBP, 1d))),
+        measure3, Result.success(ScenarioArray.of("a")),
+        measure4, Result.success("x"),
+        measure5, Result.success(ScenarioArray.of("b")));
+    Map<Measure, Result<?>> split2 = ImmutableMap.of(
+        PV, Result.success(DoubleScenarioArray.of(DoubleArray.of(3))),
+        measure2, Result.success(MultiCurrencyScenarioArray.of(MultiCurrencyAmount.of(USD, 2d))),
+        measure3, Result.success(ScenarioArray.of("c", "d")),
+        measure4, Result.success("x"),
+        measure5, failure);
+    Map<Measure, Result<?>> test = ScenarioSplitter.merge(ImmutableList.of(split1, split2));
+    assertThat(test.get(PV)).hasValue(DoubleScenarioArray.of(DoubleArray.of(1, 2, 3)));
+    assertThat(test.get(measure2)).hasValue(MultiCurrencyScenarioArray.of(
+        MultiCurrencyAmount.of(GBP, 1d), MultiCurrencyAmount.of(USD, 2d)));
+    assertThat(test.get(measure3)).hasValue(ScenarioArray.of("a", "c", "d"));
+    assertThat(test.get(measure4)).hasValue("x");
+    assertThat(test.get(measure5)).isEqualTo(failure);
+  }
+
+  public void test_merge_notScenarioArray() {
+    Map<Measure, Result<?>> split1 = ImmutableMap.of(PV, Result.success("x"));
+    Map<Measure, Result<?>> split2 = ImmutableMap.of(PV, Result.success("y"));
+    Map<Measure, Result<?>> split3 = ImmutableMap.of(PV, Result.success(ScenarioArray.of("x")));
+    assertThat(ScenarioSplitter.merge(ImmutableList.of(split1, split1)).get(PV)).hasValue("x");
+    // values that differ between ranges cannot be merged
+    assertThat(ScenarioSplitter.merge(ImmutableList.of(split1, split2)).get(PV))
+        .isFailure(FailureReason.CALCULATION_FAILED);
+    assertThat(ScenarioSplitter.merge(ImmutableList.of(split3, split1)).get(PV))
+        .isFailure(FailureReason.CALCULATION_FAILED);
+  }
+
+  public void test_merge_currency() {
+    CurrencyScenarioArray array1 = CurrencyScenarioArray.of(GBP, DoubleArray.of(1));
+    Map<Measure, Result<?>> split1 = ImmutableMap.of(PV, Result.success(array1));
+    CurrencyScenarioArray array2 = CurrencyScenarioArray.of(GBP, DoubleArray.of(2));
+    Map<Measure, Result<?>> split2 = ImmutableMap.of(PV, Result.success(array2));
+    CurrencyScenarioArray array3 = CurrencyScenarioArray.of(USD, DoubleArray.of(3));
+    Map<Measure, Result<?>> split3 = ImmutableMap.of(PV, Result.success(array3));
+    assertThat(ScenarioSplitter.merge(ImmutableList.of(split1, split2)).get(PV))
+        .hasValue(CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2)));
+    // different currencies cannot be merged into a single currency array
+    assertThat(ScenarioSplitter.merge(ImmutableList.of(split1, split3)).get(PV))
+        .hasValue(ScenarioArray.of(CurrencyAmount.of(GBP, 1), CurrencyAmount.of(USD, 3)));
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationTask task(int row) {
+    CalculationTaskCell cell = CalculationTaskCell.of(row, 0, PV, NATURAL);
+    return CalculationTask.of(TARGET, new ScenarioValueFunction(-1), cell);
+  }
+
+  // returns the value from the market data for each scenario, throwing an error if the first value is the failing value
+  private static final class ScenarioValueFunction implements CalculationFunction<TestTarget> {
+
+    private final int failingValue;
+
+    private ScenarioValueFunction(int failingValue) {
+      this.failingValue = failingValue;
+    }
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(PV);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      DoubleArray values = DoubleArray.of(
+          marketData.getScenarioCount(),
+          i -> Double.parseDouble(marketData.scenario(i).getValue(ID)));
+      if (values.get(0) == failingValue) {
+        throw new SplitError();
+      }
+      CurrencyScenarioArray array = CurrencyScenarioArray.of(USD, values);
+      return ImmutableMap.of(PV, Result.success(array));
+    }
+  }
+
+  // an error that is not handled by the calculation task
+  private static final class SplitError extends Error {
+
+    private static final long serialVersionUID = 1L;
+  }
+
+}
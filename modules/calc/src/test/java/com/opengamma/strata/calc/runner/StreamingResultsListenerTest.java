@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link StreamingResultsListener} and {@link StoredResults}.
+ */
+@Test
+public class StreamingResultsListenerTest {
+
+  private static final CalculationTarget TARGET = new CalculationTarget() {};
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(TestingMeasures.PRESENT_VALUE),
+      Column.of(TestingMeasures.PAR_RATE));
+
+  //-------------------------------------------------------------------------
+  public void test_roundTrip() throws IOException {
+    Path file = Files.createTempFile("results", ".bin");
+    try {
+      StreamingResultsListener test = new StreamingResultsListener(file);
+      assertThat(test.maxQueuedResults()).isEqualTo(1000);
+      test.calculationsStarted(ImmutableList.of(TARGET, TARGET, TARGET), COLUMNS);
+      // results are received in any order, and a cell may be missing
+      test.resultReceived(TARGET, CalculationResult.of(2, 1, Result.success(2.5d)));
+      test.resultReceived(TARGET, CalculationResult.of(0, 0, Result.success(CurrencyAmount.of(GBP, 1))));
+      test.resultReceived(TARGET, CalculationResult.of(0, 1, Result.success(0.5d)));
+      test.resultReceived(TARGET, CalculationResult.of(1, 0, Result.failure(FailureReason.ERROR, "Fail")));
+      test.resultReceived(TARGET, CalculationResult.of(1, 1, Result.success(1.5d)));
+      test.calculationsComplete();
+
+      try (StoredResults stored = test.result()) {
+        assertThat(stored.getFile()).isEqualTo(file);
+        assertThat(stored.getRowCount()).isEqualTo(3);
+        assertThat(stored.getColumnCount()).isEqualTo(2);
+        assertThat(stored.getColumns()).containsExactly(COLUMNS.get(0).toHeader(), COLUMNS.get(1).toHeader());
+        assertThat(stored.get(0, 0)).hasValue(CurrencyAmount.of(GBP, 1));
+        assertThat(stored.get(0, 1)).hasValue(0.5d);
+        assertThat(stored.get(1, 0)).isFailure(FailureReason.ERROR).hasFailureMessageMatching("Fail");
+        assertThat(stored.get(1, 1)).hasValue(1.5d);
+        assertThat(stored.get(2, 0)).isFailure(FailureReason.ERROR);
+        assertThat(stored.get(2, 1)).hasValue(2.5d);
+        assertThrowsIllegalArg(() -> stored.get(3, 0));
+        assertThrowsIllegalArg(() -> stored.get(0, 2));
+
+        Results block = stored.getResults(1, 3);
+        assertThat(block.getRowCount()).isEqualTo(2);
+        assertThat(block.get(0, 1)).hasValue(1.5d);
+        assertThat(block.get(1, 1)).hasValue(2.5d);
+        assertThat(stored.toResults().getRowCount()).isEqualTo(3);
+        assertThat(stored.getResults(1, 1).getRowCount()).isEqualTo(0);
+        assertThrowsIllegalArg(() -> stored.getResults(2, 1));
+        assertThrowsIllegalArg(() -> stored.getResults(0, 4));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_unserializableResult() throws IOException {
+    Path file = Files.createTempFile("results", ".bin");
+    try {
+      StreamingResultsListener test = new StreamingResultsListener(file, 10);
+      test.calculationsStarted(ImmutableList.of(TARGET), COLUMNS);
+      test.resultReceived(TARGET, CalculationResult.of(0, 0, Result.success(new Object())));
+      test.calculationsComplete();
+      try (StoredResults stored = test.result()) {
+        assertThat(stored.get(0, 0)).isFailure(FailureReason.ERROR);
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> new StreamingResultsListener(null));
+    assertThrowsIllegalArg(() -> new StreamingResultsListener(Paths.get("results.bin"), 0));
+  }
+
+  //-------------------------------------------------------------------------
+  // tests that results are written when the queue of results is bounded and many threads deliver results
+  public void test_backpressure() throws IOException {
+    Path file = Files.createTempFile("results", ".bin");
+    int rowCount = 200;
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      StreamingResultsListener listener = new StreamingResultsListener(file, 2);
+      List<CalculationTarget> targets = IntStream.range(0, rowCount)
+          .mapToObj(i -> TARGET)
+          .collect(toImmutableList());
+      ListenerWrapper wrapper = new ListenerWrapper(listener, rowCount, targets, COLUMNS);
+      IntStream.range(0, rowCount).forEach(i -> executor.execute(() -> wrapper.accept(CalculationResults.of(
+          TARGET,
+          ImmutableList.of(
+              CalculationResult.of(i, 0, Result.success((double) i)),
+              CalculationResult.of(i, 1, Result.success(-i)))))));
+
+      try (StoredResults stored = listener.result()) {
+        for (int i = 0; i < rowCount; i++) {
+          assertThat(stored.get(i, 0)).hasValue((double) i);
+          assertThat(stored.get(i, 1)).hasValue(-i);
+        }
+      }
+    } finally {
+      executor.shutdown();
+      Files.delete(file);
+    }
+  }
+
+}
@@ -154,6 +154,23 @@ public interface ScenarioMarketData {
     return SingleScenarioMarketData.of(this, scenarioIndex);
   }
 
+  /**
+   * Returns market data for a contiguous range of scenarios.
+   * <p>
+   * This returns a view of the market data for the scenarios from the start index inclusive
+   * to the end index exclusive. Scenario zero of the view is the scenario at the start index.
+   * This allows a calculation over many scenarios to be split into smaller calculations
+   * that can be performed independently.
+   *
+   * @param startIndex  the index of the first scenario, inclusive
+   * @param endIndex  the index of the last scenario, exclusive
+   * @return the market data for the specified range of scenarios
+   * @throws IllegalArgumentException if the range is invalid
+   */
+  public default ScenarioMarketData scenarioRange(int startIndex, int endIndex) {
+    return ScenarioRangeMarketData.of(this, startIndex, endIndex);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Checks if this market data contains a value for the specified identifier.
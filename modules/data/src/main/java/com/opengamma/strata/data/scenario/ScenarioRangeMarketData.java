@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A view of a contiguous range of the scenarios of multi-scenario market data.
+ * <p>
+ * This wraps an instance of {@link ScenarioMarketData} which contains market data for multiple scenarios.
+ * This object returns market data for the scenarios from {@code startIndex} inclusive to
+ * {@code endIndex} exclusive, with scenario zero of this view being scenario {@code startIndex}
+ * of the underlying market data.
+ * <p>
+ * Values that are the same for all scenarios are returned unchanged.
+ * Values that vary by scenario are restricted to the range once, on first use, and cached.
+ */
+@BeanDefinition(style = "light")
+final class ScenarioRangeMarketData
+    implements ScenarioMarketData, ImmutableBean, Serializable {
+
+  /**
+   * The set of market data for all scenarios.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ScenarioMarketData underlying;
+  /**
+   * The index of the first scenario, inclusive.
+   */
+  @PropertyDefinition
+  private final int startIndex;
+  /**
+   * The index of the last scenario, exclusive.
+   */
+  @PropertyDefinition
+  private final int endIndex;
+  /**
+   * The values restricted to the range, cached as they are queried many times when pricing.
+   */
+  private final transient ConcurrentMap<MarketDataId<?>, MarketDataBox<?>> cache;  // derived
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from an underlying set of market data and a range of scenarios.
+   *
+   * @param underlying  the market data
+   * @param startIndex  the index of the first scenario, inclusive
+   * @param endIndex  the index of the last scenario, exclusive
+   * @return the market data
+   * @throws IllegalArgumentException if the range is invalid
+   */
+  public static ScenarioRangeMarketData of(ScenarioMarketData underlying, int startIndex, int endIndex) {
+    return new ScenarioRangeMarketData(underlying, startIndex, endIndex);
+  }
+
+  @ImmutableConstructor
+  private ScenarioRangeMarketData(ScenarioMarketData underlying, int startIndex, int endIndex) {
+    this.underlying = ArgChecker.notNull(underlying, "underlying");
+    this.startIndex = ArgChecker.inRange(startIndex, 0, underlying.getScenarioCount(), "startIndex");
+    this.endIndex = ArgChecker.inRangeInclusive(endIndex, startIndex + 1, underlying.getScenarioCount(), "endIndex");
+    this.cache = new ConcurrentHashMap<>();
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new ScenarioRangeMarketData(underlying, startIndex, endIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return range(underlying.getValuationDate());
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return endIndex - startIndex;
+  }
+
+  @Override
+  public Stream<MarketData> scenarios() {
+    return IntStream.range(startIndex, endIndex).mapToObj(underlying::scenario);
+  }
+
+  @Override
+  public MarketData scenario(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, getScenarioCount(), "scenarioIndex");
+    return underlying.scenario(startIndex + scenarioIndex);
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return underlying.containsValue(id);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> MarketDataBox<T> getValue(MarketDataId<T> id) {
+    MarketDataBox<?> cached = cache.get(id);
+    if (cached != null) {
+      return (MarketDataBox<T>) cached;
+    }
+    return (MarketDataBox<T>) cache.computeIfAbsent(id, k -> range(underlying.getValue(id)));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    MarketDataBox<?> cached = cache.get(id);
+    if (cached != null) {
+      return Optional.of((MarketDataBox<T>) cached);
+    }
+    return underlying.findValue(id).map(box -> (MarketDataBox<T>) cache.computeIfAbsent(id, k -> range(box)));
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return underlying.getIds();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    return underlying.findIds(name);
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return underlying.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return underlying.getTimeSeries(id);
+  }
+
+  // restricts the box to the range of scenarios
+  private <T> MarketDataBox<T> range(MarketDataBox<T> box) {
+    if (box.isSingleValue()) {
+      return box;
+    }
+    return MarketDataBox.ofScenarioValue(ScenarioArray.of(getScenarioCount(), i -> box.getValue(startIndex + i)));
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ScenarioRangeMarketData}.
+   */
+  private static final TypedMetaBean<ScenarioRangeMarketData> META_BEAN =
+      LightMetaBean.of(
+          ScenarioRangeMarketData.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "underlying",
+              "startIndex",
+              "endIndex"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code ScenarioRangeMarketData}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<ScenarioRangeMarketData> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public TypedMetaBean<ScenarioRangeMarketData> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the set of market data for all scenarios.
+   * @return the value of the property, not null
+   */
+  public ScenarioMarketData getUnderlying() {
+    return underlying;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the index of the first scenario, inclusive.
+   * @return the value of the property
+   */
+  public int getStartIndex() {
+    return startIndex;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the index of the last scenario, exclusive.
+   * @return the value of the property
+   */
+  public int getEndIndex() {
+    return endIndex;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ScenarioRangeMarketData other = (ScenarioRangeMarketData) obj;
+      return JodaBeanUtils.equal(underlying, other.underlying) &&
+          (startIndex == other.startIndex) &&
+          (endIndex == other.endIndex);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(underlying);
+    hash = hash * 31 + JodaBeanUtils.hashCode(startIndex);
+    hash = hash * 31 + JodaBeanUtils.hashCode(endIndex);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("ScenarioRangeMarketData{");
+    buf.append("underlying").append('=').append(underlying).append(',').append(' ');
+    buf.append("startIndex").append('=').append(startIndex).append(',').append(' ');
+    buf.append("endIndex").append('=').append(JodaBeanUtils.toString(endIndex));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.TestingNamedId;
+import com.opengamma.strata.data.TestingObservableId;
+
+/**
+ * Test {@link ScenarioRangeMarketData}.
+ */
+@Test
+public class ScenarioRangeMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 6, 30);
+  private static final TestingNamedId ID1 = new TestingNamedId("1");
+  private static final TestingNamedId ID2 = new TestingNamedId("2");
+  private static final TestingObservableId ID3 = new TestingObservableId("3");
+  private static final MarketDataBox<String> VAL1 = MarketDataBox.ofSingleValue("1");
+  private static final MarketDataBox<String> VAL2 = MarketDataBox.ofScenarioValues("a", "b", "c", "d");
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 3, 8), 1.1)
+      .put(date(2011, 3, 10), 1.2)
+      .build();
+  private static final ImmutableScenarioMarketData BASE_DATA = ImmutableScenarioMarketData.builder(VAL_DATE)
+      .addBox(ID1, VAL1)
+      .addBox(ID2, VAL2)
+      .addTimeSeries(ID3, TIME_SERIES)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ScenarioMarketData test = BASE_DATA.scenarioRange(1, 3);
+    assertEquals(test, ScenarioRangeMarketData.of(BASE_DATA, 1, 3));
+    assertEquals(test.getScenarioCount(), 2);
+    assertEquals(test.getValuationDate(), MarketDataBox.ofSingleValue(VAL_DATE));
+    assertEquals(test.containsValue(ID1), true);
+    assertEquals(test.containsValue(ID3), false);
+    assertEquals(test.getValue(ID1), VAL1);
+    assertEquals(test.getValue(ID2), MarketDataBox.ofScenarioValues("b", "c"));
+    assertEquals(test.findValue(ID2), Optional.of(MarketDataBox.ofScenarioValues("b", "c")));
+    assertEquals(test.findValue(ID3), Optional.empty());
+    assertEquals(test.getIds(), ImmutableSet.of(ID1, ID2));
+    assertEquals(test.findIds(ID1.getMarketDataName()), ImmutableSet.of(ID1));
+    assertEquals(test.getTimeSeriesIds(), ImmutableSet.of(ID3));
+    assertEquals(test.getTimeSeries(ID3), TIME_SERIES);
+  }
+
+  public void test_valueCached() {
+    ScenarioMarketData test = BASE_DATA.scenarioRange(1, 3);
+    MarketDataBox<String> value = test.getValue(ID2);
+    assertSame(test.getValue(ID2), value);
+    assertSame(test.findValue(ID2).get(), value);
+    ScenarioMarketData test2 = BASE_DATA.scenarioRange(1, 3);
+    assertSame(test2.findValue(ID2).get(), test2.getValue(ID2));
+    assertThrowsIllegalArg(() -> test.getValue(new TestingNamedId("4")));
+    assertEquals(test.findValue(new TestingNamedId("4")), Optional.empty());
+  }
+
+  public void test_scenarios() {
+    ScenarioMarketData test = BASE_DATA.scenarioRange(1, 3);
+    assertEquals(test.scenario(0).getValue(ID2), "b");
+    assertEquals(test.scenario(1).getValue(ID2), "c");
+    assertThrowsIllegalArg(() -> test.scenario(2));
+    assertEquals(
+        test.scenarios().map(md -> md.getValue(ID2)).collect(toList()),
+        ImmutableList.of("b", "c"));
+    MarketData scenario = test.scenario(0);
+    assertEquals(scenario.getValuationDate(), VAL_DATE);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> BASE_DATA.scenarioRange(-1, 2));
+    assertThrowsIllegalArg(() -> BASE_DATA.scenarioRange(2, 2));
+    assertThrowsIllegalArg(() -> BASE_DATA.scenarioRange(2, 5));
+    assertThrowsIllegalArg(() -> BASE_DATA.scenarioRange(4, 5));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ScenarioRangeMarketData test = ScenarioRangeMarketData.of(BASE_DATA, 0, 2);
+    coverImmutableBean(test);
+    ScenarioRangeMarketData test2 = ScenarioRangeMarketData.of(
+        ImmutableScenarioMarketData.builder(VAL_DATE).addBox(ID2, VAL2).build(), 1, 4);
+    coverBeanEquals(test, test2);
+  }
+
+  public void serialization() {
+    ScenarioRangeMarketData test = ScenarioRangeMarketData.of(BASE_DATA, 1, 3);
+    assertSerialization(test);
+  }
+
+}
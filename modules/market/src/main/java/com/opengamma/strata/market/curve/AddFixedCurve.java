@@ -23,6 +23,8 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.UnitParameterSensitivity;
@@ -109,11 +111,31 @@ public final class AddFixedCurve
     return spreadCurve.yValueParameterSensitivity(x);
   }
 
+  @Override
+  public void yValueParameterSensitivity(double x, double weight, double[] target) {
+    spreadCurve.yValueParameterSensitivity(x, weight, target);
+  }
+
   @Override
   public double firstDerivative(double x) {
     return fixedCurve.firstDerivative(x) + spreadCurve.firstDerivative(x);
   }
 
+  @Override
+  public DoubleArray yValues(DoubleArray x) {
+    return fixedCurve.yValues(x).plus(spreadCurve.yValues(x));
+  }
+
+  @Override
+  public DoubleMatrix yValueParameterSensitivities(DoubleArray x) {
+    return spreadCurve.yValueParameterSensitivities(x);
+  }
+
+  @Override
+  public DoubleArray firstDerivatives(DoubleArray x) {
+    return fixedCurve.firstDerivatives(x).plus(spreadCurve.firstDerivatives(x));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ImmutableList<Curve> split() {
@@ -34,6 +34,7 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
@@ -261,6 +262,31 @@ public final class CombinedCurve
     return baseCurve.firstDerivative(x) + spreadCurve.firstDerivative(x);
   }
 
+  @Override
+  public DoubleArray yValues(DoubleArray x) {
+    return baseCurve.yValues(x).plus(spreadCurve.yValues(x));
+  }
+
+  @Override
+  public DoubleMatrix yValueParameterSensitivities(DoubleArray x) {
+    // the parameters of the base curve are followed by those of the spread curve
+    double[][] baseSens = baseCurve.yValueParameterSensitivities(x).toArrayUnsafe();
+    double[][] spreadSens = spreadCurve.yValueParameterSensitivities(x).toArrayUnsafe();
+    int baseCount = baseCurve.getParameterCount();
+    int spreadCount = spreadCurve.getParameterCount();
+    double[][] result = new double[x.size()][baseCount + spreadCount];
+    for (int i = 0; i < result.length; i++) {
+      System.arraycopy(baseSens[i], 0, result[i], 0, baseCount);
+      System.arraycopy(spreadSens[i], 0, result[i], baseCount, spreadCount);
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  @Override
+  public DoubleArray firstDerivatives(DoubleArray x) {
+    return baseCurve.firstDerivatives(x).plus(spreadCurve.firstDerivatives(x));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public UnitParameterSensitivity createParameterSensitivity(DoubleArray sensitivities) {
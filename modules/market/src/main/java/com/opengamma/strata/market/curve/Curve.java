@@ -14,6 +14,7 @@ import java.util.stream.IntStream;
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
@@ -103,6 +104,27 @@ public interface Curve extends ParameterizedData {
    */
   public abstract UnitParameterSensitivity yValueParameterSensitivity(double x);
 
+  /**
+   * Adds the weighted sensitivity of the y-value with respect to the curve parameters to an array.
+   * <p>
+   * The target array has one element for each parameter of the curve.
+   * The sensitivity of the y-value at the specified x-value to each parameter is multiplied
+   * by the weight and added to the matching element of the target.
+   * This allows the sensitivity of many x-values to be accumulated without creating
+   * a {@link UnitParameterSensitivity} for each, as would {@link #yValueParameterSensitivity(double)}.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param weight  the weight to multiply the sensitivity by, typically the point sensitivity
+   * @param target  the array to add the weighted sensitivity to
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default void yValueParameterSensitivity(double x, double weight, double[] target) {
+    DoubleArray sensitivity = yValueParameterSensitivity(x).getSensitivity();
+    for (int i = 0; i < sensitivity.size(); i++) {
+      target[i] += weight * sensitivity.get(i);
+    }
+  }
+
   /**
    * Computes the first derivative of the curve.
    * <p>
@@ -114,6 +136,58 @@ public interface Curve extends ParameterizedData {
    */
   public abstract double firstDerivative(double x);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values.
+   * <p>
+   * This returns an array with one element for each x-value, equal to the result of {@link #yValue(double)}.
+   * Implementations may be more efficient than invoking the single value method for each x-value,
+   * particularly when the x-values are sorted.
+   * 
+   * @param x  the x-values to find the y-values for
+   * @return the values at the x-values
+   */
+  public default DoubleArray yValues(DoubleArray x) {
+    return x.map(this::yValue);
+  }
+
+  /**
+   * Computes the sensitivities of the y-values with respect to the curve parameters.
+   * <p>
+   * This returns a matrix with one row for each x-value and one column for each parameter of the curve.
+   * Each row is equal to the sensitivity array of {@link #yValueParameterSensitivity(double)},
+   * and can be converted using {@link #createParameterSensitivity(DoubleArray)}.
+   * Implementations may be more efficient than invoking the single value method for each x-value,
+   * particularly when the x-values are sorted.
+   * 
+   * @param x  the x-values at which the parameter sensitivities are computed
+   * @return the sensitivities, one row for each x-value
+   * @throws RuntimeException if a sensitivity cannot be calculated
+   */
+  public default DoubleMatrix yValueParameterSensitivities(DoubleArray x) {
+    int size = x.size();
+    double[][] result = new double[size][];
+    for (int i = 0; i < size; i++) {
+      result[i] = yValueParameterSensitivity(x.get(i)).getSensitivity().toArray();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the first derivatives of the curve for the specified x-values.
+   * <p>
+   * This returns an array with one element for each x-value, equal to the result of {@link #firstDerivative(double)}.
+   * Implementations may be more efficient than invoking the single value method for each x-value,
+   * particularly when the x-values are sorted.
+   * 
+   * @param x  the x-values at which the derivatives are taken
+   * @return the first derivatives
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default DoubleArray firstDerivatives(DoubleArray x) {
+    return x.map(this::firstDerivative);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates a parameter sensitivity instance for this curve when the sensitivity values are known.
@@ -31,6 +31,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
@@ -248,11 +249,31 @@ public final class InterpolatedNodalCurve
     return createParameterSensitivity(boundInterpolator.parameterSensitivity(x));
   }
 
+  @Override
+  public void yValueParameterSensitivity(double x, double weight, double[] target) {
+    boundInterpolator.parameterSensitivity(x, weight, target);
+  }
+
   @Override
   public double firstDerivative(double x) {
     return boundInterpolator.firstDerivative(x);
   }
 
+  @Override
+  public DoubleArray yValues(DoubleArray x) {
+    return boundInterpolator.interpolate(x);
+  }
+
+  @Override
+  public DoubleMatrix yValueParameterSensitivities(DoubleArray x) {
+    return boundInterpolator.parameterSensitivities(x);
+  }
+
+  @Override
+  public DoubleArray firstDerivatives(DoubleArray x) {
+    return boundInterpolator.firstDerivatives(x);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public InterpolatedNodalCurve withMetadata(CurveMetadata metadata) {
@@ -5,11 +5,19 @@
  */
 package com.opengamma.strata.market.curve.interpolator;
 
+import java.util.Arrays;
+
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * Abstract interpolator implementation.
+ * <p>
+ * The methods that evaluate many x-values at once walk the nodes with a cursor,
+ * only falling back to a binary search when an x-value is lower than the previous one.
+ * Subclasses may override the methods that take the index of the lower node,
+ * such as {@link #doInterpolate(double, int)}, to avoid searching for each x-value.
  */
 public abstract class AbstractBoundCurveInterpolator
     implements BoundCurveInterpolator {
@@ -39,6 +47,10 @@ public abstract class AbstractBoundCurveInterpolator
    * The y-value of the last node.
    */
   private final double lastYValue;
+  /**
+   * The x-values of the nodes.
+   */
+  private final double[] nodeXValues;
 
   /**
    * Creates an instance.
@@ -57,6 +69,7 @@ public abstract class AbstractBoundCurveInterpolator
     this.firstXValue = xValues.get(0);
     this.lastXValue = xValues.get(size - 1);
     this.lastYValue = yValues.get(size - 1);
+    this.nodeXValues = xValues.toArrayUnsafe();
   }
 
   /**
@@ -76,6 +89,7 @@ public abstract class AbstractBoundCurveInterpolator
     this.firstXValue = base.firstXValue;
     this.lastXValue = base.lastXValue;
     this.lastYValue = base.lastYValue;
+    this.nodeXValues = base.nodeXValues;
   }
 
   //-------------------------------------------------------------------------
@@ -152,6 +166,151 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  @Override
+  public final void parameterSensitivity(double xValue, double weight, double[] target) {
+    if (xValue < firstXValue) {
+      add(extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue), weight, target);
+    } else if (xValue > lastXValue) {
+      add(extrapolatorRight.rightExtrapolateParameterSensitivity(xValue), weight, target);
+    } else {
+      doParameterSensitivity(xValue, lowerBoundIndex(xValue, nodeXValues), weight, target);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public final DoubleArray interpolate(DoubleArray xValues) {
+    double[] result = new double[xValues.size()];
+    interpolate(xValues, result);
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  @Override
+  public final void interpolate(DoubleArray xValues, double[] result) {
+    int size = xValues.size();
+    int lowerIndex = 0;
+    for (int i = 0; i < size; i++) {
+      double xValue = xValues.get(i);
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolate(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolate(xValue);
+      } else if (xValue == lastXValue) {
+        result[i] = lastYValue;
+      } else {
+        lowerIndex = lowerBoundIndex(xValue, nodeXValues, lowerIndex);
+        result[i] = doInterpolate(xValue, lowerIndex);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the interpolated value when the index of the lower node is known.
+   * <p>
+   * Callers can assume that {@code xValue} is less than the x-value of the last node,
+   * and that {@code lowerIndex} is the result of {@link #lowerBoundIndex(double, double[])}.
+   * The default implementation ignores the index and calls {@link #doInterpolate(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the node at or below the x-value
+   * @return the interpolated y-value
+   */
+  protected double doInterpolate(double xValue, int lowerIndex) {
+    return doInterpolate(xValue);
+  }
+
+  @Override
+  public final DoubleArray firstDerivatives(DoubleArray xValues) {
+    double[] result = new double[xValues.size()];
+    firstDerivatives(xValues, result);
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  @Override
+  public final void firstDerivatives(DoubleArray xValues, double[] result) {
+    int size = xValues.size();
+    int lowerIndex = 0;
+    for (int i = 0; i < size; i++) {
+      double xValue = xValues.get(i);
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolateFirstDerivative(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolateFirstDerivative(xValue);
+      } else {
+        lowerIndex = lowerBoundIndex(xValue, nodeXValues, lowerIndex);
+        result[i] = doFirstDerivative(xValue, lowerIndex);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the first derivative when the index of the lower node is known.
+   * <p>
+   * Callers can assume that {@code lowerIndex} is the result of {@link #lowerBoundIndex(double, double[])}.
+   * The default implementation ignores the index and calls {@link #doFirstDerivative(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the node at or below the x-value
+   * @return the first derivative
+   */
+  protected double doFirstDerivative(double xValue, int lowerIndex) {
+    return doFirstDerivative(xValue);
+  }
+
+  @Override
+  public final DoubleMatrix parameterSensitivities(DoubleArray xValues) {
+    double[][] result = new double[xValues.size()][nodeXValues.length];
+    parameterSensitivities(xValues, result);
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  @Override
+  public final void parameterSensitivities(DoubleArray xValues, double[][] result) {
+    int size = xValues.size();
+    int lowerIndex = 0;
+    for (int i = 0; i < size; i++) {
+      double xValue = xValues.get(i);
+      if (xValue < firstXValue) {
+        copy(extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue), result[i]);
+      } else if (xValue > lastXValue) {
+        copy(extrapolatorRight.rightExtrapolateParameterSensitivity(xValue), result[i]);
+      } else {
+        lowerIndex = lowerBoundIndex(xValue, nodeXValues, lowerIndex);
+        Arrays.fill(result[i], 0d);
+        doParameterSensitivity(xValue, lowerIndex, 1d, result[i]);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to add the weighted parameter sensitivity when the index of the lower node is known.
+   * <p>
+   * Callers can assume that {@code lowerIndex} is the result of {@link #lowerBoundIndex(double, double[])}.
+   * The sensitivity is multiplied by the weight and added to the target array, which has one element for each node.
+   * The default implementation ignores the index and calls {@link #doParameterSensitivity(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the node at or below the x-value
+   * @param weight  the weight to multiply the sensitivity by
+   * @param target  the array to add the weighted parameter sensitivity to
+   */
+  protected void doParameterSensitivity(double xValue, int lowerIndex, double weight, double[] target) {
+    add(doParameterSensitivity(xValue), weight, target);
+  }
+
+  // copies the sensitivity into the result array
+  private static void copy(DoubleArray sensitivity, double[] result) {
+    System.arraycopy(sensitivity.toArrayUnsafe(), 0, result, 0, result.length);
+  }
+
+  // adds the weighted sensitivity to the target array
+  private static void add(DoubleArray sensitivity, double weight, double[] target) {
+    double[] values = sensitivity.toArrayUnsafe();
+    for (int i = 0; i < values.length; i++) {
+      target[i] += weight * values[i];
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the index of the last value in the input array which is lower than the specified value.
@@ -197,4 +356,30 @@ public abstract class AbstractBoundCurveInterpolator
     return lo - 1;
   }
 
+  /**
+   * Returns the index of the last value in the input array which is lower than the specified value,
+   * starting the search from a known index.
+   * <p>
+   * This returns the same result as {@link #lowerBoundIndex(double, double[])}.
+   * When the x-value is greater than or equal to the value at the start index, the nodes are walked
+   * upwards from the start index, which is efficient when a sorted set of x-values is processed in order.
+   * Otherwise, the whole array is searched.
+   *
+   * @param xValue  a value which is less than the last element in {@code xValues}
+   * @param xValues  an array of values sorted in ascending order
+   * @param startIndex  the index to start the search from, typically the result for the previous x-value
+   * @return the index of the last value in {@code xValues} which is lower than {@code xValue}
+   */
+  protected static int lowerBoundIndex(double xValue, double[] xValues, int startIndex) {
+    if (xValue < xValues[startIndex]) {
+      return lowerBoundIndex(xValue, xValues);
+    }
+    int index = startIndex;
+    int lastIndex = xValues.length - 1;
+    while (index < lastIndex && xValues[index + 1] <= xValue) {
+      index++;
+    }
+    return index;
+  }
+
 }
@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * A curve interpolator that has been bound to a specific curve.
@@ -52,6 +53,128 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  /**
+   * Adds the weighted sensitivity of the y-value with respect to the curve parameters to an array.
+   * <p>
+   * The target array has one element for each parameter of the curve.
+   * The sensitivity of the y-value at the specified x-value to each parameter is multiplied
+   * by the weight and added to the matching element of the target.
+   * This allows the sensitivity of many x-values to be accumulated without allocating an array for each.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param weight  the weight to multiply the sensitivity by, typically the point sensitivity
+   * @param target  the array to add the weighted sensitivity to
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default void parameterSensitivity(double x, double weight, double[] target) {
+    DoubleArray sensitivity = parameterSensitivity(x);
+    for (int i = 0; i < sensitivity.size(); i++) {
+      target[i] += weight * sensitivity.get(i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values by interpolation.
+   * <p>
+   * This returns an array with one element for each x-value, equal to the result of
+   * {@link #interpolate(double)}. Implementations may be more efficient than invoking
+   * the single value method for each x-value, particularly when the x-values are sorted.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @return the values at the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default DoubleArray interpolate(DoubleArray xValues) {
+    return xValues.map(this::interpolate);
+  }
+
+  /**
+   * Computes the y-values for the specified x-values by interpolation, writing them to an array.
+   * <p>
+   * This sets each element of the result array to the y-value of the x-value at the same index,
+   * avoiding the allocation of a new array for each call.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @param result  the array to write the y-values to, at least as long as the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default void interpolate(DoubleArray xValues, double[] result) {
+    for (int i = 0; i < xValues.size(); i++) {
+      result[i] = interpolate(xValues.get(i));
+    }
+  }
+
+  /**
+   * Computes the first derivatives of the y-values for the specified x-values.
+   * <p>
+   * This returns an array with one element for each x-value, equal to the result of
+   * {@link #firstDerivative(double)}. Implementations may be more efficient than invoking
+   * the single value method for each x-value, particularly when the x-values are sorted.
+   * 
+   * @param xValues  the x-values at which the derivatives are taken
+   * @return the first derivatives
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default DoubleArray firstDerivatives(DoubleArray xValues) {
+    return xValues.map(this::firstDerivative);
+  }
+
+  /**
+   * Computes the first derivatives of the y-values for the specified x-values, writing them to an array.
+   * <p>
+   * This sets each element of the result array to the first derivative at the x-value at the same index,
+   * avoiding the allocation of a new array for each call.
+   * 
+   * @param xValues  the x-values at which the derivatives are taken
+   * @param result  the array to write the first derivatives to, at least as long as the x-values
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default void firstDerivatives(DoubleArray xValues, double[] result) {
+    for (int i = 0; i < xValues.size(); i++) {
+      result[i] = firstDerivative(xValues.get(i));
+    }
+  }
+
+  /**
+   * Computes the sensitivities of the y-values with respect to the curve parameters.
+   * <p>
+   * This returns a matrix with one row for each x-value, equal to the result of
+   * {@link #parameterSensitivity(double)}, and one column for each parameter of the curve.
+   * Implementations may be more efficient than invoking the single value method for each x-value,
+   * particularly when the x-values are sorted.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivities are computed
+   * @return the sensitivities, one row for each x-value
+   * @throws RuntimeException if a sensitivity cannot be calculated
+   */
+  public default DoubleMatrix parameterSensitivities(DoubleArray xValues) {
+    int size = xValues.size();
+    double[][] result = new double[size][];
+    for (int i = 0; i < size; i++) {
+      result[i] = parameterSensitivity(xValues.get(i)).toArray();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the sensitivities of the y-values with respect to the curve parameters, writing them to arrays.
+   * <p>
+   * This sets each row of the result to the sensitivity of the x-value at the same index,
+   * avoiding the allocation of new arrays for each call.
+   * Each row must have one element for each parameter of the curve.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivities are computed
+   * @param result  the arrays to write the sensitivities to, one row for each x-value
+   * @throws RuntimeException if a sensitivity cannot be calculated
+   */
+  public default void parameterSensitivities(DoubleArray xValues, double[][] result) {
+    for (int i = 0; i < xValues.size(); i++) {
+      double[] sensitivity = parameterSensitivity(xValues.get(i)).toArrayUnsafe();
+      System.arraycopy(sensitivity, 0, result[i], 0, sensitivity.length);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
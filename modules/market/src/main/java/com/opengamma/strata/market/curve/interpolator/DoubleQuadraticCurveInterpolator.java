@@ -148,8 +148,12 @@ final class DoubleQuadraticCurveInterpolator
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
       int higherIndex = lowerIndex + 1;
       // at start of curve
       if (lowerIndex == 0) {
@@ -173,7 +177,11 @@ final class DoubleQuadraticCurveInterpolator
 
     @Override
     protected double doFirstDerivative(double xValue) {
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doFirstDerivative(double xValue, int lowerIndex) {
       int higherIndex = lowerIndex + 1;
       RealPolynomialFunction1D[] quadFirstDerivative = quadraticsFirstDerivative.get();
       // at start of curve, or only one interval
@@ -201,39 +209,43 @@ final class DoubleQuadraticCurveInterpolator
 
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      double[] result = new double[xValues.length];
+      doParameterSensitivity(xValue, lowerBoundIndex(xValue, xValues), 1d, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, int lowerIndex, double weight, double[] target) {
       int higherIndex = lowerIndex + 1;
       int n = xValues.length;
-      double[] result = new double[n];
       // at start of curve
       if (lowerIndex == 0) {
         double[] temp = quadraticSensitivities(xValues, xValue, 1);
-        result[0] = temp[0];
-        result[1] = temp[1];
-        result[2] = temp[2];
-        return DoubleArray.ofUnsafe(result);
+        target[0] += weight * temp[0];
+        target[1] += weight * temp[1];
+        target[2] += weight * temp[2];
+        return;
       }
       // at end of curve
       if (higherIndex == intervalCount) {
         double[] temp = quadraticSensitivities(xValues, xValue, n - 2);
-        result[n - 3] = temp[0];
-        result[n - 2] = temp[1];
-        result[n - 1] = temp[2];
-        return DoubleArray.ofUnsafe(result);
+        target[n - 3] += weight * temp[0];
+        target[n - 2] += weight * temp[1];
+        target[n - 1] += weight * temp[2];
+        return;
       }
       // at last node
       if (lowerIndex == intervalCount) {
-        result[n - 1] = 1;
-        return DoubleArray.ofUnsafe(result);
+        target[n - 1] += weight;
+        return;
       }
       double[] temp1 = quadraticSensitivities(xValues, xValue, lowerIndex);
       double[] temp2 = quadraticSensitivities(xValues, xValue, higherIndex);
       double w = WEIGHT_FUNCTION.getWeight((xValues[higherIndex] - xValue) / (xValues[higherIndex] - xValues[lowerIndex]));
-      result[lowerIndex - 1] = w * temp1[0];
-      result[lowerIndex] = w * temp1[1] + (1 - w) * temp2[0];
-      result[higherIndex] = w * temp1[2] + (1 - w) * temp2[1];
-      result[higherIndex + 1] = (1 - w) * temp2[2];
-      return DoubleArray.ofUnsafe(result);
+      target[lowerIndex - 1] += weight * (w * temp1[0]);
+      target[lowerIndex] += weight * (w * temp1[1] + (1 - w) * temp2[0]);
+      target[higherIndex] += weight * (w * temp1[2] + (1 - w) * temp2[1]);
+      target[higherIndex + 1] += weight * ((1 - w) * temp2[2]);
     }
 
     private static double[] quadraticSensitivities(double[] xValues, double x, int i) {
@@ -89,8 +89,12 @@ final class LogLinearCurveInterpolator
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
       double x1 = xValues[lowerIndex];
       double x2 = xValues[lowerIndex + 1];
       double y1 = yValues[lowerIndex];
@@ -115,7 +119,11 @@ final class LogLinearCurveInterpolator
 
     @Override
     protected double doFirstDerivative(double xValue) {
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doFirstDerivative(double xValue, int lowerIndex) {
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // if value is at last node, calculate the gradient from the previous interval
@@ -137,11 +145,16 @@ final class LogLinearCurveInterpolator
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
       double[] result = new double[yValues.length];
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      doParameterSensitivity(xValue, lowerBoundIndex(xValue, xValues), 1d, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, int lowerIndex, double weight, double[] target) {
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // sensitivity is entirely to the last node
-        result[intervalCount] = 1d;
+        target[intervalCount] += weight;
       } else {
         double x1 = xValues[lowerIndex];
         double x2 = xValues[lowerIndex + 1];
@@ -151,10 +164,9 @@ final class LogLinearCurveInterpolator
         double x1diffInv = (xValue - x1) * diffInv;
         double x2diffInv = (x2 - xValue) * diffInv;
         double yDiv = y1 / y2;
-        result[lowerIndex] = Math.pow(yDiv, -x1diffInv) * x2diffInv;
-        result[lowerIndex + 1] = Math.pow(yDiv, x2diffInv) * x1diffInv;
+        target[lowerIndex] += weight * (Math.pow(yDiv, -x1diffInv) * x2diffInv);
+        target[lowerIndex + 1] += weight * (Math.pow(yDiv, x2diffInv) * x1diffInv);
       }
-      return DoubleArray.ofUnsafe(result);
     }
 
     @Override
@@ -11,13 +11,10 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
-import com.opengamma.strata.math.impl.FunctionUtils;
 import com.opengamma.strata.math.impl.interpolation.NaturalSplineInterpolator;
 import com.opengamma.strata.math.impl.interpolation.PiecewisePolynomialInterpolator;
 import com.opengamma.strata.math.impl.interpolation.PiecewisePolynomialResult;
 import com.opengamma.strata.math.impl.interpolation.PiecewisePolynomialResultsWithSensitivity;
-import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
-import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
 
 /**
  * Natural spline interpolator.
@@ -38,10 +35,6 @@ final class NaturalSplineCurveInterpolator
    * The serialization version id.
    */
   private static final long serialVersionUID = 1L;
-  /**
-   * Underlying matrix algebra.
-   */
-  private static final MatrixAlgebra MA = new OGMatrixAlgebra();
 
   /**
    * Restricted constructor.
@@ -99,81 +92,76 @@ final class NaturalSplineCurveInterpolator
     }
 
     //-------------------------------------------------------------------------
-    private static double evaluate(
-        double xValue,
-        DoubleArray knots,
-        DoubleMatrix coefMatrix,
-        int dimensions) {
-
-      // check for 1 less interval than knots 
-      int lowerBound = FunctionUtils.getLowerBoundIndex(knots, xValue);
-      int indicator = lowerBound == knots.size() - 1 ? lowerBound - 1 : lowerBound;
-      DoubleArray coefs = coefMatrix.row(dimensions * indicator);
-      return getValue(coefs.toArrayUnsafe(), xValue, knots.get(indicator));
+    // finds the polynomial for the lower node, there is 1 less interval than knots
+    private int interval(int lowerIndex) {
+      return lowerIndex == xValues.length - 1 ? lowerIndex - 1 : lowerIndex;
     }
 
-    private static double differentiate(
-        double xValue,
-        DoubleArray knots,
-        DoubleMatrix coefMatrix,
-        int dimensions,
-        int nCoefs,
-        int numberOfIntervals) {
-
-      int rowCount = dimensions * numberOfIntervals;
-      int colCount = nCoefs - 1;
-      DoubleMatrix coef = DoubleMatrix.of(
-          rowCount,
-          colCount,
-          (i, j) -> coefMatrix.get(i, j) * (nCoefs - j - 1));
-      return evaluate(xValue, knots, coef, dimensions);
+    //-------------------------------------------------------------------------
+    @Override
+    protected double doInterpolate(double xValue) {
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
     }
 
-    /**
-     * @param coefs  {a_n,a_{n-1},...} of f(x) = a_n x^{n} + a_{n-1} x^{n-1} + ....
-     * @param x  the x
-     * @param leftknot  the knot specifying underlying interpolation function
-     * @return the value of the underlying interpolation function at the value of x
-     */
-    private static double getValue(double[] coefs, double x, double leftknot) {
-      int nCoefs = coefs.length;
-      double s = x - leftknot;
-      double res = coefs[0];
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
+      // evaluate {a_n,a_{n-1},...} of f(x) = a_n x^{n} + a_{n-1} x^{n-1} + ....
+      int interval = interval(lowerIndex);
+      DoubleMatrix coefMatrix = poly.getCoefMatrix();
+      int row = poly.getDimensions() * interval;
+      int nCoefs = coefMatrix.columnCount();
+      double s = xValue - xValues[interval];
+      double res = coefMatrix.get(row, 0);
       for (int i = 1; i < nCoefs; i++) {
         res *= s;
-        res += coefs[i];
+        res += coefMatrix.get(row, i);
       }
       return res;
     }
 
-    //-------------------------------------------------------------------------
     @Override
-    protected double doInterpolate(double xValue) {
-      return evaluate(xValue, poly.getKnots(), poly.getCoefMatrix(), poly.getDimensions());
+    protected double doFirstDerivative(double xValue) {
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
     }
 
     @Override
-    protected double doFirstDerivative(double xValue) {
+    protected double doFirstDerivative(double xValue, int lowerIndex) {
+      // evaluate the derivative of the polynomial without creating the derivative coefficients
+      int interval = interval(lowerIndex);
+      DoubleMatrix coefMatrix = poly.getCoefMatrix();
+      int row = poly.getDimensions() * interval;
       int nCoefs = poly.getOrder();
-      int numberOfIntervals = poly.getNumberOfIntervals();
-      return differentiate(xValue, poly.getKnots(), poly.getCoefMatrix(), poly.getDimensions(), nCoefs, numberOfIntervals);
+      double s = xValue - xValues[interval];
+      double res = coefMatrix.get(row, 0) * (nCoefs - 1);
+      for (int i = 1; i < nCoefs - 1; i++) {
+        res *= s;
+        res += coefMatrix.get(row, i) * (nCoefs - i - 1);
+      }
+      return res;
     }
 
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
-      int interval = FunctionUtils.getLowerBoundIndex(poly.getKnots(), xValue);
-      if (interval == poly.getKnots().size() - 1) {
-        interval--; // there is 1 less interval than knots
-      }
+      double[] result = new double[xValues.length];
+      doParameterSensitivity(xValue, lowerBoundIndex(xValue, xValues), 1d, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, int lowerIndex, double weight, double[] target) {
+      int interval = interval(lowerIndex);
       DoubleMatrix coefficientSensitivity = polySens.get().getCoefficientSensitivity(interval);
       int nCoefs = coefficientSensitivity.rowCount();
-      double s = xValue - poly.getKnots().get(interval);
-      DoubleArray res = coefficientSensitivity.row(0);
-      for (int i = 1; i < nCoefs; i++) {
-        res = (DoubleArray) MA.scale(res, s);
-        res = (DoubleArray) MA.add(res, coefficientSensitivity.row(i));
+      int nParams = coefficientSensitivity.columnCount();
+      double s = xValue - xValues[interval];
+      for (int j = 0; j < nParams; j++) {
+        double res = coefficientSensitivity.get(0, j);
+        for (int i = 1; i < nCoefs; i++) {
+          res *= s;
+          res += coefficientSensitivity.get(i, j);
+        }
+        target[j] += weight * res;
       }
-      return res;
     }
 
     @Override
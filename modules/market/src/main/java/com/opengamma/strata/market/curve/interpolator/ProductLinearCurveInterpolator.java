@@ -20,10 +20,9 @@ import java.io.Serializable;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
-import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
-import com.opengamma.strata.math.impl.function.PiecewisePolynomialWithSensitivityFunction1D;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.interpolation.LinearInterpolator;
 import com.opengamma.strata.math.impl.interpolation.PiecewisePolynomialResult;
 import com.opengamma.strata.math.impl.interpolation.PiecewisePolynomialResultsWithSensitivity;
@@ -48,10 +47,6 @@ final class ProductLinearCurveInterpolator
    * The small parameter. 
    */
   private static final double SMALL = 1e-10;
-  /**
-   * The polynomial function.
-   */
-  private static final PiecewisePolynomialWithSensitivityFunction1D FUNCTION = new PiecewisePolynomialWithSensitivityFunction1D();
 
   /**
    * Restricted constructor.
@@ -120,26 +115,60 @@ final class ProductLinearCurveInterpolator
       return xyValues;
     }
 
+    // finds the polynomial for the lower node, there is 1 less interval than knots
+    private int interval(int lowerIndex) {
+      return lowerIndex == xValues.length - 1 ? lowerIndex - 1 : lowerIndex;
+    }
+
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       ArgChecker.isTrue(Math.abs(xValue) > SMALL, "magnitude of xValue must not be small");
-      double resValue = FUNCTION.evaluate(poly, xValue).get(0);
+      int interval = interval(lowerIndex);
+      DoubleMatrix coefMatrix = poly.getCoefMatrix();
+      double s = xValue - xValues[interval];
+      double resValue = coefMatrix.get(interval, 0) * s + coefMatrix.get(interval, 1);
       return resValue / xValue;
     }
 
     @Override
     protected double doFirstDerivative(double xValue) {
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doFirstDerivative(double xValue, int lowerIndex) {
       ArgChecker.isTrue(Math.abs(xValue) > SMALL, "magnitude of xValue must not be small");
-      ValueDerivatives resValue = FUNCTION.evaluateAndDifferentiate(poly, xValue);
-      return -resValue.getValue() / (xValue * xValue) + resValue.getDerivative(0) / xValue;
+      int interval = interval(lowerIndex);
+      DoubleMatrix coefMatrix = poly.getCoefMatrix();
+      double s = xValue - xValues[interval];
+      double gradient = coefMatrix.get(interval, 0);
+      double resValue = gradient * s + coefMatrix.get(interval, 1);
+      return -resValue / (xValue * xValue) + gradient / xValue;
     }
 
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
+      double[] result = new double[xValues.length];
+      doParameterSensitivity(xValue, lowerBoundIndex(xValue, xValues), 1d, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doParameterSensitivity(double xValue, int lowerIndex, double weight, double[] target) {
       ArgChecker.isTrue(Math.abs(xValue) > SMALL, "magnitude of xValue must not be small");
-      DoubleArray resSense = FUNCTION.nodeSensitivity(polySens.get(), xValue);
-      return resSense.multipliedBy(DoubleArray.of(resSense.size(), i -> xValues[i] / xValue));
+      int interval = interval(lowerIndex);
+      DoubleMatrix coefficientSensitivity = polySens.get().getCoefficientSensitivity(interval);
+      double s = xValue - xValues[interval];
+      for (int j = 0; j < target.length; j++) {
+        double resSense = coefficientSensitivity.get(0, j) * s + coefficientSensitivity.get(1, j);
+        target[j] += weight * (resSense * (xValues[j] / xValue));
+      }
     }
 
     @Override
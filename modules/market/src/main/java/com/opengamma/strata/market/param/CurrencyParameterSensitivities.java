@@ -108,6 +108,20 @@ public final class CurrencyParameterSensitivities
     return new CurrencyParameterSensitivitiesBuilder();
   }
 
+  /**
+   * Returns an accumulator that can be used to combine many sensitivities efficiently.
+   * <p>
+   * The accumulator merges sensitivities in the same way as {@link #combinedWith(CurrencyParameterSensitivity)},
+   * but sums the values in place rather than creating a new instance for each sensitivity added.
+   * The order of summation may differ, thus the result is equal to that of {@code combinedWith}
+   * within floating point tolerance.
+   * 
+   * @return the accumulator
+   */
+  public static CurrencyParameterSensitivitiesAccumulator accumulator() {
+    return new CurrencyParameterSensitivitiesAccumulator();
+  }
+
   /**
    * Obtains an instance from a single sensitivity entry.
    * 
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketDataName;
+
+/**
+ * Mutable accumulator for {@code CurrencyParameterSensitivities}.
+ * <p>
+ * Combining many sensitivities using {@link CurrencyParameterSensitivities#combinedWith(CurrencyParameterSensitivity)}
+ * copies the list of sensitivities and the sensitivity values on each call.
+ * This accumulator instead holds a mutable array of values, adding each sensitivity in place.
+ * The immutable sensitivities are only created when {@link #build()} is called.
+ * <p>
+ * Sensitivities can be added in two ways. Those added without a key are merged using
+ * market data name and currency as a key, as with {@code combinedWith}. Those added with a key
+ * are merged using the key and currency, where the key identifies the source of the sensitivities,
+ * such as the index of the rates that a point sensitivity is projected by.
+ * Once a sensitivity has been added for a key, the array of values for the key can be obtained
+ * using {@link #values(Object, Currency)}, allowing further sensitivities to be added to it directly.
+ * <p>
+ * As with {@code combinedWith}, the parameter metadata is not checked, thus the caller must ensure
+ * the sensitivities are compatible with the same metadata and parameter count.
+ * <p>
+ * The values are summed separately for each key, and the entries are only combined when built.
+ * In addition, a single sensitivity that spans several terms may be added to the values one term at a time.
+ * As such, the order of summation differs from calling {@code combinedWith} for each sensitivity,
+ * and the result is only equal to that of {@code combinedWith} within floating point tolerance.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class CurrencyParameterSensitivitiesAccumulator {
+
+  /**
+   * The entries added using a key chosen by the caller.
+   */
+  private final List<Entry> keyedEntries = new ArrayList<>();
+  /**
+   * The entries added using the market data name as the key.
+   */
+  private final List<Entry> namedEntries = new ArrayList<>();
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  CurrencyParameterSensitivitiesAccumulator() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds sensitivities to the accumulator.
+   * <p>
+   * Values with the same market data name and currency will be summed.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return this, for chaining
+   */
+  public CurrencyParameterSensitivitiesAccumulator add(CurrencyParameterSensitivities sensitivities) {
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds a sensitivity to the accumulator.
+   * <p>
+   * Values with the same market data name and currency will be summed.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return this, for chaining
+   */
+  public CurrencyParameterSensitivitiesAccumulator add(CurrencyParameterSensitivity sensitivity) {
+    MarketDataName<?> name = sensitivity.getMarketDataName();
+    Entry entry = find(namedEntries, name, sensitivity.getCurrency());
+    if (entry == null) {
+      namedEntries.add(new Entry(name, sensitivity.getCurrency(), ImmutableList.of(sensitivity)));
+    } else {
+      entry.add(entry.offset(sensitivity), sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds sensitivities to the accumulator using the specified key.
+   * <p>
+   * Values with the same key and currency will be summed.
+   * The first non-empty sensitivities added for a key and currency define the market data names,
+   * metadata and parameter counts of the entry. Any later sensitivity with a market data name
+   * that is not part of the entry is merged using market data name and currency instead.
+   *
+   * @param key  the key identifying the source of the sensitivities, such as the index or currency of the curve
+   * @param currency  the currency of the sensitivities
+   * @param sensitivities  the sensitivities to add
+   * @return this, for chaining
+   */
+  public CurrencyParameterSensitivitiesAccumulator add(
+      Object key,
+      Currency currency,
+      CurrencyParameterSensitivities sensitivities) {
+
+    ArgChecker.notNull(key, "key");
+    if (sensitivities.size() == 0) {
+      return this;
+    }
+    Entry entry = find(keyedEntries, key, currency);
+    if (entry == null) {
+      keyedEntries.add(new Entry(key, currency, sensitivities.getSensitivities()));
+      return this;
+    }
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      int offset = entry.offset(sensitivity);
+      if (offset < 0) {
+        add(sensitivity);
+      } else {
+        entry.add(offset, sensitivity);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Returns the mutable array of values for the specified key.
+   * <p>
+   * The array holds the values of the sensitivities added for the key and currency,
+   * one element for each parameter, in the order of the first sensitivities added.
+   * This allows further sensitivities with the same layout to be added directly to the array.
+   * If no sensitivities have been added for the key and currency, null is returned.
+   *
+   * @param key  the key identifying the source of the sensitivities
+   * @param currency  the currency of the sensitivities
+   * @return the array of values, null if no sensitivities have been added
+   */
+  public double[] values(Object key, Currency currency) {
+    Entry entry = find(keyedEntries, key, currency);
+    return entry != null ? entry.values : null;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the sensitivities from the accumulated values.
+   * <p>
+   * The accumulator may continue to be used after this method is called.
+   *
+   * @return the sensitivities instance
+   */
+  public CurrencyParameterSensitivities build() {
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (Entry entry : keyedEntries) {
+      result = result.combinedWith(entry.build());
+    }
+    for (Entry entry : namedEntries) {
+      result = result.combinedWith(entry.build());
+    }
+    return result;
+  }
+
+  // finds the entry matching the key and currency
+  // the number of entries is typically small, so a linear search avoids creating a compound key
+  private static Entry find(List<Entry> entries, Object key, Currency currency) {
+    for (Entry entry : entries) {
+      if ((entry.key == key || entry.key.equals(key)) && entry.currency.equals(currency)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The accumulated values for a single key and currency.
+   */
+  private static final class Entry {
+    private final Object key;
+    private final Currency currency;
+    private final List<CurrencyParameterSensitivity> templates;
+    private final double[] values;
+
+    private Entry(Object key, Currency currency, List<CurrencyParameterSensitivity> sensitivities) {
+      this.key = key;
+      this.currency = currency;
+      this.templates = sensitivities;
+      this.values = new double[sensitivities.stream().mapToInt(s -> s.getParameterCount()).sum()];
+      int offset = 0;
+      for (CurrencyParameterSensitivity sensitivity : sensitivities) {
+        System.arraycopy(
+            sensitivity.getSensitivity().toArrayUnsafe(), 0, values, offset, sensitivity.getParameterCount());
+        offset += sensitivity.getParameterCount();
+      }
+    }
+
+    // finds the offset of the sensitivity in the values, -1 if not part of this entry
+    private int offset(CurrencyParameterSensitivity sensitivity) {
+      int offset = 0;
+      for (CurrencyParameterSensitivity template : templates) {
+        if (template.getMarketDataName().equals(sensitivity.getMarketDataName()) &&
+            template.getCurrency().equals(sensitivity.getCurrency())) {
+          ArgChecker.isTrue(
+              template.getParameterCount() == sensitivity.getParameterCount(),
+              "Sensitivity parameter count must match: {} and {}",
+              template.getParameterCount(),
+              sensitivity.getParameterCount());
+          return offset;
+        }
+        offset += template.getParameterCount();
+      }
+      return -1;
+    }
+
+    // adds the sensitivity to the values at the offset
+    private void add(int offset, CurrencyParameterSensitivity sensitivity) {
+      double[] added = sensitivity.getSensitivity().toArrayUnsafe();
+      for (int i = 0; i < added.length; i++) {
+        values[offset + i] += added[i];
+      }
+    }
+
+    // creates the sensitivities from the accumulated values
+    private CurrencyParameterSensitivities build() {
+      List<CurrencyParameterSensitivity> result = new ArrayList<>(templates.size());
+      int offset = 0;
+      for (CurrencyParameterSensitivity template : templates) {
+        int count = template.getParameterCount();
+        result.add(template.withSensitivity(DoubleArray.copyOf(values, offset, offset + count)));
+        offset += count;
+      }
+      return CurrencyParameterSensitivities.of(result);
+    }
+  }
+
+}
@@ -7,7 +7,6 @@ package com.opengamma.strata.market.sensitivity;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -183,11 +182,7 @@ public final class PointSensitivities
     if (sensitivities.isEmpty()) {
       return this;
     }
-    List<PointSensitivity> mutable = new ArrayList<>();
-    for (PointSensitivity sensi : sensitivities) {
-      insert(mutable, sensi);
-    }
-    return new PointSensitivities(mutable);
+    return new PointSensitivities(normalize(sensitivities));
   }
 
   //-----------------------------------------------------------------------
@@ -238,25 +233,70 @@ public final class PointSensitivities
   //-------------------------------------------------------------------------
   @Override
   public PointSensitivities convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
-    List<PointSensitivity> mutable = new ArrayList<>();
+    List<PointSensitivity> converted = new ArrayList<>(sensitivities.size());
     for (PointSensitivity sensi : sensitivities) {
-      insert(mutable, sensi.convertedTo(resultCurrency, rateProvider));
+      converted.add(sensi.convertedTo(resultCurrency, rateProvider));
     }
-    return new PointSensitivities(mutable);
+    return new PointSensitivities(normalize(converted));
   }
 
-  // inserts a sensitivity into the mutable list in the right location
-  // merges the entry with an existing entry if the key matches
-  private static void insert(List<PointSensitivity> mutable, PointSensitivity addition) {
-    int index = Collections.binarySearch(mutable, addition, PointSensitivity::compareKey);
-    if (index >= 0) {
-      PointSensitivity base = mutable.get(index);
-      double combined = base.getSensitivity() + addition.getSensitivity();
-      mutable.set(index, base.withSensitivity(combined));
-    } else {
-      int insertionPoint = -(index + 1);
-      mutable.add(insertionPoint, addition);
+  /**
+   * Sorts and merges the sensitivities.
+   * <p>
+   * The result is sorted using {@link PointSensitivity#compareKey(PointSensitivity)}.
+   * Entries with the same key are merged into the first such entry, summing the values
+   * in the order the entries occur in the input.
+   * <p>
+   * The entries are grouped by type before sorting, as comparing entries of different types
+   * compares the simple class names. Each group is then sorted using a stable sort, which is close
+   * to linear when the entries are already in runs of sorted order, as is typical of the
+   * sensitivities of a schedule of payments. Merging is then a single pass over the sorted entries.
+   * 
+   * @param sensitivities  the sensitivities to normalize, not altered
+   * @return the normalized list of sensitivities, which is mutable
+   */
+  static List<PointSensitivity> normalize(List<? extends PointSensitivity> sensitivities) {
+    // group by type, retaining the order of the entries
+    // the number of types is typically small, so a linear search is used
+    List<List<PointSensitivity>> groups = new ArrayList<>();
+    Class<?> previousType = null;
+    List<PointSensitivity> previousGroup = null;
+    for (PointSensitivity sensi : sensitivities) {
+      Class<?> type = sensi.getClass();
+      if (type != previousType) {
+        previousGroup = null;
+        for (List<PointSensitivity> group : groups) {
+          if (group.get(0).getClass() == type) {
+            previousGroup = group;
+            break;
+          }
+        }
+        if (previousGroup == null) {
+          previousGroup = new ArrayList<>();
+          groups.add(previousGroup);
+        }
+        previousType = type;
+      }
+      previousGroup.add(sensi);
+    }
+    if (groups.size() > 1) {
+      groups.sort((group1, group2) -> group1.get(0).compareKey(group2.get(0)));
+    }
+    // sort each group and merge adjacent entries with the same key
+    List<PointSensitivity> result = new ArrayList<>(sensitivities.size());
+    for (List<PointSensitivity> group : groups) {
+      group.sort(PointSensitivity::compareKey);
+      for (PointSensitivity sensi : group) {
+        int last = result.size() - 1;
+        if (last >= 0 && result.get(last).compareKey(sensi) == 0) {
+          PointSensitivity base = result.get(last);
+          result.set(last, base.withSensitivity(base.getSensitivity() + sensi.getSensitivity()));
+        } else {
+          result.add(sensi);
+        }
+      }
     }
+    return result;
   }
 
   //------------------------- AUTOGENERATED START -------------------------
@@ -31,6 +31,7 @@ import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCounts;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
@@ -212,6 +213,19 @@ public class CombinedCurveTest {
     }
   }
 
+  public void test_batch() {
+    DoubleArray yValues = COMBINED_CURVE.yValues(X_SAMPLES);
+    DoubleArray derivatives = COMBINED_CURVE.firstDerivatives(X_SAMPLES);
+    DoubleMatrix sensitivities = COMBINED_CURVE.yValueParameterSensitivities(X_SAMPLES);
+    assertEquals(sensitivities.columnCount(), COMBINED_CURVE.getParameterCount());
+    for (int i = 0; i < NUM_SAMPLES; ++i) {
+      double x = X_SAMPLES.get(i);
+      assertEquals(yValues.get(i), COMBINED_CURVE.yValue(x), TOL);
+      assertEquals(derivatives.get(i), COMBINED_CURVE.firstDerivative(x), TOL);
+      assertEquals(sensitivities.row(i), COMBINED_CURVE.yValueParameterSensitivity(x).getSensitivity());
+    }
+  }
+
   public void test_createParameterSensitivity() {
     DoubleArray values = DoubleArray.of(3d, 4d, 6d, 1d, 2d, 5d, 8d);
     DoubleArray valuesBase = DoubleArray.of(3d, 4d, 6d);
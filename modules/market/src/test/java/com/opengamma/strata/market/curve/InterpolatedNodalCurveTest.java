@@ -21,6 +21,7 @@ import org.testng.annotations.Test;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
@@ -126,6 +127,30 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.firstDerivative(10d)).isEqualTo(interp.firstDerivative(10d));
   }
 
+  public void test_lookup_batch() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    DoubleArray x = DoubleArray.of(1d, 1.5d, 2d, 3d, 10d, 2.5d);
+    assertThat(test.yValues(x)).isEqualTo(x.map(test::yValue));
+    assertThat(test.firstDerivatives(x)).isEqualTo(x.map(test::firstDerivative));
+    DoubleMatrix sensitivities = test.yValueParameterSensitivities(x);
+    assertThat(sensitivities.rowCount()).isEqualTo(x.size());
+    for (int i = 0; i < x.size(); i++) {
+      assertThat(test.createParameterSensitivity(sensitivities.row(i)))
+          .isEqualTo(test.yValueParameterSensitivity(x.get(i)));
+    }
+  }
+
+  public void test_lookup_target() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    double[] target = new double[test.getParameterCount()];
+    test.yValueParameterSensitivity(1.5d, 2d, target);
+    test.yValueParameterSensitivity(2.5d, 3d, target);
+    DoubleArray expected = test.yValueParameterSensitivity(1.5d).multipliedBy(2d)
+        .plus(test.yValueParameterSensitivity(2.5d).multipliedBy(3d))
+        .getSensitivity();
+    assertThat(DoubleArray.ofUnsafe(target).equalWithTolerance(expected, 1e-12)).isTrue();
+  }
+
   //-------------------------------------------------------------------------
   public void test_withMetadata() {
     InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
@@ -7,10 +7,12 @@ package com.opengamma.strata.market.curve.interpolator;
 
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * Test {@link LinearCurveInterpolator}.
@@ -91,6 +93,48 @@ public class LinearCurveInterpolatorTest {
   }
 
   //-------------------------------------------------------------------------
+  public void test_batch() {
+    BoundCurveInterpolator bci = LINEAR_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    // sorted values including nodes and extrapolation, followed by unsorted values
+    DoubleArray xValues = DoubleArray.of(-0.5, 0.0, 0.2, 0.4, 1.1, 2.3, 2.8, 5.0, 6.0, 1.0, 0.3, -0d, 4.9);
+    DoubleArray values = bci.interpolate(xValues);
+    DoubleArray derivatives = bci.firstDerivatives(xValues);
+    DoubleMatrix sensitivities = bci.parameterSensitivities(xValues);
+    for (int i = 0; i < xValues.size(); i++) {
+      assertEquals(values.get(i), bci.interpolate(xValues.get(i)), 0d);
+      assertEquals(derivatives.get(i), bci.firstDerivative(xValues.get(i)), 0d);
+      assertEquals(sensitivities.row(i), bci.parameterSensitivity(xValues.get(i)));
+    }
+  }
+
+  public void test_batch_target() {
+    BoundCurveInterpolator bci = LINEAR_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    DoubleArray xValues = DoubleArray.of(-0.5, 0.2, 1.1, 5.0, 6.0, 0.3);
+    double[] values = new double[xValues.size()];
+    double[] derivatives = new double[xValues.size()];
+    double[][] sensitivities = new double[xValues.size()][X_DATA.size()];
+    // the output arrays are overwritten, not added to
+    sensitivities[2][0] = 1d;
+    bci.interpolate(xValues, values);
+    bci.firstDerivatives(xValues, derivatives);
+    bci.parameterSensitivities(xValues, sensitivities);
+    assertEquals(DoubleArray.ofUnsafe(values), bci.interpolate(xValues));
+    assertEquals(DoubleArray.ofUnsafe(derivatives), bci.firstDerivatives(xValues));
+    assertEquals(DoubleMatrix.ofUnsafe(sensitivities), bci.parameterSensitivities(xValues));
+  }
+
+  public void test_parameterSensitivity_target() {
+    BoundCurveInterpolator bci = LINEAR_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    double[] target = new double[X_DATA.size()];
+    bci.parameterSensitivity(1.1, 2d, target);
+    bci.parameterSensitivity(-1d, 3d, target);
+    bci.parameterSensitivity(5d, -1d, target);
+    DoubleArray expected = bci.parameterSensitivity(1.1).multipliedBy(2d)
+        .plus(bci.parameterSensitivity(-1d).multipliedBy(3d))
+        .minus(bci.parameterSensitivity(5d));
+    assertTrue(DoubleArray.ofUnsafe(target).equalWithTolerance(expected, TOL));
+  }
+
   public void test_serialization() {
     assertSerialization(LINEAR_INTERPOLATOR);
   }
@@ -11,6 +11,7 @@ import static org.testng.Assert.assertEquals;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * Test {@link NaturalSplineCurveInterpolator}.
@@ -75,6 +76,20 @@ public class NaturalSplineCurveInterpolatorTest {
   }
 
   //-------------------------------------------------------------------------
+  public void test_batch() {
+    BoundCurveInterpolator bci = NATURAL_SPLINE_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    // sorted values including nodes and extrapolation, followed by unsorted values
+    DoubleArray xValues = DoubleArray.of(-0.5, 0.0, 0.2, 0.4, 1.1, 2.3, 2.8, 5.0, 6.0, 1.0, 0.3, -0d, 4.9);
+    DoubleArray values = bci.interpolate(xValues);
+    DoubleArray derivatives = bci.firstDerivatives(xValues);
+    DoubleMatrix sensitivities = bci.parameterSensitivities(xValues);
+    for (int i = 0; i < xValues.size(); i++) {
+      assertEquals(values.get(i), bci.interpolate(xValues.get(i)), 0d);
+      assertEquals(derivatives.get(i), bci.firstDerivative(xValues.get(i)), 0d);
+      assertEquals(sensitivities.row(i), bci.parameterSensitivity(xValues.get(i)));
+    }
+  }
+
   public void test_serialization() {
     assertSerialization(NATURAL_SPLINE_INTERPOLATOR);
   }
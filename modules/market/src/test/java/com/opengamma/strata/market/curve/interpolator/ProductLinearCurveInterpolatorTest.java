@@ -16,6 +16,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.math.impl.differentiation.ScalarFieldFirstOrderDifferentiator;
 import com.opengamma.strata.math.impl.differentiation.ScalarFirstOrderDifferentiator;
@@ -215,6 +216,24 @@ public class ProductLinearCurveInterpolatorTest {
     assertEquals(INTERP.toString(), ProductLinearCurveInterpolator.NAME);
   }
 
+  public void test_batch() {
+    BoundCurveInterpolator bci = INTERP.bind(
+        DoubleArray.of(0.5, 1.0, 2.5, 4.2, 10.0, 15.0, 30.0),
+        DoubleArray.of(4.0, 2.0, 1.0, 5.0, 10.0, 3.5, -2.0),
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.PRODUCT_LINEAR);
+    // sorted values including nodes and extrapolation, followed by unsorted values
+    DoubleArray xValues = DoubleArray.of(0.1, 0.5, 0.7, 1.0, 7.8, 9.99, 25.0, 30.0, 35.0, 2.5, 0.6, 29.9);
+    DoubleArray values = bci.interpolate(xValues);
+    DoubleArray derivatives = bci.firstDerivatives(xValues);
+    DoubleMatrix sensitivities = bci.parameterSensitivities(xValues);
+    for (int i = 0; i < xValues.size(); i++) {
+      assertEquals(values.get(i), bci.interpolate(xValues.get(i)), 0d);
+      assertEquals(derivatives.get(i), bci.firstDerivative(xValues.get(i)), 0d);
+      assertEquals(sensitivities.row(i), bci.parameterSensitivity(xValues.get(i)));
+    }
+  }
+
   public void test_serialization() {
     assertSerialization(INTERP);
   }
@@ -220,6 +220,39 @@ public class CurrencyParameterSensitivitiesTest {
     assertEquals(test, SENSI_1);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_accumulator() {
+    CurrencyParameterSensitivitiesAccumulator test = CurrencyParameterSensitivities.accumulator();
+    assertEquals(test.build(), CurrencyParameterSensitivities.empty());
+    test.add(SENSI_1).add(ENTRY_EUR).add(ENTRY_USD2);
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(ENTRY_USD_TOTAL, ENTRY_EUR));
+    assertEquals(test.build(), SENSI_1.combinedWith(SENSI_2));
+    assertThrowsIllegalArg(() -> test.add(ENTRY_USD_SMALL));
+  }
+
+  public void test_accumulator_key() {
+    CurrencyParameterSensitivitiesAccumulator test = CurrencyParameterSensitivities.accumulator();
+    assertEquals(test.values(USD, USD), null);
+    test.add(USD, USD, CurrencyParameterSensitivities.empty());
+    assertEquals(test.values(USD, USD), null);
+    test.add(USD, USD, SENSI_1);
+    assertEquals(test.values(EUR, USD), null);
+    assertEquals(test.values(USD, EUR), null);
+    double[] values = test.values(USD, USD);
+    assertEquals(values, VECTOR_USD1.toArray());
+    for (int i = 0; i < values.length; i++) {
+      values[i] += VECTOR_USD2.get(i);
+    }
+    assertEquals(test.build().getSensitivities(), ImmutableList.of(ENTRY_USD_TOTAL));
+    // a name not part of the key is merged by name
+    test.add(USD, USD, CurrencyParameterSensitivities.of(ENTRY_EUR));
+    test.add(EUR, USD, CurrencyParameterSensitivities.of(ENTRY_USD_TOTAL.multipliedBy(-1d)));
+    assertEquals(
+        test.build().getSensitivities(),
+        ImmutableList.of(ENTRY_USD_TOTAL.withSensitivity(VECTOR_ZERO), ENTRY_EUR));
+    assertThrowsIllegalArg(() -> test.add(USD, USD, CurrencyParameterSensitivities.of(ENTRY_USD_SMALL)));
+  }
+
   //-------------------------------------------------------------------------
   public void test_mergedWith() {
     CurrencyParameterSensitivity entry1 =
@@ -160,6 +160,35 @@ public class MutablePointSensitivitiesTest {
     assertEquals(test.getSensitivities(), ImmutableList.of(CS1, CS2, CS3.withSensitivity(35d)));
   }
 
+  public void test_normalize_mergesMany() {
+    MutablePointSensitivities test = new MutablePointSensitivities();
+    test.addAll(Lists.newArrayList(CS3, CS2, CS3B, CS1, CS3));
+    test.normalize();
+    assertEquals(test.getSensitivities(), ImmutableList.of(CS1, CS2, CS3.withSensitivity(67d)));
+  }
+
+  public void test_normalize_runsOfSameKey() {
+    // every amount is kept when three or more entries share a key, including at the start and end
+    PointSensitivity cs1b = CS1.withSensitivity(5d);
+    MutablePointSensitivities test = new MutablePointSensitivities();
+    test.addAll(Lists.newArrayList(CS1, CS3, cs1b, CS3B, CS1, CS3, CS3B));
+    test.normalize();
+    assertEquals(test.getSensitivities(), ImmutableList.of(CS1.withSensitivity(29d), CS3.withSensitivity(70d)));
+  }
+
+  public void test_normalize_singleKey() {
+    MutablePointSensitivities test = new MutablePointSensitivities();
+    test.addAll(Lists.newArrayList(CS3, CS3B, CS3, CS3B));
+    test.normalize();
+    assertEquals(test.getSensitivities(), ImmutableList.of(CS3.withSensitivity(70d)));
+  }
+
+  public void test_normalize_empty() {
+    MutablePointSensitivities test = new MutablePointSensitivities();
+    test.normalize();
+    assertEquals(test.size(), 0);
+  }
+
   //-------------------------------------------------------------------------
   public void test_toImmutable() {
     MutablePointSensitivities test = new MutablePointSensitivities();
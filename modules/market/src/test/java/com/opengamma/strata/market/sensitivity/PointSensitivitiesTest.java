@@ -79,6 +79,13 @@ public class PointSensitivitiesTest {
     assertEquals(test.normalized().getSensitivities(), ImmutableList.of(CS1, CS2, CS3.withSensitivity(35d)));
   }
 
+  public void test_normalized_mergesMany() {
+    PointSensitivities test = PointSensitivities.of(Lists.newArrayList(CS3, CS1, CS3B, CS4, CS2, CS3, CS1));
+    assertEquals(
+        test.normalized().getSensitivities(),
+        ImmutableList.of(CS1.withSensitivity(24d), CS2, CS3.withSensitivity(67d), CS4));
+  }
+
   public void test_normalized_empty() {
     assertEquals(PointSensitivities.empty().normalized(), PointSensitivities.empty());
   }
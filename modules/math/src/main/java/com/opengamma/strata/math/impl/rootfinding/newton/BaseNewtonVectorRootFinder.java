@@ -20,6 +20,7 @@ import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
 import com.opengamma.strata.math.impl.rootfinding.VectorRootFinder;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
+import com.opengamma.strata.math.rootfind.NewtonVectorRootFinderListener;
 
 /**
  * Base implementation for all Newton-Raphson style multi-dimensional root finding (i.e. using the Jacobian matrix as a basis for some iterative process)
@@ -77,25 +78,63 @@ public class BaseNewtonVectorRootFinder
       Function<DoubleArray, DoubleMatrix> jacobianFunction,
       DoubleArray startPosition) {
 
+    return findRoot(function, jacobianFunction, startPosition, jacobianFunction, NewtonVectorRootFinderListener.NONE);
+  }
+
+  @Override
+  public DoubleArray findRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix startJacobian) {
+
+    ArgChecker.notNull(startJacobian, "startJacobian");
+    return findRoot(function, jacobianFunction, startPosition, x -> startJacobian, NewtonVectorRootFinderListener.NONE);
+  }
+
+  @Override
+  public DoubleArray findRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix startJacobian,
+      NewtonVectorRootFinderListener listener) {
+
+    ArgChecker.notNull(listener, "listener");
+    Function<DoubleArray, DoubleMatrix> startJacobianFunction =
+        startJacobian != null ? x -> startJacobian : jacobianFunction;
+    return findRoot(function, jacobianFunction, startPosition, startJacobianFunction, listener);
+  }
+
+  // the start Jacobian function is only used to initialize the estimate at the start position
+  private DoubleArray findRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      Function<DoubleArray, DoubleMatrix> startJacobianFunction,
+      NewtonVectorRootFinderListener listener) {
+
     DataBundle data = new DataBundle();
     DoubleArray y = checkInputsAndApplyFunction(function, startPosition);
     data.setX(startPosition);
     data.setY(y);
     data.setG0(_algebra.getInnerProduct(y, y));
-    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(startJacobianFunction, startPosition);
 
-    if (!getNextPosition(function, estimate, data)) {
+    if (!getNextPosition(function, estimate, data, listener)) {
       if (isConverged(data)) {
         return data.getX(); // this can happen if the starting position is the root
       }
       throw new MathException("Cannot work with this starting position. Please choose another point");
     }
+    listener.iteration(data.getX(), data.getY());
 
     int count = 0;
     int jacReconCount = 1;
     while (!isConverged(data)) {
       // Want to reset the Jacobian every so often even if backtracking is working
       if ((jacReconCount) % FULL_RECALC_FREQ == 0) {
+        listener.jacobianReset(data.getX());
         estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, data.getX());
         jacReconCount = 1;
       } else {
@@ -104,10 +143,11 @@ public class BaseNewtonVectorRootFinder
         jacReconCount++;
       }
       // if backtracking fails, could be that Jacobian estimate has drifted too far
-      if (!getNextPosition(function, estimate, data)) {
+      if (!getNextPosition(function, estimate, data, listener)) {
+        listener.jacobianReset(data.getX());
         estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, data.getX());
         jacReconCount = 1;
-        if (!getNextPosition(function, estimate, data)) {
+        if (!getNextPosition(function, estimate, data, listener)) {
           if (isConverged(data)) {
             // non-standard exit. Cannot find an improvement from this position,
             // so provided we are close enough to the root, exit.
@@ -119,6 +159,7 @@ public class BaseNewtonVectorRootFinder
           throw new MathException(msg);
         }
       }
+      listener.iteration(data.getX(), data.getY());
       count++;
       if (count > _maxSteps) {
         throw new MathException("Failed to converge - maximum iterations of " + _maxSteps + " reached." +
@@ -136,9 +177,12 @@ public class BaseNewtonVectorRootFinder
   private boolean getNextPosition(
       Function<DoubleArray, DoubleArray> function,
       DoubleMatrix estimate,
-      DataBundle data) {
+      DataBundle data,
+      NewtonVectorRootFinderListener listener) {
 
+    long start = System.nanoTime();
     DoubleArray p = _directionFunction.getDirection(estimate, data.getY());
+    listener.decompositionCompleted(System.nanoTime() - start);
     if (data.getLambda0() < 1.0) {
       data.setLambda0(1.0);
     } else {
@@ -12,6 +12,7 @@ import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
 import com.opengamma.strata.math.impl.rootfinding.newton.BroydenVectorRootFinder;
+import com.opengamma.strata.math.impl.rootfinding.newton.NewtonDefaultVectorRootFinder;
 import com.opengamma.strata.math.linearalgebra.Decomposition;
 
 /**
@@ -64,6 +65,22 @@ public interface NewtonVectorRootFinder {
     return new BroydenVectorRootFinder(absoluteTol, relativeTol, maxSteps, decomposition);
   }
 
+  /**
+   * Obtains an instance of the Newton root finder specifying the tolerances.
+   * <p>
+   * This computes the full Jacobian at every iteration, rather than updating an estimate.
+   * It is typically slower than the Broyden root finder, but may need fewer iterations.
+   * This uses LU decomposition.
+   * 
+   * @param absoluteTol  the absolute tolerance
+   * @param relativeTol  the relative tolerance
+   * @param maxSteps  the maximum steps
+   * @return the root finder
+   */
+  public static NewtonVectorRootFinder newton(double absoluteTol, double relativeTol, int maxSteps) {
+    return new NewtonDefaultVectorRootFinder(absoluteTol, relativeTol, maxSteps);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Finds the root from the specified start position.
@@ -95,4 +112,62 @@ public interface NewtonVectorRootFinder {
       Function<DoubleArray, DoubleMatrix> jacobianFunction,
       DoubleArray startPosition);
 
+  /**
+   * Finds the root from the specified start position, specifying the Jacobian at the start position.
+   * <p>
+   * This applies the specified function and Jacobian function to find the root.
+   * The Jacobian at the start position is used instead of computing it, which is useful when
+   * the start position is the root of a similar problem whose Jacobian is already known.
+   * The Jacobian function is still used if the root finder needs to recompute the Jacobian.
+   * Note if multiple roots exist which one is found will depend on the start position.
+   * <p>
+   * By default, the start Jacobian is ignored and the Jacobian function is used.
+   * 
+   * @param function   the vector function
+   * @param jacobianFunction  the function to calculate the Jacobian
+   * @param startPosition  the start position of the root finder for
+   * @param startJacobian  the Jacobian at, or an estimate of the Jacobian at, the start position
+   * @return the vector root of the collection of functions
+   * @throws MathException if unable to find the root, such as if unable to converge
+   */
+  public default DoubleArray findRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix startJacobian) {
+
+    return findRoot(function, jacobianFunction, startPosition);
+  }
+
+  /**
+   * Finds the root from the specified start position, notifying the listener of progress.
+   * <p>
+   * This applies the specified function and Jacobian function to find the root.
+   * If the start Jacobian is specified, it is used instead of computing the Jacobian at the start position,
+   * see {@link #findRoot(Function, Function, DoubleArray, DoubleMatrix)}.
+   * Note if multiple roots exist which one is found will depend on the start position.
+   * <p>
+   * By default, the listener is not notified.
+   * 
+   * @param function   the vector function
+   * @param jacobianFunction  the function to calculate the Jacobian
+   * @param startPosition  the start position of the root finder for
+   * @param startJacobian  the Jacobian at the start position, null to compute it
+   * @param listener  the listener that is notified of the progress of the root finder
+   * @return the vector root of the collection of functions
+   * @throws MathException if unable to find the root, such as if unable to converge
+   */
+  public default DoubleArray findRoot(
+      Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray startPosition,
+      DoubleMatrix startJacobian,
+      NewtonVectorRootFinderListener listener) {
+
+    if (startJacobian != null) {
+      return findRoot(function, jacobianFunction, startPosition, startJacobian);
+    }
+    return findRoot(function, jacobianFunction, startPosition);
+  }
+
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.rootfind;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Listener that is notified of the progress of a {@link NewtonVectorRootFinder}.
+ * <p>
+ * This allows the behavior of the root finder to be monitored, such as the number of iterations
+ * and the number of times the Jacobian estimate is reset from the full Jacobian.
+ * The methods are invoked on the thread that invokes the root finder.
+ * All methods have empty default implementations.
+ */
+public interface NewtonVectorRootFinderListener {
+
+  /**
+   * A listener that ignores all notifications.
+   */
+  public static final NewtonVectorRootFinderListener NONE = new NewtonVectorRootFinderListener() {};
+
+  /**
+   * Invoked when the root finder has moved to a new position.
+   * <p>
+   * This is invoked once for each iteration of the root finder.
+   *
+   * @param x  the new position
+   * @param y  the value of the function at the new position
+   */
+  public default void iteration(DoubleArray x, DoubleArray y) {
+  }
+
+  /**
+   * Invoked when the Jacobian estimate is reset from the full Jacobian, other than at the start position.
+   * <p>
+   * Root finders that update an estimate of the Jacobian at each iteration reset the estimate
+   * periodically, and when the estimate no longer leads to an improvement.
+   *
+   * @param x  the position at which the Jacobian is computed
+   */
+  public default void jacobianReset(DoubleArray x) {
+  }
+
+  /**
+   * Invoked when the Jacobian estimate has been decomposed to find the direction of the next step.
+   * <p>
+   * This is invoked once for each attempted step, including those that are rejected.
+   *
+   * @param nanos  the time taken to decompose the Jacobian estimate and find the direction, in nanoseconds
+   */
+  public default void decompositionCompleted(long nanos) {
+  }
+
+}
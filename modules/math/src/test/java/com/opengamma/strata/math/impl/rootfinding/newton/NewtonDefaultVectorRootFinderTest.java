@@ -41,6 +41,7 @@ public class NewtonDefaultVectorRootFinderTest extends VectorRootFinderTest {
     assertFunction3D(DEFAULT_JACOBIAN_3D, EPS);
     assertFunction3D(SV, EPS);
     assertFunction3D(SV_JACOBIAN_3D, EPS);
+    assertFunction3DListener(DEFAULT, EPS);
     assertYieldCurveBootstrap(DEFAULT, EPS);
   }
 }
@@ -39,6 +39,9 @@ public class ShermanMorrisonVectorRootFinderTest extends VectorRootFinderTest {
     assertFunction3D(DEFAULT_JACOBIAN_3D, EPS);
     assertFunction3D(SV, EPS);
     assertFunction3D(SV_JACOBIAN_3D, EPS);
+    assertFunction3DStartJacobian(DEFAULT, EPS);
+    assertFunction3DStartJacobian(SV, EPS);
+    assertFunction3DListener(DEFAULT, EPS);
     assertYieldCurveBootstrap(DEFAULT, EPS);
   }
 }
@@ -7,7 +7,10 @@ package com.opengamma.strata.math.impl.rootfinding.newton;
 
 import static com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory.OG_ALGEBRA;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -15,6 +18,7 @@ import org.testng.annotations.Test;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.rootfinding.VectorRootFinder;
+import com.opengamma.strata.math.rootfind.NewtonVectorRootFinderListener;
 
 /**
  * Test.
@@ -199,6 +203,51 @@ public abstract class VectorRootFinderTest {
     assertEquals(-1.0, x1.get(2), eps);
   }
 
+  protected void assertFunction3DStartJacobian(final BaseNewtonVectorRootFinder rootFinder, final double eps) {
+    final DoubleArray x0 = DoubleArray.of(0.8, 0.2, -0.7);
+    final DoubleArray x1 = rootFinder.findRoot(FUNCTION3D, JACOBIAN3D, x0, JACOBIAN3D.apply(x0));
+    assertEquals(1.0, x1.get(0), eps);
+    assertEquals(0.0, x1.get(1), eps);
+    assertEquals(-1.0, x1.get(2), eps);
+    // starting from the root, with the Jacobian at the root, returns the root
+    final DoubleArray x2 = rootFinder.findRoot(FUNCTION3D, JACOBIAN3D, x1, JACOBIAN3D.apply(x1));
+    assertEquals(1.0, x2.get(0), eps);
+    assertEquals(0.0, x2.get(1), eps);
+    assertEquals(-1.0, x2.get(2), eps);
+  }
+
+  protected void assertFunction3DListener(final BaseNewtonVectorRootFinder rootFinder, final double eps) {
+    final DoubleArray x0 = DoubleArray.of(0.8, 0.2, -0.7);
+    final List<DoubleArray> positions = new ArrayList<>();
+    final List<Long> decompositions = new ArrayList<>();
+    final NewtonVectorRootFinderListener listener = new NewtonVectorRootFinderListener() {
+      @Override
+      public void iteration(DoubleArray x, DoubleArray y) {
+        positions.add(x);
+      }
+
+      @Override
+      public void decompositionCompleted(long nanos) {
+        decompositions.add(nanos);
+      }
+    };
+    final DoubleArray x1 = rootFinder.findRoot(FUNCTION3D, JACOBIAN3D, x0, null, listener);
+    assertEquals(1.0, x1.get(0), eps);
+    assertEquals(0.0, x1.get(1), eps);
+    assertEquals(-1.0, x1.get(2), eps);
+    // each iteration moves away from the start position, the last iteration reaches the root
+    assertTrue(positions.size() > 1);
+    assertTrue(!positions.contains(x0));
+    assertEquals(x1, positions.get(positions.size() - 1));
+    // each step is found by decomposing the Jacobian estimate
+    assertTrue(decompositions.size() >= positions.size());
+    assertTrue(decompositions.stream().allMatch(nanos -> nanos >= 0));
+    // the start Jacobian is used if specified
+    final DoubleArray x2 = rootFinder.findRoot(
+        FUNCTION3D, JACOBIAN3D, x0, JACOBIAN3D.apply(x0), NewtonVectorRootFinderListener.NONE);
+    assertEquals(x1, x2);
+  }
+
   protected void assertYieldCurveBootstrap(final VectorRootFinder rootFinder, final double eps) {
     final int n = TIME_GRID.length;
     final double[] flatCurve = new double[n];
@@ -26,6 +26,16 @@ public final class AdvancedMeasures {
    */
   public static final Measure PV01_SINGLE_NODE_GAMMA_BUCKETED =
       Measure.of(StandardMeasures.PV01_SINGLE_NODE_GAMMA_BUCKETED.getName());
+  /**
+   * Measure representing the point sensitivity PV01 of the calculation target.
+   * <p>
+   * This is the point sensitivity of the present value multiplied by one basis point.
+   * It has not been projected onto the curve parameters, thus it can be summed across many targets
+   * and projected once, see {@link com.opengamma.strata.measure.rate.PortfolioSensitivityListener}.
+   * The values are not converted to the reporting currency.
+   */
+  public static final Measure PV01_POINT_SENSITIVITY =
+      Measure.of(StandardMeasures.PV01_POINT_SENSITIVITY.getName());
 
   //-------------------------------------------------------------------------
   private AdvancedMeasures() {
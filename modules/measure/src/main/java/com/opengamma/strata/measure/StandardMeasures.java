@@ -56,5 +56,7 @@ final class StandardMeasures {
   public static final Measure PV01_SEMI_PARALLEL_GAMMA_BUCKETED = ImmutableMeasure.of("PV01SemiParallelGammaBucketed");
   // single-node gamma bucketed PV01
   public static final Measure PV01_SINGLE_NODE_GAMMA_BUCKETED = ImmutableMeasure.of("PV01SingleNodeGammaBucketed");
+  // point sensitivity PV01, not projected onto the curve parameters
+  public static final Measure PV01_POINT_SENSITIVITY = ImmutableMeasure.of("PV01PointSensitivity", false);
 
 }
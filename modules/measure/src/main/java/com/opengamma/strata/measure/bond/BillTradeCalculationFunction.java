@@ -24,6 +24,7 @@ import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.ResolvedTradeCacheParameter;
 import com.opengamma.strata.product.SecuritizedProductPortfolioItem;
 import com.opengamma.strata.product.bond.Bill;
 import com.opengamma.strata.product.bond.BillPosition;
@@ -145,7 +146,7 @@ public class BillTradeCalculationFunction<T extends SecuritizedProductPortfolioI
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedBillTrade resolved = target.resolve(refData);
+    ResolvedBillTrade resolved = ResolvedTradeCacheParameter.resolve(target, parameters, refData);
 
     // use lookup to query market data
     LegalEntityDiscountingMarketDataLookup lookup = parameters.getParameter(LegalEntityDiscountingMarketDataLookup.class);
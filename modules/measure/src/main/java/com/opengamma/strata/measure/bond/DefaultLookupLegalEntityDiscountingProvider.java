@@ -34,6 +34,7 @@ import com.opengamma.strata.market.curve.CurveId;
 import com.opengamma.strata.market.curve.LegalEntityGroup;
 import com.opengamma.strata.market.curve.RepoGroup;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAccumulator;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivity;
 import com.opengamma.strata.pricer.DiscountFactors;
@@ -155,19 +156,31 @@ final class DefaultLookupLegalEntityDiscountingProvider
 
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
-    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    CurrencyParameterSensitivitiesAccumulator sens = CurrencyParameterSensitivities.accumulator();
     for (PointSensitivity point : pointSensitivities.getSensitivities()) {
       if (point instanceof RepoCurveZeroRateSensitivity) {
         RepoCurveZeroRateSensitivity pt = (RepoCurveZeroRateSensitivity) point;
         RepoCurveDiscountFactors factors = repoCurveDiscountFactors(pt.getRepoGroup(), pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.parameterSensitivity(pt));
+        Pair<RepoGroup, Currency> key = Pair.of(pt.getRepoGroup(), pt.getCurveCurrency());
+        double[] values = sens.values(key, pt.getCurrency());
+        if (values != null) {
+          factors.getDiscountFactors().parameterSensitivity(pt.getYearFraction(), pt.getSensitivity(), values);
+        } else {
+          sens.add(key, pt.getCurrency(), factors.parameterSensitivity(pt));
+        }
       } else if (point instanceof IssuerCurveZeroRateSensitivity) {
         IssuerCurveZeroRateSensitivity pt = (IssuerCurveZeroRateSensitivity) point;
         IssuerCurveDiscountFactors factors = issuerCurveDiscountFactors(pt.getLegalEntityGroup(), pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.parameterSensitivity(pt));
+        Pair<LegalEntityGroup, Currency> key = Pair.of(pt.getLegalEntityGroup(), pt.getCurveCurrency());
+        double[] values = sens.values(key, pt.getCurrency());
+        if (values != null) {
+          factors.getDiscountFactors().parameterSensitivity(pt.getYearFraction(), pt.getSensitivity(), values);
+        } else {
+          sens.add(key, pt.getCurrency(), factors.parameterSensitivity(pt));
+        }
       }
     }
-    return sens;
+    return sens.build();
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
+import com.opengamma.strata.calc.runner.CalculationParameter;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.product.ResolvedTrade;
+import com.opengamma.strata.product.ResolvedTradeCache;
+
+/**
+ * A calculation parameter that provides a cache of resolved trades.
+ * <p>
+ * The standard calculation functions resolve each trade before pricing it.
+ * If this parameter is present, the functions obtain the resolved trade from the cache,
+ * allowing it to be reused across repeated calculations, such as intraday runs.
+ * If the parameter is not present, the trade is resolved on each calculation.
+ * <p>
+ * The same cache instance should be passed to each run of the calculations, together with
+ * the same instance of reference data.
+ * <p>
+ * This parameter is immutable, holding a fixed reference to a thread-safe cache.
+ * The contents of the cache change as trades are resolved, but that does not alter the result
+ * of any calculation, only whether the resolved trade is reused. As such, two instances of
+ * this parameter are equal only if they refer to the same cache instance.
+ * The parameter applies to all targets and measures, thus filtering always returns this instance.
+ * The cache is mutable, thus this parameter is not a bean.
+ */
+public final class ResolvedTradeCacheParameter implements CalculationParameter {
+
+  /**
+   * The cache.
+   */
+  private final ResolvedTradeCache cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the specified cache.
+   *
+   * @param cache  the cache of resolved trades
+   * @return the parameter
+   */
+  public static ResolvedTradeCacheParameter of(ResolvedTradeCache cache) {
+    return new ResolvedTradeCacheParameter(cache);
+  }
+
+  // creates an instance
+  private ResolvedTradeCacheParameter(ResolvedTradeCache cache) {
+    this.cache = ArgChecker.notNull(cache, "cache");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the trade, using the cache in the parameters if present.
+   * <p>
+   * This is used by calculation functions to resolve the target.
+   *
+   * @param <T>  the type of the resolved trade
+   * @param trade  the trade or position to resolve
+   * @param parameters  the calculation parameters
+   * @param refData  the reference data to use when resolving
+   * @return the resolved trade
+   * @throws RuntimeException if unable to resolve the trade
+   */
+  public static <T extends ResolvedTrade> T resolve(
+      Resolvable<T> trade,
+      CalculationParameters parameters,
+      ReferenceData refData) {
+
+    return parameters.findParameter(ResolvedTradeCacheParameter.class)
+        .map(param -> param.cache.resolve(trade, refData))
+        .orElseGet(() -> trade.resolve(refData));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the cache of resolved trades.
+   *
+   * @return the cache
+   */
+  public ResolvedTradeCache getCache() {
+    return cache;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this parameter is equal to another.
+   * <p>
+   * The parameters are equal only if they refer to the same cache instance.
+   *
+   * @param obj  the other object, null returns false
+   * @return true if equal
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof ResolvedTradeCacheParameter) {
+      return cache == ((ResolvedTradeCacheParameter) obj).cache;
+    }
+    return false;
+  }
+
+  /**
+   * Returns a suitable hash code, based on the identity of the cache.
+   *
+   * @return the hash code
+   */
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(cache);
+  }
+
+  @Override
+  public String toString() {
+    return "ResolvedTradeCacheParameter[" + cache + "]";
+  }
+
+}
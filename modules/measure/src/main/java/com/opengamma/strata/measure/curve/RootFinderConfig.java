@@ -39,9 +39,12 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
   /** The default maximum number of steps for the root finder. */
   public static final int DEFAULT_MAXIMUM_STEPS = 1000;
 
+  /** The default maximum number of scenarios calibrated concurrently. */
+  public static final int DEFAULT_SCENARIO_PARALLELISM = 1;
+
   /** The standard configuration. */
-  private static final RootFinderConfig STANDARD =
-      new RootFinderConfig(DEFAULT_ABSOLUTE_TOLERANCE, DEFAULT_RELATIVE_TOLERANCE, DEFAULT_MAXIMUM_STEPS);
+  private static final RootFinderConfig STANDARD = new RootFinderConfig(
+      DEFAULT_ABSOLUTE_TOLERANCE, DEFAULT_RELATIVE_TOLERANCE, DEFAULT_MAXIMUM_STEPS, DEFAULT_SCENARIO_PARALLELISM);
 
   /** The absolute tolerance for the root finder. */
   @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
@@ -55,6 +58,17 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
   @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
   private final int maximumSteps;
 
+  /**
+   * The maximum number of scenarios calibrated concurrently, defaulted to one.
+   * <p>
+   * When the market data contains multiple scenarios, a curve group is calibrated for each scenario.
+   * If this is greater than one, and the market data function has an executor,
+   * the scenarios are calibrated in parallel by up to this number of threads.
+   * The calibrated curve groups are the same, and in the same order, as when calibrated serially.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final int scenarioParallelism;
+
   //-------------------------------------------------------------------------
   /**
    * Returns standard root finder configuration, using the {@code DEFAULT} constants from this class.
@@ -70,6 +84,7 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
     builder.absoluteTolerance(DEFAULT_ABSOLUTE_TOLERANCE);
     builder.relativeTolerance(DEFAULT_RELATIVE_TOLERANCE);
     builder.maximumSteps(DEFAULT_MAXIMUM_STEPS);
+    builder.scenarioParallelism(DEFAULT_SCENARIO_PARALLELISM);
   }
 
   //------------------------- AUTOGENERATED START -------------------------
@@ -101,13 +116,16 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
   private RootFinderConfig(
       double absoluteTolerance,
       double relativeTolerance,
-      int maximumSteps) {
+      int maximumSteps,
+      int scenarioParallelism) {
     ArgChecker.notNegativeOrZero(absoluteTolerance, "absoluteTolerance");
     ArgChecker.notNegativeOrZero(relativeTolerance, "relativeTolerance");
     ArgChecker.notNegativeOrZero(maximumSteps, "maximumSteps");
+    ArgChecker.notNegativeOrZero(scenarioParallelism, "scenarioParallelism");
     this.absoluteTolerance = absoluteTolerance;
     this.relativeTolerance = relativeTolerance;
     this.maximumSteps = maximumSteps;
+    this.scenarioParallelism = scenarioParallelism;
   }
 
   @Override
@@ -142,6 +160,20 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
     return maximumSteps;
   }
 
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the maximum number of scenarios calibrated concurrently, defaulted to one.
+   * <p>
+   * When the market data contains multiple scenarios, a curve group is calibrated for each scenario.
+   * If this is greater than one, and the market data function has an executor,
+   * the scenarios are calibrated in parallel by up to this number of threads.
+   * The calibrated curve groups are the same, and in the same order, as when calibrated serially.
+   * @return the value of the property
+   */
+  public int getScenarioParallelism() {
+    return scenarioParallelism;
+  }
+
   //-----------------------------------------------------------------------
   /**
    * Returns a builder that allows this bean to be mutated.
@@ -160,7 +192,8 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       RootFinderConfig other = (RootFinderConfig) obj;
       return JodaBeanUtils.equal(absoluteTolerance, other.absoluteTolerance) &&
           JodaBeanUtils.equal(relativeTolerance, other.relativeTolerance) &&
-          (maximumSteps == other.maximumSteps);
+          (maximumSteps == other.maximumSteps) &&
+          (scenarioParallelism == other.scenarioParallelism);
     }
     return false;
   }
@@ -171,16 +204,18 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
     hash = hash * 31 + JodaBeanUtils.hashCode(absoluteTolerance);
     hash = hash * 31 + JodaBeanUtils.hashCode(relativeTolerance);
     hash = hash * 31 + JodaBeanUtils.hashCode(maximumSteps);
+    hash = hash * 31 + JodaBeanUtils.hashCode(scenarioParallelism);
     return hash;
   }
 
   @Override
   public String toString() {
-    StringBuilder buf = new StringBuilder(128);
+    StringBuilder buf = new StringBuilder(160);
     buf.append("RootFinderConfig{");
     buf.append("absoluteTolerance").append('=').append(absoluteTolerance).append(',').append(' ');
     buf.append("relativeTolerance").append('=').append(relativeTolerance).append(',').append(' ');
-    buf.append("maximumSteps").append('=').append(JodaBeanUtils.toString(maximumSteps));
+    buf.append("maximumSteps").append('=').append(maximumSteps).append(',').append(' ');
+    buf.append("scenarioParallelism").append('=').append(JodaBeanUtils.toString(scenarioParallelism));
     buf.append('}');
     return buf.toString();
   }
@@ -210,6 +245,11 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
      */
     private final MetaProperty<Integer> maximumSteps = DirectMetaProperty.ofImmutable(
         this, "maximumSteps", RootFinderConfig.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code scenarioParallelism} property.
+     */
+    private final MetaProperty<Integer> scenarioParallelism = DirectMetaProperty.ofImmutable(
+        this, "scenarioParallelism", RootFinderConfig.class, Integer.TYPE);
     /**
      * The meta-properties.
      */
@@ -217,7 +257,8 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
         this, null,
         "absoluteTolerance",
         "relativeTolerance",
-        "maximumSteps");
+        "maximumSteps",
+        "scenarioParallelism");
 
     /**
      * Restricted constructor.
@@ -234,6 +275,8 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
           return relativeTolerance;
         case 715849959:  // maximumSteps
           return maximumSteps;
+        case 2073506668:  // scenarioParallelism
+          return scenarioParallelism;
       }
       return super.metaPropertyGet(propertyName);
     }
@@ -278,6 +321,14 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       return maximumSteps;
     }
 
+    /**
+     * The meta-property for the {@code scenarioParallelism} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> scenarioParallelism() {
+      return scenarioParallelism;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
@@ -288,6 +339,8 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
           return ((RootFinderConfig) bean).getRelativeTolerance();
         case 715849959:  // maximumSteps
           return ((RootFinderConfig) bean).getMaximumSteps();
+        case 2073506668:  // scenarioParallelism
+          return ((RootFinderConfig) bean).getScenarioParallelism();
       }
       return super.propertyGet(bean, propertyName, quiet);
     }
@@ -312,6 +365,7 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
     private double absoluteTolerance;
     private double relativeTolerance;
     private int maximumSteps;
+    private int scenarioParallelism;
 
     /**
      * Restricted constructor.
@@ -328,6 +382,7 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       this.absoluteTolerance = beanToCopy.getAbsoluteTolerance();
       this.relativeTolerance = beanToCopy.getRelativeTolerance();
       this.maximumSteps = beanToCopy.getMaximumSteps();
+      this.scenarioParallelism = beanToCopy.getScenarioParallelism();
     }
 
     //-----------------------------------------------------------------------
@@ -340,6 +395,8 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
           return relativeTolerance;
         case 715849959:  // maximumSteps
           return maximumSteps;
+        case 2073506668:  // scenarioParallelism
+          return scenarioParallelism;
         default:
           throw new NoSuchElementException("Unknown property: " + propertyName);
       }
@@ -357,6 +414,9 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
         case 715849959:  // maximumSteps
           this.maximumSteps = (Integer) newValue;
           break;
+        case 2073506668:  // scenarioParallelism
+          this.scenarioParallelism = (Integer) newValue;
+          break;
         default:
           throw new NoSuchElementException("Unknown property: " + propertyName);
       }
@@ -374,7 +434,8 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       return new RootFinderConfig(
           absoluteTolerance,
           relativeTolerance,
-          maximumSteps);
+          maximumSteps,
+          scenarioParallelism);
     }
 
     //-----------------------------------------------------------------------
@@ -411,14 +472,31 @@ public final class RootFinderConfig implements ImmutableBean, Serializable {
       return this;
     }
 
+    /**
+     * Sets the maximum number of scenarios calibrated concurrently, defaulted to one.
+     * <p>
+     * When the market data contains multiple scenarios, a curve group is calibrated for each scenario.
+     * If this is greater than one, and the market data function has an executor,
+     * the scenarios are calibrated in parallel by up to this number of threads.
+     * The calibrated curve groups are the same, and in the same order, as when calibrated serially.
+     * @param scenarioParallelism  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder scenarioParallelism(int scenarioParallelism) {
+      ArgChecker.notNegativeOrZero(scenarioParallelism, "scenarioParallelism");
+      this.scenarioParallelism = scenarioParallelism;
+      return this;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public String toString() {
-      StringBuilder buf = new StringBuilder(128);
+      StringBuilder buf = new StringBuilder(160);
       buf.append("RootFinderConfig.Builder{");
       buf.append("absoluteTolerance").append('=').append(JodaBeanUtils.toString(absoluteTolerance)).append(',').append(' ');
       buf.append("relativeTolerance").append('=').append(JodaBeanUtils.toString(relativeTolerance)).append(',').append(' ');
-      buf.append("maximumSteps").append('=').append(JodaBeanUtils.toString(maximumSteps));
+      buf.append("maximumSteps").append('=').append(JodaBeanUtils.toString(maximumSteps)).append(',').append(' ');
+      buf.append("scenarioParallelism").append('=').append(JodaBeanUtils.toString(scenarioParallelism));
       buf.append('}');
       return buf.toString();
     }
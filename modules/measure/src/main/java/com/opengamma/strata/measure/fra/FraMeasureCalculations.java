@@ -158,6 +158,26 @@ final class FraMeasureCalculations {
     return ratesProvider.parameterSensitivity(pointSensitivity).multipliedBy(ONE_BASIS_POINT);
   }
 
+  //-------------------------------------------------------------------------
+  // calculates point sensitivity PV01 for all scenarios
+  ScenarioArray<PointSensitivities> pv01PointSensitivity(
+      ResolvedFraTrade trade,
+      RatesScenarioMarketData marketData) {
+
+    return ScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> pv01PointSensitivity(trade, marketData.scenario(i).ratesProvider()));
+  }
+
+  // point sensitivity PV01 for one scenario
+  PointSensitivities pv01PointSensitivity(
+      ResolvedFraTrade trade,
+      RatesProvider ratesProvider) {
+
+    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
+    return pointSensitivity.normalized().multipliedBy(ONE_BASIS_POINT);
+  }
+
   //-------------------------------------------------------------------------
   // calculates market quote sum PV01 for all scenarios
   MultiCurrencyScenarioArray pv01MarketQuoteSum(
@@ -15,6 +15,7 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -208,6 +209,50 @@ public class FraTradeCalculations {
     return calc.pv01CalibratedBucketed(trade, ratesProvider);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates present value point sensitivity across one or more scenarios.
+   * <p>
+   * This is the point sensitivity of
+   * {@linkplain #presentValue(ResolvedFraTrade, RatesMarketDataLookup, ScenarioMarketData) present value}
+   * multiplied by one basis point. The point sensitivity is not projected onto the curve parameters,
+   * allowing the point sensitivities of many trades to be summed before they are projected.
+   * Projecting the result using the rates provider of each scenario gives the
+   * {@linkplain #pv01CalibratedBucketed(ResolvedFraTrade, RatesMarketDataLookup, ScenarioMarketData)
+   * calibrated bucketed PV01}.
+   * 
+   * @param trade  the trade
+   * @param lookup  the lookup used to query the market data
+   * @param marketData  the market data
+   * @return the present value point sensitivity, one entry per scenario
+   */
+  public ScenarioArray<PointSensitivities> pv01PointSensitivity(
+      ResolvedFraTrade trade,
+      RatesMarketDataLookup lookup,
+      ScenarioMarketData marketData) {
+
+    return calc.pv01PointSensitivity(trade, lookup.marketDataView(marketData));
+  }
+
+  /**
+   * Calculates present value point sensitivity for a single set of market data.
+   * <p>
+   * This is the point sensitivity of
+   * {@linkplain #presentValue(ResolvedFraTrade, RatesMarketDataLookup, ScenarioMarketData) present value}
+   * multiplied by one basis point. The point sensitivity is not projected onto the curve parameters,
+   * allowing the point sensitivities of many trades to be summed before they are projected.
+   * 
+   * @param trade  the trade
+   * @param ratesProvider  the market data
+   * @return the present value point sensitivity
+   */
+  public PointSensitivities pv01PointSensitivity(
+      ResolvedFraTrade trade,
+      RatesProvider ratesProvider) {
+
+    return calc.pv01PointSensitivity(trade, ratesProvider);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates present value sensitivity across one or more scenarios.
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.rate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.index.FxIndex;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.fx.FxForwardRates;
+import com.opengamma.strata.pricer.fx.FxIndexRates;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+import com.opengamma.strata.pricer.rate.PriceIndexValues;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * A rates provider that caches the discount factors and index rates of an underlying provider.
+ * <p>
+ * When a batch of trades is priced against the same market data, the same discount factors and
+ * index rates are queried many times. This provider creates each of them once, on first use,
+ * and returns the same instance thereafter. It is only intended to live for the duration of a batch.
+ * <p>
+ * The cached instances are derived from the immutable underlying provider, thus this class
+ * is observably immutable and thread-safe.
+ */
+final class BatchRatesProvider
+    implements RatesProvider {
+
+  /**
+   * The underlying provider.
+   */
+  private final RatesProvider underlying;
+  /**
+   * The discount factors, by currency.
+   */
+  private final ConcurrentMap<Currency, DiscountFactors> discountFactors = new ConcurrentHashMap<>();
+  /**
+   * The Ibor index rates, by index.
+   */
+  private final ConcurrentMap<IborIndex, IborIndexRates> iborIndexRates = new ConcurrentHashMap<>();
+  /**
+   * The Overnight index rates, by index.
+   */
+  private final ConcurrentMap<OvernightIndex, OvernightIndexRates> overnightIndexRates = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that caches the values of the underlying provider.
+   *
+   * @param underlying  the underlying provider
+   * @return the caching provider
+   */
+  static BatchRatesProvider of(RatesProvider underlying) {
+    return new BatchRatesProvider(underlying);
+  }
+
+  // creates an instance
+  private BatchRatesProvider(RatesProvider underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public Set<Currency> getDiscountCurrencies() {
+    return underlying.getDiscountCurrencies();
+  }
+
+  @Override
+  public Set<IborIndex> getIborIndices() {
+    return underlying.getIborIndices();
+  }
+
+  @Override
+  public Set<OvernightIndex> getOvernightIndices() {
+    return underlying.getOvernightIndices();
+  }
+
+  @Override
+  public Set<PriceIndex> getPriceIndices() {
+    return underlying.getPriceIndices();
+  }
+
+  @Override
+  public Set<Index> getTimeSeriesIndices() {
+    return underlying.getTimeSeriesIndices();
+  }
+
+  @Override
+  public <T> T data(MarketDataId<T> id) {
+    return underlying.data(id);
+  }
+
+  @Override
+  public <T> Optional<T> findData(MarketDataName<T> name) {
+    return underlying.findData(name);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries timeSeries(Index index) {
+    return underlying.timeSeries(index);
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency) {
+    return underlying.fxRate(baseCurrency, counterCurrency);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DiscountFactors discountFactors(Currency currency) {
+    DiscountFactors cached = discountFactors.get(currency);
+    return cached != null ? cached : discountFactors.computeIfAbsent(currency, underlying::discountFactors);
+  }
+
+  @Override
+  public FxIndexRates fxIndexRates(FxIndex index) {
+    return underlying.fxIndexRates(index);
+  }
+
+  @Override
+  public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    return underlying.fxForwardRates(currencyPair);
+  }
+
+  @Override
+  public IborIndexRates iborIndexRates(IborIndex index) {
+    IborIndexRates cached = iborIndexRates.get(index);
+    return cached != null ? cached : iborIndexRates.computeIfAbsent(index, underlying::iborIndexRates);
+  }
+
+  @Override
+  public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    OvernightIndexRates cached = overnightIndexRates.get(index);
+    return cached != null ? cached : overnightIndexRates.computeIfAbsent(index, underlying::overnightIndexRates);
+  }
+
+  @Override
+  public PriceIndexValues priceIndexValues(PriceIndex index) {
+    return underlying.priceIndexValues(index);
+  }
+
+  @Override
+  public ImmutableRatesProvider toImmutableRatesProvider() {
+    return underlying.toImmutableRatesProvider();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BatchRatesProvider[" + underlying + "]";
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.rate;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Market data for rates products, used when calculating a batch of targets across multiple scenarios.
+ * <p>
+ * This wraps another view, replacing the rates provider of each scenario with one that caches
+ * the discount factors and index rates, see {@link BatchRatesProvider}.
+ * The caches are confined to this instance, thus they only live as long as the batch.
+ */
+final class BatchRatesScenarioMarketData
+    implements RatesScenarioMarketData {
+
+  /**
+   * The underlying view.
+   */
+  private final RatesScenarioMarketData underlying;
+  /**
+   * The cache of single scenario instances.
+   */
+  private final AtomicReferenceArray<RatesMarketData> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the specified view.
+   *
+   * @param underlying  the underlying view
+   * @return the batch view
+   */
+  static BatchRatesScenarioMarketData of(RatesScenarioMarketData underlying) {
+    return new BatchRatesScenarioMarketData(underlying);
+  }
+
+  // creates an instance
+  private BatchRatesScenarioMarketData(RatesScenarioMarketData underlying) {
+    this.underlying = underlying;
+    this.cache = new AtomicReferenceArray<>(underlying.getScenarioCount());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public RatesMarketDataLookup getLookup() {
+    return underlying.getLookup();
+  }
+
+  @Override
+  public ScenarioMarketData getMarketData() {
+    return underlying.getMarketData();
+  }
+
+  @Override
+  public RatesScenarioMarketData withMarketData(ScenarioMarketData marketData) {
+    return new BatchRatesScenarioMarketData(underlying.withMarketData(marketData));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return underlying.getScenarioCount();
+  }
+
+  @Override
+  public RatesMarketData scenario(int scenarioIndex) {
+    RatesMarketData current = cache.get(scenarioIndex);
+    if (current != null) {
+      return current;
+    }
+    return cache.updateAndGet(
+        scenarioIndex,
+        v -> v != null ? v : new BatchRatesMarketData(underlying.scenario(scenarioIndex)));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BatchRatesScenarioMarketData[" + underlying + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  // the market data for a single scenario, with a caching rates provider
+  private static final class BatchRatesMarketData implements RatesMarketData {
+    private final RatesMarketData underlying;
+    private final RatesProvider ratesProvider;
+
+    private BatchRatesMarketData(RatesMarketData underlying) {
+      this.underlying = underlying;
+      this.ratesProvider = BatchRatesProvider.of(underlying.ratesProvider());
+    }
+
+    @Override
+    public RatesMarketDataLookup getLookup() {
+      return underlying.getLookup();
+    }
+
+    @Override
+    public MarketData getMarketData() {
+      return underlying.getMarketData();
+    }
+
+    @Override
+    public RatesMarketData withMarketData(MarketData marketData) {
+      return new BatchRatesMarketData(underlying.withMarketData(marketData));
+    }
+
+    @Override
+    public RatesProvider ratesProvider() {
+      return ratesProvider;
+    }
+
+    @Override
+    public String toString() {
+      return "BatchRatesMarketData[" + underlying + "]";
+    }
+  }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.rate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.measure.AdvancedMeasures;
+
+/**
+ * Calculation listener that aggregates the PV01 of many targets before projecting it onto the curve parameters.
+ * <p>
+ * Calculating {@link com.opengamma.strata.measure.Measures#PV01_CALIBRATED_BUCKETED PV01 calibrated bucketed}
+ * for each target and summing the results projects the point sensitivity of every target onto the curves.
+ * When only the total is needed, it is much cheaper to sum the point sensitivities and project once.
+ * <p>
+ * This listener receives the {@link AdvancedMeasures#PV01_POINT_SENSITIVITY PV01 point sensitivity}
+ * of each target. The targets are grouped using a key function, such as one returning the book of a trade,
+ * or a constant for the total of the portfolio. The point sensitivities of each group are summed
+ * for each scenario, merging those that refer to the same curve and date.
+ * When the calculations are complete, the sum for each group and scenario is projected once using
+ * the rates provider of the scenario. The result is equal to the sum of the calibrated bucketed PV01
+ * of the targets in the group, although the order in which the results are received can affect
+ * the last digits of the values.
+ * <p>
+ * The point sensitivity measure must be one of the columns of the calculation,
+ * and should be used with {@code calculateAsync} or {@code calculateMultiScenarioAsync}.
+ * Other columns are ignored. If the point sensitivity of any target in a group could not be calculated,
+ * the result of the group is a failure.
+ *
+ * @param <K>  the type of the key identifying a group of targets
+ */
+public final class PortfolioSensitivityListener<K>
+    extends AggregatingCalculationListener<Map<K, Result<ScenarioArray<CurrencyParameterSensitivities>>>> {
+
+  /**
+   * The minimum number of point sensitivities summed for a scenario before they are merged.
+   */
+  private static final int MIN_NORMALIZE_SIZE = 1024;
+
+  /**
+   * The function providing the key of the group of each target.
+   */
+  private final Function<? super CalculationTarget, ? extends K> keyFunction;
+  /**
+   * The market data used to project the point sensitivities.
+   */
+  private final RatesScenarioMarketData marketData;
+  /**
+   * The aggregated point sensitivities, keyed by group.
+   */
+  private final Map<K, Aggregate> aggregates = new LinkedHashMap<>();
+  /**
+   * The index of the point sensitivity column, -1 if not found.
+   */
+  private int columnIndex = -1;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a listener that aggregates the PV01 of groups of targets.
+   * <p>
+   * The key function is invoked for each target, and must not return null.
+   * To aggregate the whole portfolio, use a function returning a constant.
+   * The market data must be the same as the market data of the calculations.
+   *
+   * @param <K>  the type of the key identifying a group of targets
+   * @param keyFunction  the function providing the key of the group of each target
+   * @param marketData  the market data used to project the point sensitivities
+   * @return the listener
+   */
+  public static <K> PortfolioSensitivityListener<K> of(
+      Function<? super CalculationTarget, ? extends K> keyFunction,
+      RatesScenarioMarketData marketData) {
+
+    return new PortfolioSensitivityListener<>(keyFunction, marketData);
+  }
+
+  // restricted constructor
+  private PortfolioSensitivityListener(
+      Function<? super CalculationTarget, ? extends K> keyFunction,
+      RatesScenarioMarketData marketData) {
+
+    this.keyFunction = ArgChecker.notNull(keyFunction, "keyFunction");
+    this.marketData = ArgChecker.notNull(marketData, "marketData");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    for (int i = 0; i < columns.size(); i++) {
+      if (columns.get(i).getMeasure().equals(AdvancedMeasures.PV01_POINT_SENSITIVITY)) {
+        columnIndex = i;
+        break;
+      }
+    }
+    // create the groups in the order of the targets
+    for (CalculationTarget target : targets) {
+      aggregate(target);
+    }
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    if (result.getColumnIndex() == columnIndex) {
+      aggregate(target).add(result.getResult());
+    }
+  }
+
+  @Override
+  protected Map<K, Result<ScenarioArray<CurrencyParameterSensitivities>>> createAggregateResult() {
+    ImmutableMap.Builder<K, Result<ScenarioArray<CurrencyParameterSensitivities>>> builder = ImmutableMap.builder();
+    for (Map.Entry<K, Aggregate> entry : aggregates.entrySet()) {
+      builder.put(entry.getKey(), entry.getValue().project());
+    }
+    return builder.build();
+  }
+
+  // finds the aggregate of the group of the target
+  private Aggregate aggregate(CalculationTarget target) {
+    K key = ArgChecker.notNull(keyFunction.apply(target), "key");
+    return aggregates.computeIfAbsent(key, k -> new Aggregate());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The point sensitivities of a group of targets, one for each scenario.
+   */
+  private final class Aggregate {
+    private final MutablePointSensitivities[] sensitivities;
+    private Result<?> failure;
+    private int normalizeSize = MIN_NORMALIZE_SIZE;
+
+    private Aggregate() {
+      sensitivities = new MutablePointSensitivities[marketData.getScenarioCount()];
+      for (int i = 0; i < sensitivities.length; i++) {
+        sensitivities[i] = new MutablePointSensitivities();
+      }
+      if (columnIndex < 0) {
+        failure = Result.failure(
+            FailureReason.MISSING_DATA, "Measure '{}' must be calculated", AdvancedMeasures.PV01_POINT_SENSITIVITY);
+      }
+    }
+
+    // adds the point sensitivities of a target
+    private void add(Result<?> result) {
+      if (failure != null) {
+        return;
+      }
+      if (result.isFailure()) {
+        failure = result;
+        return;
+      }
+      Object value = result.getValue();
+      if (!(value instanceof ScenarioArray) || ((ScenarioArray<?>) value).getScenarioCount() != sensitivities.length) {
+        failure = Result.failure(
+            FailureReason.INVALID, "Expected point sensitivities for {} scenarios but found: {}", sensitivities.length, value);
+        return;
+      }
+      ScenarioArray<?> array = (ScenarioArray<?>) value;
+      for (int i = 0; i < sensitivities.length; i++) {
+        Object scenarioValue = array.get(i);
+        if (!(scenarioValue instanceof PointSensitivities)) {
+          failure = Result.failure(FailureReason.INVALID, "Expected point sensitivities but found: {}", scenarioValue);
+          return;
+        }
+        sensitivities[i].addAll(((PointSensitivities) scenarioValue).getSensitivities());
+      }
+      // merge the sensitivities to the same curve and date, bounding the memory used
+      if (sensitivities[0].size() > normalizeSize) {
+        int maxSize = 0;
+        for (MutablePointSensitivities scenarioSensitivities : sensitivities) {
+          maxSize = Math.max(maxSize, scenarioSensitivities.normalize().size());
+        }
+        normalizeSize = Math.max(MIN_NORMALIZE_SIZE, 2 * maxSize);
+      }
+    }
+
+    // projects the point sensitivities onto the curve parameters
+    private Result<ScenarioArray<CurrencyParameterSensitivities>> project() {
+      if (failure != null) {
+        return Result.failure(failure);
+      }
+      return Result.of(() -> ScenarioArray.of(
+          sensitivities.length,
+          i -> marketData.scenario(i).ratesProvider().parameterSensitivity(sensitivities[i].normalize().build())));
+    }
+  }
+
+}
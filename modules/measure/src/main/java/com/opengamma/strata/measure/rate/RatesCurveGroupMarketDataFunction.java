@@ -8,10 +8,18 @@ package com.opengamma.strata.measure.rate;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.marketdata.MarketDataConfig;
@@ -37,6 +45,7 @@ import com.opengamma.strata.market.curve.RatesCurveInputsId;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.measure.curve.RootFinderConfig;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
+import com.opengamma.strata.pricer.curve.CalibrationStatistics;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 
@@ -44,6 +53,10 @@ import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
  * Market data function that builds a curve group.
  * <p>
  * This function calibrates curves, turning a {@link RatesCurveGroupDefinition} into a {@link RatesCurveGroup}.
+ * <p>
+ * By default, the curve groups of multiple scenarios are calibrated on the calling thread.
+ * They can instead be calibrated concurrently using {@link #withExecutor(Executor)},
+ * with the number of scenarios calibrated at the same time defined by {@link RootFinderConfig}.
  */
 public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<RatesCurveGroup, RatesCurveGroupId> {
 
@@ -51,6 +64,14 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
    * The default analytics object that performs the curve calibration.
    */
   private final CalibrationMeasures calibrationMeasures;
+  /**
+   * The listener that receives the statistics of the calibration, null if not required.
+   */
+  private final Consumer<CalibrationStatistics> statisticsListener;
+  /**
+   * The executor used to calibrate scenarios concurrently, null to calibrate them on the calling thread.
+   */
+  private final Executor executor;
 
   //-------------------------------------------------------------------------
   /**
@@ -73,7 +94,54 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
    * @param calibrationMeasures  the calibration measures to be used in the calibrator
    */
   public RatesCurveGroupMarketDataFunction(CalibrationMeasures calibrationMeasures) {
+    this(calibrationMeasures, null, null);
+  }
+
+  /**
+   * Creates a new function for building curve groups that reports the statistics of the calibration.
+   * <p>
+   * The listener receives the {@link CalibrationStatistics} of each group of curves calibrated together,
+   * including the iterations, residual norms, condition number and the time taken by each stage.
+   * This allows the latency of calibration to be monitored, and the groups that need tuning to be found.
+   * When scenarios are calibrated concurrently, see {@link #withExecutor(Executor)}, it is invoked concurrently.
+   *
+   * @param calibrationMeasures  the calibration measures to be used in the calibrator
+   * @param statisticsListener  the listener that receives the statistics of each group of curves
+   */
+  public RatesCurveGroupMarketDataFunction(
+      CalibrationMeasures calibrationMeasures,
+      Consumer<CalibrationStatistics> statisticsListener) {
+
+    this(calibrationMeasures, ArgChecker.notNull(statisticsListener, "statisticsListener"), null);
+  }
+
+  // restricted constructor
+  private RatesCurveGroupMarketDataFunction(
+      CalibrationMeasures calibrationMeasures,
+      Consumer<CalibrationStatistics> statisticsListener,
+      Executor executor) {
+
     this.calibrationMeasures = ArgChecker.notNull(calibrationMeasures, "calibrationMeasures");
+    this.statisticsListener = statisticsListener;
+    this.executor = executor;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this function that calibrates the curve groups of multiple scenarios concurrently.
+   * <p>
+   * The maximum number of scenarios calibrated at the same time is defined by
+   * {@link RootFinderConfig#getScenarioParallelism()}, with each scenario calibrated
+   * on either the calling thread or the executor. No threads are created by this function.
+   * The calibrated curve groups are the same, and in the same order, as when calibrated serially.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to calibrate the scenarios
+   * @return the function
+   */
+  public RatesCurveGroupMarketDataFunction withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new RatesCurveGroupMarketDataFunction(calibrationMeasures, statisticsListener, executor);
   }
 
   //-------------------------------------------------------------------------
@@ -110,11 +178,15 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     RootFinderConfig rfc = marketDataConfig.find(RootFinderConfig.class).orElse(RootFinderConfig.standard());
     RatesCurveCalibrator calibrator = RatesCurveCalibrator.of(
         rfc.getAbsoluteTolerance(), rfc.getRelativeTolerance(), rfc.getMaximumSteps(), calibrationMeasures);
+    if (statisticsListener != null) {
+      calibrator = calibrator.withStatisticsListener(statisticsListener);
+    }
 
     // calibrate
     CurveGroupName groupName = id.getCurveGroupName();
     RatesCurveGroupDefinition configuredDefn = marketDataConfig.get(RatesCurveGroupDefinition.class, groupName);
-    return buildCurveGroup(configuredDefn, calibrator, marketData, refData, id.getObservableSource());
+    return buildCurveGroup(
+        configuredDefn, calibrator, marketData, refData, id.getObservableSource(), rfc.getScenarioParallelism());
   }
 
   @Override
@@ -140,6 +212,29 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       ReferenceData refData,
       ObservableSource obsSource) {
 
+    return buildCurveGroup(configuredGroup, calibrator, marketData, refData, obsSource, 1);
+  }
+
+  /**
+   * Builds a curve group given the configuration for the group and a set of market data,
+   * calibrating multiple scenarios concurrently.
+   *
+   * @param configuredGroup  the definition of the curve group
+   * @param calibrator  the calibrator
+   * @param marketData  the market data containing any values required to build the curve group
+   * @param refData  the reference data, used for resolving trades
+   * @param obsSource  the source of observable market data
+   * @param scenarioParallelism  the maximum number of scenarios calibrated concurrently
+   * @return a result containing the curve group or details of why it couldn't be built
+   */
+  MarketDataBox<RatesCurveGroup> buildCurveGroup(
+      RatesCurveGroupDefinition configuredGroup,
+      RatesCurveCalibrator calibrator,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ObservableSource obsSource,
+      int scenarioParallelism) {
+
     // find and combine all the input data
     CurveGroupName groupName = configuredGroup.getName();
 
@@ -154,7 +249,8 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     Map<ObservableId, LocalDateDoubleTimeSeries> fixings = extractFixings(marketData);
 
     return multipleValues || multipleValuationDates ?
-        buildMultipleCurveGroups(configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData) :
+        buildMultipleCurveGroups(
+            configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData, scenarioParallelism) :
         buildSingleCurveGroup(configuredGroup, calibrator, valuationDates.getSingleValue(), inputBoxes, fixings, refData);
   }
 
@@ -174,22 +270,66 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       MarketDataBox<LocalDate> valuationDateBox,
       List<MarketDataBox<RatesCurveInputs>> inputBoxes,
       Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
-      ReferenceData refData) {
+      ReferenceData refData,
+      int scenarioParallelism) {
 
     int scenarioCount = scenarioCount(valuationDateBox, inputBoxes);
-    ImmutableList.Builder<RatesCurveGroup> builder = ImmutableList.builder();
-
-    for (int i = 0; i < scenarioCount; i++) {
+    IntFunction<RatesCurveGroup> scenarioFn = i -> {
       LocalDate valuationDate = valuationDateBox.getValue(i);
       RatesCurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
       List<RatesCurveInputs> curveInputsList = inputsForScenario(inputBoxes, i);
       MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
-      builder.add(buildGroup(filteredGroup, calibrator, inputs, refData));
-    }
-    ImmutableList<RatesCurveGroup> curveGroups = builder.build();
+      return buildGroup(filteredGroup, calibrator, inputs, refData);
+    };
+    int threads = executor == null ? 1 : Math.min(scenarioParallelism, scenarioCount);
+    List<RatesCurveGroup> curveGroups = threads > 1 ?
+        buildScenariosParallel(scenarioCount, threads, scenarioFn) :
+        IntStream.range(0, scenarioCount).mapToObj(scenarioFn).collect(toImmutableList());
     return MarketDataBox.ofScenarioValues(curveGroups);
   }
 
+  // calibrates the scenarios concurrently, returning the groups in scenario order
+  // the scenarios are claimed in turn by the calling thread and the tasks submitted to the executor
+  private List<RatesCurveGroup> buildScenariosParallel(
+      int scenarioCount,
+      int threads,
+      IntFunction<RatesCurveGroup> scenarioFn) {
+
+    RatesCurveGroup[] curveGroups = new RatesCurveGroup[scenarioCount];
+    Throwable[] failures = new Throwable[scenarioCount];
+    AtomicInteger nextScenario = new AtomicInteger();
+    Runnable worker = () -> {
+      int scenario;
+      while ((scenario = nextScenario.getAndIncrement()) < scenarioCount) {
+        try {
+          curveGroups[scenario] = scenarioFn.apply(scenario);
+        } catch (RuntimeException | Error ex) {
+          failures[scenario] = ex;
+        }
+      }
+    };
+    List<CompletableFuture<Void>> futures = new ArrayList<>(threads - 1);
+    for (int i = 1; i < threads; i++) {
+      try {
+        futures.add(CompletableFuture.runAsync(worker, executor));
+      } catch (RuntimeException ex) {
+        // the executor rejected the task, the scenarios are calibrated by the other threads
+        break;
+      }
+    }
+    worker.run();
+    // waiting for the tasks ensures the curve groups they calibrated are visible
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+    // rethrow the failure of the calibration of the first failed scenario, as when calibrating serially
+    for (Throwable failure : failures) {
+      if (failure != null) {
+        Throwables.throwIfUnchecked(failure);
+        throw new IllegalStateException(failure);
+      }
+    }
+    return ImmutableList.copyOf(curveGroups);
+  }
+
   private static List<RatesCurveInputs> inputsForScenario(List<MarketDataBox<RatesCurveInputs>> boxes, int scenarioIndex) {
     return boxes.stream()
         .map(box -> box.getValue(scenarioIndex))
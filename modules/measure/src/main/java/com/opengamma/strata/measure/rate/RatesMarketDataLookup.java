@@ -284,6 +284,22 @@ public interface RatesMarketDataLookup extends FxRateLookup, CalculationParamete
     return DefaultRatesScenarioMarketData.of(this, marketData);
   }
 
+  /**
+   * Obtains a filtered view of the complete set of market data, for use by a batch of calculations.
+   * <p>
+   * This method returns an instance that binds the lookup to the market data, as per
+   * {@link #marketDataView(ScenarioMarketData)}. In addition, the rates provider of each scenario
+   * caches the discount factors and index rates it creates, so that they are shared by all the
+   * targets in the batch. The caches are held by the returned instance, which should not be
+   * retained beyond the batch.
+   * 
+   * @param marketData  the complete set of market data for all scenarios
+   * @return the filtered market data
+   */
+  public default RatesScenarioMarketData batchMarketDataView(ScenarioMarketData marketData) {
+    return BatchRatesScenarioMarketData.of(marketDataView(marketData));
+  }
+
   /**
    * Obtains a filtered view of the complete set of market data.
    * <p>
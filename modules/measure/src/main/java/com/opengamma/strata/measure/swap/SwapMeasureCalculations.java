@@ -174,6 +174,26 @@ final class SwapMeasureCalculations {
     return ratesProvider.parameterSensitivity(pointSensitivity).multipliedBy(ONE_BASIS_POINT);
   }
 
+  //-------------------------------------------------------------------------
+  // calculates point sensitivity PV01 for all scenarios
+  ScenarioArray<PointSensitivities> pv01PointSensitivity(
+      ResolvedSwapTrade trade,
+      RatesScenarioMarketData marketData) {
+
+    return ScenarioArray.of(
+        marketData.getScenarioCount(),
+        i -> pv01PointSensitivity(trade, marketData.scenario(i).ratesProvider()));
+  }
+
+  // point sensitivity PV01 for one scenario
+  PointSensitivities pv01PointSensitivity(
+      ResolvedSwapTrade trade,
+      RatesProvider ratesProvider) {
+
+    PointSensitivities pointSensitivity = tradePricer.presentValueSensitivity(trade, ratesProvider);
+    return pointSensitivity.normalized().multipliedBy(ONE_BASIS_POINT);
+  }
+
   //-------------------------------------------------------------------------
   // calculates market quote sum PV01 for all scenarios
   MultiCurrencyScenarioArray pv01MarketQuoteSum(
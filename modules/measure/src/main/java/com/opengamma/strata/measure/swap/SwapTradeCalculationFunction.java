@@ -5,7 +5,9 @@
  */
 package com.opengamma.strata.measure.swap;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -15,7 +17,7 @@ import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.Measure;
-import com.opengamma.strata.calc.runner.CalculationFunction;
+import com.opengamma.strata.calc.runner.BatchCalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
 import com.opengamma.strata.collect.result.FailureReason;
@@ -23,6 +25,7 @@ import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.measure.AdvancedMeasures;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.ResolvedTradeCacheParameter;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.product.swap.ResolvedSwapTrade;
@@ -53,12 +56,16 @@ import com.opengamma.strata.product.swap.SwapTrade;
  *   <li>{@linkplain Measures#RESOLVED_TARGET Resolved trade}
  *   <li>{@linkplain AdvancedMeasures#PV01_SEMI_PARALLEL_GAMMA_BUCKETED PV01 semi-parallel gamma bucketed}
  *   <li>{@linkplain AdvancedMeasures#PV01_SINGLE_NODE_GAMMA_BUCKETED PV01 single node gamma bucketed}
+ *   <li>{@linkplain AdvancedMeasures#PV01_POINT_SENSITIVITY PV01 point sensitivity}
  * </ul>
  * <p>
  * The "natural" currency is the currency of the swaption, which is limited to be single-currency.
+ * <p>
+ * When calculated as a batch, the rates provider of each scenario, and the curves it provides,
+ * are shared by all the trades in the batch.
  */
 public class SwapTradeCalculationFunction
-    implements CalculationFunction<SwapTrade> {
+    implements BatchCalculationFunction<SwapTrade> {
 
   /**
    * The calculations by measure.
@@ -82,6 +89,7 @@ public class SwapTradeCalculationFunction
           .put(Measures.RESOLVED_TARGET, (rt, smd) -> rt)
           .put(AdvancedMeasures.PV01_SEMI_PARALLEL_GAMMA_BUCKETED, SwapMeasureCalculations.DEFAULT::pv01SemiParallelGammaBucketed)
           .put(AdvancedMeasures.PV01_SINGLE_NODE_GAMMA_BUCKETED, SwapMeasureCalculations.DEFAULT::pv01SingleNodeGammaBucketed)
+          .put(AdvancedMeasures.PV01_POINT_SENSITIVITY, SwapMeasureCalculations.DEFAULT::pv01PointSensitivity)
           .build();
 
   private static final ImmutableSet<Measure> MEASURES = CALCULATORS.keySet();
@@ -140,16 +148,46 @@ public class SwapTradeCalculationFunction
       ReferenceData refData) {
 
     // resolve the trade once for all measures and all scenarios
-    ResolvedSwapTrade resolved = trade.resolve(refData);
+    ResolvedSwapTrade resolved = ResolvedTradeCacheParameter.resolve(trade, parameters, refData);
 
     // use lookup to query market data
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
     RatesScenarioMarketData marketData = ratesLookup.marketDataView(scenarioMarketData);
 
     // loop around measures, calculating all scenarios for one measure
+    return calculate(measures, resolved, marketData);
+  }
+
+  @Override
+  public List<Map<Measure, Result<?>>> calculateBatch(
+      List<? extends SwapTrade> trades,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData scenarioMarketData,
+      ReferenceData refData) {
+
+    // use lookup to query market data, sharing the view so that the curves of each scenario are created once
+    RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
+    RatesScenarioMarketData marketData = ratesLookup.batchMarketDataView(scenarioMarketData);
+
+    // loop around trades, resolving each trade once for all measures and all scenarios
+    List<Map<Measure, Result<?>>> results = new ArrayList<>(trades.size());
+    for (SwapTrade trade : trades) {
+      ResolvedSwapTrade resolved = ResolvedTradeCacheParameter.resolve(trade, parameters, refData);
+      results.add(calculate(measures, resolved, marketData));
+    }
+    return results;
+  }
+
+  // calculate all measures
+  private Map<Measure, Result<?>> calculate(
+      Set<Measure> measures,
+      ResolvedSwapTrade trade,
+      RatesScenarioMarketData marketData) {
+
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, resolved, marketData));
+      results.put(measure, calculate(measure, trade, marketData));
     }
     return results;
   }
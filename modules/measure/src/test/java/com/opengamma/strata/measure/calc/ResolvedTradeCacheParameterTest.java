@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.payment.BulletPaymentTradeCalculationFunction;
+import com.opengamma.strata.measure.payment.BulletPaymentTradeCalculationFunctionTest;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.product.ResolvedTradeCache;
+import com.opengamma.strata.product.payment.BulletPaymentTrade;
+import com.opengamma.strata.product.payment.ResolvedBulletPaymentTrade;
+
+/**
+ * Test {@link ResolvedTradeCacheParameter}.
+ */
+@Test
+public class ResolvedTradeCacheParameterTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final BulletPaymentTrade TRADE = BulletPaymentTradeCalculationFunctionTest.TRADE;
+
+  //-------------------------------------------------------------------------
+  public void test_resolve() {
+    ResolvedTradeCache cache = ResolvedTradeCache.of(100);
+    ResolvedTradeCacheParameter test = ResolvedTradeCacheParameter.of(cache);
+    assertThat(test.getCache()).isSameAs(cache);
+    assertThat(test.queryType()).isEqualTo(ResolvedTradeCacheParameter.class);
+
+    CalculationParameters params = CalculationParameters.of(test);
+    ResolvedBulletPaymentTrade resolved = ResolvedTradeCacheParameter.resolve(TRADE, params, REF_DATA);
+    assertThat(resolved).isEqualTo(TRADE.resolve(REF_DATA));
+    assertThat(ResolvedTradeCacheParameter.resolve(TRADE, params, REF_DATA)).isSameAs(resolved);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  public void test_resolve_noParameter() {
+    ResolvedBulletPaymentTrade resolved = ResolvedTradeCacheParameter.resolve(TRADE, CalculationParameters.empty(), REF_DATA);
+    assertThat(resolved).isEqualTo(TRADE.resolve(REF_DATA));
+  }
+
+  public void test_equalsHashCode() {
+    ResolvedTradeCache cache = ResolvedTradeCache.of(100);
+    ResolvedTradeCacheParameter test = ResolvedTradeCacheParameter.of(cache);
+    ResolvedTradeCacheParameter test2 = ResolvedTradeCacheParameter.of(ResolvedTradeCache.of(100));
+    assertThat(test).isEqualTo(test);
+    assertThat(test).isEqualTo(ResolvedTradeCacheParameter.of(cache));
+    assertThat(test.hashCode()).isEqualTo(ResolvedTradeCacheParameter.of(cache).hashCode());
+    assertThat(test).isNotEqualTo(test2);
+    assertThat(test).isNotEqualTo(null);
+    assertThat(test).isNotEqualTo("");
+
+    // the contents of the cache do not affect equality
+    int hashCode = test.hashCode();
+    ResolvedTradeCacheParameter.resolve(TRADE, CalculationParameters.of(test), REF_DATA);
+    assertThat(test.hashCode()).isEqualTo(hashCode);
+    assertThat(test).isEqualTo(ResolvedTradeCacheParameter.of(cache));
+  }
+
+  public void test_filter() {
+    ResolvedTradeCacheParameter test = ResolvedTradeCacheParameter.of(ResolvedTradeCache.of(100));
+    CalculationParameters params = CalculationParameters.of(test).filter(TRADE, Measures.PRESENT_VALUE);
+    assertThat(params.findParameter(ResolvedTradeCacheParameter.class)).isEqualTo(Optional.of(test));
+    assertThat(params).isEqualTo(CalculationParameters.of(test));
+  }
+
+  public void test_function() {
+    ResolvedTradeCache cache = ResolvedTradeCache.of(100);
+    RatesMarketDataLookup ratesLookup = RatesMarketDataLookup.of(ImmutableMap.of(), ImmutableMap.of());
+    CalculationParameters params = CalculationParameters.of(ResolvedTradeCacheParameter.of(cache), ratesLookup);
+    ScenarioMarketData md = ScenarioMarketData.empty();
+    BulletPaymentTradeCalculationFunction function = new BulletPaymentTradeCalculationFunction();
+    ImmutableSet<Measure> measures = ImmutableSet.of(Measures.RESOLVED_TARGET);
+    Map<Measure, Result<?>> result1 = function.calculate(TRADE, measures, params, md, REF_DATA);
+    Map<Measure, Result<?>> result2 = function.calculate(TRADE, measures, params, md, REF_DATA);
+    assertThat(result2.get(Measures.RESOLVED_TARGET).getValue())
+        .isSameAs(result1.get(Measures.RESOLVED_TARGET).getValue());
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.toString()).contains("misses=1");
+  }
+
+}
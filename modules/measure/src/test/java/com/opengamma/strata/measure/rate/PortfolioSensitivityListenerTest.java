@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.rate;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.IborIndices;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.measure.AdvancedMeasures;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.curve.TestMarketDataMap;
+import com.opengamma.strata.measure.swap.SwapTradeCalculationFunction;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Test {@link PortfolioSensitivityListener}.
+ */
+@Test
+public class PortfolioSensitivityListenerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2016, 6, 23);
+  private static final SwapTrade TRADE1 = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_10Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA);
+  private static final SwapTrade TRADE2 = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_5Y, BuySell.SELL, 2_000_000, 0.02, REF_DATA);
+  private static final SwapTrade TRADE3 = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_2Y, BuySell.BUY, 3_000_000, 0.015, REF_DATA);
+  private static final List<CalculationTarget> TARGETS = ImmutableList.of(TRADE1, TRADE2, TRADE3);
+
+  private static final CurveId DISCOUNT_CURVE_ID = CurveId.of("Default", "Discount");
+  private static final CurveId FORWARD_CURVE_ID = CurveId.of("Default", "Forward");
+  private static final RatesMarketDataLookup RATES_LOOKUP = RatesMarketDataLookup.of(
+      ImmutableMap.of(TRADE1.getProduct().getLegs().get(0).getCurrency(), DISCOUNT_CURVE_ID),
+      ImmutableMap.of(IborIndices.GBP_LIBOR_6M, FORWARD_CURVE_ID));
+  private static final CalculationParameters PARAMS = CalculationParameters.of(RATES_LOOKUP);
+  private static final ScenarioMarketData MARKET_DATA = marketData();
+  private static final RatesScenarioMarketData RATES_MARKET_DATA = RATES_LOOKUP.marketDataView(MARKET_DATA);
+
+  private static final SwapTradeCalculationFunction FUNCTION = new SwapTradeCalculationFunction();
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(AdvancedMeasures.PV01_POINT_SENSITIVITY));
+  private static final double TOLERANCE = 1e-8;
+
+  //-------------------------------------------------------------------------
+  public void test_groups() {
+    PortfolioSensitivityListener<String> test =
+        PortfolioSensitivityListener.of(target -> target == TRADE2 ? "B" : "A", RATES_MARKET_DATA);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    for (int i = TARGETS.size() - 1; i >= 0; i--) {
+      CalculationTarget target = TARGETS.get(i);
+      Map<Measure, Result<?>> results = FUNCTION.calculate(
+          (SwapTrade) target, ImmutableSet.of(AdvancedMeasures.PV01_POINT_SENSITIVITY), PARAMS, MARKET_DATA, REF_DATA);
+      test.resultReceived(target, CalculationResult.of(i, 0, Result.success(1d)));
+      test.resultReceived(target, CalculationResult.of(i, 1, results.get(AdvancedMeasures.PV01_POINT_SENSITIVITY)));
+    }
+    test.calculationsComplete();
+
+    Map<String, Result<ScenarioArray<CurrencyParameterSensitivities>>> result = test.result();
+    assertThat(result.keySet()).containsExactly("A", "B");
+    assertThat(result.get("A").getValue().getScenarioCount()).isEqualTo(1);
+    assertThat(result.get("A").getValue().get(0)
+        .equalWithTolerance(bucketedPv01(TRADE1).combinedWith(bucketedPv01(TRADE3)), TOLERANCE)).isTrue();
+    assertThat(result.get("B").getValue().get(0).equalWithTolerance(bucketedPv01(TRADE2), TOLERANCE)).isTrue();
+  }
+
+  public void test_overlappingTrades() {
+    // the trades share all their fixing and payment dates, and there are enough to be merged while aggregating
+    List<CalculationTarget> targets = IntStream.range(0, 15)
+        .mapToObj(i -> FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M.createTrade(
+            date(2016, 6, 30), Tenor.TENOR_10Y, i % 2 == 0 ? BuySell.BUY : BuySell.SELL, 1_000_000 * (i + 1),
+            0.01 + 0.001 * i, REF_DATA))
+        .collect(toImmutableList());
+    PortfolioSensitivityListener<String> test = PortfolioSensitivityListener.of(target -> "Total", RATES_MARKET_DATA);
+    test.calculationsStarted(targets, COLUMNS);
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (int i = 0; i < targets.size(); i++) {
+      SwapTrade trade = (SwapTrade) targets.get(i);
+      Map<Measure, Result<?>> results = FUNCTION.calculate(
+          trade, ImmutableSet.of(AdvancedMeasures.PV01_POINT_SENSITIVITY), PARAMS, MARKET_DATA, REF_DATA);
+      test.resultReceived(trade, CalculationResult.of(i, 1, results.get(AdvancedMeasures.PV01_POINT_SENSITIVITY)));
+      expected = expected.combinedWith(bucketedPv01(trade));
+    }
+    test.calculationsComplete();
+
+    Map<String, Result<ScenarioArray<CurrencyParameterSensitivities>>> result = test.result();
+    assertThat(result.get("Total").getValue().get(0).equalWithTolerance(expected, TOLERANCE)).isTrue();
+  }
+
+  public void test_emptyGroup() {
+    PortfolioSensitivityListener<String> test =
+        PortfolioSensitivityListener.of(target -> target == TRADE2 ? "B" : "A", RATES_MARKET_DATA);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    Result<?> empty = Result.success(ScenarioArray.of(PointSensitivities.empty()));
+    test.resultReceived(TRADE2, CalculationResult.of(1, 1, empty));
+    test.calculationsComplete();
+
+    Map<String, Result<ScenarioArray<CurrencyParameterSensitivities>>> result = test.result();
+    assertThat(result.get("A").getValue().get(0)).isEqualTo(CurrencyParameterSensitivities.empty());
+    assertThat(result.get("B").getValue().get(0)).isEqualTo(CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_failure() {
+    PortfolioSensitivityListener<String> test =
+        PortfolioSensitivityListener.of(target -> target == TRADE2 ? "B" : "A", RATES_MARKET_DATA);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    Result<?> failure = Result.failure(FailureReason.CALCULATION_FAILED, "Failed");
+    test.resultReceived(TRADE1, CalculationResult.of(0, 1, failure));
+    test.resultReceived(TRADE2, CalculationResult.of(1, 1, Result.success(ScenarioArray.of(1d))));
+    test.resultReceived(TRADE3, CalculationResult.of(2, 1, FUNCTION.calculate(
+        TRADE3, ImmutableSet.of(AdvancedMeasures.PV01_POINT_SENSITIVITY), PARAMS, MARKET_DATA, REF_DATA)
+        .get(AdvancedMeasures.PV01_POINT_SENSITIVITY)));
+    test.calculationsComplete();
+
+    Map<String, Result<ScenarioArray<CurrencyParameterSensitivities>>> result = test.result();
+    assertThat(result.get("A").isFailure()).isTrue();
+    assertThat(result.get("A").getFailure().getReason()).isEqualTo(FailureReason.CALCULATION_FAILED);
+    assertThat(result.get("B").isFailure()).isTrue();
+    assertThat(result.get("B").getFailure().getReason()).isEqualTo(FailureReason.INVALID);
+  }
+
+  public void test_missingColumn() {
+    PortfolioSensitivityListener<String> test = PortfolioSensitivityListener.of(target -> "Total", RATES_MARKET_DATA);
+    test.calculationsStarted(TARGETS, ImmutableList.of(Column.of(Measures.PV01_CALIBRATED_BUCKETED)));
+    test.calculationsComplete();
+
+    Map<String, Result<ScenarioArray<CurrencyParameterSensitivities>>> result = test.result();
+    assertThat(result.keySet()).containsExactly("Total");
+    assertThat(result.get("Total").getFailure().getReason()).isEqualTo(FailureReason.MISSING_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  private static CurrencyParameterSensitivities bucketedPv01(SwapTrade trade) {
+    Map<Measure, Result<?>> results = FUNCTION.calculate(
+        trade, ImmutableSet.of(Measures.PV01_CALIBRATED_BUCKETED), PARAMS, MARKET_DATA, REF_DATA);
+    @SuppressWarnings("unchecked")
+    ScenarioArray<CurrencyParameterSensitivities> array =
+        (ScenarioArray<CurrencyParameterSensitivities>) results.get(Measures.PV01_CALIBRATED_BUCKETED).getValue();
+    return array.get(0);
+  }
+
+  private static ScenarioMarketData marketData() {
+    DoubleArray times = DoubleArray.of(0.5, 1, 2, 5, 10);
+    Curve discountCurve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("Discount", ACT_365F),
+        times,
+        DoubleArray.of(0.005, 0.006, 0.008, 0.012, 0.015),
+        CurveInterpolators.LINEAR);
+    Curve forwardCurve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("Forward", ACT_365F),
+        times,
+        DoubleArray.of(0.007, 0.008, 0.010, 0.014, 0.017),
+        CurveInterpolators.LINEAR);
+    return new TestMarketDataMap(
+        VAL_DATE,
+        ImmutableMap.of(DISCOUNT_CURVE_ID, discountCurve, FORWARD_CURVE_ID, forwardCurve),
+        ImmutableMap.of());
+  }
+
+}
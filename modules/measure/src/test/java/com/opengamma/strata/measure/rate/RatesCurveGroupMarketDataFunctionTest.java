@@ -15,8 +15,12 @@ import static org.assertj.core.api.Assertions.offset;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -62,7 +66,10 @@ import com.opengamma.strata.market.curve.node.FxSwapCurveNode;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.measure.curve.RootFinderConfig;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
+import com.opengamma.strata.pricer.curve.CalibrationMeasures;
+import com.opengamma.strata.pricer.curve.CalibrationStatistics;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -186,6 +193,103 @@ public class RatesCurveGroupMarketDataFunctionTest {
     checkSwapPvIsZero((FixedIborSwapCurveNode) nodes.get(4), ratesProvider, marketData);
   }
 
+  /**
+   * Tests calibrating multiple scenarios concurrently produces the same curve groups in the same order.
+   */
+  public void buildScenariosParallel() {
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraCurveDefinition();
+    List<MarketDataId<?>> keys = curveDefn.getNodes().stream().map(CurveTestUtils::key).collect(toImmutableList());
+    double[] rates = {0.003, 0.0033, 0.0037, 0.0054, 0.007, 0.0091, 0.0134};
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    CurveName curveName = curveDefn.getName();
+    List<RatesCurveInputs> scenarioInputs = IntStream.range(0, 6)
+        .mapToObj(scenario -> {
+          ImmutableMap.Builder<MarketDataId<?>, Double> inputData = ImmutableMap.builder();
+          for (int i = 0; i < keys.size(); i++) {
+            inputData.put(keys.get(i), rates[i] + scenario * 0.0005);
+          }
+          return RatesCurveInputs.of(inputData.build(), DefaultCurveMetadata.of(curveName));
+        })
+        .collect(toImmutableList());
+
+    RatesCurveGroupDefinition groupDefn = RatesCurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+    ScenarioMarketData inputMarketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addBox(RatesCurveInputsId.of(groupName, curveName, ObservableSource.NONE),
+            MarketDataBox.ofScenarioValues(scenarioInputs))
+        .build();
+
+    RatesCurveGroupMarketDataFunction function = new RatesCurveGroupMarketDataFunction();
+    MarketDataBox<RatesCurveGroup> expected =
+        function.buildCurveGroup(groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE);
+    assertThat(expected.getScenarioCount()).isEqualTo(6);
+
+    MarketDataConfig config = MarketDataConfig.builder()
+        .add(groupName, groupDefn)
+        .addDefault(RootFinderConfig.builder().scenarioParallelism(4).build())
+        .build();
+    // without an executor, the scenarios are calibrated on the calling thread
+    assertThat(function.build(RatesCurveGroupId.of(groupName), config, inputMarketData, REF_DATA))
+        .isEqualTo(expected);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataBox<RatesCurveGroup> test = function.withExecutor(executor)
+          .build(RatesCurveGroupId.of(groupName), config, inputMarketData, REF_DATA);
+      assertThat(test).isEqualTo(expected);
+    } finally {
+      executor.shutdown();
+    }
+    assertThrowsIllegalArg(() -> function.withExecutor(null));
+  }
+
+  public void buildWithStatisticsListener() {
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraCurveDefinition();
+    List<MarketDataId<?>> keys = curveDefn.getNodes().stream().map(CurveTestUtils::key).collect(toImmutableList());
+    double[] rates = {0.003, 0.0033, 0.0037, 0.0054, 0.007, 0.0091, 0.0134};
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    CurveName curveName = curveDefn.getName();
+    List<RatesCurveInputs> scenarioInputs = IntStream.range(0, 3)
+        .mapToObj(scenario -> {
+          ImmutableMap.Builder<MarketDataId<?>, Double> inputData = ImmutableMap.builder();
+          for (int i = 0; i < keys.size(); i++) {
+            inputData.put(keys.get(i), rates[i] + scenario * 0.0005);
+          }
+          return RatesCurveInputs.of(inputData.build(), DefaultCurveMetadata.of(curveName));
+        })
+        .collect(toImmutableList());
+
+    RatesCurveGroupDefinition groupDefn = RatesCurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+    ScenarioMarketData inputMarketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addBox(RatesCurveInputsId.of(groupName, curveName, ObservableSource.NONE),
+            MarketDataBox.ofScenarioValues(scenarioInputs))
+        .build();
+    MarketDataConfig config = MarketDataConfig.builder()
+        .add(groupName, groupDefn)
+        .build();
+
+    // one set of statistics for each scenario, the curves are unaffected
+    List<CalibrationStatistics> statistics = new ArrayList<>();
+    RatesCurveGroupMarketDataFunction function =
+        new RatesCurveGroupMarketDataFunction(CalibrationMeasures.PAR_SPREAD, statistics::add);
+    MarketDataBox<RatesCurveGroup> test =
+        function.build(RatesCurveGroupId.of(groupName), config, inputMarketData, REF_DATA);
+    MarketDataBox<RatesCurveGroup> expected = new RatesCurveGroupMarketDataFunction()
+        .build(RatesCurveGroupId.of(groupName), config, inputMarketData, REF_DATA);
+    assertThat(test).isEqualTo(expected);
+    assertThat(statistics).hasSize(3);
+    for (CalibrationStatistics stats : statistics) {
+      assertThat(stats.getCurveNames()).containsExactly(curveName);
+      assertThat(stats.getParameterCount()).isEqualTo(keys.size());
+      assertThat(stats.getResidualNorms().size()).isEqualTo(stats.getIterationCount() + 1);
+      assertThat(stats.getConditionNumber()).isGreaterThanOrEqualTo(1d);
+    }
+  }
+
   /**
    * Tests that par rates and ibor index are required for curves.
    */
@@ -23,6 +23,7 @@ import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -220,6 +221,37 @@ public class RatesMarketDataLookupTest {
     assertEquals(ratesProvider.toImmutableRatesProvider(), expectedImmutable);
   }
 
+  public void test_batchMarketDataView() {
+    ImmutableMap<Currency, CurveId> discounts = ImmutableMap.of(USD, CURVE_ID_DSC);
+    ImmutableMap<Index, CurveId> forwards = ImmutableMap.of(USD_FED_FUND, CURVE_ID_DSC, USD_LIBOR_3M, CURVE_ID_FWD);
+    RatesMarketDataLookup test = RatesMarketDataLookup.of(discounts, forwards);
+    LocalDate valDate = date(2015, 6, 30);
+    Curve dscCurve = ConstantCurve.of(Curves.discountFactors(CURVE_ID_DSC.getCurveName(), ACT_360), 1d);
+    Curve fwdCurve = ConstantCurve.of(Curves.discountFactors(CURVE_ID_FWD.getCurveName(), ACT_360), 2d);
+    MarketData md = ImmutableMarketData.builder(valDate)
+        .addValue(CURVE_ID_DSC, dscCurve)
+        .addValue(CURVE_ID_FWD, fwdCurve)
+        .build();
+    ScenarioMarketData scenarioMd = ScenarioMarketData.of(1, md);
+    RatesScenarioMarketData batch = test.batchMarketDataView(scenarioMd);
+    assertEquals(batch.getLookup(), test);
+    assertEquals(batch.getMarketData(), scenarioMd);
+    assertEquals(batch.getScenarioCount(), 1);
+    assertSame(batch.scenario(0), batch.scenario(0));
+    assertEquals(batch.scenario(0).getMarketData(), md);
+    // the batch provider creates each curve view once, with the same values as the standard provider
+    RatesProvider standard = test.marketDataView(md).ratesProvider();
+    RatesProvider ratesProvider = batch.scenario(0).ratesProvider();
+    assertSame(ratesProvider.discountFactors(USD), ratesProvider.discountFactors(USD));
+    assertSame(ratesProvider.iborIndexRates(USD_LIBOR_3M), ratesProvider.iborIndexRates(USD_LIBOR_3M));
+    assertSame(ratesProvider.overnightIndexRates(USD_FED_FUND), ratesProvider.overnightIndexRates(USD_FED_FUND));
+    assertEquals(ratesProvider.discountFactors(USD), standard.discountFactors(USD));
+    assertEquals(ratesProvider.iborIndexRates(USD_LIBOR_3M), standard.iborIndexRates(USD_LIBOR_3M));
+    assertEquals(ratesProvider.overnightIndexRates(USD_FED_FUND), standard.overnightIndexRates(USD_FED_FUND));
+    assertThrowsIllegalArg(() -> ratesProvider.discountFactors(GBP));
+    assertEquals(ratesProvider.toImmutableRatesProvider(), standard.toImmutableRatesProvider());
+  }
+
   public void test_fxProvider() {
     RatesMarketDataLookup test = RatesMarketDataLookup.of(ImmutableMap.of(), ImmutableMap.of());
     LocalDate valDate = date(2015, 6, 30);
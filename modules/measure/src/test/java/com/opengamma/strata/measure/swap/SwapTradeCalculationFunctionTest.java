@@ -10,6 +10,8 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.testng.annotations.Test;
@@ -39,6 +41,7 @@ import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.measure.AdvancedMeasures;
 import com.opengamma.strata.measure.Measures;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
@@ -132,15 +135,35 @@ public class SwapTradeCalculationFunctionTest {
     CurrencyParameterSensitivities pvParamSens = provider.parameterSensitivity(pvPointSens);
     MultiCurrencyAmount expectedPv01 = pvParamSens.total().multipliedBy(1e-4);
     CurrencyParameterSensitivities expectedBucketedPv01 = pvParamSens.multipliedBy(1e-4);
+    PointSensitivities expectedPointPv01 = pvPointSens.normalized().multipliedBy(1e-4);
 
     Set<Measure> measures = ImmutableSet.of(
         Measures.PV01_CALIBRATED_SUM,
-        Measures.PV01_CALIBRATED_BUCKETED);
+        Measures.PV01_CALIBRATED_BUCKETED,
+        AdvancedMeasures.PV01_POINT_SENSITIVITY);
     assertThat(function.calculate(TRADE, measures, PARAMS, md, REF_DATA))
         .containsEntry(
             Measures.PV01_CALIBRATED_SUM, Result.success(MultiCurrencyScenarioArray.of(ImmutableList.of(expectedPv01))))
         .containsEntry(
-            Measures.PV01_CALIBRATED_BUCKETED, Result.success(ScenarioArray.of(ImmutableList.of(expectedBucketedPv01))));
+            Measures.PV01_CALIBRATED_BUCKETED, Result.success(ScenarioArray.of(ImmutableList.of(expectedBucketedPv01))))
+        .containsEntry(
+            AdvancedMeasures.PV01_POINT_SENSITIVITY, Result.success(ScenarioArray.of(ImmutableList.of(expectedPointPv01))));
+  }
+
+  public void test_batch() {
+    SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    SwapTrade trade2 = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+        .createTrade(date(2016, 6, 30), Tenor.TENOR_5Y, BuySell.SELL, 2_000_000, 0.02, REF_DATA);
+    Set<Measure> measures = ImmutableSet.of(
+        Measures.PRESENT_VALUE,
+        Measures.PAR_RATE,
+        Measures.PV01_CALIBRATED_BUCKETED);
+    List<Map<Measure, Result<?>>> results =
+        function.calculateBatch(ImmutableList.of(TRADE, trade2), measures, PARAMS, md, REF_DATA);
+    assertThat(results).containsExactly(
+        function.calculate(TRADE, measures, PARAMS, md, REF_DATA),
+        function.calculate(trade2, measures, PARAMS, md, REF_DATA));
   }
 
   //-------------------------------------------------------------------------
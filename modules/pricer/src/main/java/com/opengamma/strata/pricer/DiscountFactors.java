@@ -301,6 +301,24 @@ public interface DiscountFactors
    */
   public abstract ZeroRateSensitivity zeroRatePointSensitivity(double yearFraction, Currency sensitivityCurrency);
 
+  /**
+   * Calculates the value of the zero rate point sensitivity at the specified year fraction.
+   * <p>
+   * This returns the value of {@link #zeroRatePointSensitivity(double)} without creating the sensitivity.
+   * The value typically is {@code (-discountFactor * yearFraction)}.
+   * This allows the sensitivity of many points to be accumulated without creating intermediate objects,
+   * see {@link #parameterSensitivity(double, double, double[])}.
+   * <p>
+   * The year fraction must be based on {@code #relativeYearFraction(LocalDate)}.
+   * 
+   * @param yearFraction  the year fraction
+   * @return the value of the point sensitivity of the zero rate
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default double zeroRatePointSensitivityValue(double yearFraction) {
+    return zeroRatePointSensitivity(yearFraction).getSensitivity();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the zero rate point sensitivity with z-spread at the specified date.
@@ -447,6 +465,30 @@ public interface DiscountFactors
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSensitivity);
 
+  /**
+   * Adds the parameter sensitivity of a zero rate point sensitivity to an array.
+   * <p>
+   * This is equivalent to {@link #parameterSensitivity(ZeroRateSensitivity)}, but adds the
+   * sensitivity to an array with one element for each parameter, see {@link #getParameterCount()}.
+   * This allows the sensitivity of many points to be accumulated without creating intermediate objects.
+   * 
+   * @param yearFraction  the year fraction of the zero rate point sensitivity
+   * @param sensitivity  the value of the zero rate point sensitivity
+   * @param target  the array to add the parameter sensitivity to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void parameterSensitivity(double yearFraction, double sensitivity, double[] target) {
+    ZeroRateSensitivity pointSensitivity = ZeroRateSensitivity.of(getCurrency(), yearFraction, sensitivity);
+    int offset = 0;
+    for (CurrencyParameterSensitivity single : parameterSensitivity(pointSensitivity).getSensitivities()) {
+      DoubleArray values = single.getSensitivity();
+      for (int i = 0; i < values.size(); i++) {
+        target[offset + i] += values.get(i);
+      }
+      offset += values.size();
+    }
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
@@ -188,6 +188,11 @@ public final class SimpleDiscountFactors
     return ZeroRateSensitivity.of(currency, yearFraction, sensitivityCurrency, -discountFactor * yearFraction);
   }
 
+  @Override
+  public double zeroRatePointSensitivityValue(double yearFraction) {
+    return -discountFactor(yearFraction) * yearFraction;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSens) {
@@ -203,6 +208,15 @@ public final class SimpleDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void parameterSensitivity(double yearFraction, double sensitivity, double[] target) {
+    if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+      return; // Discount factor in 0 is always 1, no sensitivity.
+    }
+    double discountFactor = discountFactor(yearFraction);
+    curve.yValueParameterSensitivity(yearFraction, -1d / (yearFraction * discountFactor) * sensitivity, target);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
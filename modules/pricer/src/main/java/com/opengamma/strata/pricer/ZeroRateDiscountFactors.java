@@ -183,6 +183,11 @@ public final class ZeroRateDiscountFactors
     return ZeroRateSensitivity.of(currency, yearFraction, sensitivityCurrency, -discountFactor * yearFraction);
   }
 
+  @Override
+  public double zeroRatePointSensitivityValue(double yearFraction) {
+    return -discountFactor(yearFraction) * yearFraction;
+  }
+
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSens) {
     double yearFraction = pointSens.getYearFraction();
@@ -191,6 +196,11 @@ public final class ZeroRateDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void parameterSensitivity(double yearFraction, double sensitivity, double[] target) {
+    curve.yValueParameterSensitivity(yearFraction, sensitivity, target);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -199,6 +199,11 @@ public final class ZeroRatePeriodicDiscountFactors
     return ZeroRateSensitivity.of(currency, yearFraction, sensitivityCurrency, -discountFactor * yearFraction);
   }
 
+  @Override
+  public double zeroRatePointSensitivityValue(double yearFraction) {
+    return -discountFactor(yearFraction) * yearFraction;
+  }
+
   @Override
   public ZeroRateSensitivity zeroRatePointSensitivityWithSpread(
       double yearFraction,
@@ -233,6 +238,14 @@ public final class ZeroRatePeriodicDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void parameterSensitivity(double yearFraction, double sensitivity, double[] target) {
+    double rp = curve.yValue(yearFraction);
+    double rcBar = 1.0;
+    double rpBar = 1.0 / (1 + rp / frequency) * rcBar;
+    curve.yValueParameterSensitivity(yearFraction, rpBar * sensitivity, target);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -30,6 +30,7 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAccumulator;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
@@ -175,16 +176,16 @@ public final class BlackBondFutureExpiryLogMoneynessVolatilities
 
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
-    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    CurrencyParameterSensitivitiesAccumulator sens = CurrencyParameterSensitivities.accumulator();
     for (PointSensitivity point : pointSensitivities.getSensitivities()) {
       if (point instanceof BondFutureOptionSensitivity) {
         BondFutureOptionSensitivity pt = (BondFutureOptionSensitivity) point;
         if (pt.getVolatilitiesName().equals(getName())) {
-          sens = sens.combinedWith(parameterSensitivity(pt));
+          sens.add(parameterSensitivity(pt));
         }
       }
     }
-    return sens;
+    return sens.build();
   }
 
   private CurrencyParameterSensitivity parameterSensitivity(BondFutureOptionSensitivity pointSensitivity) {
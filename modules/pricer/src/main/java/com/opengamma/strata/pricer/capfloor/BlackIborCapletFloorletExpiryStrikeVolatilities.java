@@ -32,6 +32,7 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAccumulator;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
@@ -187,16 +188,16 @@ public final class BlackIborCapletFloorletExpiryStrikeVolatilities
 
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
-    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    CurrencyParameterSensitivitiesAccumulator sens = CurrencyParameterSensitivities.accumulator();
     for (PointSensitivity point : pointSensitivities.getSensitivities()) {
       if (point instanceof IborCapletFloorletSensitivity) {
         IborCapletFloorletSensitivity pt = (IborCapletFloorletSensitivity) point;
         if (pt.getVolatilitiesName().equals(getName())) {
-          sens = sens.combinedWith(parameterSensitivity(pt));
+          sens.add(parameterSensitivity(pt));
         }
       }
     }
-    return sens;
+    return sens.build();
   }
 
   private CurrencyParameterSensitivity parameterSensitivity(IborCapletFloorletSensitivity point) {
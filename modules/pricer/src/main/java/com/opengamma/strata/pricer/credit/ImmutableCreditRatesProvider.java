@@ -34,6 +34,7 @@ import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAccumulator;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivity;
@@ -129,19 +130,19 @@ public final class ImmutableCreditRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
-    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    CurrencyParameterSensitivitiesAccumulator sens = CurrencyParameterSensitivities.accumulator();
     for (PointSensitivity point : pointSensitivities.getSensitivities()) {
       if (point instanceof CreditCurveZeroRateSensitivity) {
         CreditCurveZeroRateSensitivity pt = (CreditCurveZeroRateSensitivity) point;
         LegalEntitySurvivalProbabilities factors = survivalProbabilities(pt.getLegalEntityId(), pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.parameterSensitivity(pt));
+        sens.add(factors.parameterSensitivity(pt));
       } else if (point instanceof ZeroRateSensitivity) {
         ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
         CreditDiscountFactors factors = discountFactors(pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.parameterSensitivity(pt));
+        sens.add(factors.parameterSensitivity(pt));
       }
     }
-    return sens;
+    return sens.build();
   }
 
   @Override
@@ -150,18 +151,19 @@ public final class ImmutableCreditRatesProvider
       StandardId legalEntityId,
       Currency currency) {
 
-    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    CurrencyParameterSensitivitiesAccumulator sens = CurrencyParameterSensitivities.accumulator();
     for (PointSensitivity point : pointSensitivities.getSensitivities()) {
       if (point instanceof CreditCurveZeroRateSensitivity) {
         CreditCurveZeroRateSensitivity pt = (CreditCurveZeroRateSensitivity) point;
         if (pt.getLegalEntityId().equals(legalEntityId) && pt.getCurrency().equals(currency)) {
           LegalEntitySurvivalProbabilities factors = survivalProbabilities(pt.getLegalEntityId(), pt.getCurveCurrency());
-          sens = sens.combinedWith(factors.parameterSensitivity(pt));
+          sens.add(factors.parameterSensitivity(pt));
         }
       }
     }
-    ArgChecker.isTrue(sens.size() == 1, "sensitivity must be unique");
-    return sens.getSensitivities().get(0);
+    CurrencyParameterSensitivities result = sens.build();
+    ArgChecker.isTrue(result.size() == 1, "sensitivity must be unique");
+    return result.getSensitivities().get(0);
   }
 
   @Override
@@ -169,18 +171,19 @@ public final class ImmutableCreditRatesProvider
       PointSensitivities pointSensitivities,
       Currency currency) {
 
-    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    CurrencyParameterSensitivitiesAccumulator sens = CurrencyParameterSensitivities.accumulator();
     for (PointSensitivity point : pointSensitivities.getSensitivities()) {
       if (point instanceof ZeroRateSensitivity) {
         ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
         if (pt.getCurveCurrency().equals(currency)) {
           CreditDiscountFactors factors = discountFactors(pt.getCurveCurrency());
-          sens = sens.combinedWith(factors.parameterSensitivity(pt));
+          sens.add(factors.parameterSensitivity(pt));
         }
       }
     }
-    ArgChecker.isTrue(sens.size() == 1, "sensitivity must be unique");
-    return sens.getSensitivities().get(0);
+    CurrencyParameterSensitivities result = sens.build();
+    ArgChecker.isTrue(result.size() == 1, "sensitivity must be unique");
+    return result.getSensitivities().get(0);
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.util.List;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.ResolvedTrade;
+
+/**
+ * Provides calibration by bootstrapping the curve parameters node by node.
+ * <p>
+ * When the value of each trade only depends on the parameter of its own node and the parameters
+ * of the earlier nodes, the derivative of the values with respect to the parameters is lower triangular.
+ * This is typically the case for curves using a local interpolator where the trade of each node
+ * does not depend on the curves beyond the node date.
+ * The parameters can then be found one at a time, in node order, using a one-dimensional
+ * root finder for each node, which is much less work than solving for all the parameters at once.
+ * <p>
+ * The root finder for each node is the secant method, with the first step using the derivative
+ * at the initial guess. Only the value of the trade of the node is computed at each step.
+ * <p>
+ * An instance is used to calibrate a single group, and records the number of evaluations.
+ */
+class CalibrationBootstrap {
+
+  /**
+   * The tolerance, relative to the diagonal, below which an element of the derivative is considered to be zero.
+   * Interpolation can produce tiny sensitivities to the parameters of later nodes due to rounding.
+   */
+  private static final double TRIANGULAR_TOLERANCE = 1e-14;
+
+  /**
+   * The trades.
+   */
+  private final List<ResolvedTrade> trades;
+  /**
+   * The calibration measures.
+   */
+  private final CalibrationMeasures measures;
+  /**
+   * The provider generator, used to create child providers.
+   */
+  private final RatesProviderGenerator providerGenerator;
+  /**
+   * The absolute tolerance of the value of each trade.
+   */
+  private final double tolerance;
+  /**
+   * The maximum number of steps for each node.
+   */
+  private final int stepMaximum;
+  /**
+   * The number of evaluations of the value of a single trade.
+   */
+  private int valueEvaluationCount;
+
+  /**
+   * Creates an instance.
+   * <p>
+   * The tolerance and maximum number of steps are those of the root finder of the calibrator.
+   * The tolerance applies to the norm of the values of all the trades, as it does for the root finder,
+   * thus each node is found to the tolerance divided by the square root of the number of trades.
+   * 
+   * @param trades  the trades
+   * @param measures  the calibration measures
+   * @param providerGenerator  the provider generator, used to create child providers
+   * @param toleranceAbs  the absolute tolerance of the norm of the values of the trades
+   * @param stepMaximum  the maximum number of steps for each node
+   */
+  CalibrationBootstrap(
+      List<ResolvedTrade> trades,
+      CalibrationMeasures measures,
+      RatesProviderGenerator providerGenerator,
+      double toleranceAbs,
+      int stepMaximum) {
+
+    this.trades = trades;
+    this.measures = measures;
+    this.providerGenerator = providerGenerator;
+    this.tolerance = toleranceAbs / Math.sqrt(Math.max(trades.size(), 1));
+    this.stepMaximum = stepMaximum;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the derivative of the values with respect to the parameters is lower triangular.
+   * <p>
+   * The elements above the diagonal must be zero, as they are when the trades do not depend
+   * on the parameters of the later nodes, ignoring elements that are negligible due to rounding.
+   * The elements on the diagonal must not be zero.
+   * 
+   * @param derivative  the derivative of the values with respect to the parameters
+   * @return true if the parameters can be bootstrapped
+   */
+  static boolean isLowerTriangular(DoubleMatrix derivative) {
+    int size = derivative.rowCount();
+    for (int i = 0; i < size; i++) {
+      double diagonal = Math.abs(derivative.get(i, i));
+      if (diagonal == 0d) {
+        return false;
+      }
+      for (int j = i + 1; j < size; j++) {
+        if (Math.abs(derivative.get(i, j)) > TRIANGULAR_TOLERANCE * diagonal) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Calibrates the parameters, one node at a time.
+   * <p>
+   * The derivative of the values with respect to the parameters must be lower triangular.
+   * 
+   * @param initialGuess  the initial guess of the parameters
+   * @param derivative  the derivative of the values with respect to the parameters at the initial guess
+   * @return the calibrated parameters
+   * @throws MathException if unable to find the root of a node
+   */
+  DoubleArray calibrate(DoubleArray initialGuess, DoubleMatrix derivative) {
+    double[] params = initialGuess.toArray();
+    for (int i = 0; i < trades.size(); i++) {
+      calibrateNode(i, params, derivative.get(i, i));
+    }
+    return DoubleArray.ofUnsafe(params);
+  }
+
+  // finds the parameter of the node, the parameters of the earlier nodes having been found
+  private void calibrateNode(int index, double[] params, double initialSlope) {
+    ResolvedTrade trade = trades.get(index);
+    double slope = initialSlope;
+    double previousParam = Double.NaN;
+    double previousValue = Double.NaN;
+    for (int step = 0; step < stepMaximum; step++) {
+      double value = value(trade, params);
+      if (Math.abs(value) <= tolerance) {
+        return;
+      }
+      if (step > 0) {
+        slope = (value - previousValue) / (params[index] - previousParam);
+      }
+      double delta = value / slope;
+      if (!Double.isFinite(delta)) {
+        throw new MathException("Failed to bootstrap node " + index + ", slope is " + slope);
+      }
+      previousParam = params[index];
+      previousValue = value;
+      params[index] -= delta;
+    }
+    throw new MathException("Failed to bootstrap node " + index + " - maximum steps of " + stepMaximum + " reached");
+  }
+
+  // computes the value of the trade
+  private double value(ResolvedTrade trade, double[] params) {
+    ImmutableRatesProvider provider = providerGenerator.generate(DoubleArray.copyOf(params));
+    valueEvaluationCount++;
+    return measures.value(trade, provider);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of evaluations of the value of a single trade.
+   * 
+   * @return the number of evaluations
+   */
+  int getValueEvaluationCount() {
+    return valueEvaluationCount;
+  }
+
+}
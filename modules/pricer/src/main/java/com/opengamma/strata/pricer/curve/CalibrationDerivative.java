@@ -7,6 +7,8 @@ package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
@@ -20,6 +22,8 @@ import com.opengamma.strata.product.ResolvedTrade;
  * This provides the value sensitivity from the specified {@link CalibrationMeasures}
  * instance in matrix form suitable for use in curve calibration root finding.
  * The value will typically be par spread or converted present value.
+ * <p>
+ * The rows of the matrix may be computed in parallel, as each row only depends on its own trade.
  */
 class CalibrationDerivative
     implements Function<DoubleArray, DoubleMatrix> {
@@ -41,6 +45,10 @@ class CalibrationDerivative
    * The expected number of parameters for each curve is also provided.
    */
   private final List<CurveParameterSize> curveOrder;
+  /**
+   * Whether the rows are computed in parallel.
+   */
+  private final boolean parallel;
 
   /**
    * Creates an instance.
@@ -49,17 +57,20 @@ class CalibrationDerivative
    * @param measures  the calibration measures
    * @param providerGenerator  the provider generator, used to create child providers
    * @param curveOrder  the curve order
+   * @param parallel  whether the rows are computed in parallel
    */
   public CalibrationDerivative(
       List<ResolvedTrade> trades,
       CalibrationMeasures measures,
       RatesProviderGenerator providerGenerator,
-      List<CurveParameterSize> curveOrder) {
+      List<CurveParameterSize> curveOrder,
+      boolean parallel) {
 
     this.measures = measures;
     this.trades = trades;
     this.providerGenerator = providerGenerator;
     this.curveOrder = curveOrder;
+    this.parallel = parallel;
   }
 
   //-------------------------------------------------------------------------
@@ -69,7 +80,28 @@ class CalibrationDerivative
     ImmutableRatesProvider provider = providerGenerator.generate(x);
     // calculate derivative for each trade using the child provider
     int size = trades.size();
-    return DoubleMatrix.ofArrayObjects(size, size, i -> measures.derivative(trades.get(i), provider, curveOrder));
+    return matrix(size, size, i -> measures.derivative(trades.get(i), provider, curveOrder), parallel);
+  }
+
+  /**
+   * Creates a matrix from a function that computes each row.
+   * <p>
+   * When computed in parallel, each row is computed by the same function as when computed serially,
+   * thus the matrix is identical.
+   *
+   * @param rows  the number of rows
+   * @param columns  the number of columns
+   * @param rowFunction  the function that computes the row at the specified index
+   * @param parallel  whether the rows are computed in parallel
+   * @return the matrix
+   */
+  static DoubleMatrix matrix(int rows, int columns, IntFunction<DoubleArray> rowFunction, boolean parallel) {
+    if (!parallel) {
+      return DoubleMatrix.ofArrayObjects(rows, columns, rowFunction);
+    }
+    DoubleArray[] rowArrays = new DoubleArray[rows];
+    IntStream.range(0, rows).parallel().forEach(i -> rowArrays[i] = rowFunction.apply(i));
+    return DoubleMatrix.ofArrayObjects(rows, columns, i -> rowArrays[i]);
   }
 
 }
@@ -0,0 +1,1174 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Statistics describing the calibration of a group of curves.
+ * <p>
+ * This is produced by {@link RatesCurveCalibrator} for each group of curves that is calibrated together
+ * when a statistics listener is specified, see {@link RatesCurveCalibrator#withStatisticsListener}.
+ * <p>
+ * The number of evaluations of the Jacobian, the derivative of the calibration measures with respect
+ * to the curve parameters, is typically much smaller than the number of iterations.
+ * This is because the root finder updates an estimate of the Jacobian at each iteration,
+ * only computing the full Jacobian at the start and when the estimate is reset.
+ * <p>
+ * The time taken to find the root includes the evaluation of the calibration measures, the evaluation
+ * of the Jacobian and the decomposition of the Jacobian estimate, which are reported separately.
+ * The time taken to compute the Jacobian matrices and sensitivities stored in the curve metadata
+ * is also reported. Together with the residual norms and the condition number, these help
+ * to identify the groups of curves that are slow to calibrate or fail to converge.
+ */
+@BeanDefinition
+public final class CalibrationStatistics
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The names of the curves calibrated together.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<CurveName> curveNames;
+  /**
+   * The total number of parameters of the curves.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int parameterCount;
+  /**
+   * Whether the curves were bootstrapped node by node.
+   * <p>
+   * When bootstrapped, there are no iterations of the root finder, the value evaluations are of a single trade,
+   * and the Jacobian is only evaluated once, to determine that the curves can be bootstrapped.
+   * See {@link RatesCurveCalibrator#withBootstrap(boolean)}.
+   */
+  @PropertyDefinition
+  private final boolean bootstrapped;
+  /**
+   * The number of iterations of the root finder.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int iterationCount;
+  /**
+   * The number of evaluations of the calibration measures for all the trades.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int valueEvaluationCount;
+  /**
+   * The number of evaluations of the Jacobian.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int jacobianEvaluationCount;
+  /**
+   * The number of times the estimate of the Jacobian was reset from the full Jacobian after the start.
+   * <p>
+   * This happens periodically, and when the estimate no longer leads to an improvement.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int jacobianResetCount;
+  /**
+   * Whether the Jacobian at the start position was obtained from previously calibrated curves.
+   */
+  @PropertyDefinition
+  private final boolean priorJacobianUsed;
+  /**
+   * The time taken to find the root, excluding the computation of the Jacobian matrices
+   * and sensitivities stored in the curve metadata.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Duration rootFindingTime;
+  /**
+   * The time taken to evaluate the calibration measures of the trades while finding the root.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Duration valueEvaluationTime;
+  /**
+   * The time taken to evaluate the Jacobian while finding the root.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Duration jacobianEvaluationTime;
+  /**
+   * The time taken to decompose the Jacobian estimate to find each step of the root finder.
+   * <p>
+   * This is measured directly, and is zero when the curves are bootstrapped.
+   * The remainder of the root finding time, such as updating the Jacobian estimate, is not separately reported.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Duration decompositionTime;
+  /**
+   * The time taken to compute the Jacobian matrices and sensitivities stored in the curve metadata.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Duration postProcessingTime;
+  /**
+   * The norm of the calibration measures, at the start and after each iteration of the root finder.
+   * <p>
+   * The calibration measures are zero at the root, thus the norms show the rate of convergence.
+   * When the curves are bootstrapped, this only contains the norm at the root.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray residualNorms;
+  /**
+   * The condition number of the derivative of the calibration measures with respect to the curve parameters,
+   * at the root.
+   * <p>
+   * A large condition number indicates that the curve parameters are poorly determined by the trades,
+   * for example when two nodes are very close together.
+   */
+  @PropertyDefinition
+  private final double conditionNumber;
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code CalibrationStatistics}.
+   * @return the meta-bean, not null
+   */
+  public static CalibrationStatistics.Meta meta() {
+    return CalibrationStatistics.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(CalibrationStatistics.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Returns a builder used to create an instance of the bean.
+   * @return the builder, not null
+   */
+  public static CalibrationStatistics.Builder builder() {
+    return new CalibrationStatistics.Builder();
+  }
+
+  private CalibrationStatistics(
+      List<CurveName> curveNames,
+      int parameterCount,
+      boolean bootstrapped,
+      int iterationCount,
+      int valueEvaluationCount,
+      int jacobianEvaluationCount,
+      int jacobianResetCount,
+      boolean priorJacobianUsed,
+      Duration rootFindingTime,
+      Duration valueEvaluationTime,
+      Duration jacobianEvaluationTime,
+      Duration decompositionTime,
+      Duration postProcessingTime,
+      DoubleArray residualNorms,
+      double conditionNumber) {
+    JodaBeanUtils.notNull(curveNames, "curveNames");
+    ArgChecker.notNegative(parameterCount, "parameterCount");
+    ArgChecker.notNegative(iterationCount, "iterationCount");
+    ArgChecker.notNegative(valueEvaluationCount, "valueEvaluationCount");
+    ArgChecker.notNegative(jacobianEvaluationCount, "jacobianEvaluationCount");
+    ArgChecker.notNegative(jacobianResetCount, "jacobianResetCount");
+    JodaBeanUtils.notNull(rootFindingTime, "rootFindingTime");
+    JodaBeanUtils.notNull(valueEvaluationTime, "valueEvaluationTime");
+    JodaBeanUtils.notNull(jacobianEvaluationTime, "jacobianEvaluationTime");
+    JodaBeanUtils.notNull(decompositionTime, "decompositionTime");
+    JodaBeanUtils.notNull(postProcessingTime, "postProcessingTime");
+    JodaBeanUtils.notNull(residualNorms, "residualNorms");
+    this.curveNames = ImmutableList.copyOf(curveNames);
+    this.parameterCount = parameterCount;
+    this.bootstrapped = bootstrapped;
+    this.iterationCount = iterationCount;
+    this.valueEvaluationCount = valueEvaluationCount;
+    this.jacobianEvaluationCount = jacobianEvaluationCount;
+    this.jacobianResetCount = jacobianResetCount;
+    this.priorJacobianUsed = priorJacobianUsed;
+    this.rootFindingTime = rootFindingTime;
+    this.valueEvaluationTime = valueEvaluationTime;
+    this.jacobianEvaluationTime = jacobianEvaluationTime;
+    this.decompositionTime = decompositionTime;
+    this.postProcessingTime = postProcessingTime;
+    this.residualNorms = residualNorms;
+    this.conditionNumber = conditionNumber;
+  }
+
+  @Override
+  public CalibrationStatistics.Meta metaBean() {
+    return CalibrationStatistics.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the names of the curves calibrated together.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<CurveName> getCurveNames() {
+    return curveNames;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the total number of parameters of the curves.
+   * @return the value of the property
+   */
+  public int getParameterCount() {
+    return parameterCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the curves were bootstrapped node by node.
+   * <p>
+   * When bootstrapped, there are no iterations of the root finder, the value evaluations are of a single trade,
+   * and the Jacobian is only evaluated once, to determine that the curves can be bootstrapped.
+   * See {@link RatesCurveCalibrator#withBootstrap(boolean)}.
+   * @return the value of the property
+   */
+  public boolean isBootstrapped() {
+    return bootstrapped;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of iterations of the root finder.
+   * @return the value of the property
+   */
+  public int getIterationCount() {
+    return iterationCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of evaluations of the calibration measures for all the trades.
+   * @return the value of the property
+   */
+  public int getValueEvaluationCount() {
+    return valueEvaluationCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of evaluations of the Jacobian.
+   * @return the value of the property
+   */
+  public int getJacobianEvaluationCount() {
+    return jacobianEvaluationCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of times the estimate of the Jacobian was reset from the full Jacobian after the start.
+   * <p>
+   * This happens periodically, and when the estimate no longer leads to an improvement.
+   * @return the value of the property
+   */
+  public int getJacobianResetCount() {
+    return jacobianResetCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the Jacobian at the start position was obtained from previously calibrated curves.
+   * @return the value of the property
+   */
+  public boolean isPriorJacobianUsed() {
+    return priorJacobianUsed;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time taken to find the root, excluding the computation of the Jacobian matrices
+   * and sensitivities stored in the curve metadata.
+   * @return the value of the property, not null
+   */
+  public Duration getRootFindingTime() {
+    return rootFindingTime;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time taken to evaluate the calibration measures of the trades while finding the root.
+   * @return the value of the property, not null
+   */
+  public Duration getValueEvaluationTime() {
+    return valueEvaluationTime;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time taken to evaluate the Jacobian while finding the root.
+   * @return the value of the property, not null
+   */
+  public Duration getJacobianEvaluationTime() {
+    return jacobianEvaluationTime;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time taken to decompose the Jacobian estimate to find each step of the root finder.
+   * <p>
+   * This is measured directly, and is zero when the curves are bootstrapped.
+   * The remainder of the root finding time, such as updating the Jacobian estimate, is not separately reported.
+   * @return the value of the property, not null
+   */
+  public Duration getDecompositionTime() {
+    return decompositionTime;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time taken to compute the Jacobian matrices and sensitivities stored in the curve metadata.
+   * @return the value of the property, not null
+   */
+  public Duration getPostProcessingTime() {
+    return postProcessingTime;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the norm of the calibration measures, at the start and after each iteration of the root finder.
+   * <p>
+   * The calibration measures are zero at the root, thus the norms show the rate of convergence.
+   * When the curves are bootstrapped, this only contains the norm at the root.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getResidualNorms() {
+    return residualNorms;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the condition number of the derivative of the calibration measures with respect to the curve parameters,
+   * at the root.
+   * <p>
+   * A large condition number indicates that the curve parameters are poorly determined by the trades,
+   * for example when two nodes are very close together.
+   * @return the value of the property
+   */
+  public double getConditionNumber() {
+    return conditionNumber;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Returns a builder that allows this bean to be mutated.
+   * @return the mutable builder, not null
+   */
+  public Builder toBuilder() {
+    return new Builder(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      CalibrationStatistics other = (CalibrationStatistics) obj;
+      return JodaBeanUtils.equal(curveNames, other.curveNames) &&
+          (parameterCount == other.parameterCount) &&
+          (bootstrapped == other.bootstrapped) &&
+          (iterationCount == other.iterationCount) &&
+          (valueEvaluationCount == other.valueEvaluationCount) &&
+          (jacobianEvaluationCount == other.jacobianEvaluationCount) &&
+          (jacobianResetCount == other.jacobianResetCount) &&
+          (priorJacobianUsed == other.priorJacobianUsed) &&
+          JodaBeanUtils.equal(rootFindingTime, other.rootFindingTime) &&
+          JodaBeanUtils.equal(valueEvaluationTime, other.valueEvaluationTime) &&
+          JodaBeanUtils.equal(jacobianEvaluationTime, other.jacobianEvaluationTime) &&
+          JodaBeanUtils.equal(decompositionTime, other.decompositionTime) &&
+          JodaBeanUtils.equal(postProcessingTime, other.postProcessingTime) &&
+          JodaBeanUtils.equal(residualNorms, other.residualNorms) &&
+          JodaBeanUtils.equal(conditionNumber, other.conditionNumber);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(curveNames);
+    hash = hash * 31 + JodaBeanUtils.hashCode(parameterCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(bootstrapped);
+    hash = hash * 31 + JodaBeanUtils.hashCode(iterationCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(valueEvaluationCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(jacobianEvaluationCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(jacobianResetCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(priorJacobianUsed);
+    hash = hash * 31 + JodaBeanUtils.hashCode(rootFindingTime);
+    hash = hash * 31 + JodaBeanUtils.hashCode(valueEvaluationTime);
+    hash = hash * 31 + JodaBeanUtils.hashCode(jacobianEvaluationTime);
+    hash = hash * 31 + JodaBeanUtils.hashCode(decompositionTime);
+    hash = hash * 31 + JodaBeanUtils.hashCode(postProcessingTime);
+    hash = hash * 31 + JodaBeanUtils.hashCode(residualNorms);
+    hash = hash * 31 + JodaBeanUtils.hashCode(conditionNumber);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(512);
+    buf.append("CalibrationStatistics{");
+    buf.append("curveNames").append('=').append(curveNames).append(',').append(' ');
+    buf.append("parameterCount").append('=').append(parameterCount).append(',').append(' ');
+    buf.append("bootstrapped").append('=').append(bootstrapped).append(',').append(' ');
+    buf.append("iterationCount").append('=').append(iterationCount).append(',').append(' ');
+    buf.append("valueEvaluationCount").append('=').append(valueEvaluationCount).append(',').append(' ');
+    buf.append("jacobianEvaluationCount").append('=').append(jacobianEvaluationCount).append(',').append(' ');
+    buf.append("jacobianResetCount").append('=').append(jacobianResetCount).append(',').append(' ');
+    buf.append("priorJacobianUsed").append('=').append(priorJacobianUsed).append(',').append(' ');
+    buf.append("rootFindingTime").append('=').append(rootFindingTime).append(',').append(' ');
+    buf.append("valueEvaluationTime").append('=').append(valueEvaluationTime).append(',').append(' ');
+    buf.append("jacobianEvaluationTime").append('=').append(jacobianEvaluationTime).append(',').append(' ');
+    buf.append("decompositionTime").append('=').append(decompositionTime).append(',').append(' ');
+    buf.append("postProcessingTime").append('=').append(postProcessingTime).append(',').append(' ');
+    buf.append("residualNorms").append('=').append(residualNorms).append(',').append(' ');
+    buf.append("conditionNumber").append('=').append(JodaBeanUtils.toString(conditionNumber));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code CalibrationStatistics}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code curveNames} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<CurveName>> curveNames = DirectMetaProperty.ofImmutable(
+        this, "curveNames", CalibrationStatistics.class, (Class) ImmutableList.class);
+    /**
+     * The meta-property for the {@code parameterCount} property.
+     */
+    private final MetaProperty<Integer> parameterCount = DirectMetaProperty.ofImmutable(
+        this, "parameterCount", CalibrationStatistics.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code bootstrapped} property.
+     */
+    private final MetaProperty<Boolean> bootstrapped = DirectMetaProperty.ofImmutable(
+        this, "bootstrapped", CalibrationStatistics.class, Boolean.TYPE);
+    /**
+     * The meta-property for the {@code iterationCount} property.
+     */
+    private final MetaProperty<Integer> iterationCount = DirectMetaProperty.ofImmutable(
+        this, "iterationCount", CalibrationStatistics.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code valueEvaluationCount} property.
+     */
+    private final MetaProperty<Integer> valueEvaluationCount = DirectMetaProperty.ofImmutable(
+        this, "valueEvaluationCount", CalibrationStatistics.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code jacobianEvaluationCount} property.
+     */
+    private final MetaProperty<Integer> jacobianEvaluationCount = DirectMetaProperty.ofImmutable(
+        this, "jacobianEvaluationCount", CalibrationStatistics.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code jacobianResetCount} property.
+     */
+    private final MetaProperty<Integer> jacobianResetCount = DirectMetaProperty.ofImmutable(
+        this, "jacobianResetCount", CalibrationStatistics.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code priorJacobianUsed} property.
+     */
+    private final MetaProperty<Boolean> priorJacobianUsed = DirectMetaProperty.ofImmutable(
+        this, "priorJacobianUsed", CalibrationStatistics.class, Boolean.TYPE);
+    /**
+     * The meta-property for the {@code rootFindingTime} property.
+     */
+    private final MetaProperty<Duration> rootFindingTime = DirectMetaProperty.ofImmutable(
+        this, "rootFindingTime", CalibrationStatistics.class, Duration.class);
+    /**
+     * The meta-property for the {@code valueEvaluationTime} property.
+     */
+    private final MetaProperty<Duration> valueEvaluationTime = DirectMetaProperty.ofImmutable(
+        this, "valueEvaluationTime", CalibrationStatistics.class, Duration.class);
+    /**
+     * The meta-property for the {@code jacobianEvaluationTime} property.
+     */
+    private final MetaProperty<Duration> jacobianEvaluationTime = DirectMetaProperty.ofImmutable(
+        this, "jacobianEvaluationTime", CalibrationStatistics.class, Duration.class);
+    /**
+     * The meta-property for the {@code decompositionTime} property.
+     */
+    private final MetaProperty<Duration> decompositionTime = DirectMetaProperty.ofImmutable(
+        this, "decompositionTime", CalibrationStatistics.class, Duration.class);
+    /**
+     * The meta-property for the {@code postProcessingTime} property.
+     */
+    private final MetaProperty<Duration> postProcessingTime = DirectMetaProperty.ofImmutable(
+        this, "postProcessingTime", CalibrationStatistics.class, Duration.class);
+    /**
+     * The meta-property for the {@code residualNorms} property.
+     */
+    private final MetaProperty<DoubleArray> residualNorms = DirectMetaProperty.ofImmutable(
+        this, "residualNorms", CalibrationStatistics.class, DoubleArray.class);
+    /**
+     * The meta-property for the {@code conditionNumber} property.
+     */
+    private final MetaProperty<Double> conditionNumber = DirectMetaProperty.ofImmutable(
+        this, "conditionNumber", CalibrationStatistics.class, Double.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "curveNames",
+        "parameterCount",
+        "bootstrapped",
+        "iterationCount",
+        "valueEvaluationCount",
+        "jacobianEvaluationCount",
+        "jacobianResetCount",
+        "priorJacobianUsed",
+        "rootFindingTime",
+        "valueEvaluationTime",
+        "jacobianEvaluationTime",
+        "decompositionTime",
+        "postProcessingTime",
+        "residualNorms",
+        "conditionNumber");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1864031335:  // curveNames
+          return curveNames;
+        case 1107332838:  // parameterCount
+          return parameterCount;
+        case 110306273:  // bootstrapped
+          return bootstrapped;
+        case 400766002:  // iterationCount
+          return iterationCount;
+        case -2063829630:  // valueEvaluationCount
+          return valueEvaluationCount;
+        case -524557028:  // jacobianEvaluationCount
+          return jacobianEvaluationCount;
+        case 1726155127:  // jacobianResetCount
+          return jacobianResetCount;
+        case 1178223966:  // priorJacobianUsed
+          return priorJacobianUsed;
+        case -2144691276:  // rootFindingTime
+          return rootFindingTime;
+        case -1035906054:  // valueEvaluationTime
+          return valueEvaluationTime;
+        case -1956083424:  // jacobianEvaluationTime
+          return jacobianEvaluationTime;
+        case -1078121226:  // decompositionTime
+          return decompositionTime;
+        case -714997440:  // postProcessingTime
+          return postProcessingTime;
+        case -2131303566:  // residualNorms
+          return residualNorms;
+        case 287945796:  // conditionNumber
+          return conditionNumber;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public CalibrationStatistics.Builder builder() {
+      return new CalibrationStatistics.Builder();
+    }
+
+    @Override
+    public Class<? extends CalibrationStatistics> beanType() {
+      return CalibrationStatistics.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code curveNames} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<CurveName>> curveNames() {
+      return curveNames;
+    }
+
+    /**
+     * The meta-property for the {@code parameterCount} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> parameterCount() {
+      return parameterCount;
+    }
+
+    /**
+     * The meta-property for the {@code bootstrapped} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> bootstrapped() {
+      return bootstrapped;
+    }
+
+    /**
+     * The meta-property for the {@code iterationCount} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> iterationCount() {
+      return iterationCount;
+    }
+
+    /**
+     * The meta-property for the {@code valueEvaluationCount} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> valueEvaluationCount() {
+      return valueEvaluationCount;
+    }
+
+    /**
+     * The meta-property for the {@code jacobianEvaluationCount} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> jacobianEvaluationCount() {
+      return jacobianEvaluationCount;
+    }
+
+    /**
+     * The meta-property for the {@code jacobianResetCount} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> jacobianResetCount() {
+      return jacobianResetCount;
+    }
+
+    /**
+     * The meta-property for the {@code priorJacobianUsed} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> priorJacobianUsed() {
+      return priorJacobianUsed;
+    }
+
+    /**
+     * The meta-property for the {@code rootFindingTime} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Duration> rootFindingTime() {
+      return rootFindingTime;
+    }
+
+    /**
+     * The meta-property for the {@code valueEvaluationTime} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Duration> valueEvaluationTime() {
+      return valueEvaluationTime;
+    }
+
+    /**
+     * The meta-property for the {@code jacobianEvaluationTime} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Duration> jacobianEvaluationTime() {
+      return jacobianEvaluationTime;
+    }
+
+    /**
+     * The meta-property for the {@code decompositionTime} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Duration> decompositionTime() {
+      return decompositionTime;
+    }
+
+    /**
+     * The meta-property for the {@code postProcessingTime} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Duration> postProcessingTime() {
+      return postProcessingTime;
+    }
+
+    /**
+     * The meta-property for the {@code residualNorms} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleArray> residualNorms() {
+      return residualNorms;
+    }
+
+    /**
+     * The meta-property for the {@code conditionNumber} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> conditionNumber() {
+      return conditionNumber;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1864031335:  // curveNames
+          return ((CalibrationStatistics) bean).getCurveNames();
+        case 1107332838:  // parameterCount
+          return ((CalibrationStatistics) bean).getParameterCount();
+        case 110306273:  // bootstrapped
+          return ((CalibrationStatistics) bean).isBootstrapped();
+        case 400766002:  // iterationCount
+          return ((CalibrationStatistics) bean).getIterationCount();
+        case -2063829630:  // valueEvaluationCount
+          return ((CalibrationStatistics) bean).getValueEvaluationCount();
+        case -524557028:  // jacobianEvaluationCount
+          return ((CalibrationStatistics) bean).getJacobianEvaluationCount();
+        case 1726155127:  // jacobianResetCount
+          return ((CalibrationStatistics) bean).getJacobianResetCount();
+        case 1178223966:  // priorJacobianUsed
+          return ((CalibrationStatistics) bean).isPriorJacobianUsed();
+        case -2144691276:  // rootFindingTime
+          return ((CalibrationStatistics) bean).getRootFindingTime();
+        case -1035906054:  // valueEvaluationTime
+          return ((CalibrationStatistics) bean).getValueEvaluationTime();
+        case -1956083424:  // jacobianEvaluationTime
+          return ((CalibrationStatistics) bean).getJacobianEvaluationTime();
+        case -1078121226:  // decompositionTime
+          return ((CalibrationStatistics) bean).getDecompositionTime();
+        case -714997440:  // postProcessingTime
+          return ((CalibrationStatistics) bean).getPostProcessingTime();
+        case -2131303566:  // residualNorms
+          return ((CalibrationStatistics) bean).getResidualNorms();
+        case 287945796:  // conditionNumber
+          return ((CalibrationStatistics) bean).getConditionNumber();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code CalibrationStatistics}.
+   */
+  public static final class Builder extends DirectFieldsBeanBuilder<CalibrationStatistics> {
+
+    private List<CurveName> curveNames = ImmutableList.of();
+    private int parameterCount;
+    private boolean bootstrapped;
+    private int iterationCount;
+    private int valueEvaluationCount;
+    private int jacobianEvaluationCount;
+    private int jacobianResetCount;
+    private boolean priorJacobianUsed;
+    private Duration rootFindingTime;
+    private Duration valueEvaluationTime;
+    private Duration jacobianEvaluationTime;
+    private Duration decompositionTime;
+    private Duration postProcessingTime;
+    private DoubleArray residualNorms;
+    private double conditionNumber;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    /**
+     * Restricted copy constructor.
+     * @param beanToCopy  the bean to copy from, not null
+     */
+    private Builder(CalibrationStatistics beanToCopy) {
+      this.curveNames = beanToCopy.getCurveNames();
+      this.parameterCount = beanToCopy.getParameterCount();
+      this.bootstrapped = beanToCopy.isBootstrapped();
+      this.iterationCount = beanToCopy.getIterationCount();
+      this.valueEvaluationCount = beanToCopy.getValueEvaluationCount();
+      this.jacobianEvaluationCount = beanToCopy.getJacobianEvaluationCount();
+      this.jacobianResetCount = beanToCopy.getJacobianResetCount();
+      this.priorJacobianUsed = beanToCopy.isPriorJacobianUsed();
+      this.rootFindingTime = beanToCopy.getRootFindingTime();
+      this.valueEvaluationTime = beanToCopy.getValueEvaluationTime();
+      this.jacobianEvaluationTime = beanToCopy.getJacobianEvaluationTime();
+      this.decompositionTime = beanToCopy.getDecompositionTime();
+      this.postProcessingTime = beanToCopy.getPostProcessingTime();
+      this.residualNorms = beanToCopy.getResidualNorms();
+      this.conditionNumber = beanToCopy.getConditionNumber();
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1864031335:  // curveNames
+          return curveNames;
+        case 1107332838:  // parameterCount
+          return parameterCount;
+        case 110306273:  // bootstrapped
+          return bootstrapped;
+        case 400766002:  // iterationCount
+          return iterationCount;
+        case -2063829630:  // valueEvaluationCount
+          return valueEvaluationCount;
+        case -524557028:  // jacobianEvaluationCount
+          return jacobianEvaluationCount;
+        case 1726155127:  // jacobianResetCount
+          return jacobianResetCount;
+        case 1178223966:  // priorJacobianUsed
+          return priorJacobianUsed;
+        case -2144691276:  // rootFindingTime
+          return rootFindingTime;
+        case -1035906054:  // valueEvaluationTime
+          return valueEvaluationTime;
+        case -1956083424:  // jacobianEvaluationTime
+          return jacobianEvaluationTime;
+        case -1078121226:  // decompositionTime
+          return decompositionTime;
+        case -714997440:  // postProcessingTime
+          return postProcessingTime;
+        case -2131303566:  // residualNorms
+          return residualNorms;
+        case 287945796:  // conditionNumber
+          return conditionNumber;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1864031335:  // curveNames
+          this.curveNames = (List<CurveName>) newValue;
+          break;
+        case 1107332838:  // parameterCount
+          this.parameterCount = (Integer) newValue;
+          break;
+        case 110306273:  // bootstrapped
+          this.bootstrapped = (Boolean) newValue;
+          break;
+        case 400766002:  // iterationCount
+          this.iterationCount = (Integer) newValue;
+          break;
+        case -2063829630:  // valueEvaluationCount
+          this.valueEvaluationCount = (Integer) newValue;
+          break;
+        case -524557028:  // jacobianEvaluationCount
+          this.jacobianEvaluationCount = (Integer) newValue;
+          break;
+        case 1726155127:  // jacobianResetCount
+          this.jacobianResetCount = (Integer) newValue;
+          break;
+        case 1178223966:  // priorJacobianUsed
+          this.priorJacobianUsed = (Boolean) newValue;
+          break;
+        case -2144691276:  // rootFindingTime
+          this.rootFindingTime = (Duration) newValue;
+          break;
+        case -1035906054:  // valueEvaluationTime
+          this.valueEvaluationTime = (Duration) newValue;
+          break;
+        case -1956083424:  // jacobianEvaluationTime
+          this.jacobianEvaluationTime = (Duration) newValue;
+          break;
+        case -1078121226:  // decompositionTime
+          this.decompositionTime = (Duration) newValue;
+          break;
+        case -714997440:  // postProcessingTime
+          this.postProcessingTime = (Duration) newValue;
+          break;
+        case -2131303566:  // residualNorms
+          this.residualNorms = (DoubleArray) newValue;
+          break;
+        case 287945796:  // conditionNumber
+          this.conditionNumber = (Double) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public CalibrationStatistics build() {
+      return new CalibrationStatistics(
+          curveNames,
+          parameterCount,
+          bootstrapped,
+          iterationCount,
+          valueEvaluationCount,
+          jacobianEvaluationCount,
+          jacobianResetCount,
+          priorJacobianUsed,
+          rootFindingTime,
+          valueEvaluationTime,
+          jacobianEvaluationTime,
+          decompositionTime,
+          postProcessingTime,
+          residualNorms,
+          conditionNumber);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Sets the names of the curves calibrated together.
+     * @param curveNames  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder curveNames(List<CurveName> curveNames) {
+      JodaBeanUtils.notNull(curveNames, "curveNames");
+      this.curveNames = curveNames;
+      return this;
+    }
+
+    /**
+     * Sets the {@code curveNames} property in the builder
+     * from an array of objects.
+     * @param curveNames  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder curveNames(CurveName... curveNames) {
+      return curveNames(ImmutableList.copyOf(curveNames));
+    }
+
+    /**
+     * Sets the total number of parameters of the curves.
+     * @param parameterCount  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder parameterCount(int parameterCount) {
+      ArgChecker.notNegative(parameterCount, "parameterCount");
+      this.parameterCount = parameterCount;
+      return this;
+    }
+
+    /**
+     * Sets whether the curves were bootstrapped node by node.
+     * <p>
+     * When bootstrapped, there are no iterations of the root finder, the value evaluations are of a single trade,
+     * and the Jacobian is only evaluated once, to determine that the curves can be bootstrapped.
+     * See {@link RatesCurveCalibrator#withBootstrap(boolean)}.
+     * @param bootstrapped  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder bootstrapped(boolean bootstrapped) {
+      this.bootstrapped = bootstrapped;
+      return this;
+    }
+
+    /**
+     * Sets the number of iterations of the root finder.
+     * @param iterationCount  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder iterationCount(int iterationCount) {
+      ArgChecker.notNegative(iterationCount, "iterationCount");
+      this.iterationCount = iterationCount;
+      return this;
+    }
+
+    /**
+     * Sets the number of evaluations of the calibration measures for all the trades.
+     * @param valueEvaluationCount  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder valueEvaluationCount(int valueEvaluationCount) {
+      ArgChecker.notNegative(valueEvaluationCount, "valueEvaluationCount");
+      this.valueEvaluationCount = valueEvaluationCount;
+      return this;
+    }
+
+    /**
+     * Sets the number of evaluations of the Jacobian.
+     * @param jacobianEvaluationCount  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder jacobianEvaluationCount(int jacobianEvaluationCount) {
+      ArgChecker.notNegative(jacobianEvaluationCount, "jacobianEvaluationCount");
+      this.jacobianEvaluationCount = jacobianEvaluationCount;
+      return this;
+    }
+
+    /**
+     * Sets the number of times the estimate of the Jacobian was reset from the full Jacobian after the start.
+     * <p>
+     * This happens periodically, and when the estimate no longer leads to an improvement.
+     * @param jacobianResetCount  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder jacobianResetCount(int jacobianResetCount) {
+      ArgChecker.notNegative(jacobianResetCount, "jacobianResetCount");
+      this.jacobianResetCount = jacobianResetCount;
+      return this;
+    }
+
+    /**
+     * Sets whether the Jacobian at the start position was obtained from previously calibrated curves.
+     * @param priorJacobianUsed  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder priorJacobianUsed(boolean priorJacobianUsed) {
+      this.priorJacobianUsed = priorJacobianUsed;
+      return this;
+    }
+
+    /**
+     * Sets the time taken to find the root, excluding the computation of the Jacobian matrices
+     * and sensitivities stored in the curve metadata.
+     * @param rootFindingTime  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder rootFindingTime(Duration rootFindingTime) {
+      JodaBeanUtils.notNull(rootFindingTime, "rootFindingTime");
+      this.rootFindingTime = rootFindingTime;
+      return this;
+    }
+
+    /**
+     * Sets the time taken to evaluate the calibration measures of the trades while finding the root.
+     * @param valueEvaluationTime  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder valueEvaluationTime(Duration valueEvaluationTime) {
+      JodaBeanUtils.notNull(valueEvaluationTime, "valueEvaluationTime");
+      this.valueEvaluationTime = valueEvaluationTime;
+      return this;
+    }
+
+    /**
+     * Sets the time taken to evaluate the Jacobian while finding the root.
+     * @param jacobianEvaluationTime  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder jacobianEvaluationTime(Duration jacobianEvaluationTime) {
+      JodaBeanUtils.notNull(jacobianEvaluationTime, "jacobianEvaluationTime");
+      this.jacobianEvaluationTime = jacobianEvaluationTime;
+      return this;
+    }
+
+    /**
+     * Sets the time taken to decompose the Jacobian estimate to find each step of the root finder.
+     * <p>
+     * This is measured directly, and is zero when the curves are bootstrapped.
+     * The remainder of the root finding time, such as updating the Jacobian estimate, is not separately reported.
+     * @param decompositionTime  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder decompositionTime(Duration decompositionTime) {
+      JodaBeanUtils.notNull(decompositionTime, "decompositionTime");
+      this.decompositionTime = decompositionTime;
+      return this;
+    }
+
+    /**
+     * Sets the time taken to compute the Jacobian matrices and sensitivities stored in the curve metadata.
+     * @param postProcessingTime  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder postProcessingTime(Duration postProcessingTime) {
+      JodaBeanUtils.notNull(postProcessingTime, "postProcessingTime");
+      this.postProcessingTime = postProcessingTime;
+      return this;
+    }
+
+    /**
+     * Sets the norm of the calibration measures, at the start and after each iteration of the root finder.
+     * <p>
+     * The calibration measures are zero at the root, thus the norms show the rate of convergence.
+     * When the curves are bootstrapped, this only contains the norm at the root.
+     * @param residualNorms  the new value, not null
+     * @return this, for chaining, not null
+     */
+    public Builder residualNorms(DoubleArray residualNorms) {
+      JodaBeanUtils.notNull(residualNorms, "residualNorms");
+      this.residualNorms = residualNorms;
+      return this;
+    }
+
+    /**
+     * Sets the condition number of the derivative of the calibration measures with respect to the curve parameters,
+     * at the root.
+     * <p>
+     * A large condition number indicates that the curve parameters are poorly determined by the trades,
+     * for example when two nodes are very close together.
+     * @param conditionNumber  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder conditionNumber(double conditionNumber) {
+      this.conditionNumber = conditionNumber;
+      return this;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(512);
+      buf.append("CalibrationStatistics.Builder{");
+      buf.append("curveNames").append('=').append(JodaBeanUtils.toString(curveNames)).append(',').append(' ');
+      buf.append("parameterCount").append('=').append(JodaBeanUtils.toString(parameterCount)).append(',').append(' ');
+      buf.append("bootstrapped").append('=').append(JodaBeanUtils.toString(bootstrapped)).append(',').append(' ');
+      buf.append("iterationCount").append('=').append(JodaBeanUtils.toString(iterationCount)).append(',').append(' ');
+      buf.append("valueEvaluationCount").append('=').append(JodaBeanUtils.toString(valueEvaluationCount)).append(',').append(' ');
+      buf.append("jacobianEvaluationCount").append('=').append(JodaBeanUtils.toString(jacobianEvaluationCount)).append(',').append(' ');
+      buf.append("jacobianResetCount").append('=').append(JodaBeanUtils.toString(jacobianResetCount)).append(',').append(' ');
+      buf.append("priorJacobianUsed").append('=').append(JodaBeanUtils.toString(priorJacobianUsed)).append(',').append(' ');
+      buf.append("rootFindingTime").append('=').append(JodaBeanUtils.toString(rootFindingTime)).append(',').append(' ');
+      buf.append("valueEvaluationTime").append('=').append(JodaBeanUtils.toString(valueEvaluationTime)).append(',').append(' ');
+      buf.append("jacobianEvaluationTime").append('=').append(JodaBeanUtils.toString(jacobianEvaluationTime)).append(',').append(' ');
+      buf.append("decompositionTime").append('=').append(JodaBeanUtils.toString(decompositionTime)).append(',').append(' ');
+      buf.append("postProcessingTime").append('=').append(JodaBeanUtils.toString(postProcessingTime)).append(',').append(' ');
+      buf.append("residualNorms").append('=').append(JodaBeanUtils.toString(residualNorms)).append(',').append(' ');
+      buf.append("conditionNumber").append('=').append(JodaBeanUtils.toString(conditionNumber));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
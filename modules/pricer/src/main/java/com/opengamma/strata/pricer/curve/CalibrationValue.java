@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -18,6 +19,8 @@ import com.opengamma.strata.product.ResolvedTrade;
  * This provides the value from the specified {@link CalibrationMeasures} instance
  * in matrix form suitable for use in curve calibration root finding.
  * The value will typically be par spread or converted present value.
+ * <p>
+ * The values may be computed in parallel, as each value only depends on its own trade.
  */
 class CalibrationValue
     implements Function<DoubleArray, DoubleArray> {
@@ -34,6 +37,10 @@ class CalibrationValue
    * The provider generator, used to create child providers.
    */
   private final RatesProviderGenerator providerGenerator;
+  /**
+   * Whether the values are computed in parallel.
+   */
+  private final boolean parallel;
 
   /**
    * Creates an instance.
@@ -41,15 +48,18 @@ class CalibrationValue
    * @param trades  the trades
    * @param measures  the calibration measures
    * @param providerGenerator  the provider generator, used to create child providers
+   * @param parallel  whether the values are computed in parallel
    */
   CalibrationValue(
       List<ResolvedTrade> trades,
       CalibrationMeasures measures,
-      RatesProviderGenerator providerGenerator) {
+      RatesProviderGenerator providerGenerator,
+      boolean parallel) {
 
     this.trades = trades;
     this.measures = measures;
     this.providerGenerator = providerGenerator;
+    this.parallel = parallel;
   }
 
   //-------------------------------------------------------------------------
@@ -58,7 +68,12 @@ class CalibrationValue
     // create child provider from matrix
     ImmutableRatesProvider childProvider = providerGenerator.generate(x);
     // calculate value for each trade using the child provider
-    return DoubleArray.of(trades.size(), i -> measures.value(trades.get(i), childProvider));
+    if (!parallel) {
+      return DoubleArray.of(trades.size(), i -> measures.value(trades.get(i), childProvider));
+    }
+    double[] values = new double[trades.size()];
+    IntStream.range(0, values.length).parallel().forEach(i -> values[i] = measures.value(trades.get(i), childProvider));
+    return DoubleArray.ofUnsafe(values);
   }
 
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.index.FxIndex;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.fx.FxForwardRates;
+import com.opengamma.strata.pricer.fx.FxIndexRates;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+import com.opengamma.strata.pricer.rate.PriceIndexValues;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * A rates provider that records the curves referred to by the pricers.
+ * <p>
+ * This delegates to an underlying provider, recording each discount currency and index that is queried,
+ * together with any curve that is queried by name. It is used by the calibrator to find the curves
+ * that the trades of a group refer to, and hence the groups that a group depends on.
+ * <p>
+ * Each access to FX rates records both currencies, as the forward rates are derived from the discount curves.
+ * If the pricers obtain the underlying provider, then the references cannot be known,
+ * and the provider is treated as referring to all curves.
+ * <p>
+ * This class is mutable and not thread-safe, and is only used within a single calibration.
+ */
+final class CurveReferenceRecorder
+    implements RatesProvider {
+
+  /**
+   * The underlying provider.
+   */
+  private final ImmutableRatesProvider underlying;
+  /**
+   * The discount currencies that have been referred to.
+   */
+  private final Set<Currency> currencies = new HashSet<>();
+  /**
+   * The indices that have been referred to.
+   */
+  private final Set<Index> indices = new HashSet<>();
+  /**
+   * The curves that have been referred to by name.
+   */
+  private final Set<CurveName> curveNames = new HashSet<>();
+  /**
+   * Whether the underlying provider has been obtained, and hence any curve may have been referred to.
+   */
+  private boolean allCurves;
+
+  /**
+   * Creates an instance.
+   *
+   * @param underlying  the underlying provider
+   */
+  CurveReferenceRecorder(ImmutableRatesProvider underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the discount currencies that have been referred to.
+   *
+   * @return the currencies
+   */
+  Set<Currency> getCurrencies() {
+    return currencies;
+  }
+
+  /**
+   * Gets the indices that have been referred to.
+   *
+   * @return the indices
+   */
+  Set<Index> getIndices() {
+    return indices;
+  }
+
+  /**
+   * Gets the curves that have been referred to by name.
+   *
+   * @return the curve names
+   */
+  Set<CurveName> getCurveNames() {
+    return curveNames;
+  }
+
+  /**
+   * Checks whether any curve may have been referred to.
+   *
+   * @return true if the references are not known
+   */
+  boolean isAllCurves() {
+    return allCurves;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public Set<Currency> getDiscountCurrencies() {
+    return underlying.getDiscountCurrencies();
+  }
+
+  @Override
+  public Set<IborIndex> getIborIndices() {
+    return underlying.getIborIndices();
+  }
+
+  @Override
+  public Set<OvernightIndex> getOvernightIndices() {
+    return underlying.getOvernightIndices();
+  }
+
+  @Override
+  public Set<PriceIndex> getPriceIndices() {
+    return underlying.getPriceIndices();
+  }
+
+  @Override
+  public Set<Index> getTimeSeriesIndices() {
+    return underlying.getTimeSeriesIndices();
+  }
+
+  @Override
+  public <T> T data(MarketDataId<T> id) {
+    return underlying.data(id);
+  }
+
+  @Override
+  public <T> Optional<T> findData(MarketDataName<T> name) {
+    if (name instanceof CurveName) {
+      curveNames.add((CurveName) name);
+    }
+    return underlying.findData(name);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries timeSeries(Index index) {
+    return underlying.timeSeries(index);
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency) {
+    return underlying.fxRate(baseCurrency, counterCurrency);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DiscountFactors discountFactors(Currency currency) {
+    currencies.add(currency);
+    return underlying.discountFactors(currency);
+  }
+
+  @Override
+  public FxIndexRates fxIndexRates(FxIndex index) {
+    currencies.add(index.getCurrencyPair().getBase());
+    currencies.add(index.getCurrencyPair().getCounter());
+    return underlying.fxIndexRates(index);
+  }
+
+  @Override
+  public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    currencies.add(currencyPair.getBase());
+    currencies.add(currencyPair.getCounter());
+    return underlying.fxForwardRates(currencyPair);
+  }
+
+  @Override
+  public IborIndexRates iborIndexRates(IborIndex index) {
+    indices.add(index);
+    return underlying.iborIndexRates(index);
+  }
+
+  @Override
+  public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    indices.add(index);
+    return underlying.overnightIndexRates(index);
+  }
+
+  @Override
+  public PriceIndexValues priceIndexValues(PriceIndex index) {
+    indices.add(index);
+    return underlying.priceIndexValues(index);
+  }
+
+  @Override
+  public ImmutableRatesProvider toImmutableRatesProvider() {
+    allCurves = true;
+    return underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CurveReferenceRecorder[" + underlying + "]";
+  }
+
+}
@@ -8,32 +8,55 @@ package com.opengamma.strata.pricer.curve;
 import static com.opengamma.strata.collect.Guavate.filtering;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.curve.RatesCurveGroupEntry;
 import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
+import com.opengamma.strata.math.rootfind.NewtonVectorRootFinderListener;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.product.ResolvedTrade;
 
@@ -55,11 +78,19 @@ import com.opengamma.strata.product.ResolvedTrade;
  */
 public final class RatesCurveCalibrator {
 
+  /**
+   * The default absolute tolerance for the root finder.
+   */
+  private static final double DEFAULT_TOLERANCE_ABS = 1e-9;
+  /**
+   * The default maximum number of steps for the root finder.
+   */
+  private static final int DEFAULT_STEP_MAXIMUM = 1000;
   /**
    * The standard curve calibrator.
    */
-  private static final RatesCurveCalibrator STANDARD =
-      RatesCurveCalibrator.of(1e-9, 1e-9, 1000, CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE);
+  private static final RatesCurveCalibrator STANDARD = RatesCurveCalibrator.of(
+      DEFAULT_TOLERANCE_ABS, 1e-9, DEFAULT_STEP_MAXIMUM, CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE);
   /**
    * The matrix algebra used for matrix inversion.
    */
@@ -69,6 +100,14 @@ public final class RatesCurveCalibrator {
    * The root finder used for curve calibration.
    */
   private final NewtonVectorRootFinder rootFinder;
+  /**
+   * The absolute tolerance of the root finder, used when bootstrapping.
+   */
+  private final double toleranceAbs;
+  /**
+   * The maximum number of steps of the root finder, used when bootstrapping.
+   */
+  private final int stepMaximum;
   /**
    * The calibration measures.
    * This is used to compute the function for which the root is found.
@@ -79,6 +118,26 @@ public final class RatesCurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * Whether the values and derivatives of the trades are computed in parallel.
+   */
+  private final boolean parallel;
+  /**
+   * Whether independent groups of curves are calibrated in parallel.
+   */
+  private final boolean parallelGroups;
+  /**
+   * The executor used to calibrate independent groups in parallel, null to use the common fork-join pool.
+   */
+  private final Executor executor;
+  /**
+   * Whether the curves are bootstrapped node by node when possible.
+   */
+  private final boolean bootstrap;
+  /**
+   * The listener that receives the statistics of the calibration of each group, null if not required.
+   */
+  private final Consumer<CalibrationStatistics> statisticsListener;
 
   //-------------------------------------------------------------------------
   /**
@@ -154,11 +213,15 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures pvMeasures) {
 
     NewtonVectorRootFinder rootFinder = NewtonVectorRootFinder.broyden(toleranceAbs, toleranceRel, stepMaximum);
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(
+        rootFinder, toleranceAbs, stepMaximum, measures, pvMeasures, false, false, null, false, null);
   }
 
   /**
    * Obtains an instance specifying the measures to use.
+   * <p>
+   * When bootstrapping, see {@link #withBootstrap(boolean)}, each node is found using the standard
+   * absolute tolerance of 1e-9 and maximum of 1000 steps, as those of the root finder are not available.
    *
    * @param rootFinder  the root finder to use
    * @param measures  the calibration measures, used to compute the function for which the root is found
@@ -171,19 +234,171 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
-    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures);
+    return new RatesCurveCalibrator(
+        rootFinder, DEFAULT_TOLERANCE_ABS, DEFAULT_STEP_MAXIMUM, measures, pvMeasures, false, false, null, false, null);
   }
 
   //-------------------------------------------------------------------------
   // restricted constructor
   private RatesCurveCalibrator(
       NewtonVectorRootFinder rootFinder,
+      double toleranceAbs,
+      int stepMaximum,
       CalibrationMeasures measures,
-      CalibrationMeasures pvMeasures) {
+      CalibrationMeasures pvMeasures,
+      boolean parallel,
+      boolean parallelGroups,
+      Executor executor,
+      boolean bootstrap,
+      Consumer<CalibrationStatistics> statisticsListener) {
 
     this.rootFinder = ArgChecker.notNull(rootFinder, "rootFinder");
+    this.toleranceAbs = toleranceAbs;
+    this.stepMaximum = stepMaximum;
     this.measures = ArgChecker.notNull(measures, "measures");
     this.pvMeasures = ArgChecker.notNull(pvMeasures, "pvMeasures");
+    this.parallel = parallel;
+    this.parallelGroups = parallelGroups;
+    this.executor = executor;
+    this.bootstrap = bootstrap;
+    this.statisticsListener = statisticsListener;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this calibrator that computes the values and derivatives of the trades in parallel.
+   * <p>
+   * Each iteration of the root finder computes the calibration measure of every node trade,
+   * and the derivative of the measure with respect to the curve parameters for every trade.
+   * When parallel evaluation is enabled, these are computed concurrently over the trades using
+   * the common fork-join pool. The calibrated curves are identical to those calibrated serially.
+   * <p>
+   * Parallel evaluation is most effective for large curve groups with expensive node trades.
+   * The measures must be safe to invoke concurrently, as the standard measures are.
+   *
+   * @param parallel  whether the values and derivatives of the trades are computed in parallel
+   * @return the curve calibrator
+   */
+  public RatesCurveCalibrator withParallelEvaluation(boolean parallel) {
+    return new RatesCurveCalibrator(rootFinder, toleranceAbs, stepMaximum,
+        measures, pvMeasures, parallel, parallelGroups, executor, bootstrap, statisticsListener);
+  }
+
+  /**
+   * Checks whether the values and derivatives of the trades are computed in parallel.
+   *
+   * @return true if computed in parallel
+   */
+  public boolean isParallelEvaluation() {
+    return parallel;
+  }
+
+  /**
+   * Returns a copy of this calibrator that calibrates independent groups of curves in parallel.
+   * <p>
+   * A curve group definition is split into a list of groups, which are calibrated in order.
+   * By default, each group is calibrated using all the curves of the earlier groups.
+   * However, a group often only depends on some of the earlier groups, for example the curves
+   * of different currencies are typically independent until a cross-currency group combines them.
+   * When parallel groups are enabled, the dependencies of each group are determined from the curves
+   * that its trades refer to, matched to the discount currencies, indices and curve names of the entries
+   * of the earlier groups. Each group is then calibrated, in a task submitted to the executor,
+   * as soon as the groups it depends on have been calibrated. The executor is the common fork-join pool
+   * unless specified using {@link #withExecutor(Executor)}.
+   * <p>
+   * The Jacobian matrices stored in the curve metadata refer to the curves of all the earlier groups,
+   * as for a sequential calibration, with zero entries for the groups that a curve does not depend on.
+   * The calibrated curves are the same as those calibrated sequentially, to within the tolerance of the root finder.
+   * The statistics listener, if any, may be invoked concurrently.
+   *
+   * @param parallelGroups  whether independent groups of curves are calibrated in parallel
+   * @return the curve calibrator
+   */
+  public RatesCurveCalibrator withParallelGroups(boolean parallelGroups) {
+    return new RatesCurveCalibrator(rootFinder, toleranceAbs, stepMaximum,
+        measures, pvMeasures, parallel, parallelGroups, executor, bootstrap, statisticsListener);
+  }
+
+  /**
+   * Checks whether independent groups of curves are calibrated in parallel.
+   *
+   * @return true if calibrated in parallel
+   */
+  public boolean isParallelGroups() {
+    return parallelGroups;
+  }
+
+  /**
+   * Returns a copy of this calibrator that calibrates independent groups of curves using the specified executor.
+   * <p>
+   * The executor has no effect unless parallel groups are enabled, see {@link #withParallelGroups(boolean)}.
+   * The calling thread waits for the tasks to complete, thus the calibration must not be invoked
+   * from a task of a bounded executor that is also used here, otherwise it may deadlock.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to calibrate independent groups
+   * @return the curve calibrator
+   */
+  public RatesCurveCalibrator withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new RatesCurveCalibrator(rootFinder, toleranceAbs, stepMaximum,
+        measures, pvMeasures, parallel, parallelGroups, executor, bootstrap, statisticsListener);
+  }
+
+  /**
+   * Returns a copy of this calibrator that bootstraps the curves node by node when possible.
+   * <p>
+   * By default, the parameters of all the curves of a group are found together by the root finder.
+   * When the value of each node trade only depends on the parameters of its own node and the earlier nodes,
+   * the parameters can instead be found one node at a time using a one-dimensional root finder.
+   * This is typically the case for single-curve groups, and for simple OIS and IBOR groups, that use
+   * a local interpolator, such as linear, and where each trade does not depend on the curves beyond its node date.
+   * It is much less work than solving for all the parameters together.
+   * <p>
+   * When enabled, the structure of each group is determined from the derivative of the values of the trades
+   * with respect to the parameters at the initial guess. If the derivative is lower triangular the group is
+   * bootstrapped, otherwise the root finder is used as normal, starting from the computed derivative.
+   * Each node is found to the absolute tolerance, and within the maximum number of steps, of the root finder.
+   * The root finder is also used if the bootstrap fails to converge.
+   * The Jacobian matrices and sensitivities stored in the curve metadata are computed in the same way
+   * whichever method is used.
+   *
+   * @param bootstrap  whether to bootstrap the curves node by node when possible
+   * @return the curve calibrator
+   */
+  public RatesCurveCalibrator withBootstrap(boolean bootstrap) {
+    return new RatesCurveCalibrator(rootFinder, toleranceAbs, stepMaximum,
+        measures, pvMeasures, parallel, parallelGroups, executor, bootstrap, statisticsListener);
+  }
+
+  /**
+   * Checks whether the curves are bootstrapped node by node when possible.
+   *
+   * @return true if bootstrapped when possible
+   */
+  public boolean isBootstrap() {
+    return bootstrap;
+  }
+
+  /**
+   * Returns a copy of this calibrator that reports the statistics of the calibration to the specified listener.
+   * <p>
+   * The listener is invoked once for each group of curves that is calibrated together,
+   * on the thread performing the calibration, after the curves of the group have been built.
+   * The statistics include the number of iterations of the root finder, the number of
+   * evaluations of the calibration measures and their Jacobian, the residual norm at each iteration,
+   * the condition number of the Jacobian at the root and the time taken by each stage of the calibration.
+   * The condition number requires an additional evaluation of the Jacobian, which is not included in the statistics.
+   * These allow the cost of calibration to be monitored, for example to compare the standard
+   * Broyden root finder with the Newton root finder, or a warm-started calibration with a cold start.
+   *
+   * @param statisticsListener  the listener that receives the statistics of each group
+   * @return the curve calibrator
+   */
+  public RatesCurveCalibrator withStatisticsListener(Consumer<CalibrationStatistics> statisticsListener) {
+    ArgChecker.notNull(statisticsListener, "statisticsListener");
+    return new RatesCurveCalibrator(rootFinder, toleranceAbs, stepMaximum,
+        measures, pvMeasures, parallel, parallelGroups, executor, bootstrap, statisticsListener);
   }
 
   //-------------------------------------------------------------------------
@@ -216,14 +431,43 @@ public final class RatesCurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData(marketData), marketData, refData);
+  }
+
+  /**
+   * Calibrates a single curve group, containing one or more curves, starting from previously calibrated curves.
+   * <p>
+   * The calibration is defined using {@link RatesCurveGroupDefinition}.
+   * Observable market data, time-series and FX are also needed to complete the calibration.
+   * The valuation date is defined by the market data.
+   * <p>
+   * The calibration is warm-started from the prior data, see
+   * {@link #calibrate(List, ImmutableRatesProvider, MarketData, ReferenceData, ImmutableRatesProvider)}.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @param priorData  the previously calibrated curves, used as the starting point of the calibration
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      RatesCurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider priorData) {
+
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData(marketData), marketData, refData, priorData);
+  }
+
+  // creates the known data from the FX rates and time-series in the market data
+  private static ImmutableRatesProvider knownData(MarketData marketData) {
     Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
         .flatMap(filtering(IndexQuoteId.class))
         .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
         .fxRateProvider(MarketDataFxRateProvider.of(marketData))
         .timeSeries(timeSeries)
         .build();
-    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
   }
 
   /**
@@ -245,6 +489,40 @@ public final class RatesCurveCalibrator {
       ImmutableRatesProvider knownData,
       MarketData marketData,
       ReferenceData refData) {
+
+    return calibrate(allGroupDefns, knownData, marketData, refData, null);
+  }
+
+  /**
+   * Calibrates a list of curve groups, each containing one or more curves, starting from previously calibrated curves.
+   * <p>
+   * The calibration is defined using a list of {@link RatesCurveGroupDefinition}.
+   * Observable market data and existing known data are also needed to complete the calibration.
+   * <p>
+   * By default, the root finder starts from the initial guess of each curve node.
+   * When recalibrating after a small change to the market data, such as a scenario shock or an intraday
+   * update, the previously calibrated curves are a much better starting point, typically reducing
+   * the number of iterations to one or two. For each curve that is found in the prior data,
+   * with the same number of parameters, the parameters of the prior curve are used as the starting point.
+   * If the prior curves of a group also contain the Jacobian matrices of the calibration,
+   * these are used to obtain the Jacobian at the starting point, rather than computing it.
+   * This is only valid if the prior curves were calibrated using the same measures as this calibrator.
+   * <p>
+   * A curve must only exist in one group.
+   *
+   * @param allGroupDefns  the curve group definitions
+   * @param knownData  the starting data for the calibration
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param refData  the reference data, used to resolve the trades
+   * @param priorData  the previously calibrated curves, used as the starting point of the calibration
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider priorData) {
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -252,6 +530,9 @@ public final class RatesCurveCalibrator {
       throw new IllegalArgumentException(Messages.format(
           "Valuation dates do not match: {} and {}", knownData.getValuationDate(), marketData.getValuationDate()));
     }
+    if (parallelGroups) {
+      return calibrateParallel(allGroupDefns, knownData, marketData, refData, priorData);
+    }
     // perform calibration one group at a time, building up the result by mutating these variables
     ImmutableRatesProvider providerCombined = knownData;
     ImmutableList<CurveParameterSize> orderPrev = ImmutableList.of();
@@ -262,61 +543,472 @@ public final class RatesCurveCalibrator {
       }
       RatesCurveGroupDefinition groupDefnBound =
           groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
-      // combine all data in the group into flat lists
       ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
-      ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
-      ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
+      Pair<ImmutableRatesProvider, ImmutableMap<CurveName, JacobianCalibrationMatrix>> calibrated = calibrateGroup(
+          groupDefnBound, trades, providerCombined, orderPrev, jacobians, marketData, refData, priorData);
+      providerCombined = calibrated.getFirst();
+      jacobians = calibrated.getSecond();
+      orderPrev = ImmutableList.<CurveParameterSize>builder()
           .addAll(orderPrev)
-          .addAll(orderGroup)
+          .addAll(toOrder(groupDefnBound))
           .build();
+    }
+    // return the calibrated provider
+    return providerCombined;
+  }
 
-      // calibrate
-      RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
-      ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
+  // calibrates a single group, based on the curves and Jacobians of the previous groups it depends on
+  // returns the provider, including the curves of the previous groups, and the Jacobians of all the curves
+  private Pair<ImmutableRatesProvider, ImmutableMap<CurveName, JacobianCalibrationMatrix>> calibrateGroup(
+      RatesCurveGroupDefinition groupDefnBound,
+      ImmutableList<ResolvedTrade> trades,
+      ImmutableRatesProvider providerPrev,
+      ImmutableList<CurveParameterSize> orderPrev,
+      ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobiansPrev,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider priorData) {
 
-      // use calibration to build Jacobian matrices
-      if (groupDefnBound.isComputeJacobian()) {
-        jacobians = updateJacobiansForGroup(
-            calibratedProvider, trades, orderGroup, orderPrev, orderPrevAndGroup, jacobians);
-      }
-      ImmutableMap<CurveName, DoubleArray> sensitivityToMarketQuote = ImmutableMap.of();
-      if (groupDefnBound.isComputePvSensitivityToMarketQuote()) {
-        ImmutableRatesProvider providerWithJacobian = providerGenerator.generate(calibratedGroupParams, jacobians);
-        sensitivityToMarketQuote = sensitivityToMarketQuoteForGroup(providerWithJacobian, trades, orderGroup);
+    // combine all data in the group into flat lists
+    ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
+    ImmutableList<Double> initialGuesses = priorData != null ?
+        priorGuesses(priorData, orderGroup, groupDefnBound.initialGuesses(marketData)) :
+        groupDefnBound.initialGuesses(marketData);
+    DoubleMatrix startJacobian = priorData != null ? priorJacobian(priorData, orderGroup) : null;
+    ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
+        .addAll(orderPrev)
+        .addAll(orderGroup)
+        .build();
+
+    // calibrate
+    RatesProviderGenerator providerGenerator =
+        ImmutableRatesProviderGenerator.of(providerPrev, groupDefnBound, refData);
+    StatisticsRecorder recorder = new StatisticsRecorder();
+    DoubleArray calibratedGroupParams =
+        findGroupParameters(providerGenerator, trades, initialGuesses, startJacobian, orderGroup, recorder);
+    ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
+
+    // use calibration to build Jacobian matrices
+    long start = System.nanoTime();
+    ImmutableMap<CurveName, JacobianCalibrationMatrix> jacobians = jacobiansPrev;
+    if (groupDefnBound.isComputeJacobian()) {
+      jacobians = updateJacobiansForGroup(
+          calibratedProvider, trades, orderGroup, orderPrev, orderPrevAndGroup, jacobiansPrev);
+    }
+    ImmutableMap<CurveName, DoubleArray> sensitivityToMarketQuote = ImmutableMap.of();
+    if (groupDefnBound.isComputePvSensitivityToMarketQuote()) {
+      ImmutableRatesProvider providerWithJacobian = providerGenerator.generate(calibratedGroupParams, jacobians);
+      sensitivityToMarketQuote = sensitivityToMarketQuoteForGroup(providerWithJacobian, trades, orderGroup);
+    }
+    Duration postProcessingTime = Duration.ofNanos(System.nanoTime() - start);
+
+    // report statistics
+    if (statisticsListener != null) {
+      int totalParamsGroup = calibratedGroupParams.size();
+      DoubleMatrix derivative = derivatives(trades, calibratedProvider, orderGroup, totalParamsGroup);
+      if (recorder.bootstrapped) {
+        CalibrationValue valueCalculator = new CalibrationValue(trades, measures, providerGenerator, parallel);
+        recorder.residualNorms.add(StatisticsRecorder.norm(valueCalculator.apply(calibratedGroupParams)));
       }
-      orderPrev = orderPrevAndGroup;
+      statisticsListener.accept(CalibrationStatistics.builder()
+          .curveNames(orderGroup.stream().map(CurveParameterSize::getName).collect(toImmutableList()))
+          .parameterCount(totalParamsGroup)
+          .bootstrapped(recorder.bootstrapped)
+          .iterationCount(recorder.iterationCount)
+          .valueEvaluationCount(recorder.valueEvaluationCount)
+          .jacobianEvaluationCount(recorder.jacobianEvaluationCount)
+          .jacobianResetCount(recorder.jacobianResetCount)
+          .priorJacobianUsed(startJacobian != null && !recorder.bootstrapped)
+          .rootFindingTime(Duration.ofNanos(recorder.rootFindingNanos))
+          .valueEvaluationTime(Duration.ofNanos(recorder.valueEvaluationNanos))
+          .jacobianEvaluationTime(Duration.ofNanos(recorder.jacobianEvaluationNanos))
+          .decompositionTime(Duration.ofNanos(recorder.decompositionNanos))
+          .postProcessingTime(postProcessingTime)
+          .residualNorms(DoubleArray.copyOf(recorder.residualNorms))
+          .conditionNumber(MATRIX_ALGEBRA.getCondition(derivative))
+          .build());
+    }
+
+    // use Jacobians to build output curves
+    return Pair.of(providerGenerator.generate(calibratedGroupParams, jacobians, sensitivityToMarketQuote), jacobians);
+  }
+
+  //-------------------------------------------------------------------------
+  // calibrates the groups, calibrating independent groups concurrently
+  private ImmutableRatesProvider calibrateParallel(
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider priorData) {
+
+    List<RatesCurveGroupDefinition> groupDefns = allGroupDefns.stream()
+        .filter(groupDefn -> !groupDefn.getEntries().isEmpty())
+        .map(groupDefn -> groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries()))
+        .collect(toImmutableList());
+    List<ImmutableList<ResolvedTrade>> allTrades = groupDefns.stream()
+        .map(groupDefn -> groupDefn.resolvedTrades(marketData, refData))
+        .collect(toImmutableList());
+    List<ImmutableList<CurveParameterSize>> orders = groupDefns.stream()
+        .map(groupDefn -> toOrder(groupDefn))
+        .collect(toImmutableList());
+    List<Set<Integer>> dependencies = dependencies(groupDefns, allTrades, knownData, marketData, refData);
 
-      // use Jacobians to build output curves
-      providerCombined = providerGenerator.generate(calibratedGroupParams, jacobians, sensitivityToMarketQuote);
+    // calibrate each group once the groups it depends on have been calibrated
+    // each task only refers to the futures of its dependencies, which are complete before it runs
+    Executor groupExecutor = executor != null ? executor : ForkJoinPool.commonPool();
+    List<CompletableFuture<Pair<ImmutableRatesProvider, ImmutableMap<CurveName, JacobianCalibrationMatrix>>>> futures =
+        new ArrayList<>();
+    for (int i = 0; i < groupDefns.size(); i++) {
+      int index = i;
+      ImmutableList<Integer> groupDependencies = ImmutableList.copyOf(dependencies.get(index));
+      ImmutableList<CompletableFuture<Pair<ImmutableRatesProvider, ImmutableMap<CurveName, JacobianCalibrationMatrix>>>>
+          dependencyFutures = groupDependencies.stream()
+              .map(futures::get)
+              .collect(toImmutableList());
+      CompletableFuture<Void> dependenciesDone =
+          CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture<?>[dependencyFutures.size()]));
+      futures.add(dependenciesDone.thenApplyAsync(ignored -> {
+        ImmutableRatesProvider providerPrev = knownData;
+        ImmutableList.Builder<CurveParameterSize> orderPrev = ImmutableList.builder();
+        Map<CurveName, JacobianCalibrationMatrix> jacobiansPrev = new HashMap<>();
+        for (int j = 0; j < groupDependencies.size(); j++) {
+          Pair<ImmutableRatesProvider, ImmutableMap<CurveName, JacobianCalibrationMatrix>> dependencyResult =
+              dependencyFutures.get(j).join();
+          ImmutableRatesProvider dependencyProvider = dependencyResult.getFirst();
+          providerPrev = providerPrev.toBuilder()
+              .discountCurves(dependencyProvider.getDiscountCurves())
+              .indexCurves(dependencyProvider.getIndexCurves())
+              .build();
+          orderPrev.addAll(orders.get(groupDependencies.get(j)));
+          jacobiansPrev.putAll(dependencyResult.getSecond());
+        }
+        return calibrateGroup(
+            groupDefns.get(index),
+            allTrades.get(index),
+            providerPrev,
+            orderPrev.build(),
+            ImmutableMap.copyOf(jacobiansPrev),
+            marketData,
+            refData,
+            priorData);
+      }, groupExecutor));
+    }
+
+    // combine the groups, expanding the Jacobian matrices to include all the previous groups
+    ImmutableRatesProvider providerCombined = knownData;
+    List<CurveParameterSize> orderPrevAndGroup = new ArrayList<>();
+    for (int i = 0; i < groupDefns.size(); i++) {
+      ImmutableRatesProvider groupProvider;
+      try {
+        groupProvider = futures.get(i).join().getFirst();
+      } catch (CompletionException ex) {
+        Throwables.throwIfUnchecked(ex.getCause());
+        throw ex;
+      }
+      orderPrevAndGroup.addAll(orders.get(i));
+      Set<CurveName> groupCurveNames = groupDefns.get(i).getCurveDefinitions().stream()
+          .map(CurveDefinition::getName)
+          .collect(toImmutableSet());
+      ImmutableList<CurveParameterSize> order = ImmutableList.copyOf(orderPrevAndGroup);
+      Map<Currency, Curve> discountCurves = MapStream.of(groupProvider.getDiscountCurves())
+          .filterValues(curve -> groupCurveNames.contains(curve.getName()))
+          .mapValues(curve -> withExpandedJacobian(curve, order))
+          .toMap();
+      Map<Index, Curve> indexCurves = MapStream.of(groupProvider.getIndexCurves())
+          .filterValues(curve -> groupCurveNames.contains(curve.getName()))
+          .mapValues(curve -> withExpandedJacobian(curve, order))
+          .toMap();
+      providerCombined = providerCombined.toBuilder()
+          .discountCurves(discountCurves)
+          .indexCurves(indexCurves)
+          .build();
     }
-    // return the calibrated provider
     return providerCombined;
   }
 
+  // determines the previous groups that each group depends on, directly or indirectly
+  // a group depends on a previous group if its trades refer to a curve defined by that group
+  // the references are recorded when valuing the trades, and matched to the entries of the group definitions
+  private List<Set<Integer>> dependencies(
+      List<RatesCurveGroupDefinition> groupDefns,
+      List<ImmutableList<ResolvedTrade>> allTrades,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    // the group that defines the curve for each discount currency, index and curve name
+    Map<Currency, Integer> currencyGroups = new HashMap<>();
+    Map<Index, Integer> indexGroups = new HashMap<>();
+    Map<CurveName, Integer> curveGroups = new HashMap<>();
+    List<Set<Integer>> dependencies = new ArrayList<>();
+    ImmutableRatesProvider provider = knownData;
+    for (int i = 0; i < groupDefns.size(); i++) {
+      RatesCurveGroupDefinition groupDefn = groupDefns.get(i);
+      provider = ImmutableRatesProviderGenerator.of(provider, groupDefn, refData)
+          .generate(DoubleArray.copyOf(groupDefn.initialGuesses(marketData)));
+      CurveReferenceRecorder recorder = new CurveReferenceRecorder(provider);
+      for (ResolvedTrade trade : allTrades.get(i)) {
+        measures.value(trade, recorder);
+      }
+      Set<Integer> referencedGroups = new TreeSet<>();
+      if (recorder.isAllCurves()) {
+        for (int j = 0; j < i; j++) {
+          referencedGroups.add(j);
+        }
+      }
+      addGroups(recorder.getCurrencies(), currencyGroups, referencedGroups);
+      addGroups(recorder.getIndices(), indexGroups, referencedGroups);
+      addGroups(recorder.getCurveNames(), curveGroups, referencedGroups);
+      // a dependency of a group is added with its own dependencies
+      Set<Integer> groupDependencies = new TreeSet<>();
+      for (int j : referencedGroups) {
+        groupDependencies.add(j);
+        groupDependencies.addAll(dependencies.get(j));
+      }
+      dependencies.add(groupDependencies);
+      // a curve in a later group replaces that of an earlier group, as when the providers are combined
+      for (RatesCurveGroupEntry entry : groupDefn.getEntries()) {
+        int index = i;
+        entry.getDiscountCurrencies().forEach(ccy -> currencyGroups.put(ccy, index));
+        entry.getIndices().forEach(idx -> indexGroups.put(idx, index));
+        curveGroups.put(entry.getCurveName(), index);
+      }
+    }
+    return dependencies;
+  }
+
+  // adds the groups that define the referenced keys, ignoring those from the known data
+  private static <K> void addGroups(Set<K> references, Map<K, Integer> keyGroups, Set<Integer> groups) {
+    for (K reference : references) {
+      Integer group = keyGroups.get(reference);
+      if (group != null) {
+        groups.add(group);
+      }
+    }
+  }
+
+  // expands the Jacobian matrix of the curve, if present, to the specified order, adding zero columns
+  private static Curve withExpandedJacobian(Curve curve, List<CurveParameterSize> order) {
+    Optional<JacobianCalibrationMatrix> jacobian = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN);
+    if (!jacobian.isPresent() || jacobian.get().getOrder().equals(order)) {
+      return curve;
+    }
+    DoubleMatrix matrix = jacobian.get().getJacobianMatrix();
+    int[] columns = groupColumns(order, jacobian.get().getOrder());
+    int totalParams = order.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[][] expanded = new double[matrix.rowCount()][totalParams];
+    for (int i = 0; i < matrix.rowCount(); i++) {
+      for (int j = 0; j < columns.length; j++) {
+        expanded[i][columns[j]] = matrix.get(i, j);
+      }
+    }
+    JacobianCalibrationMatrix expandedJacobian = JacobianCalibrationMatrix.of(order, DoubleMatrix.ofUnsafe(expanded));
+    return curve.withMetadata(curve.getMetadata().withInfo(CurveInfoType.JACOBIAN, expandedJacobian));
+  }
+
   //-------------------------------------------------------------------------
   // converts a definition to the curve order list
   private static ImmutableList<CurveParameterSize> toOrder(RatesCurveGroupDefinition groupDefn) {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
   }
 
+  // uses the parameters of the prior curves as the initial guesses, where available
+  private static ImmutableList<Double> priorGuesses(
+      ImmutableRatesProvider priorData,
+      ImmutableList<CurveParameterSize> orderGroup,
+      ImmutableList<Double> initialGuesses) {
+
+    Map<CurveName, Curve> priorCurves = priorData.getCurves();
+    ImmutableList.Builder<Double> guesses = ImmutableList.builder();
+    int startIndex = 0;
+    for (CurveParameterSize order : orderGroup) {
+      Curve priorCurve = priorCurves.get(order.getName());
+      int paramCount = order.getParameterCount();
+      boolean usePrior = priorCurve != null && priorCurve.getParameterCount() == paramCount;
+      for (int i = 0; i < paramCount; i++) {
+        guesses.add(usePrior ? priorCurve.getParameter(i) : initialGuesses.get(startIndex + i));
+      }
+      startIndex += paramCount;
+    }
+    return guesses.build();
+  }
+
+  // obtains the Jacobian of the calibration from the Jacobian matrices of the prior curves, null if not available
+  // the prior matrices of the group are the inverse of the derivative of the measures with respect to the parameters
+  private static DoubleMatrix priorJacobian(
+      ImmutableRatesProvider priorData,
+      ImmutableList<CurveParameterSize> orderGroup) {
+
+    Map<CurveName, Curve> priorCurves = priorData.getCurves();
+    int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[][] inverse = new double[totalParamsGroup][];
+    int row = 0;
+    for (CurveParameterSize order : orderGroup) {
+      Curve priorCurve = priorCurves.get(order.getName());
+      if (priorCurve == null) {
+        return null;
+      }
+      Optional<JacobianCalibrationMatrix> jacobian = priorCurve.getMetadata().findInfo(CurveInfoType.JACOBIAN);
+      if (!jacobian.isPresent() || jacobian.get().getJacobianMatrix().rowCount() != order.getParameterCount()) {
+        return null;
+      }
+      // find the columns of the curves of the group
+      int[] columns = groupColumns(jacobian.get().getOrder(), orderGroup);
+      if (columns == null) {
+        return null;
+      }
+      DoubleMatrix matrix = jacobian.get().getJacobianMatrix();
+      for (int i = 0; i < order.getParameterCount(); i++) {
+        DoubleArray matrixRow = matrix.row(i);
+        inverse[row++] = IntStream.of(columns).mapToDouble(matrixRow::get).toArray();
+      }
+    }
+    return MATRIX_ALGEBRA.getInverse(DoubleMatrix.ofUnsafe(inverse));
+  }
+
+  // finds the columns of the parameters of the group in a Jacobian with the specified order, null if not found
+  private static int[] groupColumns(List<CurveParameterSize> jacobianOrder, List<CurveParameterSize> orderGroup) {
+    Map<CurveName, Integer> startColumns = new HashMap<>();
+    int column = 0;
+    for (CurveParameterSize order : jacobianOrder) {
+      startColumns.put(order.getName(), column);
+      column += order.getParameterCount();
+    }
+    int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+    int[] columns = new int[totalParamsGroup];
+    int index = 0;
+    for (CurveParameterSize order : orderGroup) {
+      if (!jacobianOrder.contains(order)) {
+        return null;
+      }
+      int startColumn = startColumns.get(order.getName());
+      for (int i = 0; i < order.getParameterCount(); i++) {
+        columns[index++] = startColumn + i;
+      }
+    }
+    return columns;
+  }
+
   //-------------------------------------------------------------------------
-  // calibrates a single group
-  private DoubleArray calibrateGroup(
+  // finds the parameters of a single group
+  private DoubleArray findGroupParameters(
       RatesProviderGenerator providerGenerator,
       ImmutableList<ResolvedTrade> trades,
       ImmutableList<Double> initialGuesses,
-      ImmutableList<CurveParameterSize> curveOrder) {
+      DoubleMatrix startJacobian,
+      ImmutableList<CurveParameterSize> curveOrder,
+      StatisticsRecorder recorder) {
 
     // setup for calibration
-    Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
+    Function<DoubleArray, DoubleArray> valueCalculator =
+        recorder.values(new CalibrationValue(trades, measures, providerGenerator, parallel));
     Function<DoubleArray, DoubleMatrix> derivativeCalculator =
-        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
+        recorder.derivatives(new CalibrationDerivative(trades, measures, providerGenerator, curveOrder, parallel));
 
     // calibrate
     DoubleArray initialGuess = DoubleArray.copyOf(initialGuesses);
-    return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
+    long start = System.nanoTime();
+    DoubleArray result = null;
+    DoubleMatrix rootFinderStartJacobian = startJacobian;
+    if (bootstrap) {
+      DoubleMatrix derivative = derivativeCalculator.apply(initialGuess);
+      if (CalibrationBootstrap.isLowerTriangular(derivative)) {
+        result = bootstrapGroup(providerGenerator, trades, initialGuess, derivative, recorder);
+      }
+      rootFinderStartJacobian = startJacobian != null ? startJacobian : derivative;
+    }
+    if (result == null) {
+      result = rootFinder.findRoot(
+          valueCalculator, derivativeCalculator, initialGuess, rootFinderStartJacobian, recorder);
+    }
+    recorder.rootFindingNanos = System.nanoTime() - start;
+    return result;
+  }
+
+  // bootstraps a single group, returning null if unable to find the root of a node
+  private DoubleArray bootstrapGroup(
+      RatesProviderGenerator providerGenerator,
+      ImmutableList<ResolvedTrade> trades,
+      DoubleArray initialGuess,
+      DoubleMatrix derivative,
+      StatisticsRecorder recorder) {
+
+    CalibrationBootstrap bootstrapper = new CalibrationBootstrap(
+        trades, measures, providerGenerator, toleranceAbs, stepMaximum);
+    long start = System.nanoTime();
+    try {
+      DoubleArray result = bootstrapper.calibrate(initialGuess, derivative);
+      recorder.bootstrapped = true;
+      return result;
+    } catch (MathException ex) {
+      return null;
+    } finally {
+      recorder.valueEvaluationCount += bootstrapper.getValueEvaluationCount();
+      recorder.valueEvaluationNanos += System.nanoTime() - start;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // records the progress of the root finder
+  private static final class StatisticsRecorder implements NewtonVectorRootFinderListener {
+    private boolean bootstrapped;
+    private int iterationCount;
+    private int valueEvaluationCount;
+    private int jacobianEvaluationCount;
+    private int jacobianResetCount;
+    private long rootFindingNanos;
+    private long valueEvaluationNanos;
+    private long jacobianEvaluationNanos;
+    private long decompositionNanos;
+    private final List<Double> residualNorms = new ArrayList<>();
+
+    // counts and times the evaluations of the calibration measures
+    // the first evaluation by the root finder is at the start position
+    private Function<DoubleArray, DoubleArray> values(Function<DoubleArray, DoubleArray> valueCalculator) {
+      return x -> {
+        valueEvaluationCount++;
+        long start = System.nanoTime();
+        DoubleArray values = valueCalculator.apply(x);
+        valueEvaluationNanos += System.nanoTime() - start;
+        if (residualNorms.isEmpty()) {
+          residualNorms.add(norm(values));
+        }
+        return values;
+      };
+    }
+
+    // counts and times the evaluations of the Jacobian
+    private Function<DoubleArray, DoubleMatrix> derivatives(Function<DoubleArray, DoubleMatrix> derivativeCalculator) {
+      return x -> {
+        jacobianEvaluationCount++;
+        long start = System.nanoTime();
+        DoubleMatrix derivative = derivativeCalculator.apply(x);
+        jacobianEvaluationNanos += System.nanoTime() - start;
+        return derivative;
+      };
+    }
+
+    // the Euclidean norm of the values
+    private static double norm(DoubleArray values) {
+      return Math.sqrt(values.stream().map(value -> value * value).sum());
+    }
+
+    @Override
+    public void iteration(DoubleArray x, DoubleArray y) {
+      iterationCount++;
+      residualNorms.add(norm(y));
+    }
+
+    @Override
+    public void jacobianReset(DoubleArray x) {
+      jacobianResetCount++;
+    }
+
+    @Override
+    public void decompositionCompleted(long nanos) {
+      decompositionNanos += nanos;
+    }
   }
 
   //-------------------------------------------------------------------------
@@ -397,10 +1089,11 @@ public final class RatesCurveCalibrator {
       ImmutableList<CurveParameterSize> orderAll,
       int totalParamsAll) {
 
-    return DoubleMatrix.ofArrayObjects(
+    return CalibrationDerivative.matrix(
         trades.size(),
         totalParamsAll,
-        i -> measures.derivative(trades.get(i), provider, orderAll));
+        i -> measures.derivative(trades.get(i), provider, orderAll),
+        parallel);
   }
 
   // jacobian direct, for the current group
@@ -436,32 +1129,21 @@ public final class RatesCurveCalibrator {
     }
     DoubleMatrix pDpPreviousMatrix = (DoubleMatrix) MATRIX_ALGEBRA.scale(
         MATRIX_ALGEBRA.multiply(pDmCurrentMatrix, DoubleMatrix.copyOf(nonDirect)), -1d);
-    // all curves: order and size
-    int[] startIndexBefore = new int[orderPrevious.size()];
-    for (int i = 1; i < orderPrevious.size(); i++) {
-      startIndexBefore[i] = startIndexBefore[i - 1] + orderPrevious.get(i - 1).getParameterCount();
-    }
     // transition Matrix: all curves from previous groups
+    // the columns of each matrix are placed by curve, as a matrix may only refer to some of the previous curves
     double[][] transition = new double[totalParamsPrevious][totalParamsPrevious];
+    int startIndexOuter = 0;
     for (int i = 0; i < orderPrevious.size(); i++) {
       int paramCountOuter = orderPrevious.get(i).getParameterCount();
       JacobianCalibrationMatrix thisInfo = jacobiansPrevious.get(orderPrevious.get(i).getName());
       DoubleMatrix thisMatrix = thisInfo.getJacobianMatrix();
-      int startIndexInner = 0;
-      for (int j = 0; j < orderPrevious.size(); j++) {
-        int paramCountInner = orderPrevious.get(j).getParameterCount();
-        if (thisInfo.containsCurve(orderPrevious.get(j).getName())) { // If not, the matrix stays with 0
-          for (int k = 0; k < paramCountOuter; k++) {
-            System.arraycopy(
-                thisMatrix.rowArray(k),
-                startIndexInner,
-                transition[startIndexBefore[i] + k],
-                startIndexBefore[j],
-                paramCountInner);
-          }
+      int[] columns = groupColumns(orderPrevious, thisInfo.getOrder());
+      for (int k = 0; k < paramCountOuter; k++) {
+        for (int j = 0; j < columns.length; j++) {
+          transition[startIndexOuter + k][columns[j]] = thisMatrix.get(k, j);
         }
-        startIndexInner += paramCountInner;
       }
+      startIndexOuter += paramCountOuter;
     }
     DoubleMatrix transitionMatrix = DoubleMatrix.copyOf(transition);
     return (DoubleMatrix) MATRIX_ALGEBRA.multiply(pDpPreviousMatrix, transitionMatrix);
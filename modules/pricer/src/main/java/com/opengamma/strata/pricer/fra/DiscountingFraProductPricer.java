@@ -17,9 +17,11 @@ import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.fra.ResolvedFra;
@@ -98,6 +100,47 @@ public class DiscountingFraProductPricer {
     return iborSens.withCurrency(fra.getCurrency()).combinedWith(discSens).build();
   }
 
+  /**
+   * Calculates the present value sensitivity of the FRA product to the curve parameters.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of the present value to the parameters
+   * of the underlying curves. This is equal to the projection of {@link #presentValueSensitivity} using
+   * {@link RatesProvider#parameterSensitivity(PointSensitivities)}, but is calculated by reverse-mode
+   * algorithmic differentiation using an {@link AdjointTape}, avoiding the intermediate point sensitivities.
+   * 
+   * @param fra  the product
+   * @param provider  the rates provider
+   * @return the present value sensitivity of the product to the curve parameters
+   */
+  public CurrencyParameterSensitivities presentValueParameterSensitivity(ResolvedFra fra, RatesProvider provider) {
+    if (fra.getPaymentDate().isBefore(provider.getValuationDate())) {
+      return CurrencyParameterSensitivities.empty();
+    }
+    AdjointTape tape = AdjointTape.of(provider);
+    int presentValue = recordPresentValue(fra, tape);
+    return tape.parameterSensitivity(presentValue, fra.getCurrency());
+  }
+
+  /**
+   * Records the present value of the FRA product on a tape.
+   * <p>
+   * This records the calculation of the present value, allowing its sensitivity to the curve parameters
+   * to be computed by reverse-mode algorithmic differentiation.
+   * The value is expressed in the currency of the FRA.
+   * 
+   * @param fra  the product
+   * @param tape  the tape to record on
+   * @return the index of the node holding the present value of the product
+   */
+  public int recordPresentValue(ResolvedFra fra, AdjointTape tape) {
+    if (fra.getPaymentDate().isBefore(tape.getProvider().getValuationDate())) {
+      return tape.constant(0d);
+    }
+    // notional * unitAmount * discountFactor
+    int forecastValue = tape.multipliedBy(recordUnitAmount(fra, tape), fra.getNotional());
+    return tape.multipliedBy(forecastValue, tape.discountFactor(fra.getCurrency(), fra.getPaymentDate()));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the forecast value of the FRA product.
@@ -296,6 +339,31 @@ public class DiscountingFraProductPricer {
     return (1.0 / (1.0 + fixedRate * yearFraction)) - (1.0 / (1.0 + forwardRate * yearFraction));
   }
 
+  // records the unit amount in various discounting methods
+  private int recordUnitAmount(ResolvedFra fra, AdjointTape tape) {
+    double fixedRate = fra.getFixedRate();
+    double yearFraction = fra.getYearFraction();
+    int forwardRate = rateComputationFn.recordRate(fra.getFloatingRate(), fra.getStartDate(), fra.getEndDate(), tape);
+    switch (fra.getDiscounting()) {
+      case NONE:
+        // (forwardRate - fixedRate) * yearFraction
+        return tape.multipliedBy(tape.plus(forwardRate, -fixedRate), yearFraction);
+      case ISDA: {
+        // ((forwardRate - fixedRate) / (1 + forwardRate * yearFraction)) * yearFraction
+        int discount = tape.plus(tape.multipliedBy(forwardRate, yearFraction), 1d);
+        return tape.multipliedBy(tape.dividedBy(tape.plus(forwardRate, -fixedRate), discount), yearFraction);
+      }
+      case AFMA: {
+        // (1 / (1 + fixedRate * yearFraction)) - (1 / (1 + forwardRate * yearFraction))
+        int discount = tape.plus(tape.multipliedBy(forwardRate, yearFraction), 1d);
+        int inverse = tape.dividedBy(tape.constant(1d), discount);
+        return tape.plus(tape.multipliedBy(inverse, -1d), 1.0 / (1.0 + fixedRate * yearFraction));
+      }
+      default:
+        throw new IllegalArgumentException("Unknown FraDiscounting value: " + fra.getDiscounting());
+    }
+  }
+
   //-------------------------------------------------------------------------
   // determine the derivative
   private double derivative(ResolvedFra fra, RatesProvider provider) {
@@ -10,6 +10,7 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainMap;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.fra.ResolvedFra;
@@ -96,6 +97,25 @@ public class DiscountingFraTradePricer {
     return productPricer.presentValueSensitivity(trade.getProduct(), provider);
   }
 
+  /**
+   * Calculates the present value sensitivity of the FRA trade to the curve parameters.
+   * <p>
+   * The present value sensitivity of the trade is the sensitivity of the present value to the parameters
+   * of the underlying curves. This is equal to the projection of {@link #presentValueSensitivity} using
+   * {@link RatesProvider#parameterSensitivity(PointSensitivities)}, but is calculated by reverse-mode
+   * algorithmic differentiation, avoiding the intermediate point sensitivities.
+   * 
+   * @param trade  the trade
+   * @param provider  the rates provider
+   * @return the present value sensitivity of the trade to the curve parameters
+   */
+  public CurrencyParameterSensitivities presentValueParameterSensitivity(
+      ResolvedFraTrade trade,
+      RatesProvider provider) {
+
+    return productPricer.presentValueParameterSensitivity(trade.getProduct(), provider);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the forecast value of the FRA trade.
@@ -11,6 +11,7 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.rate.FixedOvernightCompoundedAnnualRateComputation;
@@ -254,6 +255,58 @@ public class DispatchingRateComputationFn
     }
   }
 
+  @Override
+  public int recordRate(
+      RateComputation computation,
+      LocalDate startDate,
+      LocalDate endDate,
+      AdjointTape tape) {
+
+    // dispatch by runtime type
+    if (computation instanceof FixedRateComputation) {
+      // inline code (performance) avoiding need for FixedRateComputationFn implementation
+      return tape.constant(((FixedRateComputation) computation).getRate());
+    } else if (computation instanceof FixedOvernightCompoundedAnnualRateComputation) {
+      // inline code (performance) avoiding need for FixedRateComputationFn implementation
+      return tape.constant(((FixedOvernightCompoundedAnnualRateComputation) computation).getSimpleRate());
+    } else if (computation instanceof IborRateComputation) {
+      return iborRateComputationFn.recordRate(
+          (IborRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof IborInterpolatedRateComputation) {
+      return iborInterpolatedRateComputationFn.recordRate(
+          (IborInterpolatedRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof IborAveragedRateComputation) {
+      return iborAveragedRateComputationFn.recordRate(
+          (IborAveragedRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof OvernightAveragedRateComputation) {
+      return overnightAveragedRateComputationFn.recordRate(
+          (OvernightAveragedRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof OvernightCompoundedRateComputation) {
+      return overnightCompoundedRateComputationFn.recordRate(
+          (OvernightCompoundedRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof OvernightCompoundedAnnualRateComputation) {
+      return overnightCompundedAnnualRateComputationFn.recordRate(
+          (OvernightCompoundedAnnualRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof OvernightAveragedDailyRateComputation) {
+      return overnightAveragedDailyRateComputationFn.recordRate(
+          (OvernightAveragedDailyRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof InflationMonthlyRateComputation) {
+      return inflationMonthlyRateComputationFn.recordRate(
+          (InflationMonthlyRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof InflationInterpolatedRateComputation) {
+      return inflationInterpolatedRateComputationFn.recordRate(
+          (InflationInterpolatedRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof InflationEndMonthRateComputation) {
+      return inflationEndMonthRateComputationFn.recordRate(
+          (InflationEndMonthRateComputation) computation, startDate, endDate, tape);
+    } else if (computation instanceof InflationEndInterpolatedRateComputation) {
+      return inflationEndInterpolatedRateComputationFn.recordRate(
+          (InflationEndInterpolatedRateComputation) computation, startDate, endDate, tape);
+    } else {
+      throw new IllegalArgumentException("Unknown Rate type: " + computation.getClass().getSimpleName());
+    }
+  }
+
   @Override
   public double explainRate(
       RateComputation computation,
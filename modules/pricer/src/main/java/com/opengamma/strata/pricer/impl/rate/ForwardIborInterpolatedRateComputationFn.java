@@ -12,6 +12,7 @@ import com.opengamma.strata.collect.tuple.DoublesPair;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.IborIndexRates;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -79,6 +80,22 @@ public class ForwardIborInterpolatedRateComputationFn
     return sens1.combinedWith(sens2);
   }
 
+  @Override
+  public int recordRate(
+      IborInterpolatedRateComputation computation,
+      LocalDate startDate,
+      LocalDate endDate,
+      AdjointTape tape) {
+
+    IborIndexObservation obs1 = computation.getShortObservation();
+    IborIndexObservation obs2 = computation.getLongObservation();
+    DoublesPair weights = weights(obs1, obs2, endDate);
+    double totalWeight = weights.getFirst() + weights.getSecond();
+    int rate1 = tape.multipliedBy(tape.iborRate(obs1), weights.getFirst() / totalWeight);
+    int rate2 = tape.multipliedBy(tape.iborRate(obs2), weights.getSecond() / totalWeight);
+    return tape.plus(rate1, rate2);
+  }
+
   @Override
   public double explainRate(
       IborInterpolatedRateComputation computation,
@@ -10,6 +10,7 @@ import java.time.LocalDate;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.IborIndexRates;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -57,6 +58,16 @@ public class ForwardIborRateComputationFn
     return rates.ratePointSensitivity(computation.getObservation());
   }
 
+  @Override
+  public int recordRate(
+      IborRateComputation computation,
+      LocalDate startDate,
+      LocalDate endDate,
+      AdjointTape tape) {
+
+    return tape.iborRate(computation.getObservation());
+  }
+
   @Override
   public double explainRate(
       IborRateComputation computation,
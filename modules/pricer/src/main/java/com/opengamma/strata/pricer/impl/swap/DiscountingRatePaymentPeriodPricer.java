@@ -20,6 +20,7 @@ import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.fx.FxIndexRates;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.SwapPaymentPeriodPricer;
@@ -221,6 +222,107 @@ public class DiscountingRatePaymentPeriodPricer
         .sum();
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public int recordPresentValue(RatePaymentPeriod period, AdjointTape tape) {
+    // FX reset and historic payments are recorded as a single node
+    if (period.getFxReset().isPresent() || period.getPaymentDate().isBefore(tape.getProvider().getValuationDate())) {
+      return SwapPaymentPeriodPricer.super.recordPresentValue(period, tape);
+    }
+    // forecastValue * discountFactor
+    int forecastValue = recordAccrualWithNotional(period, period.getNotional(), tape);
+    return tape.multipliedBy(forecastValue, tape.discountFactor(period.getCurrency(), period.getPaymentDate()));
+  }
+
+  // records the accrual, mirroring accrualWithNotional()
+  private int recordAccrualWithNotional(RatePaymentPeriod period, double notional, AdjointTape tape) {
+    if (period.getAccrualPeriods().size() == 1) {
+      RateAccrualPeriod accrualPeriod = period.getAccrualPeriods().get(0);
+      return tape.multipliedBy(recordUnitNotionalAccrual(accrualPeriod, accrualPeriod.getSpread(), tape), notional);
+    }
+    switch (period.getCompoundingMethod()) {
+      case STRAIGHT:
+        return recordCompoundedStraight(period, notional, tape);
+      case FLAT:
+        return recordCompoundedFlat(period, notional, tape);
+      case SPREAD_EXCLUSIVE:
+        return recordCompoundedSpreadExclusive(period, notional, tape);
+      case NONE:
+      default:
+        return recordCompoundingNone(period, notional, tape);
+    }
+  }
+
+  // records the accrual for a unit notional
+  private int recordUnitNotionalAccrual(RateAccrualPeriod accrualPeriod, double spread, AdjointTape tape) {
+    int rawRate = rateComputationFn.recordRate(
+        accrualPeriod.getRateComputation(),
+        accrualPeriod.getStartDate(),
+        accrualPeriod.getEndDate(),
+        tape);
+    return recordUnitNotionalAccrualRaw(accrualPeriod, rawRate, spread, tape);
+  }
+
+  // records the accrual for a unit notional from the raw rate
+  private int recordUnitNotionalAccrualRaw(
+      RateAccrualPeriod accrualPeriod,
+      int rawRate,
+      double spread,
+      AdjointTape tape) {
+
+    int treatedRate = tape.plus(tape.multipliedBy(rawRate, accrualPeriod.getGearing()), spread);
+    int accrual = tape.multipliedBy(treatedRate, accrualPeriod.getYearFraction());
+    double unadjusted = tape.value(accrual);
+    double adjusted = accrualPeriod.getNegativeRateMethod().adjust(unadjusted);
+    // the sensitivity ignores the negative rate method, matching forecastValueSensitivity
+    return adjusted == unadjusted ? accrual : tape.plus(accrual, adjusted - unadjusted);
+  }
+
+  // records straight compounding
+  private int recordCompoundedStraight(RatePaymentPeriod paymentPeriod, double notional, AdjointTape tape) {
+    int notionalAccrued = tape.constant(notional);
+    for (RateAccrualPeriod accrualPeriod : paymentPeriod.getAccrualPeriods()) {
+      int investFactor = tape.plus(recordUnitNotionalAccrual(accrualPeriod, accrualPeriod.getSpread(), tape), 1d);
+      notionalAccrued = tape.multipliedBy(notionalAccrued, investFactor);
+    }
+    return tape.plus(notionalAccrued, -notional);
+  }
+
+  // records flat compounding
+  private int recordCompoundedFlat(RatePaymentPeriod paymentPeriod, double notional, AdjointTape tape) {
+    int cpaAccumulated = tape.constant(0d);
+    for (RateAccrualPeriod accrualPeriod : paymentPeriod.getAccrualPeriods()) {
+      int rate = rateComputationFn.recordRate(
+          accrualPeriod.getRateComputation(), accrualPeriod.getStartDate(), accrualPeriod.getEndDate(), tape);
+      int compounded = tape.multipliedBy(cpaAccumulated, recordUnitNotionalAccrualRaw(accrualPeriod, rate, 0, tape));
+      int accrual = recordUnitNotionalAccrualRaw(accrualPeriod, rate, accrualPeriod.getSpread(), tape);
+      cpaAccumulated = tape.plus(cpaAccumulated, tape.plus(compounded, accrual));
+    }
+    return tape.multipliedBy(cpaAccumulated, notional);
+  }
+
+  // records spread exclusive compounding
+  private int recordCompoundedSpreadExclusive(RatePaymentPeriod paymentPeriod, double notional, AdjointTape tape) {
+    int notionalAccrued = tape.constant(notional);
+    double spreadAccrued = 0;
+    for (RateAccrualPeriod accrualPeriod : paymentPeriod.getAccrualPeriods()) {
+      int investFactor = tape.plus(recordUnitNotionalAccrual(accrualPeriod, 0, tape), 1d);
+      notionalAccrued = tape.multipliedBy(notionalAccrued, investFactor);
+      spreadAccrued += notional * accrualPeriod.getSpread() * accrualPeriod.getYearFraction();
+    }
+    return tape.plus(notionalAccrued, spreadAccrued - notional);
+  }
+
+  // records no compounding, just sum each accrual period
+  private int recordCompoundingNone(RatePaymentPeriod paymentPeriod, double notional, AdjointTape tape) {
+    int sum = tape.constant(0d);
+    for (RateAccrualPeriod accrualPeriod : paymentPeriod.getAccrualPeriods()) {
+      int accrual = recordUnitNotionalAccrual(accrualPeriod, accrualPeriod.getSpread(), tape);
+      sum = tape.plus(sum, tape.multipliedBy(accrual, notional));
+    }
+    return sum;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public PointSensitivityBuilder presentValueSensitivity(RatePaymentPeriod period, RatesProvider provider) {
@@ -9,6 +9,7 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.SwapPaymentEventPricer;
 import com.opengamma.strata.product.swap.FxResetNotionalExchange;
@@ -78,6 +79,18 @@ public class DispatchingSwapPaymentEventPricer
     }
   }
 
+  @Override
+  public int recordPresentValue(SwapPaymentEvent paymentEvent, AdjointTape tape) {
+    // dispatch by runtime type
+    if (paymentEvent instanceof NotionalExchange) {
+      return notionalExchangePricer.recordPresentValue((NotionalExchange) paymentEvent, tape);
+    } else if (paymentEvent instanceof FxResetNotionalExchange) {
+      return fxResetNotionalExchangePricer.recordPresentValue((FxResetNotionalExchange) paymentEvent, tape);
+    } else {
+      throw new IllegalArgumentException("Unknown PaymentEvent type: " + paymentEvent.getClass().getSimpleName());
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public double forecastValue(SwapPaymentEvent paymentEvent, RatesProvider provider) {
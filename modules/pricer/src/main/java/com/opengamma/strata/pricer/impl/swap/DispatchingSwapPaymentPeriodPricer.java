@@ -9,6 +9,7 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.SwapPaymentPeriodPricer;
 import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
@@ -78,6 +79,18 @@ public class DispatchingSwapPaymentPeriodPricer
     }
   }
 
+  @Override
+  public int recordPresentValue(SwapPaymentPeriod paymentPeriod, AdjointTape tape) {
+    // dispatch by runtime type
+    if (paymentPeriod instanceof RatePaymentPeriod) {
+      return ratePaymentPeriodPricer.recordPresentValue((RatePaymentPeriod) paymentPeriod, tape);
+    } else if (paymentPeriod instanceof KnownAmountSwapPaymentPeriod) {
+      return knownAmountPaymentPeriodPricer.recordPresentValue((KnownAmountSwapPaymentPeriod) paymentPeriod, tape);
+    } else {
+      throw new IllegalArgumentException("Unknown PaymentPeriod type: " + paymentPeriod.getClass().getSimpleName());
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public double forecastValue(SwapPaymentPeriod paymentPeriod, RatesProvider provider) {
@@ -0,0 +1,326 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAccumulator;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+
+/**
+ * Tape recording a calculation for reverse-mode algorithmic differentiation.
+ * <p>
+ * A pricer records a calculation as a sequence of nodes, each identified by an index.
+ * The nodes are either values obtained from the market data of the {@link RatesProvider},
+ * such as a discount factor or a forward rate, constants, or arithmetic operations on other nodes.
+ * Once recorded, {@link #parameterSensitivity(int, Currency)} computes the sensitivity of a node
+ * to the curve parameters in a single backward sweep over the tape.
+ * <p>
+ * Unlike point sensitivities, no sensitivity objects are created for the intermediate steps of
+ * the calculation. Each market data node holds the sensitivity of its value to the curves,
+ * which is multiplied by the adjoint of the node and projected directly onto the curve parameters.
+ * <p>
+ * Calculations that have no specific support for the tape can be recorded as a single node
+ * using {@link #record(double, PointSensitivityBuilder)}, passing the value and point sensitivity
+ * of the calculation.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class AdjointTape {
+
+  /**
+   * The initial capacity of the tape.
+   */
+  private static final int INITIAL_CAPACITY = 64;
+
+  /**
+   * The rates provider.
+   */
+  private final RatesProvider provider;
+  /**
+   * The value of each node.
+   */
+  private double[] values = new double[INITIAL_CAPACITY];
+  /**
+   * The arguments of each node, two for each node, -1 if not applicable.
+   */
+  private int[] arguments = new int[2 * INITIAL_CAPACITY];
+  /**
+   * The partial derivative of each node with respect to each argument.
+   */
+  private double[] partials = new double[2 * INITIAL_CAPACITY];
+  /**
+   * The point sensitivity of each market data node, null for other nodes.
+   * This is either a single point sensitivity or a list of point sensitivities.
+   */
+  private Object[] sensitivities = new Object[INITIAL_CAPACITY];
+  /**
+   * The number of nodes.
+   */
+  private int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty tape for the specified rates provider.
+   *
+   * @param provider  the rates provider
+   * @return the tape
+   */
+  public static AdjointTape of(RatesProvider provider) {
+    return new AdjointTape(provider);
+  }
+
+  // restricted constructor
+  private AdjointTape(RatesProvider provider) {
+    this.provider = ArgChecker.notNull(provider, "provider");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the rates provider.
+   *
+   * @return the rates provider
+   */
+  public RatesProvider getProvider() {
+    return provider;
+  }
+
+  /**
+   * Gets the number of nodes recorded.
+   *
+   * @return the number of nodes
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the value of a node.
+   *
+   * @param node  the index of the node
+   * @return the value
+   */
+  public double value(int node) {
+    ArgChecker.inRange(node, 0, size, "node");
+    return values[node];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records a constant.
+   *
+   * @param value  the value
+   * @return the index of the node
+   */
+  public int constant(double value) {
+    return add(value, -1, 0d, -1, 0d);
+  }
+
+  /**
+   * Records a value with a known sensitivity to the curves.
+   * <p>
+   * The sensitivity is the point sensitivity of the value, such as that of a rate computation.
+   * If the sensitivity is empty, the value is recorded as a constant.
+   *
+   * @param value  the value
+   * @param sensitivity  the point sensitivity of the value
+   * @return the index of the node
+   */
+  public int record(double value, PointSensitivityBuilder sensitivity) {
+    if (sensitivity instanceof PointSensitivity) {
+      return addMarketData(value, sensitivity);
+    }
+    List<PointSensitivity> points = sensitivity.build().getSensitivities();
+    if (points.isEmpty()) {
+      return constant(value);
+    }
+    return addMarketData(value, points.size() == 1 ? points.get(0) : points);
+  }
+
+  /**
+   * Records the discount factor of a currency on a date.
+   *
+   * @param currency  the currency of the discount factors
+   * @param date  the date to discount to
+   * @return the index of the node
+   */
+  public int discountFactor(Currency currency, LocalDate date) {
+    DiscountFactors discountFactors = provider.discountFactors(currency);
+    return record(discountFactors.discountFactor(date), discountFactors.zeroRatePointSensitivity(date));
+  }
+
+  /**
+   * Records the rate of an Ibor index observation.
+   *
+   * @param observation  the Ibor index observation
+   * @return the index of the node
+   */
+  public int iborRate(IborIndexObservation observation) {
+    IborIndexRates rates = provider.iborIndexRates(observation.getIndex());
+    return record(rates.rate(observation), rates.ratePointSensitivity(observation));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records the sum of two nodes.
+   *
+   * @param node1  the index of the first node
+   * @param node2  the index of the second node
+   * @return the index of the node
+   */
+  public int plus(int node1, int node2) {
+    return add(values[node1] + values[node2], node1, 1d, node2, 1d);
+  }
+
+  /**
+   * Records the sum of a node and a constant.
+   *
+   * @param node  the index of the node
+   * @param amount  the amount to add
+   * @return the index of the node
+   */
+  public int plus(int node, double amount) {
+    return add(values[node] + amount, node, 1d, -1, 0d);
+  }
+
+  /**
+   * Records the difference of two nodes.
+   *
+   * @param node1  the index of the first node
+   * @param node2  the index of the node to subtract
+   * @return the index of the node
+   */
+  public int minus(int node1, int node2) {
+    return add(values[node1] - values[node2], node1, 1d, node2, -1d);
+  }
+
+  /**
+   * Records the product of two nodes.
+   *
+   * @param node1  the index of the first node
+   * @param node2  the index of the second node
+   * @return the index of the node
+   */
+  public int multipliedBy(int node1, int node2) {
+    return add(values[node1] * values[node2], node1, values[node2], node2, values[node1]);
+  }
+
+  /**
+   * Records the product of a node and a constant.
+   *
+   * @param node  the index of the node
+   * @param factor  the factor to multiply by
+   * @return the index of the node
+   */
+  public int multipliedBy(int node, double factor) {
+    return add(values[node] * factor, node, factor, -1, 0d);
+  }
+
+  /**
+   * Records the quotient of two nodes.
+   *
+   * @param node1  the index of the numerator
+   * @param node2  the index of the denominator
+   * @return the index of the node
+   */
+  public int dividedBy(int node1, int node2) {
+    double inverse = 1d / values[node2];
+    double quotient = values[node1] * inverse;
+    return add(quotient, node1, inverse, node2, -quotient * inverse);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the sensitivity of a node to the curve parameters.
+   * <p>
+   * This performs a single backward sweep from the node to the start of the tape,
+   * propagating the adjoint of each node to its arguments. The sensitivity of each market data
+   * node is multiplied by its adjoint and added to the result.
+   * The result is expressed in the specified currency, which is the currency of the value of the node.
+   *
+   * @param node  the index of the node
+   * @param currency  the currency of the value of the node
+   * @return the sensitivity to the curve parameters
+   */
+  public CurrencyParameterSensitivities parameterSensitivity(int node, Currency currency) {
+    ArgChecker.inRange(node, 0, size, "node");
+    CurrencyParameterSensitivitiesAccumulator accumulator = CurrencyParameterSensitivities.accumulator();
+    double[] adjoints = new double[node + 1];
+    adjoints[node] = 1d;
+    for (int i = node; i >= 0; i--) {
+      double adjoint = adjoints[i];
+      if (adjoint == 0d) {
+        continue;
+      }
+      Object sensitivity = sensitivities[i];
+      if (sensitivity instanceof PointSensitivity) {
+        addParameterSensitivity((PointSensitivity) sensitivity, adjoint, currency, accumulator);
+      } else if (sensitivity != null) {
+        @SuppressWarnings("unchecked")
+        List<PointSensitivity> points = (List<PointSensitivity>) sensitivity;
+        for (PointSensitivity point : points) {
+          addParameterSensitivity(point, adjoint, currency, accumulator);
+        }
+      } else {
+        int argument1 = arguments[2 * i];
+        if (argument1 >= 0) {
+          adjoints[argument1] += adjoint * partials[2 * i];
+        }
+        int argument2 = arguments[2 * i + 1];
+        if (argument2 >= 0) {
+          adjoints[argument2] += adjoint * partials[2 * i + 1];
+        }
+      }
+    }
+    return accumulator.build();
+  }
+
+  // adds the sensitivity of a market data node to the accumulator
+  private void addParameterSensitivity(
+      PointSensitivity point,
+      double adjoint,
+      Currency currency,
+      CurrencyParameterSensitivitiesAccumulator accumulator) {
+
+    PointSensitivity converted = point.getCurrency().equals(currency) ? point : point.withCurrency(currency);
+    provider.parameterSensitivity(converted, adjoint, accumulator);
+  }
+
+  //-------------------------------------------------------------------------
+  // adds a market data node
+  private int addMarketData(double value, Object sensitivity) {
+    int node = add(value, -1, 0d, -1, 0d);
+    sensitivities[node] = sensitivity;
+    return node;
+  }
+
+  // adds a node, growing the arrays as necessary
+  private int add(double value, int argument1, double partial1, int argument2, double partial2) {
+    if (size == values.length) {
+      int capacity = 2 * size;
+      values = Arrays.copyOf(values, capacity);
+      arguments = Arrays.copyOf(arguments, 2 * capacity);
+      partials = Arrays.copyOf(partials, 2 * capacity);
+      sensitivities = Arrays.copyOf(sensitivities, capacity);
+    }
+    int node = size++;
+    values[node] = value;
+    arguments[2 * node] = argument1;
+    arguments[2 * node + 1] = argument2;
+    partials[2 * node] = partial1;
+    partials[2 * node + 1] = partial2;
+    return node;
+  }
+
+}
@@ -215,6 +215,25 @@ public final class DiscountIborIndexRates
     return psStart.combinedWith(psEnd);
   }
 
+  @Override
+  public void parameterSensitivity(IborRateSensitivity pointSensitivity, double[] target) {
+    LocalDate fixingStartDate = pointSensitivity.getObservation().getEffectiveDate();
+    LocalDate fixingEndDate = pointSensitivity.getObservation().getMaturityDate();
+    double accrualFactor = pointSensitivity.getObservation().getYearFraction();
+    double forwardBar = pointSensitivity.getSensitivity();
+    double yearFractionStart = discountFactors.relativeYearFraction(fixingStartDate);
+    double yearFractionEnd = discountFactors.relativeYearFraction(fixingEndDate);
+    double dfForwardStart = discountFactors.discountFactor(yearFractionStart);
+    double dfForwardEnd = discountFactors.discountFactor(yearFractionEnd);
+    double dfStartBar = forwardBar / (accrualFactor * dfForwardEnd);
+    double dfEndBar = -forwardBar * dfForwardStart / (accrualFactor * dfForwardEnd * dfForwardEnd);
+    // the scalars of the zero rate sensitivities are added directly, without creating the sensitivities
+    double zrsStart = discountFactors.zeroRatePointSensitivityValue(yearFractionStart);
+    double zrsEnd = discountFactors.zeroRatePointSensitivityValue(yearFractionEnd);
+    discountFactors.parameterSensitivity(yearFractionStart, zrsStart * dfStartBar, target);
+    discountFactors.parameterSensitivity(yearFractionEnd, zrsEnd * dfEndBar, target);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return discountFactors.createParameterSensitivity(currency, sensitivities);
@@ -240,6 +240,26 @@ public final class DiscountOvernightIndexRates
     return psStart.combinedWith(psEnd);
   }
 
+  @Override
+  public void parameterSensitivity(OvernightRateSensitivity pointSensitivity, double[] target) {
+    OvernightIndex index = pointSensitivity.getIndex();
+    LocalDate startDate = pointSensitivity.getObservation().getEffectiveDate();
+    LocalDate endDate = pointSensitivity.getEndDate();
+    double accrualFactor = index.getDayCount().yearFraction(startDate, endDate);
+    double forwardBar = pointSensitivity.getSensitivity();
+    double yearFractionStart = discountFactors.relativeYearFraction(startDate);
+    double yearFractionEnd = discountFactors.relativeYearFraction(endDate);
+    double dfForwardStart = discountFactors.discountFactor(yearFractionStart);
+    double dfForwardEnd = discountFactors.discountFactor(yearFractionEnd);
+    double dfStartBar = forwardBar / (accrualFactor * dfForwardEnd);
+    double dfEndBar = -forwardBar * dfForwardStart / (accrualFactor * dfForwardEnd * dfForwardEnd);
+    // the scalars of the zero rate sensitivities are added directly, without creating the sensitivities
+    double zrsStart = discountFactors.zeroRatePointSensitivityValue(yearFractionStart);
+    double zrsEnd = discountFactors.zeroRatePointSensitivityValue(yearFractionEnd);
+    discountFactors.parameterSensitivity(yearFractionStart, zrsStart * dfStartBar, target);
+    discountFactors.parameterSensitivity(yearFractionEnd, zrsEnd * dfEndBar, target);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return discountFactors.createParameterSensitivity(currency, sensitivities);
@@ -211,6 +211,28 @@ public interface OvernightIndexRates
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(OvernightRateSensitivity pointSensitivity);
 
+  /**
+   * Adds the parameter sensitivity of the point sensitivity to an array.
+   * <p>
+   * This is equivalent to {@link #parameterSensitivity(OvernightRateSensitivity)}, but adds the
+   * sensitivity to an array with one element for each parameter, see {@link #getParameterCount()}.
+   * This allows the sensitivity of many points to be accumulated without creating intermediate objects.
+   * 
+   * @param pointSensitivity  the point sensitivity to convert
+   * @param target  the array to add the parameter sensitivity to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void parameterSensitivity(OvernightRateSensitivity pointSensitivity, double[] target) {
+    int offset = 0;
+    for (CurrencyParameterSensitivity single : parameterSensitivity(pointSensitivity).getSensitivities()) {
+      DoubleArray values = single.getSensitivity();
+      for (int i = 0; i < values.size(); i++) {
+        target[offset + i] += values.get(i);
+      }
+      offset += values.size();
+    }
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
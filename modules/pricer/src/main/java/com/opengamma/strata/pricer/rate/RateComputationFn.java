@@ -71,6 +71,29 @@ public interface RateComputationFn<T extends RateComputation> {
       LocalDate endDate,
       RatesProvider provider);
 
+  /**
+   * Records the applicable rate for the computation on a tape.
+   * <p>
+   * This records the calculation of the rate, allowing its sensitivity to the curve parameters
+   * to be computed by reverse-mode algorithmic differentiation.
+   * The rates provider is obtained from the tape.
+   * <p>
+   * The default implementation records the rate as a single node with the
+   * sensitivity from {@link #rateSensitivity(RateComputation, LocalDate, LocalDate, RatesProvider)}.
+   * 
+   * @param computation  the computation definition
+   * @param startDate  the start date of the accrual period
+   * @param endDate  the end date of the accrual period
+   * @param tape  the tape to record on
+   * @return the index of the node holding the applicable rate
+   */
+  public default int recordRate(T computation, LocalDate startDate, LocalDate endDate, AdjointTape tape) {
+    RatesProvider provider = tape.getProvider();
+    return tape.record(
+        rate(computation, startDate, endDate, provider),
+        rateSensitivity(computation, startDate, endDate, provider));
+  }
+
   /**
    * Explains the calculation of the applicable rate.
    * <p>
@@ -20,6 +20,7 @@ import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAccumulator;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivity;
 import com.opengamma.strata.pricer.BaseProvider;
@@ -162,45 +163,83 @@ public interface RatesProvider
    * of each month in a year relative to a specific forward curve. This method converts to the point
    * sensitivities to be relative to each parameter on the underlying curve, such as the 1 day, 1 week,
    * 1 month, 3 month, 12 month and 5 year nodal points.
+   * <p>
+   * The sensitivities are summed in place, grouped by the curve currency or index of each point.
+   * As such, the order of summation differs from combining the sensitivity of each point in turn,
+   * and the result is only equal to that of combining within floating point tolerance.
    * 
    * @param pointSensitivities  the point sensitivities
    * @return the sensitivity to the curve parameters
    */
   public default CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
-    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    CurrencyParameterSensitivitiesAccumulator sens = CurrencyParameterSensitivities.accumulator();
     for (PointSensitivity point : pointSensitivities.getSensitivities()) {
-      if (point instanceof ZeroRateSensitivity) {
-        ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
-        DiscountFactors factors = discountFactors(pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.parameterSensitivity(pt));
-
-      } else if (point instanceof IborRateSensitivity) {
-        IborRateSensitivity pt = (IborRateSensitivity) point;
-        IborIndexRates rates = iborIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
+      parameterSensitivity(point, 1d, sens);
+    }
+    return sens.build();
+  }
 
-      } else if (point instanceof OvernightRateSensitivity) {
-        OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
-        OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
+  /**
+   * Computes the parameter sensitivity of a single point, adding it to an accumulator.
+   * <p>
+   * This adds the {@link CurrencyParameterSensitivities} associated with the {@link PointSensitivity},
+   * multiplied by the specified weight, to the accumulator.
+   * This allows the sensitivity of many points to be combined without creating intermediate objects.
+   * 
+   * @param pointSensitivity  the point sensitivity
+   * @param weight  the weight to multiply the point sensitivity by
+   * @param accumulator  the accumulator to add the sensitivity to the curve parameters to
+   */
+  public default void parameterSensitivity(
+      PointSensitivity pointSensitivity,
+      double weight,
+      CurrencyParameterSensitivitiesAccumulator accumulator) {
 
-      } else if (point instanceof FxIndexSensitivity) {
-        FxIndexSensitivity pt = (FxIndexSensitivity) point;
-        FxIndexRates rates = fxIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
+    if (pointSensitivity instanceof ZeroRateSensitivity) {
+      ZeroRateSensitivity pt = (ZeroRateSensitivity) pointSensitivity;
+      DiscountFactors factors = discountFactors(pt.getCurveCurrency());
+      double[] values = accumulator.values(pt.getCurveCurrency(), pt.getCurrency());
+      if (values != null) {
+        factors.parameterSensitivity(pt.getYearFraction(), weight * pt.getSensitivity(), values);
+      } else {
+        accumulator.add(pt.getCurveCurrency(), pt.getCurrency(), factors.parameterSensitivity(pt.multipliedBy(weight)));
+      }
 
-      } else if (point instanceof InflationRateSensitivity) {
-        InflationRateSensitivity pt = (InflationRateSensitivity) point;
-        PriceIndexValues rates = priceIndexValues(pt.getIndex());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
+    } else if (pointSensitivity instanceof IborRateSensitivity) {
+      IborRateSensitivity pt = (IborRateSensitivity) pointSensitivity;
+      IborIndexRates rates = iborIndexRates(pt.getIndex());
+      double[] values = accumulator.values(pt.getIndex(), pt.getCurrency());
+      if (values != null) {
+        rates.parameterSensitivity(weight == 1d ? pt : pt.multipliedBy(weight), values);
+      } else {
+        accumulator.add(pt.getIndex(), pt.getCurrency(), rates.parameterSensitivity(pt.multipliedBy(weight)));
+      }
 
-      } else if (point instanceof FxForwardSensitivity) {
-        FxForwardSensitivity pt = (FxForwardSensitivity) point;
-        FxForwardRates rates = fxForwardRates(pt.getCurrencyPair());
-        sens = sens.combinedWith(rates.parameterSensitivity(pt));
+    } else if (pointSensitivity instanceof OvernightRateSensitivity) {
+      OvernightRateSensitivity pt = (OvernightRateSensitivity) pointSensitivity;
+      OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
+      double[] values = accumulator.values(pt.getIndex(), pt.getCurrency());
+      if (values != null) {
+        rates.parameterSensitivity(weight == 1d ? pt : pt.multipliedBy(weight), values);
+      } else {
+        accumulator.add(pt.getIndex(), pt.getCurrency(), rates.parameterSensitivity(pt.multipliedBy(weight)));
       }
+
+    } else if (pointSensitivity instanceof FxIndexSensitivity) {
+      FxIndexSensitivity pt = (FxIndexSensitivity) pointSensitivity;
+      FxIndexRates rates = fxIndexRates(pt.getIndex());
+      accumulator.add(rates.parameterSensitivity(pt.multipliedBy(weight)));
+
+    } else if (pointSensitivity instanceof InflationRateSensitivity) {
+      InflationRateSensitivity pt = (InflationRateSensitivity) pointSensitivity;
+      PriceIndexValues rates = priceIndexValues(pt.getIndex());
+      accumulator.add(rates.parameterSensitivity(pt.multipliedBy(weight)));
+
+    } else if (pointSensitivity instanceof FxForwardSensitivity) {
+      FxForwardSensitivity pt = (FxForwardSensitivity) pointSensitivity;
+      FxForwardRates rates = fxForwardRates(pt.getCurrencyPair());
+      accumulator.add(rates.parameterSensitivity(pt.multipliedBy(weight)));
     }
-    return sens;
   }
 
   /**
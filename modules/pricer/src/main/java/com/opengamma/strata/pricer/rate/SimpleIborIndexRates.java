@@ -251,6 +251,13 @@ public final class SimpleIborIndexRates
     return CurrencyParameterSensitivities.of(sensitivity);
   }
 
+  @Override
+  public void parameterSensitivity(IborRateSensitivity pointSensitivity, double[] target) {
+    LocalDate maturityDate = pointSensitivity.getObservation().getMaturityDate();
+    double relativeYearFraction = relativeYearFraction(maturityDate);
+    curve.yValueParameterSensitivity(relativeYearFraction, pointSensitivity.getSensitivity(), target);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
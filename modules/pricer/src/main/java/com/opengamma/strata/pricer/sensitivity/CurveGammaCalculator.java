@@ -9,31 +9,37 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Doubles;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.basics.index.RateIndex;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.Curve;
-import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.LegalEntityGroup;
 import com.opengamma.strata.market.curve.ParallelShiftedCurve;
 import com.opengamma.strata.market.curve.RepoGroup;
 import com.opengamma.strata.market.param.CrossGammaParameterSensitivities;
 import com.opengamma.strata.market.param.CrossGammaParameterSensitivity;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAccumulator;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
@@ -53,6 +59,11 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * By default the gamma is computed using a one basis-point shift and a forward finite difference.
  * The results themselves are not scaled (they represent the second order derivative).
  * <p>
+ * The cross gamma is computed by bumping each parameter of each curve once and computing the delta
+ * for each bumped provider. The base delta is computed once and shared by all the curves.
+ * The bumped deltas can be computed in parallel using {@link #withExecutor(Executor)},
+ * and the symmetry of the second order derivatives can be enforced using {@link #withSymmetrization(boolean)}.
+ * <p>
  * Reference: Interest Rate Cross-gamma for Single and Multiple Curves. OpenGamma quantitative research 15, July 14
  */
 public final class CurveGammaCalculator {
@@ -62,6 +73,22 @@ public final class CurveGammaCalculator {
    */
   public static final CurveGammaCalculator DEFAULT = new CurveGammaCalculator(FiniteDifferenceType.FORWARD, 1e-4);
 
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
+  /**
+   * The executor used to compute the bumped deltas, null to compute them on the calling thread.
+   */
+  private final Executor executor;
+  /**
+   * Whether the cross gamma is made symmetric.
+   */
+  private final boolean symmetrization;
   /**
    * The first order finite difference calculator.
    */
@@ -106,9 +133,54 @@ public final class CurveGammaCalculator {
    * @param shift  the shift to be applied to the curves
    */
   private CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
+    this(fdType, shift, null, false);
+  }
+
+  // restricted constructor
+  private CurveGammaCalculator(FiniteDifferenceType fdType, double shift, Executor executor, boolean symmetrization) {
+    this.fdType = fdType;
+    this.shift = shift;
+    this.executor = executor;
+    this.symmetrization = symmetrization;
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this calculator that computes the bumped deltas using the specified executor.
+   * <p>
+   * The bumped providers are built, and the sensitivity function applied to them, in tasks submitted
+   * to the executor, one for each parameter bumped. The sensitivity function must therefore be thread-safe.
+   * The calling thread waits for all the tasks to complete.
+   * The cross gamma is identical to that computed on the calling thread.
+   * 
+   * @param executor  the executor used to compute the bumped deltas
+   * @return the calculator
+   */
+  public CurveGammaCalculator withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new CurveGammaCalculator(fdType, shift, executor, symmetrization);
+  }
+
+  /**
+   * Returns a copy of this calculator that enforces the symmetry of the cross gamma.
+   * <p>
+   * The second order derivative with respect to two parameters does not depend on the order of differentiation.
+   * The finite difference approximation only satisfies this approximately.
+   * When enabled, the sensitivity of the delta to parameter i of curve A with respect to parameter j of curve B
+   * and the sensitivity of the delta to parameter j of curve B with respect to parameter i of curve A
+   * are both replaced by their mean. This applies to each intra-curve gamma matrix, and to the cross-curve
+   * gamma where both curves have a delta in the same currency and are each bumped once.
+   * A curve used by more than one key, such as for both discounting and an overnight index, is left as computed
+   * in the cross-curve gamma. This is disabled by default.
+   * 
+   * @param symmetrization  whether the cross gamma is made symmetric
+   * @return the calculator
+   */
+  public CurveGammaCalculator withSymmetrization(boolean symmetrization) {
+    return new CurveGammaCalculator(fdType, shift, executor, symmetrization);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes intra-curve cross gamma by applying finite difference method to curve delta.
@@ -129,61 +201,57 @@ public final class CurveGammaCalculator {
 
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits
-    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
+    return intraCurve(baseDelta, curveBumps(immProv, baseDelta), sensitivitiesFn);
+  }
+
+  /**
+   * Computes intra-curve cross gamma of a portfolio by applying finite difference method to the portfolio delta.
+   * <p>
+   * This computes the intra-curve cross gamma of the sum of the deltas of the functions, such as those of the
+   * trades of a portfolio. The provider is bumped once for each parameter, and all the functions are applied
+   * to each bumped provider. The result is the sum of the intra-curve cross gamma of each function, but is
+   * much cheaper to compute than calling {@link #calculateCrossGammaIntraCurve(RatesProvider, Function)}
+   * for each function separately.
+   * <p>
+   * The sensitivities are computed for discount curves, and forward curves for {@code RateIndex} and {@code PriceIndex}. 
+   * This implementation works only for single currency trades. 
+   * 
+   * @param ratesProvider  the rates provider
+   * @param sensitivitiesFns  the sensitivity functions, such as one for each trade
+   * @return the cross gamma of the portfolio
+   */
+  public CrossGammaParameterSensitivities calculatePortfolioCrossGammaIntraCurve(
+      RatesProvider ratesProvider,
+      List<? extends Function<ImmutableRatesProvider, CurrencyParameterSensitivities>> sensitivitiesFns) {
+
+    return calculateCrossGammaIntraCurve(ratesProvider, portfolioSensitivitiesFn(sensitivitiesFns));
+  }
+
+  // finds the curves to bump, including the underlying curves of combined curves
+  private List<CurveBump<ImmutableRatesProvider>> curveBumps(
+      ImmutableRatesProvider immProv,
+      CurrencyParameterSensitivities baseDelta) {
+
+    List<CurveBump<ImmutableRatesProvider>> bumps = new ArrayList<>();
     // discount curve
     for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
       Currency currency = entry.getKey();
-      Curve curve = entry.getValue();
-      if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-        CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-            curve, currency, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
-        result = result.combinedWith(gammaSingle);
-      } else if (curve.split().size() > 1) {
-        ImmutableList<Curve> curves = curve.split();
-        int nCurves = curves.size();
-        for (int i = 0; i < nCurves; ++i) {
-          int currentIndex = i;
-          Curve underlyingCurve = curves.get(currentIndex);
-          if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
-            CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                underlyingCurve,
-                currency,
-                c -> immProv.toBuilder().discountCurve(currency, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                sensitivitiesFn);
-            result = result.combinedWith(gammaSingle);
-          }
-        }
-      }
+      addCurveBumps(
+          bumps, entry.getValue(), currency, baseDelta, c -> immProv.toBuilder().discountCurve(currency, c).build());
     }
     // forward curve
     for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
       Index index = entry.getKey();
       if (index instanceof RateIndex || index instanceof PriceIndex) {
-        Currency currency = getCurrency(index);
-        Curve curve = entry.getValue();
-        if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-          CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              curve, currency, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
-          result = result.combinedWith(gammaSingle);
-        } else if (curve.split().size() > 1) {
-          ImmutableList<Curve> curves = curve.split();
-          int nCurves = curves.size();
-          for (int i = 0; i < nCurves; ++i) {
-            int currentIndex = i;
-            Curve underlyingCurve = curves.get(currentIndex);
-            if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
-              CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                  underlyingCurve,
-                  currency,
-                  c -> immProv.toBuilder().indexCurve(index, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                  sensitivitiesFn);
-              result = result.combinedWith(gammaSingle);
-            }
-          }
-        }
+        addCurveBumps(
+            bumps,
+            entry.getValue(),
+            getCurrency(index),
+            baseDelta,
+            c -> immProv.toBuilder().indexCurve(index, c).build());
       }
     }
-    return result;
+    return bumps;
   }
 
   //-------------------------------------------------------------------------
@@ -206,80 +274,30 @@ public final class CurveGammaCalculator {
     LocalDate valuationDate = ratesProvider.getValuationDate();
     ImmutableLegalEntityDiscountingProvider immProv = ratesProvider.toImmutableLegalEntityDiscountingProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits
-    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
+    List<CurveBump<ImmutableLegalEntityDiscountingProvider>> bumps = new ArrayList<>();
     // issuer curve
     for (Entry<Pair<LegalEntityGroup, Currency>, DiscountFactors> entry : immProv.getIssuerCurves().entrySet()) {
       Pair<LegalEntityGroup, Currency> legCcy = entry.getKey();
       Currency currency = legCcy.getSecond();
-      Curve curve = getCurve(entry.getValue());
-      CurveName curveName = curve.getName();
-      if (baseDelta.findSensitivity(curveName, currency).isPresent()) {
-        CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-            curveName,
-            curve,
-            currency,
-            c -> replaceIssuerCurve(immProv, legCcy, DiscountFactors.of(currency, valuationDate, c)),
-            sensitivitiesFn);
-        result = result.combinedWith(gammaSingle);
-      } else {
-        ImmutableList<Curve> curves = curve.split();
-        int nCurves = curves.size();
-        if (nCurves > 1) {
-          for (int i = 0; i < nCurves; ++i) {
-            int currentIndex = i;
-            Curve underlyingCurve = curves.get(currentIndex);
-            CurveName underlyingCurveName = underlyingCurve.getName();
-            if (baseDelta.findSensitivity(underlyingCurveName, currency).isPresent()) {
-              CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                  underlyingCurveName,
-                  underlyingCurve,
-                  currency,
-                  c -> replaceIssuerCurve(
-                      immProv, legCcy, DiscountFactors.of(currency, valuationDate, curve.withUnderlyingCurve(currentIndex, c))),
-                  sensitivitiesFn);
-              result = result.combinedWith(gammaSingle);
-            }
-          }
-        }
-      }
+      addCurveBumps(
+          bumps,
+          getCurve(entry.getValue()),
+          currency,
+          baseDelta,
+          c -> replaceIssuerCurve(immProv, legCcy, DiscountFactors.of(currency, valuationDate, c)));
     }
     // repo curve
     for (Entry<Pair<RepoGroup, Currency>, DiscountFactors> entry : immProv.getRepoCurves().entrySet()) {
       Pair<RepoGroup, Currency> rgCcy = entry.getKey();
       Currency currency = rgCcy.getSecond();
-      Curve curve = getCurve(entry.getValue());
-      CurveName curveName = curve.getName();
-      if (baseDelta.findSensitivity(curveName, currency).isPresent()) {
-        CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-            curveName,
-            curve,
-            currency,
-            c -> replaceRepoCurve(immProv, rgCcy, DiscountFactors.of(currency, valuationDate, c)),
-            sensitivitiesFn);
-        result = result.combinedWith(gammaSingle);
-      } else {
-        ImmutableList<Curve> curves = curve.split();
-        int nCurves = curves.size();
-        if (nCurves > 1) {
-          for (int i = 0; i < nCurves; ++i) {
-            int currentIndex = i;
-            Curve underlyingCurve = curves.get(currentIndex);
-            CurveName underlyingCurveName = underlyingCurve.getName();
-            if (baseDelta.findSensitivity(underlyingCurveName, rgCcy.getSecond()).isPresent()) {
-              CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                  underlyingCurveName,
-                  underlyingCurve,
-                  currency,
-                  c -> replaceRepoCurve(
-                      immProv, rgCcy, DiscountFactors.of(currency, valuationDate, curve.withUnderlyingCurve(currentIndex, c))),
-                  sensitivitiesFn);
-              result = result.combinedWith(gammaSingle);
-            }
-          }
-        }
-      }
+      addCurveBumps(
+          bumps,
+          getCurve(entry.getValue()),
+          currency,
+          baseDelta,
+          c -> replaceRepoCurve(immProv, rgCcy, DiscountFactors.of(currency, valuationDate, c)));
     }
-    return result;
+    return intraCurve(baseDelta, bumps, sensitivitiesFn);
   }
 
   //-------------------------------------------------------------------------
@@ -302,65 +320,118 @@ public final class CurveGammaCalculator {
 
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits.
+    List<CurveBump<ImmutableRatesProvider>> bumps = curveBumps(immProv, baseDelta);
+    BumpedDeltas bumped = bumpedDeltas(bumps, sensitivitiesFn);
+    // the sensitivity of each delta to each curve
+    List<CurrencyParameterSensitivity> deltas = baseDelta.getSensitivities();
+    DoubleMatrix[][] blocks = new DoubleMatrix[deltas.size()][bumps.size()];
+    for (int i = 0; i < deltas.size(); i++) {
+      for (int k = 0; k < bumps.size(); k++) {
+        blocks[i][k] = bumped.gamma(k, deltas.get(i));
+      }
+    }
+    if (symmetrization) {
+      symmetrize(blocks, deltas, bumps);
+    }
     CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity baseDeltaSingle : baseDelta.getSensitivities()) {
+    for (int i = 0; i < deltas.size(); i++) {
+      CurrencyParameterSensitivity baseDeltaSingle = deltas.get(i);
       CrossGammaParameterSensitivities resultInner = CrossGammaParameterSensitivities.empty();
-      // discount curve
-      for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
-        Currency currency = entry.getKey();
-        Curve curve = entry.getValue();
-        if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-          CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              baseDeltaSingle, curve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
-          resultInner = resultInner.combinedWith(gammaSingle);
-        } else if (curve.split().size() > 1) {
-          ImmutableList<Curve> curves = curve.split();
-          int nCurves = curves.size();
-          for (int i = 0; i < nCurves; ++i) {
-            int currentIndex = i;
-            Curve underlyingCurve = curves.get(currentIndex);
-            if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
-              CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                  baseDeltaSingle,
-                  underlyingCurve,
-                  c -> immProv.toBuilder().discountCurve(currency, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                  sensitivitiesFn);
-              resultInner = resultInner.combinedWith(gammaSingle);
-            }
-          }
+      for (int k = 0; k < bumps.size(); k++) {
+        Curve curve = bumps.get(k).curve;
+        CrossGammaParameterSensitivity gammaSingle = CrossGammaParameterSensitivity.of(
+            baseDeltaSingle.getMarketDataName(),
+            baseDeltaSingle.getParameterMetadata(),
+            curve.getName(),
+            parameterMetadata(curve),
+            baseDeltaSingle.getCurrency(),
+            blocks[i][k]);
+        resultInner = resultInner.combinedWith(gammaSingle);
+      }
+      result = result.combinedWith(combineSensitivities(baseDeltaSingle, resultInner));
+    }
+    return result;
+  }
+
+  /**
+   * Computes cross-curve gamma of a portfolio by applying finite difference method to the portfolio delta.
+   * <p>
+   * This computes the cross-curve gamma of the sum of the deltas of the functions, such as those of the
+   * trades of a portfolio. The provider is bumped once for each parameter, and all the functions are applied
+   * to each bumped provider. The result is the sum of the cross-curve gamma of each function, but is
+   * much cheaper to compute than calling {@link #calculateCrossGammaCrossCurve(RatesProvider, Function)}
+   * for each function separately.
+   * <p>
+   * The sensitivities are computed for discount curves, and forward curves for {@code RateIndex} and {@code PriceIndex}. 
+   * This implementation works only for single currency trades. 
+   * 
+   * @param ratesProvider  the rates provider
+   * @param sensitivitiesFns  the sensitivity functions, such as one for each trade
+   * @return the cross gamma of the portfolio
+   */
+  public CrossGammaParameterSensitivities calculatePortfolioCrossGammaCrossCurve(
+      RatesProvider ratesProvider,
+      List<? extends Function<ImmutableRatesProvider, CurrencyParameterSensitivities>> sensitivitiesFns) {
+
+    return calculateCrossGammaCrossCurve(ratesProvider, portfolioSensitivitiesFn(sensitivitiesFns));
+  }
+
+  // the sum of the sensitivities of the functions
+  private static Function<ImmutableRatesProvider, CurrencyParameterSensitivities> portfolioSensitivitiesFn(
+      List<? extends Function<ImmutableRatesProvider, CurrencyParameterSensitivities>> sensitivitiesFns) {
+
+    List<Function<ImmutableRatesProvider, CurrencyParameterSensitivities>> fns = ImmutableList.copyOf(sensitivitiesFns);
+    return provider -> {
+      CurrencyParameterSensitivitiesAccumulator accumulator = CurrencyParameterSensitivities.accumulator();
+      for (Function<ImmutableRatesProvider, CurrencyParameterSensitivities> fn : fns) {
+        accumulator.add(fn.apply(provider));
+      }
+      return accumulator.build();
+    };
+  }
+
+  // makes the sensitivity of each delta to each curve symmetric, where the delta is to a bumped curve
+  private void symmetrize(
+      DoubleMatrix[][] blocks,
+      List<CurrencyParameterSensitivity> deltas,
+      List<? extends CurveBump<?>> bumps) {
+
+    // a curve bumped more than once, such as a curve used for discounting and forwards, is left as computed
+    int[] bumpOfDelta = new int[deltas.size()];
+    int[] deltaOfBump = new int[bumps.size()];
+    Arrays.fill(bumpOfDelta, -1);
+    Arrays.fill(deltaOfBump, -1);
+    for (int i = 0; i < deltas.size(); i++) {
+      CurrencyParameterSensitivity delta = deltas.get(i);
+      int matches = 0;
+      for (int k = 0; k < bumps.size(); k++) {
+        CurveBump<?> bump = bumps.get(k);
+        if (bump.curve.getName().equals(delta.getMarketDataName()) && bump.currency.equals(delta.getCurrency())) {
+          bumpOfDelta[i] = k;
+          matches++;
         }
       }
-      // forward curve
-      for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
-        Index index = entry.getKey();
-        if (index instanceof RateIndex || index instanceof PriceIndex) {
-          Currency currency = getCurrency(index);
-          Curve curve = entry.getValue();
-          if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-            CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                baseDeltaSingle, curve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
-            resultInner = resultInner.combinedWith(gammaSingle);
-          } else if (curve.split().size() > 1) {
-            ImmutableList<Curve> curves = curve.split();
-            int nCurves = curves.size();
-            for (int i = 0; i < nCurves; ++i) {
-              int currentIndex = i;
-              Curve underlyingCurve = curves.get(currentIndex);
-              if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
-                CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                    baseDeltaSingle,
-                    underlyingCurve,
-                    c -> immProv.toBuilder().indexCurve(index, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                    sensitivitiesFn);
-                resultInner = resultInner.combinedWith(gammaSingle);
-              }
-            }
-          }
+      if (matches == 1) {
+        deltaOfBump[bumpOfDelta[i]] = i;
+      } else {
+        bumpOfDelta[i] = -1;
+      }
+    }
+    for (int i = 0; i < deltas.size(); i++) {
+      for (int k = 0; k < bumps.size(); k++) {
+        int i2 = deltaOfBump[k];
+        int k2 = bumpOfDelta[i];
+        // process each pair of blocks once, the diagonal blocks being their own pair
+        if (i2 >= 0 && k2 >= 0 && (i2 > i || (i2 == i && k2 == k))) {
+          DoubleMatrix block = blocks[i][k];
+          DoubleMatrix pair = blocks[i2][k2];
+          DoubleMatrix symmetric = DoubleMatrix.of(
+              block.rowCount(), block.columnCount(), (r, c) -> 0.5 * (block.get(r, c) + pair.get(c, r)));
+          blocks[i][k] = symmetric;
+          blocks[i2][k2] = symmetric.transpose();
         }
       }
-      result = result.combinedWith(combineSensitivities(baseDeltaSingle, resultInner));
     }
-    return result;
   }
 
   //-------------------------------------------------------------------------
@@ -373,58 +444,106 @@ public final class CurveGammaCalculator {
     throw new IllegalArgumentException("unsupported index");
   }
 
-  // compute the second order sensitivity to Curve
-  CrossGammaParameterSensitivity computeGammaForCurve(
+  // finds the curve to bump, or the underlying curves of a combined curve, if they have a sensitivity
+  private static <P> void addCurveBumps(
+      List<CurveBump<P>> bumps,
       Curve curve,
-      Currency sensitivityCurrency,
-      Function<Curve, ImmutableRatesProvider> ratesProviderFn,
-      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
-
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        Curve newCurve = replaceParameters(curve, t);
-        ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(newCurve.getName(), sensitivityCurrency).getSensitivity();
+      Currency currency,
+      CurrencyParameterSensitivities baseDelta,
+      Function<Curve, P> providerFn) {
+
+    if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
+      bumps.add(new CurveBump<>(curve, currency, providerFn));
+    } else if (curve.split().size() > 1) {
+      ImmutableList<Curve> curves = curve.split();
+      int nCurves = curves.size();
+      for (int i = 0; i < nCurves; ++i) {
+        int currentIndex = i;
+        Curve underlyingCurve = curves.get(currentIndex);
+        if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
+          bumps.add(new CurveBump<>(
+              underlyingCurve, currency, c -> providerFn.apply(curve.withUnderlyingCurve(currentIndex, c))));
+        }
       }
-    };
-    int nParams = curve.getParameterCount();
-    DoubleMatrix sensi = fd.differentiate(function).apply(DoubleArray.of(nParams, n -> curve.getParameter(n)));
-    List<ParameterMetadata> metadata = IntStream.range(0, nParams)
-        .mapToObj(i -> curve.getParameterMetadata(i))
-        .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(curve.getName(), metadata, sensitivityCurrency, sensi);
+    }
   }
 
-  // computes the sensitivity of baseDeltaSingle to Curve
-  CrossGammaParameterSensitivity computeGammaForCurve(
-      CurrencyParameterSensitivity baseDeltaSingle,
-      Curve curve,
-      Function<Curve, ImmutableRatesProvider> ratesProviderFn,
-      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
+  // computes the second order sensitivity of each curve to itself
+  private <P> CrossGammaParameterSensitivities intraCurve(
+      CurrencyParameterSensitivities baseDelta,
+      List<CurveBump<P>> bumps,
+      Function<P, CurrencyParameterSensitivities> sensitivitiesFn) {
+
+    BumpedDeltas bumped = bumpedDeltas(bumps, sensitivitiesFn);
+    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
+    for (int k = 0; k < bumps.size(); k++) {
+      CurveBump<P> bump = bumps.get(k);
+      Curve curve = bump.curve;
+      DoubleMatrix computed = bumped.gamma(k, baseDelta.getSensitivity(curve.getName(), bump.currency));
+      DoubleMatrix gamma = symmetrization ?
+          DoubleMatrix.of(
+              computed.rowCount(),
+              computed.columnCount(),
+              (r, c) -> 0.5 * (computed.get(r, c) + computed.get(c, r))) :
+          computed;
+      result = result.combinedWith(
+          CrossGammaParameterSensitivity.of(curve.getName(), parameterMetadata(curve), bump.currency, gamma));
+    }
+    return result;
+  }
 
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        Curve newCurve = replaceParameters(curve, t);
-        ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity();
+  // computes the delta for each bump of each parameter of each curve
+  // the deltas are computed in parallel if there is an executor, each one written to its own slot
+  private <P> BumpedDeltas bumpedDeltas(
+      List<CurveBump<P>> bumps,
+      Function<P, CurrencyParameterSensitivities> sensitivitiesFn) {
+
+    CurrencyParameterSensitivities[][] up = new CurrencyParameterSensitivities[bumps.size()][];
+    CurrencyParameterSensitivities[][] down = new CurrencyParameterSensitivities[bumps.size()][];
+    List<Runnable> tasks = new ArrayList<>();
+    for (int k = 0; k < bumps.size(); k++) {
+      CurveBump<P> bump = bumps.get(k);
+      int nParams = bump.curve.getParameterCount();
+      CurrencyParameterSensitivities[] upCurve = new CurrencyParameterSensitivities[nParams];
+      CurrencyParameterSensitivities[] downCurve = new CurrencyParameterSensitivities[nParams];
+      up[k] = upCurve;
+      down[k] = downCurve;
+      for (int j = 0; j < nParams; j++) {
+        int param = j;
+        if (fdType != FiniteDifferenceType.BACKWARD) {
+          tasks.add(() -> upCurve[param] = sensitivitiesFn.apply(bump.bumpedProvider(param, shift)));
+        }
+        if (fdType != FiniteDifferenceType.FORWARD) {
+          tasks.add(() -> downCurve[param] = sensitivitiesFn.apply(bump.bumpedProvider(param, -shift)));
+        }
       }
-    };
-    int nParams = curve.getParameterCount();
-    DoubleMatrix sensi = fd.differentiate(function).apply(DoubleArray.of(nParams, n -> curve.getParameter(n)));
-    List<ParameterMetadata> metadata = IntStream.range(0, nParams)
+    }
+    runTasks(tasks);
+    return new BumpedDeltas(up, down);
+  }
+
+  // runs the tasks, using the executor if present
+  private void runTasks(List<Runnable> tasks) {
+    if (executor == null) {
+      tasks.forEach(Runnable::run);
+      return;
+    }
+    CompletableFuture<?>[] futures = tasks.stream()
+        .map(task -> CompletableFuture.runAsync(task, executor))
+        .toArray(CompletableFuture[]::new);
+    try {
+      CompletableFuture.allOf(futures).join();
+    } catch (CompletionException ex) {
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw ex;
+    }
+  }
+
+  // the metadata of the parameters of the curve
+  private static List<ParameterMetadata> parameterMetadata(Curve curve) {
+    return IntStream.range(0, curve.getParameterCount())
         .mapToObj(i -> curve.getParameterMetadata(i))
         .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(
-        baseDeltaSingle.getMarketDataName(),
-        baseDeltaSingle.getParameterMetadata(),
-        curve.getName(),
-        metadata,
-        baseDeltaSingle.getCurrency(),
-        sensi);
   }
 
   private CrossGammaParameterSensitivity combineSensitivities(
@@ -475,11 +594,6 @@ public final class CurveGammaCalculator {
     return curve.createParameterSensitivity(curveCurrency, gamma);
   }
 
-  //-------------------------------------------------------------------------
-  private Curve replaceParameters(Curve curve, DoubleArray newParameters) {
-    return curve.withPerturbation((i, v, m) -> newParameters.get(i));
-  }
-
   //-------------------------------------------------------------------------
   /**
    * Inner class to compute the delta for a given parallel shift of the curve.
@@ -516,30 +630,6 @@ public final class CurveGammaCalculator {
     throw new IllegalArgumentException("Unsupported DiscountFactors type");
   }
 
-  private CrossGammaParameterSensitivity computeGammaForCurve(
-      CurveName curveName,
-      Curve curve,
-      Currency sensitivityCurrency,
-      Function<Curve, ImmutableLegalEntityDiscountingProvider> ratesProviderFn,
-      Function<ImmutableLegalEntityDiscountingProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
-
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        Curve newCurve = curve.withPerturbation((i, v, m) -> t.get(i));
-        ImmutableLegalEntityDiscountingProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(curveName, sensitivityCurrency).getSensitivity();
-      }
-    };
-    int nParams = curve.getParameterCount();
-    DoubleMatrix sensi = fd.differentiate(function).apply(DoubleArray.of(nParams, n -> curve.getParameter(n)));
-    List<ParameterMetadata> metadata = IntStream.range(0, nParams)
-        .mapToObj(i -> curve.getParameterMetadata(i))
-        .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(curveName, metadata, sensitivityCurrency, sensi);
-  }
-
   private ImmutableLegalEntityDiscountingProvider replaceIssuerCurve(
       ImmutableLegalEntityDiscountingProvider ratesProvider,
       Pair<LegalEntityGroup, Currency> legCcy,
@@ -568,4 +658,81 @@ public final class CurveGammaCalculator {
         .build();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * A curve whose parameters are bumped, with the function creating the provider containing the bumped curve.
+   */
+  private static final class CurveBump<P> {
+    private final Curve curve;
+    private final Currency currency;
+    private final Function<Curve, P> providerFn;
+
+    private CurveBump(Curve curve, Currency currency, Function<Curve, P> providerFn) {
+      this.curve = curve;
+      this.currency = currency;
+      this.providerFn = providerFn;
+    }
+
+    // the provider with one parameter of the curve shifted
+    private P bumpedProvider(int param, double shift) {
+      double bumpedValue = curve.getParameter(param) + shift;
+      return providerFn.apply(curve.withPerturbation((i, v, m) -> i == param ? bumpedValue : v));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The deltas computed for each bump of each parameter of each curve.
+   */
+  private final class BumpedDeltas {
+    private final CurrencyParameterSensitivities[][] up;
+    private final CurrencyParameterSensitivities[][] down;
+
+    private BumpedDeltas(CurrencyParameterSensitivities[][] up, CurrencyParameterSensitivities[][] down) {
+      this.up = up;
+      this.down = down;
+    }
+
+    // the sensitivity of the delta to the parameters of a curve, each column being a parameter
+    // this uses the same formulas as VectorFieldFirstOrderDifferentiator
+    private DoubleMatrix gamma(int curveIndex, CurrencyParameterSensitivity baseDelta) {
+      MarketDataName<?> name = baseDelta.getMarketDataName();
+      Currency currency = baseDelta.getCurrency();
+      DoubleArray y = baseDelta.getSensitivity();
+      int n = up[curveIndex].length;
+      int m = y.size();
+      double[][] res = new double[m][n];
+      for (int j = 0; j < n; j++) {
+        switch (fdType) {
+          case FORWARD: {
+            DoubleArray upJ = up[curveIndex][j].getSensitivity(name, currency).getSensitivity();
+            for (int i = 0; i < m; i++) {
+              res[i][j] = (upJ.get(i) - y.get(i)) / shift;
+            }
+            break;
+          }
+          case CENTRAL: {
+            DoubleArray upJ = up[curveIndex][j].getSensitivity(name, currency).getSensitivity();
+            DoubleArray downJ = down[curveIndex][j].getSensitivity(name, currency).getSensitivity();
+            double twoShift = 2 * shift;
+            for (int i = 0; i < m; i++) {
+              res[i][j] = (upJ.get(i) - downJ.get(i)) / twoShift;
+            }
+            break;
+          }
+          case BACKWARD: {
+            DoubleArray downJ = down[curveIndex][j].getSensitivity(name, currency).getSensitivity();
+            for (int i = 0; i < m; i++) {
+              res[i][j] = (y.get(i) - downJ.get(i)) / shift;
+            }
+            break;
+          }
+          default:
+            throw new IllegalArgumentException("Can only handle forward, backward and central differencing");
+        }
+      }
+      return DoubleMatrix.copyOf(res);
+    }
+  }
+
 }
@@ -5,20 +5,9 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
-import java.util.Map;
-import java.util.Map.Entry;
-
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.collect.array.DoubleArray;
-import com.opengamma.strata.collect.array.DoubleMatrix;
-import com.opengamma.strata.market.curve.Curve;
-import com.opengamma.strata.market.curve.CurveInfoType;
-import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
-import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
-import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
-import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
 import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
 import com.opengamma.strata.pricer.credit.CreditRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -29,6 +18,10 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * This needs the {@link JacobianCalibrationMatrix} obtained during curve calibration.
  * The Market Quote sensitivities are also called Par Rate when the instruments used
  * in the curve calibration are quoted in rate, e.g. IRS, FRA or OIS.
+ * <p>
+ * When converting the sensitivities of many trades using the same provider, a converter
+ * can be prepared once, for example using {@link #prepare(RatesProvider)}.
+ * The converter caches the Jacobian blocks of each curve, and can convert many trades at once.
  */
 public class MarketQuoteSensitivityCalculator {
 
@@ -36,10 +29,6 @@ public class MarketQuoteSensitivityCalculator {
    * The default instance.
    */
   public static final MarketQuoteSensitivityCalculator DEFAULT = new MarketQuoteSensitivityCalculator();
-  /**
-   * The matrix algebra used for matrix inversion.
-   */
-  private static final MatrixAlgebra MATRIX_ALGEBRA = new OGMatrixAlgebra();
 
   //-------------------------------------------------------------------------
   /**
@@ -55,36 +44,7 @@ public class MarketQuoteSensitivityCalculator {
 
     ArgChecker.notNull(paramSensitivities, "paramSensitivities");
     ArgChecker.notNull(provider, "provider");
-
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity paramSens : paramSensitivities.getSensitivities()) {
-      // find the matching calibration info
-      Curve curve = provider.findData(paramSens.getMarketDataName())
-          .filter(v -> v instanceof Curve)
-          .map(v -> (Curve) v)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires curve: " + paramSens.getMarketDataName()));
-      JacobianCalibrationMatrix info = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires Jacobian calibration information"));
-
-      // calculate the market quote sensitivity using the Jacobian
-      DoubleMatrix jacobian = info.getJacobianMatrix();
-      DoubleArray paramSensMatrix = paramSens.getSensitivity();
-      DoubleArray marketQuoteSensMatrix = (DoubleArray) MATRIX_ALGEBRA.multiply(paramSensMatrix, jacobian);
-      DoubleArray marketQuoteSens = marketQuoteSensMatrix;
-
-      // split between different curves
-      Map<CurveName, DoubleArray> split = info.splitValues(marketQuoteSens);
-      for (Entry<CurveName, DoubleArray> entry : split.entrySet()) {
-        CurveName curveName = entry.getKey();
-        CurrencyParameterSensitivity maketQuoteSens = provider.findData(curveName)
-            .map(c -> c.createParameterSensitivity(paramSens.getCurrency(), entry.getValue()))
-            .orElse(CurrencyParameterSensitivity.of(curveName, paramSens.getCurrency(), entry.getValue()));
-        result = result.combinedWith(maketQuoteSens);
-      }
-    }
-    return result;
+    return prepare(provider).sensitivity(paramSensitivities);
   }
 
   /**
@@ -103,36 +63,7 @@ public class MarketQuoteSensitivityCalculator {
 
     ArgChecker.notNull(paramSensitivities, "paramSensitivities");
     ArgChecker.notNull(provider, "provider");
-
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity paramSens : paramSensitivities.getSensitivities()) {
-      // find the matching calibration info
-      Curve curve = provider.findData(paramSens.getMarketDataName())
-          .filter(v -> v instanceof Curve)
-          .map(v -> (Curve) v)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires curve: " + paramSens.getMarketDataName()));
-      JacobianCalibrationMatrix info = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires Jacobian calibration information"));
-
-      // calculate the market quote sensitivity using the Jacobian
-      DoubleMatrix jacobian = info.getJacobianMatrix();
-      DoubleArray paramSensMatrix = paramSens.getSensitivity();
-      DoubleArray marketQuoteSensMatrix = (DoubleArray) MATRIX_ALGEBRA.multiply(paramSensMatrix, jacobian);
-      DoubleArray marketQuoteSens = marketQuoteSensMatrix;
-
-      // split between different curves
-      Map<CurveName, DoubleArray> split = info.splitValues(marketQuoteSens);
-      for (Entry<CurveName, DoubleArray> entry : split.entrySet()) {
-        CurveName curveName = entry.getKey();
-        CurrencyParameterSensitivity maketQuoteSens = provider.findData(curveName)
-            .map(c -> c.createParameterSensitivity(paramSens.getCurrency(), entry.getValue()))
-            .orElse(CurrencyParameterSensitivity.of(curveName, paramSens.getCurrency(), entry.getValue()));
-        result = result.combinedWith(maketQuoteSens);
-      }
-    }
-    return result;
+    return prepare(provider).sensitivity(paramSensitivities);
   }
 
   /**
@@ -149,35 +80,50 @@ public class MarketQuoteSensitivityCalculator {
       CurrencyParameterSensitivities paramSensitivities,
       CreditRatesProvider provider) {
 
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity paramSens : paramSensitivities.getSensitivities()) {
-      // find the matching calibration info
-      Curve curve = provider.findData(paramSens.getMarketDataName())
-          .filter(v -> v instanceof Curve)
-          .map(v -> (Curve) v)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires curve: " + paramSens.getMarketDataName()));
-      JacobianCalibrationMatrix info = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires Jacobian calibration information"));
+    return prepare(provider).sensitivity(paramSensitivities);
+  }
 
-      // calculate the market quote sensitivity using the Jacobian
-      DoubleMatrix jacobian = info.getJacobianMatrix();
-      DoubleArray paramSensMatrix = paramSens.getSensitivity();
-      DoubleArray marketQuoteSensMatrix = (DoubleArray) MATRIX_ALGEBRA.multiply(paramSensMatrix, jacobian);
-      DoubleArray marketQuoteSens = marketQuoteSensMatrix;
+  //-------------------------------------------------------------------------
+  /**
+   * Prepares a converter of parameter sensitivities to market quote sensitivities.
+   * <p>
+   * The converter caches the Jacobian calibration information of each curve of the provider,
+   * and should be used when converting the sensitivities of many trades using the same provider.
+   * 
+   * @param provider  the rates provider, containing Jacobian calibration information
+   * @return the converter
+   */
+  public MarketQuoteSensitivityConverter prepare(RatesProvider provider) {
+    ArgChecker.notNull(provider, "provider");
+    return new MarketQuoteSensitivityConverter(name -> provider.findData(name));
+  }
+
+  /**
+   * Prepares a converter of parameter sensitivities to market quote sensitivities of fixed incomes.
+   * <p>
+   * The converter caches the Jacobian calibration information of each curve of the provider,
+   * and should be used when converting the sensitivities of many trades using the same provider.
+   * 
+   * @param provider  the legal entity discounting provider, containing Jacobian calibration information
+   * @return the converter
+   */
+  public MarketQuoteSensitivityConverter prepare(LegalEntityDiscountingProvider provider) {
+    ArgChecker.notNull(provider, "provider");
+    return new MarketQuoteSensitivityConverter(name -> provider.findData(name));
+  }
 
-      // split between different curves
-      Map<CurveName, DoubleArray> split = info.splitValues(marketQuoteSens);
-      for (Entry<CurveName, DoubleArray> entry : split.entrySet()) {
-        CurveName curveName = entry.getKey();
-        CurrencyParameterSensitivity maketQuoteSens = provider.findData(curveName)
-            .map(c -> c.createParameterSensitivity(paramSens.getCurrency(), entry.getValue()))
-            .orElse(CurrencyParameterSensitivity.of(curveName, paramSens.getCurrency(), entry.getValue()));
-        result = result.combinedWith(maketQuoteSens);
-      }
-    }
-    return result;
+  /**
+   * Prepares a converter of parameter sensitivities to market quote sensitivities of credit derivatives.
+   * <p>
+   * The converter caches the Jacobian calibration information of each curve of the provider,
+   * and should be used when converting the sensitivities of many trades using the same provider.
+   * 
+   * @param provider  the credit rates provider, containing Jacobian calibration information
+   * @return the converter
+   */
+  public MarketQuoteSensitivityConverter prepare(CreditRatesProvider provider) {
+    ArgChecker.notNull(provider, "provider");
+    return new MarketQuoteSensitivityConverter(name -> provider.findData(name));
   }
 
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAccumulator;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+
+/**
+ * Converter from parameter sensitivities to Market Quote sensitivities for a single provider.
+ * <p>
+ * Instances are obtained from {@link MarketQuoteSensitivityCalculator}, for example using
+ * {@link MarketQuoteSensitivityCalculator#prepare(com.opengamma.strata.pricer.rate.RatesProvider)}.
+ * <p>
+ * The {@link JacobianCalibrationMatrix} of each curve is looked up the first time the curve is found
+ * in the parameter sensitivities. The transpose of the Jacobian matrix is then stored by curve name,
+ * one contiguous array for each market quote, together with the curves it is split between.
+ * Converting the sensitivities of many trades with the same converter thus only looks up the curves,
+ * and slices the Jacobian matrix, once.
+ * <p>
+ * The sensitivities of many trades can also be converted at once using {@link #sensitivities(List)}.
+ * The parameter sensitivities to each curve are gathered into a matrix, with one row for each trade,
+ * which is multiplied by the Jacobian matrix in a single pass.
+ * <p>
+ * The result is identical to that of {@link MarketQuoteSensitivityCalculator}.
+ * This class is thread-safe.
+ */
+public final class MarketQuoteSensitivityConverter {
+
+  /**
+   * The function used to find the curves of the provider.
+   */
+  private final Function<MarketDataName<?>, Optional<?>> dataFn;
+  /**
+   * The Jacobian blocks, keyed by the name of the curve the parameter sensitivities refer to.
+   */
+  private final Map<MarketDataName<?>, JacobianBlocks> blocks = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  MarketQuoteSensitivityConverter(Function<MarketDataName<?>, Optional<?>> dataFn) {
+    this.dataFn = dataFn;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the market quote sensitivities from parameter sensitivity.
+   *
+   * @param paramSensitivities  the curve parameter sensitivities
+   * @return the market quote sensitivities
+   */
+  public CurrencyParameterSensitivities sensitivity(CurrencyParameterSensitivities paramSensitivities) {
+    ArgChecker.notNull(paramSensitivities, "paramSensitivities");
+    CurrencyParameterSensitivitiesAccumulator accumulator = CurrencyParameterSensitivities.accumulator();
+    for (CurrencyParameterSensitivity paramSens : paramSensitivities.getSensitivities()) {
+      JacobianBlocks jacobian = jacobianBlocks(paramSens.getMarketDataName());
+      double[] marketQuoteSens = jacobian.multiply(paramSens.getSensitivity().toArrayUnsafe());
+      jacobian.split(marketQuoteSens, paramSens.getCurrency(), accumulator);
+    }
+    return accumulator.build();
+  }
+
+  /**
+   * Calculates the market quote sensitivities from the parameter sensitivities of many trades.
+   * <p>
+   * The parameter sensitivities to each curve are converted for all the trades at once,
+   * as the product of the matrix of the sensitivities and the Jacobian matrix.
+   *
+   * @param paramSensitivities  the curve parameter sensitivities, one for each trade
+   * @return the market quote sensitivities, one for each trade, in the same order
+   */
+  public List<CurrencyParameterSensitivities> sensitivities(List<CurrencyParameterSensitivities> paramSensitivities) {
+    ArgChecker.noNulls(paramSensitivities, "paramSensitivities");
+    // gather the sensitivities to each curve, recording the trade and position of each
+    Map<MarketDataName<?>, List<double[]>> rowsByName = new LinkedHashMap<>();
+    Map<MarketDataName<?>, List<int[]>> positionsByName = new LinkedHashMap<>();
+    double[][][] converted = new double[paramSensitivities.size()][][];
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      ImmutableList<CurrencyParameterSensitivity> sensitivities = paramSensitivities.get(i).getSensitivities();
+      converted[i] = new double[sensitivities.size()][];
+      for (int j = 0; j < sensitivities.size(); j++) {
+        CurrencyParameterSensitivity paramSens = sensitivities.get(j);
+        MarketDataName<?> name = paramSens.getMarketDataName();
+        rowsByName.computeIfAbsent(name, k -> new ArrayList<>()).add(paramSens.getSensitivity().toArrayUnsafe());
+        positionsByName.computeIfAbsent(name, k -> new ArrayList<>()).add(new int[] {i, j});
+      }
+    }
+    // multiply the matrix of sensitivities to each curve by the Jacobian matrix
+    for (Map.Entry<MarketDataName<?>, List<double[]>> entry : rowsByName.entrySet()) {
+      List<double[]> rows = entry.getValue();
+      double[][] marketQuoteSens = jacobianBlocks(entry.getKey()).multiply(rows.toArray(new double[rows.size()][]));
+      List<int[]> positions = positionsByName.get(entry.getKey());
+      for (int r = 0; r < marketQuoteSens.length; r++) {
+        int[] position = positions.get(r);
+        converted[position[0]][position[1]] = marketQuoteSens[r];
+      }
+    }
+    // split between different curves, in the order of the sensitivities of each trade
+    List<CurrencyParameterSensitivities> result = new ArrayList<>(paramSensitivities.size());
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      ImmutableList<CurrencyParameterSensitivity> sensitivities = paramSensitivities.get(i).getSensitivities();
+      CurrencyParameterSensitivitiesAccumulator accumulator = CurrencyParameterSensitivities.accumulator();
+      for (int j = 0; j < sensitivities.size(); j++) {
+        CurrencyParameterSensitivity paramSens = sensitivities.get(j);
+        jacobianBlocks(paramSens.getMarketDataName()).split(converted[i][j], paramSens.getCurrency(), accumulator);
+      }
+      result.add(accumulator.build());
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the Jacobian blocks for the curve, creating them if necessary
+  private JacobianBlocks jacobianBlocks(MarketDataName<?> name) {
+    JacobianBlocks found = blocks.get(name);
+    if (found != null) {
+      return found;
+    }
+    // an exception is not cached, so a missing curve fails on each use
+    return blocks.computeIfAbsent(name, this::createJacobianBlocks);
+  }
+
+  // creates the Jacobian blocks for the curve
+  private JacobianBlocks createJacobianBlocks(MarketDataName<?> name) {
+    // find the matching calibration info
+    Curve curve = dataFn.apply(name)
+        .filter(v -> v instanceof Curve)
+        .map(v -> (Curve) v)
+        .orElseThrow(() -> new IllegalArgumentException(
+            "Market Quote sensitivity requires curve: " + name));
+    JacobianCalibrationMatrix info = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN)
+        .orElseThrow(() -> new IllegalArgumentException(
+            "Market Quote sensitivity requires Jacobian calibration information"));
+    List<Optional<Curve>> curves = new ArrayList<>();
+    for (CurveParameterSize size : info.getOrder()) {
+      curves.add(dataFn.apply(size.getName())
+          .filter(v -> v instanceof Curve)
+          .map(v -> (Curve) v));
+    }
+    return new JacobianBlocks(info, curves);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The transpose of the Jacobian matrix of a curve, split between the curves of the calibration.
+   */
+  private static final class JacobianBlocks {
+    /**
+     * The number of parameters of the curve, the number of rows of the Jacobian matrix.
+     */
+    private final int parameterCount;
+    /**
+     * The transpose of the Jacobian matrix, one contiguous array for each market quote.
+     */
+    private final double[][] transposed;
+    /**
+     * The curve order of the calibration.
+     */
+    private final List<CurveParameterSize> order;
+    /**
+     * The curves of the calibration, empty if not in the provider.
+     */
+    private final List<Optional<Curve>> curves;
+
+    private JacobianBlocks(JacobianCalibrationMatrix info, List<Optional<Curve>> curves) {
+      DoubleMatrix jacobian = info.getJacobianMatrix();
+      this.parameterCount = jacobian.rowCount();
+      this.transposed = jacobian.transpose().toArrayUnsafe();
+      this.order = info.getOrder();
+      this.curves = curves;
+    }
+
+    // multiplies the parameter sensitivity by the Jacobian matrix
+    private double[] multiply(double[] sensitivity) {
+      ArgChecker.isTrue(sensitivity.length == parameterCount, "Matrix/vector size mismatch");
+      double[] result = new double[transposed.length];
+      for (int q = 0; q < transposed.length; q++) {
+        result[q] = dot(transposed[q], sensitivity);
+      }
+      return result;
+    }
+
+    // multiplies the matrix of parameter sensitivities, one row for each trade, by the Jacobian matrix
+    private double[][] multiply(double[][] sensitivities) {
+      double[][] result = new double[sensitivities.length][transposed.length];
+      for (int r = 0; r < sensitivities.length; r++) {
+        ArgChecker.isTrue(sensitivities[r].length == parameterCount, "Matrix/vector size mismatch");
+      }
+      // each column of the Jacobian matrix is applied to all the rows before moving on
+      for (int q = 0; q < transposed.length; q++) {
+        double[] column = transposed[q];
+        for (int r = 0; r < sensitivities.length; r++) {
+          result[r][q] = dot(column, sensitivities[r]);
+        }
+      }
+      return result;
+    }
+
+    // splits the market quote sensitivity between the curves, adding each to the accumulator
+    private void split(
+        double[] marketQuoteSens,
+        Currency currency,
+        CurrencyParameterSensitivitiesAccumulator accumulator) {
+
+      int start = 0;
+      for (int i = 0; i < order.size(); i++) {
+        CurveName curveName = order.get(i).getName();
+        int end = start + order.get(i).getParameterCount();
+        DoubleArray values = DoubleArray.ofUnsafe(Arrays.copyOfRange(marketQuoteSens, start, end));
+        CurrencyParameterSensitivity maketQuoteSens = curves.get(i)
+            .map(c -> c.createParameterSensitivity(currency, values))
+            .orElse(CurrencyParameterSensitivity.of(curveName, currency, values));
+        accumulator.add(maketQuoteSens);
+        start = end;
+      }
+    }
+
+    // the sum is in the same order as matrix multiplication
+    private static double dot(double[] column, double[] sensitivity) {
+      double sum = 0;
+      for (int j = 0; j < sensitivity.length; j++) {
+        sum += sensitivity[j] * column[j];
+      }
+      return sum;
+    }
+  }
+
+}
@@ -5,22 +5,33 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 import org.joda.beans.MetaProperty;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.SimpleDiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
@@ -39,6 +50,12 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider}, {@link LegalEntityDiscountingProvider} or {@link CreditRatesProvider}.
  * The sensitivities are calculated by finite difference.
+ * <p>
+ * By default, forward differences are used and each parameter is bumped in turn on the calling thread.
+ * The bumps can instead be distributed over an executor using {@link #withExecutor(Executor)},
+ * optionally grouping several bumps in each task using {@link #withBatchSize(int)}.
+ * Each derivative is computed by the same code whether or not an executor is used,
+ * thus the results are identical.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
@@ -52,21 +69,113 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The executor used to compute the bumped values, null to compute them on the calling thread.
+   */
+  private final Executor executor;
+  /**
+   * The number of bumps computed by each task submitted to the executor.
+   */
+  private final int batchSize;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance of the finite difference calculator using forward differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofForwardDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, FiniteDifferenceType.FORWARD, null, 1);
+  }
+
+  /**
+   * Obtains an instance of the finite difference calculator using central differencing.
+   * <p>
+   * Each parameter is bumped up and down, doubling the number of valuations.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofCentralDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, FiniteDifferenceType.CENTRAL, null, 1);
+  }
 
+  /**
+   * Obtains an instance of the finite difference calculator using backward differencing.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @return the calculator
+   */
+  public static RatesFiniteDifferenceSensitivityCalculator ofBackwardDifference(double shift) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, FiniteDifferenceType.BACKWARD, null, 1);
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Create an instance of the finite difference calculator.
+   * <p>
+   * The finite difference is computed by forward type.
    * 
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(shift, FiniteDifferenceType.FORWARD, null, 1);
+  }
+
+  // restricted constructor
+  private RatesFiniteDifferenceSensitivityCalculator(
+      double shift,
+      FiniteDifferenceType fdType,
+      Executor executor,
+      int batchSize) {
+
     this.shift = shift;
+    this.fdType = ArgChecker.notNull(fdType, "fdType");
+    this.executor = executor;
+    this.batchSize = ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this calculator that computes the bumped values using the specified executor.
+   * <p>
+   * The bumped providers are built, and the valuation function applied to them, in tasks submitted
+   * to the executor. The valuation function must therefore be thread-safe.
+   * The calling thread waits for all the tasks to complete.
+   * The derivatives are identical to those computed on the calling thread.
+   * 
+   * @param executor  the executor used to compute the bumped values
+   * @return the calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, fdType, executor, batchSize);
+  }
+
+  /**
+   * Returns a copy of this calculator that computes several bumps in each task submitted to the executor.
+   * <p>
+   * When the valuation function is cheap, grouping bumps reduces the overhead of scheduling the tasks.
+   * The batch size has no effect unless an executor is used, and does not affect the results.
+   * The default batch size is one.
+   * 
+   * @param batchSize  the number of bumps computed by each task, one or greater
+   * @return the calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator withBatchSize(int batchSize) {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, fdType, executor, batchSize);
   }
 
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a RatesProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference type is that of this calculator, forward by default.
    * The function should return a value in the same currency for any rate provider.
    * 
    * @param provider  the rates provider
@@ -102,26 +211,23 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
       CurrencyAmount valueInit) {
 
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (Entry<T, Curve> entry : baseCurves.entrySet()) {
-      Curve curve = entry.getValue();
-      DoubleArray sensitivity = DoubleArray.of(curve.getParameterCount(), i -> {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(entry.getKey(), dscBumped);
-        ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      });
-      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
-    }
-    return result;
+    List<T> keys = new ArrayList<>(baseCurves.keySet());
+    List<Curve> curves = new ArrayList<>(baseCurves.values());
+    return sensitivity(curves, valueInit, (curveIndex, parameterIndex, bump) -> {
+      Curve curve = curves.get(curveIndex);
+      Curve dscBumped = curve.withParameter(parameterIndex, curve.getParameter(parameterIndex) + bump);
+      Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
+      mapBumped.put(keys.get(curveIndex), dscBumped);
+      ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
+      return valueFn.apply(providerDscBumped).getAmount();
+    });
   }
 
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a LegalEntityDiscountingProvider to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference type is that of this calculator, forward by default.
    * The function should return a value in the same currency for any rates provider of LegalEntityDiscountingProvider.
    * 
    * @param provider  the rates provider
@@ -148,30 +254,27 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CurrencyAmount valueInit) {
 
     ImmutableMap<Pair<T, Currency>, DiscountFactors> baseCurves = metaProperty.get(provider);
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (Pair<T, Currency> key : baseCurves.keySet()) {
-      DiscountFactors discountFactors = baseCurves.get(key);
-      Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, createDiscountFactors(discountFactors, dscBumped));
-        ImmutableLegalEntityDiscountingProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
-    }
-    return result;
+    List<Pair<T, Currency>> keys = new ArrayList<>(baseCurves.keySet());
+    List<Curve> curves = keys.stream()
+        .map(key -> checkDiscountFactors(baseCurves.get(key)))
+        .collect(toImmutableList());
+    return sensitivity(curves, valueInit, (curveIndex, parameterIndex, bump) -> {
+      Pair<T, Currency> key = keys.get(curveIndex);
+      Curve curve = curves.get(curveIndex);
+      Curve dscBumped = curve.withParameter(parameterIndex, curve.getParameter(parameterIndex) + bump);
+      Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
+      mapBumped.put(key, createDiscountFactors(baseCurves.get(key), dscBumped));
+      ImmutableLegalEntityDiscountingProvider providerDscBumped =
+          provider.toBuilder().set(metaProperty, mapBumped).build();
+      return valueFn.apply(providerDscBumped).getAmount();
+    });
   }
 
   //-------------------------------------------------------------------------
   /**
    * Computes the first order sensitivities of a function of a {@code CreditRatesProvider} to a double by finite difference.
    * <p>
-   * The finite difference is computed by forward type.
+   * The finite difference type is that of this calculator, forward by default.
    * The function should return a value in the same currency for any rates provider of {@code CreditRatesProvider}.
    * 
    * @param provider  the rates provider
@@ -198,24 +301,19 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CurrencyAmount valueInit) {
 
     ImmutableMap<T, CreditDiscountFactors> baseCurves = metaProperty.get(provider);
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (T key : baseCurves.keySet()) {
-      CreditDiscountFactors creditDiscountFactors = baseCurves.get(key);
-      DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
-      Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, CreditDiscountFactors> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, createCreditDiscountFactors(creditDiscountFactors, dscBumped));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
-    }
-    return result;
+    List<T> keys = new ArrayList<>(baseCurves.keySet());
+    List<Curve> curves = keys.stream()
+        .map(key -> checkDiscountFactors(baseCurves.get(key).toDiscountFactors()))
+        .collect(toImmutableList());
+    return sensitivity(curves, valueInit, (curveIndex, parameterIndex, bump) -> {
+      T key = keys.get(curveIndex);
+      Curve curve = curves.get(curveIndex);
+      Curve dscBumped = curve.withParameter(parameterIndex, curve.getParameter(parameterIndex) + bump);
+      Map<T, CreditDiscountFactors> mapBumped = new HashMap<>(baseCurves);
+      mapBumped.put(key, createCreditDiscountFactors(baseCurves.get(key), dscBumped));
+      ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
+      return valueFn.apply(providerDscBumped).getAmount();
+    });
   }
 
   private <T> CurrencyParameterSensitivities sensitivityCreidtCurve(
@@ -225,28 +323,108 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CurrencyAmount valueInit) {
 
     ImmutableMap<T, LegalEntitySurvivalProbabilities> baseCurves = metaProperty.get(provider);
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (T key : baseCurves.keySet()) {
+    List<T> keys = new ArrayList<>(baseCurves.keySet());
+    List<Curve> curves = keys.stream()
+        .map(key -> checkDiscountFactors(baseCurves.get(key).getSurvivalProbabilities().toDiscountFactors()))
+        .collect(toImmutableList());
+    return sensitivity(curves, valueInit, (curveIndex, parameterIndex, bump) -> {
+      T key = keys.get(curveIndex);
       LegalEntitySurvivalProbabilities credit = baseCurves.get(key);
-      CreditDiscountFactors creditDiscountFactors = credit.getSurvivalProbabilities();
-      DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
-      Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, LegalEntitySurvivalProbabilities> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(key, LegalEntitySurvivalProbabilities.of(
-            credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, dscBumped)));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+      Curve curve = curves.get(curveIndex);
+      Curve dscBumped = curve.withParameter(parameterIndex, curve.getParameter(parameterIndex) + bump);
+      Map<T, LegalEntitySurvivalProbabilities> mapBumped = new HashMap<>(baseCurves);
+      mapBumped.put(key, LegalEntitySurvivalProbabilities.of(
+          credit.getLegalEntityId(), createCreditDiscountFactors(credit.getSurvivalProbabilities(), dscBumped)));
+      ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
+      return valueFn.apply(providerDscBumped).getAmount();
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  // computes the sensitivity with respect to each parameter of the curves
+  // the derivatives are computed in parallel if there is an executor, each one written to its own slot
+  private CurrencyParameterSensitivities sensitivity(
+      List<Curve> curves,
+      CurrencyAmount valueInit,
+      BumpedValueFn bumpedValueFn) {
+
+    int curveCount = curves.size();
+    int[] curveIndices = new int[curveCount + 1];
+    for (int i = 0; i < curveCount; i++) {
+      curveIndices[i + 1] = curveIndices[i] + curves.get(i).getParameterCount();
+    }
+    int bumpCount = curveIndices[curveCount];
+    double[] derivatives = new double[bumpCount];
+    double value = valueInit.getAmount();
+    runBumps(bumpCount, bumpIndex -> {
+      int curveIndex = curveIndex(curveIndices, bumpIndex);
+      int parameterIndex = bumpIndex - curveIndices[curveIndex];
+      derivatives[bumpIndex] = derivative(curveIndex, parameterIndex, value, bumpedValueFn);
+    });
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (int i = 0; i < curveCount; i++) {
+      DoubleArray sensitivity = DoubleArray.copyOf(derivatives, curveIndices[i], curveIndices[i + 1]);
+      result = result.combinedWith(curves.get(i).createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
 
+  // finds the curve of a bump, where the bumps of curve i start at curveIndices[i]
+  private static int curveIndex(int[] curveIndices, int bumpIndex) {
+    int curveIndex = Arrays.binarySearch(curveIndices, bumpIndex);
+    if (curveIndex < 0) {
+      return -curveIndex - 2;
+    }
+    // skip curves without parameters
+    while (curveIndices[curveIndex + 1] == bumpIndex) {
+      curveIndex++;
+    }
+    return curveIndex;
+  }
+
+  // computes the derivative with respect to one parameter
+  private double derivative(int curveIndex, int parameterIndex, double valueInit, BumpedValueFn bumpedValueFn) {
+    switch (fdType) {
+      case FORWARD:
+        return (bumpedValueFn.value(curveIndex, parameterIndex, shift) - valueInit) / shift;
+      case BACKWARD:
+        return (valueInit - bumpedValueFn.value(curveIndex, parameterIndex, -shift)) / shift;
+      case CENTRAL: {
+        double up = bumpedValueFn.value(curveIndex, parameterIndex, shift);
+        double down = bumpedValueFn.value(curveIndex, parameterIndex, -shift);
+        return (up - down) / (2 * shift);
+      }
+      default:
+        throw new IllegalArgumentException("Unknown FiniteDifferenceType value: " + fdType);
+    }
+  }
+
+  // runs the bumps, using the executor if present
+  private void runBumps(int bumpCount, IntConsumer bumpFn) {
+    if (executor == null || bumpCount <= batchSize) {
+      for (int i = 0; i < bumpCount; i++) {
+        bumpFn.accept(i);
+      }
+      return;
+    }
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int start = 0; start < bumpCount; start += batchSize) {
+      int from = start;
+      int to = Math.min(start + batchSize, bumpCount);
+      futures.add(CompletableFuture.runAsync(() -> {
+        for (int i = from; i < to; i++) {
+          bumpFn.accept(i);
+        }
+      }, executor));
+    }
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+    } catch (CompletionException ex) {
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw ex;
+    }
+  }
+
   //-------------------------------------------------------------------------
   // check that the discountFactors is ZeroRateDiscountFactors or SimpleDiscountFactors
   private Curve checkDiscountFactors(DiscountFactors discountFactors) {
@@ -277,4 +455,13 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     throw new IllegalArgumentException("Not supported");
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Function providing the value when one parameter of one curve is bumped.
+   */
+  @FunctionalInterface
+  private interface BumpedValueFn {
+    public abstract double value(int curveIndex, int parameterIndex, double bump);
+  }
+
 }
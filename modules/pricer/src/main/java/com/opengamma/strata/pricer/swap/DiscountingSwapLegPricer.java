@@ -21,7 +21,10 @@ import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
 import com.opengamma.strata.product.swap.RatePaymentPeriod;
@@ -265,6 +268,52 @@ public class DiscountingSwapLegPricer {
     return builder;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity of the swap leg to the curve parameters.
+   * <p>
+   * The present value sensitivity of the leg is the sensitivity of the present value to the parameters
+   * of the underlying curves. This is equal to the projection of {@link #presentValueSensitivity} using
+   * {@link RatesProvider#parameterSensitivity(PointSensitivities)}, but is calculated by reverse-mode
+   * algorithmic differentiation using an {@link AdjointTape}, avoiding the intermediate point sensitivities.
+   * The result is expressed in the currency of the leg.
+   * 
+   * @param leg  the leg
+   * @param provider  the rates provider
+   * @return the present value sensitivity of the swap leg to the curve parameters
+   */
+  public CurrencyParameterSensitivities presentValueParameterSensitivity(ResolvedSwapLeg leg, RatesProvider provider) {
+    AdjointTape tape = AdjointTape.of(provider);
+    int presentValue = recordPresentValue(leg, tape);
+    return tape.parameterSensitivity(presentValue, leg.getCurrency());
+  }
+
+  /**
+   * Records the present value of the swap leg on a tape.
+   * <p>
+   * This records the calculation of the present value, allowing its sensitivity to the curve parameters
+   * to be computed by reverse-mode algorithmic differentiation. The value is expressed in the currency of the leg.
+   * 
+   * @param leg  the leg
+   * @param tape  the tape to record on
+   * @return the index of the node holding the present value of the swap leg
+   */
+  public int recordPresentValue(ResolvedSwapLeg leg, AdjointTape tape) {
+    LocalDate valuationDate = tape.getProvider().getValuationDate();
+    int total = tape.constant(0d);
+    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+      if (!period.getPaymentDate().isBefore(valuationDate)) {
+        total = tape.plus(total, paymentPeriodPricer.recordPresentValue(period, tape));
+      }
+    }
+    for (SwapPaymentEvent event : leg.getPaymentEvents()) {
+      if (!event.getPaymentDate().isBefore(valuationDate)) {
+        total = tape.plus(total, paymentEventPricer.recordPresentValue(event, tape));
+      }
+    }
+    return total;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the Present Value of a Basis Point curve sensitivity for a fixed swap leg.
@@ -8,7 +8,9 @@ package com.opengamma.strata.pricer.swap;
 import static com.opengamma.strata.basics.currency.MultiCurrencyAmount.toMultiCurrencyAmount;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.ToDoubleBiFunction;
@@ -23,7 +25,10 @@ import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.rate.FixedOvernightCompoundedAnnualRateComputation;
 import com.opengamma.strata.product.rate.FixedRateComputation;
@@ -347,6 +352,34 @@ public class DiscountingSwapProductPricer {
     return builder;
   }
 
+  /**
+   * Calculates the present value sensitivity of the swap product to the curve parameters.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of the present value to the parameters
+   * of the underlying curves. This is equal to the projection of {@link #presentValueSensitivity} using
+   * {@link RatesProvider#parameterSensitivity(PointSensitivities)}, but is calculated by reverse-mode
+   * algorithmic differentiation using an {@link AdjointTape}, avoiding the intermediate point sensitivities.
+   * The calculation is recorded once, with one backward sweep for each leg currency.
+   * The sensitivity of each leg is expressed in the currency of the leg.
+   * 
+   * @param swap  the product
+   * @param provider  the rates provider
+   * @return the present value sensitivity of the swap product to the curve parameters
+   */
+  public CurrencyParameterSensitivities presentValueParameterSensitivity(ResolvedSwap swap, RatesProvider provider) {
+    AdjointTape tape = AdjointTape.of(provider);
+    Map<Currency, Integer> totals = new LinkedHashMap<>();
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      int legPresentValue = legPricer.recordPresentValue(leg, tape);
+      totals.merge(leg.getCurrency(), legPresentValue, tape::plus);
+    }
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (Map.Entry<Currency, Integer> entry : totals.entrySet()) {
+      result = result.combinedWith(tape.parameterSensitivity(entry.getValue(), entry.getKey()));
+    }
+    return result;
+  }
+
   /**
    * Calculates the forecast value sensitivity of the swap product.
    * <p>
@@ -9,6 +9,7 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.impl.swap.DispatchingSwapPaymentEventPricer;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.swap.SwapPaymentEvent;
 
@@ -62,6 +63,25 @@ public interface SwapPaymentEventPricer<T extends SwapPaymentEvent> {
    */
   public abstract PointSensitivityBuilder presentValueSensitivity(T event, RatesProvider provider);
 
+  /**
+   * Records the present value of a single payment event on a tape.
+   * <p>
+   * This records the calculation of the present value, allowing its sensitivity to the curve parameters
+   * to be computed by reverse-mode algorithmic differentiation. The rates provider is obtained from the tape.
+   * The value is expressed in the currency of the event.
+   * <p>
+   * The default implementation records the present value as a single node with the
+   * sensitivity from {@link #presentValueSensitivity(SwapPaymentEvent, RatesProvider)}.
+   * 
+   * @param event  the event
+   * @param tape  the tape to record on
+   * @return the index of the node holding the present value of the event
+   */
+  public default int recordPresentValue(T event, AdjointTape tape) {
+    RatesProvider provider = tape.getProvider();
+    return tape.record(presentValue(event, provider), presentValueSensitivity(event, provider));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the forecast value of a single payment event.
@@ -15,6 +15,7 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -146,6 +147,7 @@ public class SimpleDiscountFactorsTest {
     double df = CURVE.yValue(relativeYearFraction);
     ZeroRateSensitivity expected = ZeroRateSensitivity.of(GBP, relativeYearFraction, -df * relativeYearFraction);
     assertEquals(test.zeroRatePointSensitivity(DATE_AFTER), expected);
+    assertEquals(test.zeroRatePointSensitivityValue(relativeYearFraction), expected.getSensitivity());
   }
 
   public void test_zeroRatePointSensitivity_sensitivityCurrency() {
@@ -255,6 +257,16 @@ public class SimpleDiscountFactorsTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_parameterSensitivity_target() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    double[] target = new double[test.getParameterCount()];
+    test.parameterSensitivity(0d, 5d, target);
+    assertEquals(DoubleArray.ofUnsafe(target), DoubleArray.filled(test.getParameterCount()));
+    test.parameterSensitivity(1d, 2d, target);
+    CurrencyParameterSensitivities expected = test.parameterSensitivity(ZeroRateSensitivity.of(GBP, 1d, 2d));
+    assertTrue(DoubleArray.ofUnsafe(target).equalWithTolerance(expected.getSensitivities().get(0).getSensitivity(), TOL));
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
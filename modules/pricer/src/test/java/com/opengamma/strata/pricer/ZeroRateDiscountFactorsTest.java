@@ -15,6 +15,7 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -146,6 +147,7 @@ public class ZeroRateDiscountFactorsTest {
     double df = Math.exp(-relativeYearFraction * CURVE.yValue(relativeYearFraction));
     ZeroRateSensitivity expected = ZeroRateSensitivity.of(GBP, relativeYearFraction, -df * relativeYearFraction);
     assertEquals(test.zeroRatePointSensitivity(DATE_AFTER), expected);
+    assertEquals(test.zeroRatePointSensitivityValue(relativeYearFraction), expected.getSensitivity());
   }
 
   public void test_zeroRatePointSensitivity_sensitivityCurrency() {
@@ -243,6 +245,16 @@ public class ZeroRateDiscountFactorsTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_parameterSensitivity_target() {
+    ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    double[] target = new double[test.getParameterCount()];
+    test.parameterSensitivity(1d, 2d, target);
+    test.parameterSensitivity(3d, -1d, target);
+    CurrencyParameterSensitivities expected = test.parameterSensitivity(ZeroRateSensitivity.of(GBP, 1d, 2d))
+        .combinedWith(test.parameterSensitivity(ZeroRateSensitivity.of(GBP, 3d, -1d)));
+    assertTrue(DoubleArray.ofUnsafe(target).equalWithTolerance(expected.getSensitivities().get(0).getSensitivity(), TOL));
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -178,6 +178,7 @@ public class ZeroRatePeriodicDiscountFactorsTest {
     double df = test.discountFactor(DATE_AFTER);
     ZeroRateSensitivity expected = ZeroRateSensitivity.of(GBP, relativeYearFraction, -df * relativeYearFraction);
     assertEquals(test.zeroRatePointSensitivity(DATE_AFTER), expected);
+    assertEquals(test.zeroRatePointSensitivityValue(relativeYearFraction), expected.getSensitivity());
   }
 
   public void test_zeroRatePointSensitivity_sensitivityCurrency() {
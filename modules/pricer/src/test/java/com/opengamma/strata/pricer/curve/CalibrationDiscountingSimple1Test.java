@@ -10,6 +10,7 @@ import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
 import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -35,12 +36,15 @@ import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
@@ -51,6 +55,7 @@ import com.opengamma.strata.market.curve.node.IborFixingDepositCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.ResolvedTrade;
@@ -158,10 +163,12 @@ public class CalibrationDiscountingSimple1Test {
   private static final DiscountingSwapProductPricer SWAP_PRICER =
       DiscountingSwapProductPricer.DEFAULT;
 
-  private static final RatesCurveCalibrator CALIBRATOR = RatesCurveCalibrator.of(1e-9, 1e-9, 100);
+  private static final double TOLERANCE_ROOT = 1.0E-9;
+  private static final RatesCurveCalibrator CALIBRATOR = RatesCurveCalibrator.of(TOLERANCE_ROOT, TOLERANCE_ROOT, 100);
 
   // Constants
   private static final double TOLERANCE_PV = 1.0E-6;
+  private static final double TOLERANCE_JACOBIAN = 1.0E-8;
 
   /** Test with CurveGroupDefinition */
   private static final String CURVE_GROUP_NAME_STR = "USD-SINGLE-CURVE";
@@ -185,6 +192,42 @@ public class CalibrationDiscountingSimple1Test {
   public void calibration_present_value() {
     RatesProvider result2 =
         CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result2);
+  }
+
+  public void calibration_bootstrap() {
+    List<CalibrationStatistics> statistics = new ArrayList<>();
+    RatesCurveCalibrator calibrator = CALIBRATOR.withBootstrap(true).withStatisticsListener(statistics::add);
+    RatesCurveGroupDefinition groupDefn = CURVE_GROUP_DEFN.toBuilder().computePvSensitivityToMarketQuote(true).build();
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(groupDefn, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider result = calibrator.calibrate(groupDefn, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+    assertEquals(statistics.size(), 1);
+    assertTrue(statistics.get(0).isBootstrapped());
+    assertEquals(statistics.get(0).getJacobianEvaluationCount(), 1);
+    assertEquals(statistics.get(0).getResidualNorms().size(), 1);
+    assertTrue(statistics.get(0).getResidualNorms().get(0) < TOLERANCE_ROOT);
+    // the curve matches that found by the root finder, within the tolerance of the calibrator
+    Curve expectedCurve = expected.getCurves().get(ALL_CURVE_NAME);
+    Curve resultCurve = result.getCurves().get(ALL_CURVE_NAME);
+    for (int i = 0; i < FWD3_NB_NODES; i++) {
+      assertEquals(resultCurve.getParameter(i), expectedCurve.getParameter(i), TOLERANCE_ROOT);
+    }
+    // the Jacobian matrix and sensitivity to market quotes are unchanged
+    CurveMetadata expectedMetadata = expected.getCurves().get(ALL_CURVE_NAME).getMetadata();
+    CurveMetadata resultMetadata = result.getCurves().get(ALL_CURVE_NAME).getMetadata();
+    JacobianCalibrationMatrix expectedJacobian = expectedMetadata.getInfo(CurveInfoType.JACOBIAN);
+    JacobianCalibrationMatrix resultJacobian = resultMetadata.getInfo(CurveInfoType.JACOBIAN);
+    assertEquals(resultJacobian.getOrder(), expectedJacobian.getOrder());
+    for (int i = 0; i < FWD3_NB_NODES; i++) {
+      assertTrue(resultJacobian.getJacobianMatrix().row(i)
+          .equalWithTolerance(expectedJacobian.getJacobianMatrix().row(i), TOLERANCE_JACOBIAN));
+    }
+    assertTrue(resultMetadata.getInfo(CurveInfoType.PV_SENSITIVITY_TO_MARKET_QUOTE)
+        .equalWithTolerance(expectedMetadata.getInfo(CurveInfoType.PV_SENSITIVITY_TO_MARKET_QUOTE), TOLERANCE_PV));
+  }
+
+  private void assertPresentValue(RatesProvider result2) {
     // Test PV
     CurveNode[] fwd3Nodes = CURVES_NODES.get(0).get(0);
     List<ResolvedTrade> fwd3Trades = new ArrayList<>();
@@ -232,4 +275,26 @@ public class CalibrationDiscountingSimple1Test {
     // Previous run: 290 ms for 100 calibrations (1 curve - 9 nodes)
   }
 
+  @Test(enabled = false)
+  void performance_bootstrap() {
+    long startTime, endTime;
+    int nbTests = 100;
+    int nbRep = 5;
+    int count = 0;
+
+    RatesCurveCalibrator bootstrap = CALIBRATOR.withBootstrap(true);
+    for (int i = 0; i < nbRep; i++) {
+      startTime = System.currentTimeMillis();
+      for (int looprep = 0; looprep < nbTests; looprep++) {
+        RatesProvider result =
+            bootstrap.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+        count += result.getValuationDate().getDayOfMonth();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: " + nbTests + " bootstrap calibrations for 1 curve with 9 nodes in "
+          + (endTime - startTime) + " ms.");
+    }
+    System.out.println("Avoiding hotspot: " + count);
+  }
+
 }
@@ -13,6 +13,8 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -22,14 +24,20 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveNode;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraProductPricer;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
@@ -302,4 +310,70 @@ public class CalibrationDiscountingSimpleEur3Test {
 
   }
 
+  //-------------------------------------------------------------------------
+  public void calibration_parallelGroups() {
+    String[] dscIdValues = CalibrationEurStandard.dscIdValues(DSC_OIS_TENORS);
+    double[] fwd3MarketQuotes = CalibrationEurStandard.fwdMarketQuotes(FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES);
+    String[] fwd3IdValue =
+        CalibrationEurStandard.fwdIdValue(3, FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES, FWD3_FRA_TENORS,
+            FWD3_IRS_TENORS);
+    double[] fwd6MarketQuotes = CalibrationEurStandard.fwdMarketQuotes(FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES);
+    String[] fwd6IdValue =
+        CalibrationEurStandard.fwdIdValue(6, FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES, FWD6_FRA_TENORS,
+            FWD6_IRS_TENORS);
+    MarketData allQuotes = CalibrationEurStandard.allQuotes(
+        VAL_DATE, DSC_MARKET_QUOTES, dscIdValues, fwd3MarketQuotes, fwd3IdValue, fwd6MarketQuotes, fwd6IdValue);
+    RatesCurveGroupDefinition config = CalibrationEurStandard.config(DSC_OIS_TENORS, dscIdValues,
+        FWD3_FRA_TENORS, FWD3_IRS_TENORS, fwd3IdValue, FWD6_FRA_TENORS, FWD6_IRS_TENORS, fwd6IdValue);
+    // one group for each curve, the forward curves only depend on the discount curve
+    List<CurveName> curveNames = ImmutableList.of(
+        CalibrationEurStandard.DSCON_CURVE_NAME, CalibrationEurStandard.FWD3_CURVE_NAME,
+        CalibrationEurStandard.FWD6_CURVE_NAME);
+    List<RatesCurveGroupDefinition> groups = new ArrayList<>();
+    for (CurveName curveName : curveNames) {
+      groups.add(RatesCurveGroupDefinition.of(
+          CurveGroupName.of(curveName.getName()),
+          ImmutableList.of(config.findEntry(curveName).get()),
+          ImmutableList.of(config.findCurveDefinition(curveName).get())));
+    }
+    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(VAL_DATE).build();
+    RatesCurveCalibrator calibrator = RatesCurveCalibrator.of(1e-9, 1e-9, 100);
+    RatesCurveCalibrator parallelCalibrator = calibrator.withParallelGroups(true);
+    assertEquals(parallelCalibrator.isParallelGroups(), true);
+    assertEquals(calibrator.isParallelGroups(), false);
+    ImmutableRatesProvider expected = calibrator.calibrate(groups, knownData, allQuotes, REF_DATA);
+    assertParallelGroups(
+        parallelCalibrator.calibrate(groups, knownData, allQuotes, REF_DATA), expected, curveNames);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      ImmutableRatesProvider test = parallelCalibrator.withExecutor(executor)
+          .calibrate(groups, knownData, allQuotes, REF_DATA);
+      assertParallelGroups(test, expected, curveNames);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  // the Jacobian matrices refer to all the previous curves, as for the sequential calibration
+  private void assertParallelGroups(
+      ImmutableRatesProvider test,
+      ImmutableRatesProvider expected,
+      List<CurveName> curveNames) {
+
+    for (CurveName curveName : curveNames) {
+      Curve expectedCurve = expected.findData(curveName).get();
+      Curve testCurve = test.findData(curveName).get();
+      for (int i = 0; i < expectedCurve.getParameterCount(); i++) {
+        assertEquals(testCurve.getParameter(i), expectedCurve.getParameter(i), TOLERANCE_DELTA);
+      }
+      JacobianCalibrationMatrix expectedJacobian = expectedCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN);
+      JacobianCalibrationMatrix testJacobian = testCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN);
+      assertEquals(testJacobian.getOrder(), expectedJacobian.getOrder());
+      for (int i = 0; i < expectedJacobian.getJacobianMatrix().rowCount(); i++) {
+        assertTrue(testJacobian.getJacobianMatrix().row(i)
+            .equalWithTolerance(expectedJacobian.getJacobianMatrix().row(i), TOLERANCE_DELTA));
+      }
+    }
+  }
+
 }
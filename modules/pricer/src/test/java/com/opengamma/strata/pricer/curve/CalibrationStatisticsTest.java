@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import java.time.Duration;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Test {@link CalibrationStatistics}.
+ */
+@Test
+public class CalibrationStatisticsTest {
+
+  private static final CurveName NAME1 = CurveName.of("Test1");
+  private static final CurveName NAME2 = CurveName.of("Test2");
+
+  public void test_builder() {
+    CalibrationStatistics test = sut();
+    assertEquals(test.getCurveNames(), ImmutableList.of(NAME1));
+    assertEquals(test.getParameterCount(), 10);
+    assertEquals(test.getIterationCount(), 5);
+    assertEquals(test.getValueEvaluationCount(), 6);
+    assertEquals(test.getJacobianEvaluationCount(), 1);
+    assertEquals(test.getJacobianResetCount(), 0);
+    assertEquals(test.isPriorJacobianUsed(), false);
+    assertEquals(test.getRootFindingTime(), Duration.ofMillis(20));
+    assertEquals(test.getValueEvaluationTime(), Duration.ofMillis(12));
+    assertEquals(test.getJacobianEvaluationTime(), Duration.ofMillis(6));
+    assertEquals(test.getDecompositionTime(), Duration.ofMillis(2));
+    assertEquals(test.getPostProcessingTime(), Duration.ofMillis(8));
+    assertEquals(test.getResidualNorms(), DoubleArray.of(1e-2, 1e-5, 1e-10));
+    assertEquals(test.getConditionNumber(), 50d);
+  }
+
+  public void test_builder_negative() {
+    assertThrowsIllegalArg(() -> sut().toBuilder().iterationCount(-1).build());
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverImmutableBean(sut());
+    coverBeanEquals(sut(), sut2());
+  }
+
+  public void test_serialization() {
+    assertSerialization(sut());
+  }
+
+  //-------------------------------------------------------------------------
+  static CalibrationStatistics sut() {
+    return CalibrationStatistics.builder()
+        .curveNames(NAME1)
+        .parameterCount(10)
+        .iterationCount(5)
+        .valueEvaluationCount(6)
+        .jacobianEvaluationCount(1)
+        .jacobianResetCount(0)
+        .priorJacobianUsed(false)
+        .rootFindingTime(Duration.ofMillis(20))
+        .valueEvaluationTime(Duration.ofMillis(12))
+        .jacobianEvaluationTime(Duration.ofMillis(6))
+        .decompositionTime(Duration.ofMillis(2))
+        .postProcessingTime(Duration.ofMillis(8))
+        .residualNorms(DoubleArray.of(1e-2, 1e-5, 1e-10))
+        .conditionNumber(50d)
+        .build();
+  }
+
+  static CalibrationStatistics sut2() {
+    return CalibrationStatistics.builder()
+        .curveNames(NAME1, NAME2)
+        .parameterCount(20)
+        .bootstrapped(true)
+        .iterationCount(2)
+        .valueEvaluationCount(3)
+        .jacobianEvaluationCount(0)
+        .jacobianResetCount(1)
+        .priorJacobianUsed(true)
+        .rootFindingTime(Duration.ofMillis(5))
+        .valueEvaluationTime(Duration.ofMillis(4))
+        .jacobianEvaluationTime(Duration.ofMillis(1))
+        .decompositionTime(Duration.ZERO)
+        .postProcessingTime(Duration.ofMillis(3))
+        .residualNorms(DoubleArray.of(1e-11))
+        .conditionNumber(80d)
+        .build();
+  }
+
+}
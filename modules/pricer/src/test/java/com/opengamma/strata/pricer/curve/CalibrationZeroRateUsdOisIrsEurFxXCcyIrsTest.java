@@ -19,7 +19,9 @@ import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.US
 import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
 import static com.opengamma.strata.product.swap.type.XCcyIborIborSwapConventions.EUR_EURIBOR_3M_USD_LIBOR_3M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
@@ -38,6 +40,7 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
@@ -63,6 +66,7 @@ import com.opengamma.strata.market.curve.node.XCcyIborIborSwapCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.deposit.DiscountingTermDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
@@ -383,6 +387,104 @@ public class CalibrationZeroRateUsdOisIrsEurFxXCcyIrsTest {
     assertPresentValue(result);
   }
 
+  public void calibration_parallelEvaluation() {
+    RatesCurveCalibrator parallelCalibrator = CALIBRATOR.withParallelEvaluation(true);
+    assertEquals(parallelCalibrator.isParallelEvaluation(), true);
+    assertEquals(CALIBRATOR.isParallelEvaluation(), false);
+    // the curves and Jacobians are identical to the serial calibration
+    assertEquals(
+        parallelCalibrator.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA),
+        CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA));
+    assertEquals(
+        parallelCalibrator.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA),
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA));
+  }
+
+  public void calibration_parallelGroups() {
+    // each group depends on all the previous groups, thus the groups are calibrated in turn
+    RatesCurveCalibrator parallelCalibrator = CALIBRATOR.withParallelGroups(true);
+    assertEquals(
+        parallelCalibrator.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA),
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA));
+  }
+
+  public void calibration_warmStart() {
+    // prior curves calibrated before a change to the USD discounting quotes
+    Map<MarketDataId<?>, Object> map = new HashMap<>(ALL_QUOTES.getValues());
+    for (int i = 0; i < USD_DSC_NB_NODES; i++) {
+      map.put(QuoteId.of(StandardId.of(SCHEME, USD_DSC_ID_VALUE[i])), USD_DSC_MARKET_QUOTES[i] + 1.0E-4);
+    }
+    ImmutableMarketData shiftedQuotes = ImmutableMarketData.of(VAL_DATE, map);
+    ImmutableRatesProvider prior = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, shiftedQuotes, REF_DATA);
+    assertPresentValue(CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA, prior));
+    assertPresentValue(
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA, prior));
+    // prior curves without Jacobian matrices
+    ImmutableRatesProvider priorNoJacobian = CALIBRATOR.calibrate(
+        CURVE_GROUP_CONFIG.toBuilder().computeJacobian(false).computePvSensitivityToMarketQuote(false).build(),
+        shiftedQuotes,
+        REF_DATA);
+    assertPresentValue(CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA, priorNoJacobian));
+  }
+
+  public void calibration_statistics() {
+    List<CalibrationStatistics> statistics = new ArrayList<>();
+    RatesCurveCalibrator calibrator = CALIBRATOR.withStatisticsListener(statistics::add);
+    ImmutableRatesProvider result =
+        calibrator.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+    assertEquals(statistics.size(), 3);
+    CalibrationStatistics stats1 = statistics.get(0);
+    assertEquals(stats1.getCurveNames(), ImmutableList.of(USD_DSCON_CURVE_NAME));
+    assertEquals(stats1.getParameterCount(), USD_DSC_NB_NODES);
+    assertTrue(stats1.getIterationCount() > 0);
+    assertTrue(stats1.getValueEvaluationCount() > stats1.getIterationCount());
+    assertTrue(stats1.getJacobianEvaluationCount() > 0);
+    assertEquals(stats1.isPriorJacobianUsed(), false);
+    // the residuals converge to zero, the times are split between the stages
+    DoubleArray norms = stats1.getResidualNorms();
+    assertEquals(norms.size(), stats1.getIterationCount() + 1);
+    assertTrue(norms.get(norms.size() - 1) < norms.get(0));
+    assertTrue(norms.get(norms.size() - 1) < 1e-9);
+    assertTrue(stats1.getConditionNumber() >= 1d);
+    assertTrue(stats1.getValueEvaluationTime().plus(stats1.getJacobianEvaluationTime())
+        .plus(stats1.getDecompositionTime()).compareTo(stats1.getRootFindingTime()) <= 0);
+    assertTrue(stats1.getPostProcessingTime().compareTo(Duration.ZERO) > 0);
+    // warm start from the result, a single iteration and the Jacobian is not evaluated
+    statistics.clear();
+    calibrator.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA, result);
+    assertEquals(statistics.size(), 3);
+    for (CalibrationStatistics stats : statistics) {
+      assertEquals(stats.isPriorJacobianUsed(), true);
+      assertEquals(stats.getIterationCount(), 1);
+      assertEquals(stats.getJacobianEvaluationCount(), 0);
+    }
+    // the Newton root finder evaluates the Jacobian at every iteration
+    statistics.clear();
+    RatesCurveCalibrator newton = RatesCurveCalibrator.of(
+        NewtonVectorRootFinder.newton(1e-9, 1e-9, 100), CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE)
+        .withStatisticsListener(statistics::add);
+    assertPresentValue(
+        newton.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA));
+    assertEquals(statistics.size(), 3);
+    for (CalibrationStatistics stats : statistics) {
+      assertTrue(stats.getJacobianEvaluationCount() >= stats.getIterationCount());
+    }
+  }
+
+  public void calibration_bootstrap_notTriangular() {
+    // the swaps pay after the node date, thus depend on the next node
+    List<CalibrationStatistics> statistics = new ArrayList<>();
+    RatesCurveCalibrator calibrator = CALIBRATOR.withBootstrap(true).withStatisticsListener(statistics::add);
+    assertPresentValue(
+        calibrator.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA));
+    assertEquals(statistics.size(), 3);
+    for (CalibrationStatistics stats : statistics) {
+      assertEquals(stats.isBootstrapped(), false);
+      assertEquals(stats.getJacobianEvaluationCount(), 1);
+    }
+  }
+
   private void assertPresentValue(RatesProvider result) {
     // Test PV USD;
     List<ResolvedTrade> usdTrades = new ArrayList<>();
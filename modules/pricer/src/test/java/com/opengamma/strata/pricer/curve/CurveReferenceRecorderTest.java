@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.FxIndices.GBP_USD_WM;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link CurveReferenceRecorder}.
+ */
+@Test
+public class CurveReferenceRecorderTest {
+
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_GBP_USD;
+
+  //-------------------------------------------------------------------------
+  public void test_delegation() {
+    CurveReferenceRecorder test = new CurveReferenceRecorder(PROVIDER);
+    assertEquals(test.getValuationDate(), PROVIDER.getValuationDate());
+    assertEquals(test.getDiscountCurrencies(), PROVIDER.getDiscountCurrencies());
+    assertEquals(test.getIborIndices(), PROVIDER.getIborIndices());
+    assertEquals(test.getOvernightIndices(), PROVIDER.getOvernightIndices());
+    assertEquals(test.fxRate(GBP, USD), PROVIDER.fxRate(GBP, USD));
+    assertEquals(test.discountFactors(GBP), PROVIDER.discountFactors(GBP));
+    assertEquals(test.iborIndexRates(GBP_LIBOR_3M), PROVIDER.iborIndexRates(GBP_LIBOR_3M));
+    assertFalse(test.isAllCurves());
+  }
+
+  public void test_references() {
+    CurveReferenceRecorder test = new CurveReferenceRecorder(PROVIDER);
+    assertTrue(test.getCurrencies().isEmpty());
+    assertTrue(test.getIndices().isEmpty());
+    test.discountFactors(GBP);
+    test.iborIndexRates(GBP_LIBOR_3M);
+    test.overnightIndexRates(USD_FED_FUND);
+    assertEquals(test.getCurrencies(), ImmutableSet.of(GBP));
+    assertEquals(test.getIndices(), ImmutableSet.of(GBP_LIBOR_3M, USD_FED_FUND));
+    assertTrue(test.getCurveNames().isEmpty());
+    assertFalse(test.isAllCurves());
+  }
+
+  public void test_references_fx() {
+    CurveReferenceRecorder test = new CurveReferenceRecorder(PROVIDER);
+    test.fxForwardRates(CurrencyPair.of(GBP, USD));
+    assertEquals(test.getCurrencies(), ImmutableSet.of(GBP, USD));
+    CurveReferenceRecorder test2 = new CurveReferenceRecorder(PROVIDER);
+    test2.fxIndexRates(GBP_USD_WM);
+    assertEquals(test2.getCurrencies(), ImmutableSet.of(GBP, USD));
+    assertTrue(test2.getIndices().isEmpty());
+  }
+
+  public void test_references_curveName() {
+    CurveReferenceRecorder test = new CurveReferenceRecorder(PROVIDER);
+    CurveName name = CurveName.of("Unknown");
+    assertFalse(test.findData(name).isPresent());
+    assertEquals(test.getCurveNames(), ImmutableSet.of(name));
+  }
+
+  public void test_references_allCurves() {
+    CurveReferenceRecorder test = new CurveReferenceRecorder(PROVIDER);
+    assertSame(test.toImmutableRatesProvider(), PROVIDER);
+    assertTrue(test.isAllCurves());
+  }
+
+}
@@ -701,6 +701,27 @@ public class DiscountingFraProductPricerTest {
     assertTrue(computed.equalWithTolerance(expected, eps * FRA.getNotional()));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_presentValueParameterSensitivity() {
+    ImmutableRatesProvider prov = RatesProviderDataSets.MULTI_GBP_USD;
+    DiscountingFraProductPricer pricer = DiscountingFraProductPricer.DEFAULT;
+    for (ResolvedFra fraExp : ImmutableList.of(RFRA, RFRA_NONE, RFRA_AFMA)) {
+      CurrencyParameterSensitivities computed = pricer.presentValueParameterSensitivity(fraExp, prov);
+      CurrencyParameterSensitivities expected = prov.parameterSensitivity(pricer.presentValueSensitivity(fraExp, prov));
+      assertTrue(computed.equalWithTolerance(expected, TOLERANCE * Math.abs(fraExp.getNotional())));
+    }
+    DiscountingFraTradePricer testTrade = new DiscountingFraTradePricer(pricer);
+    assertEquals(testTrade.presentValueParameterSensitivity(RFRA_TRADE, prov),
+        pricer.presentValueParameterSensitivity(RFRA, prov));
+  }
+
+  public void test_presentValueParameterSensitivity_inPast() {
+    ResolvedFra fra = FRA_PAID.resolve(REF_DATA);
+    ImmutableRatesProvider prov = RatesProviderDataSets.MULTI_GBP_USD;
+    DiscountingFraProductPricer test = DiscountingFraProductPricer.DEFAULT;
+    assertEquals(test.presentValueParameterSensitivity(fra, prov), CurrencyParameterSensitivities.empty());
+  }
+
   //-------------------------------------------------------------------------
   private double forecastValueFwdSensitivity(ResolvedFra fra, double forwardRate, double eps) {
 
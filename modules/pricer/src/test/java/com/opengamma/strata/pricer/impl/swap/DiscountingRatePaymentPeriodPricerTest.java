@@ -52,6 +52,7 @@ import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
 import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
 import com.opengamma.strata.pricer.fx.FxIndexRates;
+import com.opengamma.strata.pricer.rate.AdjointTape;
 import com.opengamma.strata.pricer.rate.IborRateSensitivity;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
@@ -389,6 +390,32 @@ public class DiscountingRatePaymentPeriodPricerTest {
       .notional(NOTIONAL_100)
       .build();
 
+  //-------------------------------------------------------------------------
+  public void test_recordPresentValue_iborNoNegative() {
+    RateAccrualPeriod accrualPeriod = ACCRUAL_PERIOD_1_FLOATING.toBuilder()
+        .gearing(-1d)
+        .negativeRateMethod(NegativeRateMethod.NOT_NEGATIVE)
+        .build();
+    RatePaymentPeriod period = RatePaymentPeriod.builder()
+        .paymentDate(PAYMENT_DATE_1)
+        .accrualPeriods(accrualPeriod)
+        .dayCount(ACT_365F)
+        .currency(GBP)
+        .notional(NOTIONAL_100)
+        .build();
+    DiscountingRatePaymentPeriodPricer pricer = DiscountingRatePaymentPeriodPricer.DEFAULT;
+    AdjointTape tape = AdjointTape.of(MULTI_GBP_USD);
+    int pv = pricer.recordPresentValue(period, tape);
+    assertEquals(tape.value(pv), 0d, TOLERANCE_PV);
+    assertEquals(tape.value(pv), pricer.presentValue(period, MULTI_GBP_USD), TOLERANCE_PV);
+    // the floor does not remove the sensitivity to the rate, as in the analytic sensitivity
+    CurrencyParameterSensitivities computed = tape.parameterSensitivity(pv, GBP);
+    CurrencyParameterSensitivities expected =
+        MULTI_GBP_USD.parameterSensitivity(pricer.presentValueSensitivity(period, MULTI_GBP_USD).build());
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE_PV * NOTIONAL_100));
+    assertFalse(computed.equalWithTolerance(CurrencyParameterSensitivities.empty(), TOLERANCE_PV * NOTIONAL_100));
+  }
+
   /**
   * Test present value sensitivity for ibor, no compounding.
   */
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+
+/**
+ * Test {@link AdjointTape}.
+ */
+@Test
+public class AdjointTapeTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_GBP_USD;
+  private static final LocalDate PAYMENT_DATE = date(2015, 7, 22);
+  private static final IborIndexObservation OBSERVATION =
+      IborIndexObservation.of(GBP_LIBOR_3M, date(2015, 4, 20), REF_DATA);
+  private static final double TOLERANCE = 1e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_arithmetic() {
+    AdjointTape test = AdjointTape.of(PROVIDER);
+    assertEquals(test.getProvider(), PROVIDER);
+    int a = test.constant(3d);
+    int b = test.constant(4d);
+    assertEquals(test.value(test.plus(a, b)), 7d);
+    assertEquals(test.value(test.plus(a, 2d)), 5d);
+    assertEquals(test.value(test.minus(a, b)), -1d);
+    assertEquals(test.value(test.multipliedBy(a, b)), 12d);
+    assertEquals(test.value(test.multipliedBy(a, 2d)), 6d);
+    assertEquals(test.value(test.dividedBy(a, b)), 0.75d);
+    assertEquals(test.size(), 8);
+    assertThrowsIllegalArg(() -> test.value(8));
+    assertThrowsIllegalArg(() -> test.parameterSensitivity(-1, GBP));
+  }
+
+  public void test_constant() {
+    AdjointTape test = AdjointTape.of(PROVIDER);
+    int node = test.record(2d, PointSensitivityBuilder.none());
+    assertEquals(test.value(node), 2d);
+    assertEquals(test.parameterSensitivity(node, GBP), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_parameterSensitivity() {
+    // (rate - 0.01) * 0.25 / (1 + rate * 0.25) * df * 1000
+    AdjointTape test = AdjointTape.of(PROVIDER);
+    int rate = test.iborRate(OBSERVATION);
+    int unitAmount = test.multipliedBy(
+        test.dividedBy(test.plus(rate, -0.01), test.plus(test.multipliedBy(rate, 0.25), 1d)), 0.25);
+    int df = test.discountFactor(GBP, PAYMENT_DATE);
+    int pv = test.multipliedBy(test.multipliedBy(unitAmount, 1000d), df);
+
+    IborIndexRates iborRates = PROVIDER.iborIndexRates(GBP_LIBOR_3M);
+    DiscountFactors discountFactors = PROVIDER.discountFactors(GBP);
+    double rateValue = iborRates.rate(OBSERVATION);
+    double dfValue = discountFactors.discountFactor(PAYMENT_DATE);
+    double unitAmountValue = (rateValue - 0.01) * 0.25 / (1d + rateValue * 0.25);
+    double derivative = 0.25 * (1d + 0.01 * 0.25) / ((1d + rateValue * 0.25) * (1d + rateValue * 0.25));
+    assertEquals(test.value(pv), unitAmountValue * 1000d * dfValue, TOLERANCE);
+    CurrencyParameterSensitivities expected = PROVIDER.parameterSensitivity(
+        iborRates.ratePointSensitivity(OBSERVATION).multipliedBy(derivative * 1000d * dfValue)
+            .combinedWith(discountFactors.zeroRatePointSensitivity(PAYMENT_DATE).multipliedBy(unitAmountValue * 1000d))
+            .build());
+    assertTrue(test.parameterSensitivity(pv, GBP).equalWithTolerance(expected, TOLERANCE));
+    // intermediate nodes can be swept
+    CurrencyParameterSensitivities expectedDf =
+        PROVIDER.parameterSensitivity(discountFactors.zeroRatePointSensitivity(PAYMENT_DATE).build());
+    assertTrue(test.parameterSensitivity(df, GBP).equalWithTolerance(expectedDf, TOLERANCE));
+  }
+
+  public void test_parameterSensitivity_currency() {
+    AdjointTape test = AdjointTape.of(PROVIDER);
+    int df = test.discountFactor(GBP, PAYMENT_DATE);
+    CurrencyParameterSensitivities expected = PROVIDER.parameterSensitivity(
+        PROVIDER.discountFactors(GBP).zeroRatePointSensitivity(PAYMENT_DATE).withCurrency(USD).build());
+    assertEquals(test.parameterSensitivity(df, USD), expected);
+  }
+
+  public void test_capacity() {
+    AdjointTape test = AdjointTape.of(PROVIDER);
+    int df = test.discountFactor(GBP, PAYMENT_DATE);
+    int total = test.constant(0d);
+    for (int i = 0; i < 100; i++) {
+      total = test.plus(total, df);
+    }
+    assertEquals(test.size(), 102);
+    CurrencyParameterSensitivities expected = PROVIDER.parameterSensitivity(
+        PROVIDER.discountFactors(GBP).zeroRatePointSensitivity(PAYMENT_DATE).multipliedBy(100d).build());
+    assertTrue(test.parameterSensitivity(total, GBP).equalWithTolerance(expected, TOLERANCE));
+  }
+
+}
@@ -15,6 +15,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -194,6 +195,16 @@ public class DiscountIborIndexRatesTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_parameterSensitivity_target() {
+    DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, DFCURVE, SERIES);
+    IborRateSensitivity point = IborRateSensitivity.of(GBP_LIBOR_3M_AFTER, GBP, 2d);
+    double[] target = new double[test.getParameterCount()];
+    test.parameterSensitivity(point, target);
+    test.parameterSensitivity(point, target);
+    DoubleArray expected = test.parameterSensitivity(point).getSensitivities().get(0).getSensitivity().multipliedBy(2d);
+    assertTrue(DoubleArray.ofUnsafe(target).equalWithTolerance(expected, TOLERANCE_RATE));
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, DFCURVE, SERIES);
@@ -15,6 +15,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -245,6 +246,16 @@ public class DiscountOvernightIndexRatesTest {
     OvernightRateSensitivity point = OvernightRateSensitivity.ofPeriod(EUR_EONIA_AFTER, DATE_AFTER_END, EUR, 1d);
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
+
+  public void test_parameterSensitivity_target() {
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(EUR_EONIA, DFCURVE, SERIES);
+    OvernightRateSensitivity point = OvernightRateSensitivity.ofPeriod(EUR_EONIA_AFTER, DATE_AFTER_END, EUR, 2d);
+    double[] target = new double[test.getParameterCount()];
+    test.parameterSensitivity(point, target);
+    test.parameterSensitivity(point, target);
+    DoubleArray expected = test.parameterSensitivity(point).getSensitivities().get(0).getSensitivity().multipliedBy(2d);
+    assertTrue(DoubleArray.ofUnsafe(target).equalWithTolerance(expected, 1e-12));
+  }
   
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 
@@ -28,11 +29,14 @@ import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxMatrix;
 import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
 import com.opengamma.strata.basics.index.ImmutablePriceIndex;
 import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.basics.location.Country;
 import com.opengamma.strata.basics.schedule.Frequency;
@@ -46,7 +50,12 @@ import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
 import com.opengamma.strata.pricer.fx.DiscountFxForwardRates;
 
 /**
@@ -60,6 +69,8 @@ public class ImmutableRatesProviderTest {
   private static final double FX_GBP_USD = 1.6d;
   private static final FxMatrix FX_MATRIX = FxMatrix.of(GBP, USD, FX_GBP_USD);
   private static final CurveInterpolator INTERPOLATOR = CurveInterpolators.LINEAR;
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final double TOLERANCE = 1e-10;
 
   private static final double GBP_DSC = 0.99d;
   private static final double USD_DSC = 0.95d;
@@ -297,6 +308,29 @@ public class ImmutableRatesProviderTest {
     assertEquals(test.getCurves(group).get(CurveId.of(group, DISCOUNT_CURVE_USD.getName())), DISCOUNT_CURVE_USD);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parameterSensitivity() {
+    // single curve, so the discount and index sensitivities sum into the same parameters
+    ImmutableRatesProvider test = RatesProviderDataSets.SINGLE_USD;
+    PointSensitivities points = PointSensitivities.of(
+        ZeroRateSensitivity.of(USD, 0.5d, 100d),
+        IborRateSensitivity.of(IborIndexObservation.of(USD_LIBOR_3M, LocalDate.of(2014, 6, 2), REF_DATA), 200d),
+        OvernightRateSensitivity.ofPeriod(
+            OvernightIndexObservation.of(USD_FED_FUND, LocalDate.of(2014, 3, 3), REF_DATA),
+            LocalDate.of(2014, 9, 3),
+            -50d),
+        ZeroRateSensitivity.of(USD, 2d, 300d),
+        IborRateSensitivity.of(IborIndexObservation.of(USD_LIBOR_3M, LocalDate.of(2015, 1, 5), REF_DATA), 150d));
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (PointSensitivity point : points.getSensitivities()) {
+      expected = expected.combinedWith(test.parameterSensitivity(PointSensitivities.of(point)));
+    }
+    // the order of summation differs from combining each point in turn
+    CurrencyParameterSensitivities computed = test.parameterSensitivity(points);
+    assertEquals(computed.size(), expected.size());
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     ImmutableRatesProvider test = ImmutableRatesProvider.builder(VAL_DATE)
@@ -6,20 +6,25 @@
 package com.opengamma.strata.pricer.sensitivity;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
@@ -437,6 +442,95 @@ public class CurveGammaCalculatorCrossGammaTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  public void sensitivity_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CurveGammaCalculator parallel = CENTRAL.withExecutor(executor);
+      CrossGammaParameterSensitivities intraExpected =
+          CENTRAL.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      CrossGammaParameterSensitivities intraComputed =
+          parallel.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      assertEquals(intraComputed, intraExpected);
+      CrossGammaParameterSensitivities crossExpected =
+          CENTRAL.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      CrossGammaParameterSensitivities crossComputed =
+          parallel.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      assertEquals(crossComputed, crossExpected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void sensitivity_symmetrization() {
+    CurveGammaCalculator symmetric = FORWARD.withSymmetrization(true);
+    CrossGammaParameterSensitivities intraExpected =
+        FORWARD.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+    CrossGammaParameterSensitivities intraComputed =
+        symmetric.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+    assertEquals(intraComputed.size(), intraExpected.size());
+    for (CrossGammaParameterSensitivity sensi : intraComputed.getSensitivities()) {
+      DoubleMatrix s = sensi.getSensitivity();
+      DoubleMatrix expected = intraExpected.getSensitivity(sensi.getMarketDataName(), USD).getSensitivity();
+      for (int i = 0; i < s.rowCount(); i++) {
+        for (int j = 0; j < s.columnCount(); j++) {
+          assertEquals(s.get(i, j), s.get(j, i));
+          assertEquals(s.get(i, j), expected.get(i, j), Math.max(Math.abs(expected.get(i, j)), 1d) * EPS * 1.0e3);
+        }
+      }
+    }
+    CrossGammaParameterSensitivities crossExpected =
+        FORWARD.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+    CrossGammaParameterSensitivities crossComputed =
+        symmetric.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+    CrossGammaParameterSensitivity l3 = crossComputed.getSensitivity(RatesProviderDataSets.USD_L3_NAME, USD);
+    CrossGammaParameterSensitivity l6 = crossComputed.getSensitivity(RatesProviderDataSets.USD_L6_NAME, USD);
+    DoubleMatrix l3L6 = l3.getSensitivity(RatesProviderDataSets.USD_L6_NAME).getSensitivity();
+    DoubleMatrix l6L3 = l6.getSensitivity(RatesProviderDataSets.USD_L3_NAME).getSensitivity();
+    assertEquals(l3L6, l6L3.transpose());
+    for (CrossGammaParameterSensitivity sensi : crossComputed.getSensitivities()) {
+      DoubleMatrix s = sensi.getSensitivity();
+      DoubleMatrix expected = crossExpected.getSensitivity(sensi.getMarketDataName(), USD).getSensitivity();
+      for (int i = 0; i < s.rowCount(); i++) {
+        for (int j = 0; j < s.columnCount(); j++) {
+          assertEquals(s.get(i, j), expected.get(i, j), Math.max(Math.abs(expected.get(i, j)), 1d) * EPS * 1.0e3);
+        }
+      }
+    }
+  }
+
+  public void sensitivity_portfolio() {
+    LocalDate start = LocalDate.of(2014, 3, 10);
+    List<ResolvedSwap> swaps = ImmutableList.of(
+        FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+            .toTrade(RatesProviderDataSets.VAL_DATE_2014_01_22, start, start.plusYears(5), BuySell.BUY, 1.0e6, 0.005)
+            .getProduct()
+            .resolve(REF_DATA),
+        FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+            .toTrade(RatesProviderDataSets.VAL_DATE_2014_01_22, start, start.plusYears(7), BuySell.SELL, 2.0e6, 0.01)
+            .getProduct()
+            .resolve(REF_DATA));
+    DiscountingSwapProductPricer pricer = DiscountingSwapProductPricer.DEFAULT;
+    List<Function<ImmutableRatesProvider, CurrencyParameterSensitivities>> sensiFunctions = swaps.stream()
+        .<Function<ImmutableRatesProvider, CurrencyParameterSensitivities>>map(
+            swap -> p -> p.parameterSensitivity(pricer.presentValueSensitivity(swap, p).build()))
+        .collect(toImmutableList());
+    CrossGammaParameterSensitivities intraExpected = CrossGammaParameterSensitivities.empty();
+    CrossGammaParameterSensitivities crossExpected = CrossGammaParameterSensitivities.empty();
+    for (Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensiFunction : sensiFunctions) {
+      intraExpected = intraExpected.combinedWith(
+          CENTRAL.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, sensiFunction));
+      crossExpected = crossExpected.combinedWith(
+          CENTRAL.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, sensiFunction));
+    }
+    CrossGammaParameterSensitivities intraComputed =
+        CENTRAL.calculatePortfolioCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, sensiFunctions);
+    assertTrue(intraComputed.equalWithTolerance(intraExpected, EPS * 1.0e6));
+    CrossGammaParameterSensitivities crossComputed =
+        CENTRAL.calculatePortfolioCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, sensiFunctions);
+    assertTrue(crossComputed.equalWithTolerance(crossExpected, EPS * 1.0e6));
+  }
+
   //-------------------------------------------------------------------------
   private CurrencyParameterSensitivities sensiFn(ImmutableRatesProvider provider) {
     CurrencyParameterSensitivities sensi = CurrencyParameterSensitivities.empty();
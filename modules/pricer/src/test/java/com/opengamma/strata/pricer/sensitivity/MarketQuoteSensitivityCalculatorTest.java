@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.sensitivity;
 import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.market.curve.CurveInfoType.JACOBIAN;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.LINEAR;
@@ -15,6 +16,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
@@ -124,4 +126,59 @@ public class MarketQuoteSensitivityCalculatorTest {
     assertTrue(computed.getSensitivity(CURVE_NAME_2, GBP).getSensitivity().equalWithTolerance(expected22, TOL));
   }
 
+  public void test_prepare_LegalEntityDiscountingProvider() {
+    MarketQuoteSensitivityConverter test = CALC.prepare(PROVIDER);
+    assertEquals(test.sensitivity(PARAMETER_SENSITIVITIES), CALC.sensitivity(PARAMETER_SENSITIVITIES, PROVIDER));
+    // the cached Jacobian blocks are reused
+    CurrencyParameterSensitivities scaled = PARAMETER_SENSITIVITIES.multipliedBy(2.5d);
+    assertEquals(test.sensitivity(scaled), CALC.sensitivity(scaled, PROVIDER));
+    assertEquals(test.sensitivity(CurrencyParameterSensitivities.empty()), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_prepare_sensitivities() {
+    CurrencyParameterSensitivities sensi1 =
+        CurrencyParameterSensitivities.of(CurrencyParameterSensitivity.of(CURVE_NAME_1, USD, SENSI_1));
+    CurrencyParameterSensitivities sensi2 = PARAMETER_SENSITIVITIES.multipliedBy(-1.5d);
+    CurrencyParameterSensitivities sensi3 = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(CURVE_NAME_2, USD, SENSI_2),
+        CurrencyParameterSensitivity.of(CURVE_NAME_2, GBP, SENSI_2.multipliedBy(3d)));
+    List<CurrencyParameterSensitivities> paramSensitivities =
+        ImmutableList.of(sensi1, sensi2, CurrencyParameterSensitivities.empty(), sensi3, PARAMETER_SENSITIVITIES);
+    List<CurrencyParameterSensitivities> computed = CALC.prepare(PROVIDER).sensitivities(paramSensitivities);
+    assertEquals(computed.size(), paramSensitivities.size());
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      assertEquals(computed.get(i), CALC.sensitivity(paramSensitivities.get(i), PROVIDER));
+    }
+  }
+
+  public void test_prepare_sensitivities_sameAsSensitivity() {
+    // many trades, each sensitive to both curves, in both currencies
+    ImmutableList.Builder<CurrencyParameterSensitivities> builder = ImmutableList.builder();
+    for (int i = 0; i < 20; i++) {
+      builder.add(CurrencyParameterSensitivities.of(
+          CurrencyParameterSensitivity.of(CURVE_NAME_1, USD, SENSI_1.multipliedBy(1d + i)),
+          CurrencyParameterSensitivity.of(CURVE_NAME_2, USD, SENSI_2.multipliedBy(0.5d - i)),
+          CurrencyParameterSensitivity.of(CURVE_NAME_1, GBP, SENSI_1.multipliedBy(-0.25d * i)),
+          CurrencyParameterSensitivity.of(CURVE_NAME_2, GBP, SENSI_2.multipliedBy(3d + i))));
+    }
+    List<CurrencyParameterSensitivities> paramSensitivities = builder.build();
+    List<CurrencyParameterSensitivities> computed = CALC.prepare(PROVIDER).sensitivities(paramSensitivities);
+    MarketQuoteSensitivityConverter converter = CALC.prepare(PROVIDER);
+    assertEquals(computed.size(), paramSensitivities.size());
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      assertEquals(computed.get(i), converter.sensitivity(paramSensitivities.get(i)));
+    }
+  }
+
+  public void test_prepare_missingCurve() {
+    MarketQuoteSensitivityConverter test = CALC.prepare(PROVIDER);
+    CurrencyParameterSensitivities sensi =
+        CurrencyParameterSensitivities.of(CurrencyParameterSensitivity.of(CurveName.of("Unknown"), USD, SENSI_1));
+    assertThrowsIllegalArg(() -> test.sensitivity(sensi));
+    assertThrowsIllegalArg(() -> test.sensitivities(ImmutableList.of(PARAMETER_SENSITIVITIES, sensi)));
+    CurrencyParameterSensitivities wrongSize =
+        CurrencyParameterSensitivities.of(CurrencyParameterSensitivity.of(CURVE_NAME_1, USD, SENSI_2));
+    assertThrowsIllegalArg(() -> test.sensitivity(wrongSize));
+  }
+
 }
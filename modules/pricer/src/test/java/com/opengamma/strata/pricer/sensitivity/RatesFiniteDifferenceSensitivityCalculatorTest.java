@@ -6,14 +6,19 @@
 package com.opengamma.strata.pricer.sensitivity;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
@@ -94,6 +99,96 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_multi_curve_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (RatesFiniteDifferenceSensitivityCalculator calculator : ImmutableList.of(
+          FD_CALCULATOR, RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(1.0E-4))) {
+        CurrencyParameterSensitivities expected =
+            calculator.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnSquare);
+        for (int batchSize : new int[] {1, 3, 1000}) {
+          CurrencyParameterSensitivities computed = calculator.withExecutor(executor).withBatchSize(batchSize)
+              .sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fnSquare);
+          assertEquals(computed, expected);
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void sensitivity_multi_curve_central() {
+    // central difference is exact for a quadratic function, forward difference is not
+    double shift = 1.0E-4;
+    CurrencyParameterSensitivities central = RatesFiniteDifferenceSensitivityCalculator.ofCentralDifference(shift)
+        .sensitivity(RatesProviderDataSets.MULTI_USD, this::fnSquare);
+    CurrencyParameterSensitivities forward = RatesFiniteDifferenceSensitivityCalculator.ofForwardDifference(shift)
+        .sensitivity(RatesProviderDataSets.MULTI_USD, this::fnSquare);
+    CurrencyParameterSensitivities backward = RatesFiniteDifferenceSensitivityCalculator.ofBackwardDifference(shift)
+        .sensitivity(RatesProviderDataSets.MULTI_USD, this::fnSquare);
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (Curve curve : ImmutableList.<Curve>builder()
+        .addAll(RatesProviderDataSets.MULTI_USD.getDiscountCurves().values())
+        .addAll(RatesProviderDataSets.MULTI_USD.getIndexCurves().values())
+        .build()) {
+      NodalCurve nodal = checkInterpolated(curve);
+      DoubleArray derivative = nodal.getXValues().multipliedBy(nodal.getYValues()).multipliedBy(2d);
+      expected = expected.combinedWith(curve.createParameterSensitivity(USD, derivative));
+    }
+    assertTrue(central.equalWithTolerance(expected, TOLERANCE_DELTA));
+    assertTrue(forward.equalWithTolerance(expected, 1.0E-2));
+    assertTrue(backward.equalWithTolerance(expected, 1.0E-2));
+    assertTrue(!forward.equalWithTolerance(expected, TOLERANCE_DELTA));
+    // the mean of forward and backward is central
+    assertTrue(forward.combinedWith(backward).multipliedBy(0.5).equalWithTolerance(central, TOLERANCE_DELTA));
+  }
+
+  @Test
+  public void sensitivity_executor_failure() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      RatesFiniteDifferenceSensitivityCalculator calculator = FD_CALCULATOR.withExecutor(executor);
+      ImmutableRatesProvider base = RatesProviderDataSets.MULTI_CPI_USD;
+      assertThrowsIllegalArg(() -> calculator.sensitivity(base, p -> {
+        ArgChecker.isTrue(p == base, "Bumped");
+        return CurrencyAmount.of(USD, 1d);
+      }));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void test_batchSize() {
+    assertThrowsIllegalArg(() -> FD_CALCULATOR.withBatchSize(0));
+    assertThrowsIllegalArg(() -> FD_CALCULATOR.withExecutor(null));
+  }
+
+  // private function for testing. Returns the sum of squared rates multiplied by time
+  private CurrencyAmount fnSquare(ImmutableRatesProvider provider) {
+    double result = 0.0;
+    for (Curve curve : provider.getDiscountCurves().values()) {
+      result += sumProductSquare(checkInterpolated(curve));
+    }
+    for (Curve curve : provider.getIndexCurves().values()) {
+      result += sumProductSquare(checkInterpolated(curve));
+    }
+    return CurrencyAmount.of(USD, result);
+  }
+
+  // compute the sum of the product of times and squared rates
+  private double sumProductSquare(NodalCurve curveInt) {
+    double result = 0.0;
+    DoubleArray x = curveInt.getXValues();
+    DoubleArray y = curveInt.getYValues();
+    for (int i = 0; i < x.size(); i++) {
+      result += x.get(i) * y.get(i) * y.get(i);
+    }
+    return result;
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
@@ -173,6 +268,20 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_legalEntity_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CurrencyParameterSensitivities expected = FD_CALCULATOR.sensitivity(
+          LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn);
+      CurrencyParameterSensitivities computed = FD_CALCULATOR.withExecutor(executor).withBatchSize(2).sensitivity(
+          LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn);
+      assertEquals(computed, expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableLegalEntityDiscountingProvider provider) {
     double result = 0.0;
@@ -220,6 +329,21 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_credit_isda_executor() {
+    LocalDate valuationDate = LocalDate.of(2014, 1, 3);
+    CreditRatesProvider rates = CreditRatesProviderDataSets.createCreditRatesProvider(valuationDate);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CurrencyParameterSensitivities expected = FD_CALCULATOR.sensitivity(rates, this::creditFunction);
+      CurrencyParameterSensitivities computed =
+          FD_CALCULATOR.withExecutor(executor).sensitivity(rates, this::creditFunction);
+      assertEquals(computed, expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount creditFunction(ImmutableCreditRatesProvider provider) {
     double result = 0.0;
@@ -769,6 +769,44 @@ public class DiscountingSwapProductPricerTest {
         pricerSwap.presentValueSensitivity(SWAP, MOCK_PROV).build());
   }
 
+  public void test_presentValueParameterSensitivity() {
+    ResolvedSwap fixedIbor = SWAP_USD_FIXED_6M_LIBOR_3M_5Y.resolve(REF_DATA).getProduct();
+    ResolvedSwap iborCmpIbor = USD_LIBOR_3M_LIBOR_6M
+        .createTrade(MULTI_USD.getValuationDate(), TENOR_5Y, BUY, NOTIONAL_SWAP, SPREAD, REF_DATA)
+        .resolve(REF_DATA).getProduct();
+    for (ResolvedSwap swap : ImmutableList.of(fixedIbor, iborCmpIbor)) {
+      CurrencyParameterSensitivities computed = SWAP_PRODUCT_PRICER.presentValueParameterSensitivity(swap, MULTI_USD);
+      CurrencyParameterSensitivities expected =
+          MULTI_USD.parameterSensitivity(SWAP_PRODUCT_PRICER.presentValueSensitivity(swap, MULTI_USD).build());
+      assertTrue(computed.equalWithTolerance(expected, TOLERANCE_RATE * NOTIONAL_SWAP));
+    }
+    // cross currency, one sweep for each leg currency
+    CurrencyParameterSensitivities computedXccy =
+        SWAP_PRODUCT_PRICER.presentValueParameterSensitivity(SWAP_CROSS_CURRENCY, RATES_GBP_USD);
+    CurrencyParameterSensitivities expectedXccy = RATES_GBP_USD.parameterSensitivity(
+        SWAP_PRODUCT_PRICER.presentValueSensitivity(SWAP_CROSS_CURRENCY, RATES_GBP_USD).build());
+    assertTrue(computedXccy.equalWithTolerance(expectedXccy, TOLERANCE_RATE * NOTIONAL));
+    // trade v product
+    ResolvedSwapTrade trade = SWAP_USD_FIXED_6M_LIBOR_3M_5Y.resolve(REF_DATA);
+    assertEquals(
+        SWAP_TRADE_PRICER.presentValueParameterSensitivity(trade, MULTI_USD),
+        SWAP_PRODUCT_PRICER.presentValueParameterSensitivity(trade.getProduct(), MULTI_USD));
+  }
+
+  public void test_presentValueParameterSensitivity_notSupported() {
+    // inflation and overnight compounded annual rates are recorded using their point sensitivity
+    ResolvedSwap inflation = SWAP_GBP_ZC_INFLATION_5Y.resolve(REF_DATA).getProduct();
+    CurrencyParameterSensitivities computedInflation =
+        SWAP_PRODUCT_PRICER.presentValueParameterSensitivity(inflation, RATES_GBP_INFLATION);
+    CurrencyParameterSensitivities expectedInflation = RATES_GBP_INFLATION.parameterSensitivity(
+        SWAP_PRODUCT_PRICER.presentValueSensitivity(inflation, RATES_GBP_INFLATION).build());
+    assertTrue(computedInflation.equalWithTolerance(expectedInflation, TOLERANCE_RATE * NOTIONAL_SWAP));
+    CurrencyParameterSensitivities computedBrl = SWAP_PRODUCT_PRICER.presentValueParameterSensitivity(BRL_SWAP, BRL_DSCON);
+    CurrencyParameterSensitivities expectedBrl =
+        BRL_DSCON.parameterSensitivity(SWAP_PRODUCT_PRICER.presentValueSensitivity(BRL_SWAP, BRL_DSCON).build());
+    assertTrue(computedBrl.equalWithTolerance(expectedBrl, TOLERANCE_RATE * NOTIONAL_SWAP));
+  }
+
   public void test_presentValueSensitivity_inflation() {
     DiscountingSwapLegPricer pricerLeg = DiscountingSwapLegPricer.DEFAULT;
     DiscountingSwapProductPricer pricerSwap = new DiscountingSwapProductPricer(pricerLeg);
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A cache of resolved trades.
+ * <p>
+ * Resolving a trade, such as a swap, can be expensive as it involves generating the schedule
+ * and querying the holiday calendars. When the same trades are priced repeatedly, for example
+ * intraday as market data changes, the cache allows the resolved form to be reused.
+ * <p>
+ * The cache is keyed by the trade, or position, and the reference data.
+ * The trade is matched using {@code equals()}, thus a change to any part of the trade,
+ * including the trade info, results in the trade being resolved again.
+ * The reference data is matched by identity, as reference data is typically large and
+ * does not implement value equality. A new instance of reference data, such as one containing
+ * an additional holiday, results in all trades being resolved again.
+ * <p>
+ * The number of entries is bounded, with the least recently used entries evicted first.
+ * The cache holds strong references to the reference data of the entries until they are evicted.
+ * The hit and miss counts allow the effectiveness of the cache to be monitored.
+ * Failures to resolve are not cached.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ResolvedTradeCache {
+
+  /**
+   * The underlying cache.
+   */
+  private final Cache<Key, ResolvedTrade> cache;
+  /**
+   * The maximum number of entries.
+   */
+  private final long maximumSize;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the specified maximum number of entries.
+   *
+   * @param maximumSize  the maximum number of resolved trades to hold
+   * @return the cache
+   */
+  public static ResolvedTradeCache of(long maximumSize) {
+    ArgChecker.notNegativeOrZero(maximumSize, "maximumSize");
+    return new ResolvedTradeCache(maximumSize);
+  }
+
+  // creates an instance
+  private ResolvedTradeCache(long maximumSize) {
+    this.maximumSize = maximumSize;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the trade using the specified reference data, returning the cached result if available.
+   * <p>
+   * If the trade has previously been resolved using the same reference data instance,
+   * and it has not been evicted, the previous result is returned.
+   * Otherwise the trade is resolved and the result added to the cache.
+   *
+   * @param <T>  the type of the resolved trade
+   * @param trade  the trade or position to resolve
+   * @param refData  the reference data to use when resolving
+   * @return the resolved trade
+   * @throws RuntimeException if unable to resolve the trade
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends ResolvedTrade> T resolve(Resolvable<T> trade, ReferenceData refData) {
+    ArgChecker.notNull(trade, "trade");
+    ArgChecker.notNull(refData, "refData");
+    try {
+      return (T) cache.get(new Key(trade, refData), () -> trade.resolve(refData));
+    } catch (UncheckedExecutionException | ExecutionError ex) {
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw ex;
+    } catch (ExecutionException ex) {
+      // not thrown as the resolve method does not throw checked exceptions
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
+  /**
+   * Discards all the entries in the cache.
+   * <p>
+   * The hit and miss counts are not reset.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the maximum number of entries.
+   *
+   * @return the maximum number of resolved trades held
+   */
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Gets the approximate number of entries.
+   *
+   * @return the approximate number of resolved trades held
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Gets the number of times a resolved trade was found in the cache.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  /**
+   * Gets the number of times a trade was not found in the cache and was resolved.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  /**
+   * Gets the number of resolved trades that have been evicted due to the size limit.
+   *
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  /**
+   * Gets the ratio of hits to requests, one if there have been no requests.
+   *
+   * @return the hit rate
+   */
+  public double getHitRate() {
+    return cache.stats().hitRate();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    CacheStats stats = cache.stats();
+    return "ResolvedTradeCache[size=" + cache.size() + ", maximumSize=" + maximumSize +
+        ", hits=" + stats.hitCount() + ", misses=" + stats.missCount() + ", evictions=" + stats.evictionCount() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  // the cache key, matching the trade by equality and the reference data by identity
+  private static final class Key {
+    private final Resolvable<?> trade;
+    private final ReferenceData refData;
+    private final int hashCode;
+
+    private Key(Resolvable<?> trade, ReferenceData refData) {
+      this.trade = trade;
+      this.refData = refData;
+      this.hashCode = trade.hashCode() * 31 + System.identityHashCode(refData);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return refData == other.refData && trade.equals(other.trade);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ImmutableReferenceData;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.product.common.PayReceive;
+import com.opengamma.strata.product.payment.BulletPayment;
+import com.opengamma.strata.product.payment.BulletPaymentTrade;
+import com.opengamma.strata.product.payment.ResolvedBulletPaymentTrade;
+
+/**
+ * Test {@link ResolvedTradeCache}.
+ */
+@Test
+public class ResolvedTradeCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final BulletPayment PRODUCT = BulletPayment.builder()
+      .payReceive(PayReceive.PAY)
+      .value(CurrencyAmount.of(GBP, 1_000))
+      .date(AdjustableDate.of(date(2015, 6, 30)))
+      .build();
+  private static final BulletPaymentTrade TRADE1 = BulletPaymentTrade.of(TradeInfo.of(date(2014, 6, 30)), PRODUCT);
+  private static final BulletPaymentTrade TRADE2 = BulletPaymentTrade.of(TradeInfo.of(date(2014, 7, 1)), PRODUCT);
+
+  //-------------------------------------------------------------------------
+  public void test_resolve() {
+    ResolvedTradeCache test = ResolvedTradeCache.of(10);
+    ResolvedBulletPaymentTrade resolved1 = test.resolve(TRADE1, REF_DATA);
+    assertThat(resolved1).isEqualTo(TRADE1.resolve(REF_DATA));
+    assertThat(test.getHitCount()).isEqualTo(0);
+    assertThat(test.getMissCount()).isEqualTo(1);
+
+    // an equal trade is a hit
+    BulletPaymentTrade copy = BulletPaymentTrade.of(TRADE1.getInfo(), PRODUCT);
+    assertThat(test.resolve(copy, REF_DATA)).isSameAs(resolved1);
+    assertThat(test.getHitCount()).isEqualTo(1);
+    assertThat(test.getMissCount()).isEqualTo(1);
+    assertThat(test.getHitRate()).isEqualTo(0.5d);
+
+    // a different trade is a miss
+    assertThat(test.resolve(TRADE2, REF_DATA)).isNotSameAs(resolved1);
+    assertThat(test.getMissCount()).isEqualTo(2);
+    assertThat(test.size()).isEqualTo(2);
+    assertThat(test.getMaximumSize()).isEqualTo(10);
+    assertThat(test.toString()).contains("hits=1").contains("misses=2");
+
+    test.invalidateAll();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.resolve(TRADE1, REF_DATA)).isNotSameAs(resolved1);
+    assertThat(test.getMissCount()).isEqualTo(3);
+  }
+
+  public void test_resolve_referenceDataIdentity() {
+    ResolvedTradeCache test = ResolvedTradeCache.of(10);
+    ReferenceData refData1 = ImmutableReferenceData.of(ImmutableMap.of()).combinedWith(REF_DATA);
+    ReferenceData refData2 = ImmutableReferenceData.of(ImmutableMap.of()).combinedWith(REF_DATA);
+    ResolvedBulletPaymentTrade resolved1 = test.resolve(TRADE1, refData1);
+    assertThat(test.resolve(TRADE1, refData1)).isSameAs(resolved1);
+    assertThat(test.resolve(TRADE1, refData2)).isNotSameAs(resolved1);
+    assertThat(test.getHitCount()).isEqualTo(1);
+    assertThat(test.getMissCount()).isEqualTo(2);
+  }
+
+  public void test_resolve_eviction() {
+    ResolvedTradeCache test = ResolvedTradeCache.of(1);
+    test.resolve(TRADE1, REF_DATA);
+    test.resolve(TRADE2, REF_DATA);
+    assertThat(test.size()).isEqualTo(1);
+    assertThat(test.getEvictionCount()).isEqualTo(1);
+  }
+
+  public void test_resolve_failure() {
+    ResolvedTradeCache test = ResolvedTradeCache.of(10);
+    Resolvable<ResolvedBulletPaymentTrade> failing = refData -> {
+      throw new IllegalStateException("Unable to resolve");
+    };
+    assertThatThrownBy(() -> test.resolve(failing, REF_DATA))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Unable to resolve");
+    assertThat(test.size()).isEqualTo(0);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> ResolvedTradeCache.of(0));
+  }
+
+}
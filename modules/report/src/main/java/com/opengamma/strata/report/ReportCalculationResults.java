@@ -9,6 +9,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -29,6 +31,9 @@ import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.StoredResults;
+import com.opengamma.strata.calc.runner.StreamingResultsListener;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.measure.StandardComponents;
 
 /**
@@ -119,6 +124,55 @@ public final class ReportCalculationResults implements ImmutableBean {
         valuationDate, ImmutableList.copyOf(targets), columns, calculationResults, calculationFunctions, refData);
   }
 
+  /**
+   * Obtains a stream of instances from results stored in a file, each covering a block of rows.
+   * <p>
+   * This is used to run reports over results written by a {@link StreamingResultsListener},
+   * without reading all the results into memory at the same time.
+   * Each element of the stream contains the results for a contiguous block of targets,
+   * with the results of a block read from the file when the element is consumed.
+   * A report can be run for each element of the stream, and the reports output in turn.
+   *
+   * @param valuationDate  the valuation date used in the calculations
+   * @param targets  the targets for which the results were calculated
+   * @param columns  the columns in the results
+   * @param storedResults  the results of the calculations, stored in a file
+   * @param calculationFunctions  the calculation functions that were used
+   * @param refData  the reference data used in the calculation
+   * @param rowsPerBlock  the maximum number of rows in each block
+   * @return the results, one for each block of rows
+   */
+  public static Stream<ReportCalculationResults> ofBlocks(
+      LocalDate valuationDate,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      StoredResults storedResults,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      int rowsPerBlock) {
+
+    ArgChecker.isTrue(
+        targets.size() == storedResults.getRowCount(),
+        "Number of targets {} must match number of rows in stored results {}",
+        targets.size(),
+        storedResults.getRowCount());
+    ArgChecker.notNegativeOrZero(rowsPerBlock, "rowsPerBlock");
+    ImmutableList<CalculationTarget> targetList = ImmutableList.copyOf(targets);
+    int blockCount = (targetList.size() + rowsPerBlock - 1) / rowsPerBlock;
+    return IntStream.range(0, blockCount)
+        .mapToObj(block -> {
+          int start = block * rowsPerBlock;
+          int end = Math.min(start + rowsPerBlock, targetList.size());
+          return new ReportCalculationResults(
+              valuationDate,
+              targetList.subList(start, end),
+              columns,
+              storedResults.getResults(start, end),
+              calculationFunctions,
+              refData);
+        });
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code ReportCalculationResults}.
@@ -7,14 +7,20 @@ package com.opengamma.strata.report;
 
 import static com.opengamma.strata.basics.currency.Currency.GBP;
 import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.product.common.BuySell.BUY;
 import static com.opengamma.strata.product.common.BuySell.SELL;
+import static java.util.stream.Collectors.toList;
 import static org.testng.Assert.assertEquals;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
@@ -24,8 +30,12 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.date.AdjustableDate;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.calc.runner.StoredResults;
+import com.opengamma.strata.calc.runner.StreamingResultsListener;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
 import com.opengamma.strata.product.TradeInfo;
 import com.opengamma.strata.product.fra.Fra;
 import com.opengamma.strata.product.fra.FraTrade;
@@ -70,6 +80,44 @@ public class ReportCalculationResultsTest {
     assertEquals(test.getReferenceData(), ReferenceData.standard());
   }
 
+  public void test_ofBlocks() throws IOException {
+    Path file = Files.createTempFile("results", ".bin");
+    try {
+      List<FraTrade> trades = ImmutableList.of(TRADE, TRADE2, TRADE);
+      StreamingResultsListener listener = new StreamingResultsListener(file);
+      listener.calculationsStarted(ImmutableList.copyOf(trades), ImmutableList.of(COLUMN));
+      for (int i = 0; i < trades.size(); i++) {
+        listener.resultReceived(trades.get(i), CalculationResult.of(i, 0, Result.success(CurrencyAmount.of(GBP, i))));
+      }
+      listener.calculationsComplete();
+      try (StoredResults stored = listener.result()) {
+        List<ReportCalculationResults> test = ReportCalculationResults.ofBlocks(
+            VAL_DATE,
+            trades,
+            ImmutableList.of(COLUMN),
+            stored,
+            StandardComponents.calculationFunctions(),
+            ReferenceData.standard(),
+            2)
+            .collect(toList());
+        assertEquals(test.size(), 2);
+        assertEquals(test.get(0).getTargets(), ImmutableList.of(TRADE, TRADE2));
+        assertEquals(test.get(0).getCalculationResults().getRowCount(), 2);
+        assertEquals(test.get(0).getCalculationResults().get(1, 0).getValue(), CurrencyAmount.of(GBP, 1));
+        assertEquals(test.get(1).getTargets(), ImmutableList.of(TRADE));
+        assertEquals(test.get(1).getCalculationResults().get(0, 0).getValue(), CurrencyAmount.of(GBP, 2));
+        assertThrowsIllegalArg(() -> ReportCalculationResults.ofBlocks(
+            VAL_DATE, trades, ImmutableList.of(COLUMN), stored, StandardComponents.calculationFunctions(),
+            ReferenceData.standard(), 0));
+        assertThrowsIllegalArg(() -> ReportCalculationResults.ofBlocks(
+            VAL_DATE, ImmutableList.of(TRADE), ImmutableList.of(COLUMN), stored,
+            StandardComponents.calculationFunctions(), ReferenceData.standard(), 2));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverImmutableBean(sut());